@@ -5,6 +5,7 @@ import com.github.kristofa.brave.http.DefaultSpanNameProvider;
 import com.github.kristofa.brave.http.SpanNameProvider;
 
 import io.katharsis.brave.internal.BraveRepositoryFilter;
+import io.katharsis.brave.internal.BraveRequestPhaseListener;
 import io.katharsis.brave.internal.HttpClientBraveIntegration;
 import io.katharsis.brave.internal.OkHttpBraveIntegration;
 import io.katharsis.client.http.HttpAdapter;
@@ -12,6 +13,8 @@ import io.katharsis.client.http.apache.HttpClientAdapter;
 import io.katharsis.client.http.okhttp.OkHttpAdapter;
 import io.katharsis.client.module.HttpAdapterAware;
 import io.katharsis.module.Module;
+import io.katharsis.module.RequestPhase;
+import io.katharsis.module.RequestPhaseListenerRegistry;
 
 /**
  * Integrates Brave into katharsis client and server:
@@ -24,6 +27,10 @@ import io.katharsis.module.Module;
  *		Note that no HTTP calls itself are traced by this module. That is the responsibility of the
  *		web container and Brave.
  *   </li>
+ *   <li>
+ *   	On the server-side the phases of a request, such as parsing, document mapping and serialization, can be traced
+ *   	as well with {@link #setTracePhases(boolean)}.
+ *   </li>
  * </ul>
  */
 public class BraveModule implements Module, HttpAdapterAware {
@@ -34,6 +41,8 @@ public class BraveModule implements Module, HttpAdapterAware {
 
 	private SpanNameProvider spanNameProvider;
 
+	private boolean tracePhases;
+
 	private BraveModule(Brave brave, boolean server) {
 		this.brave = brave;
 		this.server = server;
@@ -44,6 +53,18 @@ public class BraveModule implements Module, HttpAdapterAware {
 		this.spanNameProvider = spanNameProvider;
 	}
 
+	/**
+	 * @param tracePhases true to create a local span for each {@link RequestPhase} of a request next to the spans of
+	 *            the repository calls. Disabled by default.
+	 */
+	public void setTracePhases(boolean tracePhases) {
+		this.tracePhases = tracePhases;
+	}
+
+	public boolean isTracePhases() {
+		return tracePhases;
+	}
+
 	public static BraveModule newClientModule(Brave brave) {
 		return new BraveModule(brave, false);
 	}
@@ -63,6 +84,12 @@ public class BraveModule implements Module, HttpAdapterAware {
 		if (server) {
 			BraveRepositoryFilter filter = new BraveRepositoryFilter(brave, context);
 			context.addRepositoryFilter(filter);
+			if (tracePhases) {
+				if (!(context instanceof RequestPhaseListenerRegistry)) {
+					throw new UnsupportedOperationException("module context does not support request phase listeners: " + context);
+				}
+				((RequestPhaseListenerRegistry) context).addRequestPhaseListener(new BraveRequestPhaseListener(brave));
+			}
 		}
 	}
 
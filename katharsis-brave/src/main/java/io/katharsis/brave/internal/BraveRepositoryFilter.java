@@ -7,6 +7,8 @@ import java.util.Set;
 
 import com.github.kristofa.brave.Brave;
 import com.github.kristofa.brave.LocalTracer;
+import com.github.kristofa.brave.ServerSpan;
+import com.github.kristofa.brave.SpanId;
 
 import io.katharsis.core.internal.query.QuerySpecAdapter;
 import io.katharsis.core.internal.utils.StringUtils;
@@ -26,6 +28,22 @@ import io.katharsis.resource.registry.RegistryEntry;
 /**
  * Performs a local trace for each repository call. Keep in mind that a single HTTP request
  * can trigger multiple repository calls if inclusions of relations are in use. . 
+ * 
+ * <p>
+ * The tracing cost of a repository call depends on the sampling decision:
+ * </p>
+ * <ul>
+ * <li>server span not sampled: a single read of the server span bound to the thread, the chain is then called
+ * directly. Neither the request, the query spec nor the resource registry are accessed.</li>
+ * <li>no server span and the trace sampler declines the local span: the span name is built, listing at most
+ * {@link #MAX_ANNOTATION_LENGTH} characters of ids, nothing else.</li>
+ * <li>sampled: the query and result annotations are computed once the span has been started and the repository
+ * returned.</li>
+ * </ul>
+ * <p>
+ * BraveRepositoryFilterTest verifies the work skipped for the first two cases and logs the time an unsampled
+ * repository call spends in the filter compared to calling the chain directly.
+ * </p>
  */
 public class BraveRepositoryFilter extends RepositoryFilterBase {
 
@@ -43,10 +61,20 @@ public class BraveRepositoryFilter extends RepositoryFilterBase {
 
 	private static final Object COMPONENT_NAME_SEPARATOR = ":";
 
+	/**
+	 * Maximum length of the query annotation and the ids listed in span names. Longer values get truncated to avoid
+	 * allocating and reporting large strings for requests with many parameters or ids.
+	 */
+	public static final int MAX_ANNOTATION_LENGTH = 1024;
+
+	private static final String TRUNCATION_SUFFIX = "...";
+
 	private Brave brave;
 
 	private ModuleContext moduleContext;
 
+	private volatile DefaultQuerySpecSerializer querySpecSerializer;
+
 	public BraveRepositoryFilter(Brave brave, Module.ModuleContext context) {
 		this.brave = brave;
 		this.moduleContext = context;
@@ -54,15 +82,19 @@ public class BraveRepositoryFilter extends RepositoryFilterBase {
 
 	@Override
 	public JsonApiResponse filterRequest(RepositoryFilterContext context, RepositoryRequestFilterChain chain) {
+		if (isNotSampled()) {
+			return chain.doFilter(context);
+		}
+
 		long s = System.nanoTime();
 
 		LocalTracer localTracer = brave.localTracer();
 		RepositoryRequestSpec request = context.getRequest();
 
-		String componentName = getComponentName(request);
-		String query = getQuery(request);
-
-		localTracer.startNewSpan(COMPONENT_NAME, componentName);
+		SpanId spanId = localTracer.startNewSpan(COMPONENT_NAME, getComponentName(request));
+		if (spanId == null) {
+			return chain.doFilter(context);
+		}
 
 		JsonApiResponse result = null;
 		Exception exception = null;
@@ -81,15 +113,24 @@ public class BraveRepositoryFilter extends RepositoryFilterBase {
 			String status = failed ? STRING_EXCEPTION : STRING_OK;
 
 			localTracer.submitBinaryAnnotation(STATUS_CODE_ANNOTATION, status);
-			writeQuery(localTracer, query);
+			writeQuery(localTracer, request);
 			writeResults(localTracer, result);
 			localTracer.finishSpan(duration);
 		}
 	}
 
-	private void writeQuery(LocalTracer localTracer, String query) {
+	/**
+	 * @return true if the surrounding server request is known not to be traced, allows to skip any further work.
+	 */
+	private boolean isNotSampled() {
+		ServerSpan serverSpan = brave.serverSpanThreadBinder().getCurrentServerSpan();
+		return serverSpan != null && Boolean.FALSE.equals(serverSpan.getSample());
+	}
+
+	private void writeQuery(LocalTracer localTracer, RepositoryRequestSpec request) {
+		String query = getQuery(request);
 		if (query != null) {
-			localTracer.submitBinaryAnnotation(QUERY_ANNOTATION, query);
+			localTracer.submitBinaryAnnotation(QUERY_ANNOTATION, truncate(query));
 		}
 	}
 
@@ -102,12 +143,11 @@ public class BraveRepositoryFilter extends RepositoryFilterBase {
 
 	private String getQuery(RepositoryRequestSpec request) {
 		QueryAdapter queryAdapter = request.getQueryAdapter();
-		StringBuilder builder = new StringBuilder();
-		builder.append("?");
 		if (queryAdapter instanceof QuerySpecAdapter) {
 			QuerySpec querySpec = request.getQuerySpec(queryAdapter.getResourceInformation());
-			DefaultQuerySpecSerializer serializer = new DefaultQuerySpecSerializer(moduleContext.getResourceRegistry());
-			Map<String, Set<String>> parameters = serializer.serialize(querySpec);
+			Map<String, Set<String>> parameters = getQuerySpecSerializer().serialize(querySpec);
+			StringBuilder builder = new StringBuilder();
+			builder.append("?");
 			for (Map.Entry<String, Set<String>> entry : parameters.entrySet()) {
 				if (builder.length() > 1) {
 					builder.append("&");
@@ -115,12 +155,35 @@ public class BraveRepositoryFilter extends RepositoryFilterBase {
 				builder.append(entry.getKey());
 				builder.append("=");
 				builder.append(StringUtils.join(",", entry.getValue()));
+				if (builder.length() > MAX_ANNOTATION_LENGTH) {
+					break;
+				}
 			}
 			return builder.toString();
 		}
 		return null;
 	}
 
+	/**
+	 * @return serializer of the module's resource registry, created upon first use since the registry is not yet
+	 * available when the filter gets set up. The serializer is stateless and can be shared.
+	 */
+	private DefaultQuerySpecSerializer getQuerySpecSerializer() {
+		DefaultQuerySpecSerializer serializer = querySpecSerializer;
+		if (serializer == null) {
+			serializer = new DefaultQuerySpecSerializer(moduleContext.getResourceRegistry());
+			querySpecSerializer = serializer;
+		}
+		return serializer;
+	}
+
+	private static String truncate(String value) {
+		if (value.length() > MAX_ANNOTATION_LENGTH) {
+			return value.substring(0, MAX_ANNOTATION_LENGTH - TRUNCATION_SUFFIX.length()) + TRUNCATION_SUFFIX;
+		}
+		return value;
+	}
+
 	private String getComponentName(RepositoryRequestSpec request) {
 		ResourceField relationshipField = request.getRelationshipField();
 		StringBuilder pathBuilder = new StringBuilder();
@@ -144,6 +207,11 @@ public class BraveRepositoryFilter extends RepositoryFilterBase {
 			Iterator<Object> iterator = ids.iterator();
 			pathBuilder.append(iterator.next());
 			while (iterator.hasNext()) {
+				if (pathBuilder.length() > MAX_ANNOTATION_LENGTH) {
+					pathBuilder.append(",");
+					pathBuilder.append(TRUNCATION_SUFFIX);
+					break;
+				}
 				pathBuilder.append(",");
 				pathBuilder.append(iterator.next());
 			}
@@ -0,0 +1,78 @@
+package io.katharsis.brave.internal;
+
+import com.github.kristofa.brave.Brave;
+import com.github.kristofa.brave.LocalSpanThreadBinder;
+import com.github.kristofa.brave.LocalTracer;
+import com.twitter.zipkin.gen.Span;
+
+import io.katharsis.module.RequestPhase;
+import io.katharsis.module.RequestPhaseContext;
+import io.katharsis.module.RequestPhaseListener;
+
+/**
+ * Performs a local trace for each {@link RequestPhase}, making the time spent in the framework, like parsing,
+ * document mapping and serialization, visible next to the repository calls traced by {@link BraveRepositoryFilter}.
+ */
+public class BraveRequestPhaseListener implements RequestPhaseListener {
+
+	private static final String COMPONENT_NAME = "katharsis";
+
+	private static final String SPAN_NAME_PREFIX = COMPONENT_NAME + ":";
+
+	public static final String RESOURCE_TYPE_ANNOTATION = "katharsis.resourceType";
+
+	public static final String SIZE_ANNOTATION = "katharsis.size";
+
+	private static final String STATUS_CODE_ANNOTATION = "katharsis.status";
+
+	private static final String[] SPAN_NAMES;
+
+	static {
+		RequestPhase[] phases = RequestPhase.values();
+		SPAN_NAMES = new String[phases.length];
+		for (RequestPhase phase : phases) {
+			SPAN_NAMES[phase.ordinal()] = SPAN_NAME_PREFIX + phase.name().toLowerCase();
+		}
+	}
+
+	private Brave brave;
+
+	public BraveRequestPhaseListener(Brave brave) {
+		this.brave = brave;
+	}
+
+	@Override
+	public Object onPhaseStarted(RequestPhaseContext context, RequestPhase phase) {
+		LocalTracer localTracer = brave.localTracer();
+		if (localTracer.startNewSpan(COMPONENT_NAME, SPAN_NAMES[phase.ordinal()]) == null) {
+			return null; // not sampled
+		}
+		return brave.localSpanThreadBinder().getCurrentLocalSpan();
+	}
+
+	@Override
+	public void onPhaseFinished(RequestPhaseContext context, RequestPhase phase, Object state, long duration, long size,
+			Throwable failure) {
+		if (state == null) {
+			return;
+		}
+
+		// nested spans may have replaced the current span depending on the span state in use
+		LocalSpanThreadBinder binder = brave.localSpanThreadBinder();
+		Span span = (Span) state;
+		if (binder.getCurrentLocalSpan() != span) {
+			binder.setCurrentSpan(span);
+		}
+
+		LocalTracer localTracer = brave.localTracer();
+		localTracer.submitBinaryAnnotation(STATUS_CODE_ANNOTATION,
+				failure != null ? BraveRepositoryFilter.STRING_EXCEPTION : BraveRepositoryFilter.STRING_OK);
+		if (context.getResourceType() != null) {
+			localTracer.submitBinaryAnnotation(RESOURCE_TYPE_ANNOTATION, context.getResourceType());
+		}
+		if (size >= 0) {
+			localTracer.submitBinaryAnnotation(SIZE_ANNOTATION, Long.toString(size));
+		}
+		localTracer.finishSpan();
+	}
+}
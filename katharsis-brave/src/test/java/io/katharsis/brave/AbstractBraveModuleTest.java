@@ -22,6 +22,7 @@ import com.github.kristofa.brave.Brave.Builder;
 import com.github.kristofa.brave.InheritableServerClientAndLocalSpanState;
 import com.twitter.zipkin.gen.Endpoint;
 
+import io.katharsis.brave.internal.BraveRepositoryFilter;
 import io.katharsis.brave.mock.models.Project;
 import io.katharsis.brave.mock.models.Task;
 import io.katharsis.brave.mock.repository.ProjectRepository;
@@ -191,6 +192,30 @@ public abstract class AbstractBraveModuleTest extends JerseyTest {
 		assertBinaryAnnotation(repositorySpan, "katharsis.status", "OK");
 	}
 
+	@Test
+	public void testFindAllTruncatesQuery() {
+		StringBuilder name = new StringBuilder();
+		for (int i = 0; i < 2 * BraveRepositoryFilter.MAX_ANNOTATION_LENGTH; i++) {
+			name.append('a');
+		}
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		querySpec.addFilter(new FilterSpec(Arrays.asList("name"), FilterOperator.EQ, name.toString()));
+		taskRepo.findAll(querySpec);
+
+		ArgumentCaptor<Span> serverSpanCaptor = ArgumentCaptor.forClass(Span.class);
+		Mockito.verify(serverReporter, Mockito.times(1)).report(serverSpanCaptor.capture());
+		Span repositorySpan = serverSpanCaptor.getValue();
+		assertBinaryAnnotation(repositorySpan, "katharsis.query", null);
+		for (BinaryAnnotation a : repositorySpan.binaryAnnotations) {
+			if (a.key.equals("katharsis.query")) {
+				String query = (String) getValue(a);
+				Assert.assertEquals(BraveRepositoryFilter.MAX_ANNOTATION_LENGTH, query.length());
+				Assert.assertTrue(query.startsWith("?filter[tasks][name][EQ]=aaa"));
+				Assert.assertTrue(query.endsWith("..."));
+			}
+		}
+	}
+
 	@Test
 	public void testFindTargets() {
 		RelationshipRepositoryV2<Project, Serializable, Task, Serializable> relRepo = client
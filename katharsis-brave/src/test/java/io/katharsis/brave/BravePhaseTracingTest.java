@@ -0,0 +1,118 @@
+package io.katharsis.brave;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.ApplicationPath;
+import javax.ws.rs.core.Application;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.github.kristofa.brave.Brave;
+import com.github.kristofa.brave.Brave.Builder;
+import com.github.kristofa.brave.InheritableServerClientAndLocalSpanState;
+import com.twitter.zipkin.gen.Endpoint;
+
+import io.katharsis.brave.mock.models.Task;
+import io.katharsis.brave.mock.repository.ProjectRepository;
+import io.katharsis.brave.mock.repository.TaskRepository;
+import io.katharsis.client.KatharsisClient;
+import io.katharsis.core.properties.KatharsisProperties;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.repository.ResourceRepositoryV2;
+import io.katharsis.rs.KatharsisFeature;
+import zipkin.BinaryAnnotation;
+import zipkin.Span;
+import zipkin.reporter.Reporter;
+
+public class BravePhaseTracingTest extends JerseyTest {
+
+	private Reporter<Span> serverReporter;
+
+	private ResourceRepositoryV2<Task, Long> taskRepo;
+
+	@Before
+	public void setup() {
+		KatharsisClient client = new KatharsisClient(getBaseUri().toString());
+		taskRepo = client.getQuerySpecRepository(Task.class);
+		TaskRepository.clear();
+		ProjectRepository.clear();
+	}
+
+	@Test
+	public void testFindAll() {
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		querySpec.includeRelation(Arrays.asList("project"));
+		taskRepo.findAll(querySpec);
+
+		ArgumentCaptor<Span> serverSpanCaptor = ArgumentCaptor.forClass(Span.class);
+		Mockito.verify(serverReporter, Mockito.times(7)).report(serverSpanCaptor.capture());
+		Map<String, Span> spans = new HashMap<>();
+		for (Span span : serverSpanCaptor.getAllValues()) {
+			spans.put(span.name, span);
+		}
+		Assert.assertEquals(7, spans.size());
+
+		Span requestSpan = spans.get("katharsis:request");
+		Assert.assertNotNull(requestSpan);
+		for (String name : Arrays.asList("katharsis:path_parsing", "katharsis:query_deserialization",
+				"katharsis:get:/tasks/", "katharsis:document_mapping", "katharsis:serialization")) {
+			Span span = spans.get(name);
+			Assert.assertNotNull(name, span);
+			Assert.assertEquals(name, requestSpan.traceId, span.traceId);
+			Assert.assertEquals(name, Long.valueOf(requestSpan.id), span.parentId);
+		}
+		Span includeSpan = spans.get("katharsis:include_resolution");
+		Assert.assertEquals(Long.valueOf(spans.get("katharsis:document_mapping").id), includeSpan.parentId);
+
+		assertBinaryAnnotation(spans.get("katharsis:document_mapping"), "katharsis.size", "0");
+		assertBinaryAnnotation(spans.get("katharsis:serialization"), "katharsis.resourceType", "tasks");
+		assertBinaryAnnotation(requestSpan, "katharsis.status", "OK");
+	}
+
+	private void assertBinaryAnnotation(Span span, String name, String value) {
+		List<BinaryAnnotation> annotations = span.binaryAnnotations;
+		for (BinaryAnnotation a : annotations) {
+			if (a.key.equals(name)) {
+				Assert.assertEquals(value, AbstractBraveModuleTest.getValue(a));
+				return;
+			}
+		}
+		Assert.fail(name + " not found");
+	}
+
+	@Override
+	protected Application configure() {
+		return new TestApplication();
+	}
+
+	@ApplicationPath("/")
+	private class TestApplication extends ResourceConfig {
+
+		@SuppressWarnings("unchecked")
+		public TestApplication() {
+			property(KatharsisProperties.RESOURCE_SEARCH_PACKAGE, getClass().getPackage().getName());
+			property(KatharsisProperties.RESOURCE_DEFAULT_DOMAIN, "http://test.local");
+
+			Endpoint localEndpoint = Endpoint.builder().serviceName("testServer").build();
+			Builder builder = new Brave.Builder(new InheritableServerClientAndLocalSpanState(localEndpoint));
+			serverReporter = Mockito.mock(Reporter.class);
+			builder.reporter(serverReporter);
+			Brave serverBrave = builder.build();
+
+			BraveModule module = BraveModule.newServerModule(serverBrave);
+			module.setTracePhases(true);
+			KatharsisFeature feature = new KatharsisFeature();
+			feature.addModule(module);
+			register(feature);
+		}
+	}
+}
@@ -0,0 +1,144 @@
+package io.katharsis.brave.internal;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.kristofa.brave.Brave;
+import com.github.kristofa.brave.InheritableServerClientAndLocalSpanState;
+import com.github.kristofa.brave.Sampler;
+import com.twitter.zipkin.gen.Endpoint;
+
+import io.katharsis.module.Module.ModuleContext;
+import io.katharsis.repository.filter.RepositoryFilterContext;
+import io.katharsis.repository.filter.RepositoryRequestFilterChain;
+import io.katharsis.repository.request.HttpMethod;
+import io.katharsis.repository.request.QueryAdapter;
+import io.katharsis.repository.request.RepositoryRequestSpec;
+import io.katharsis.repository.response.JsonApiResponse;
+import io.katharsis.resource.information.ResourceInformation;
+import zipkin.Span;
+import zipkin.reporter.Reporter;
+
+public class BraveRepositoryFilterTest {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(BraveRepositoryFilterTest.class);
+
+	private static final int WARMUP_RUNS = 100000;
+
+	private static final int BENCHMARK_RUNS = 1000000;
+
+	private Brave brave;
+
+	private Reporter<Span> reporter;
+
+	private ModuleContext moduleContext;
+
+	private RepositoryFilterContext filterContext;
+
+	private RepositoryRequestSpec request;
+
+	private RepositoryRequestFilterChain chain;
+
+	private JsonApiResponse response;
+
+	@Before
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		reporter = Mockito.mock(Reporter.class);
+		moduleContext = Mockito.mock(ModuleContext.class);
+		request = Mockito.mock(RepositoryRequestSpec.class);
+		filterContext = Mockito.mock(RepositoryFilterContext.class);
+		Mockito.when(filterContext.getRequest()).thenReturn(request);
+		response = new JsonApiResponse();
+		chain = Mockito.mock(RepositoryRequestFilterChain.class);
+		Mockito.when(chain.doFilter(filterContext)).thenReturn(response);
+	}
+
+	@After
+	public void teardown() {
+		if (brave != null) {
+			brave.serverTracer().clearCurrentSpan();
+		}
+	}
+
+	@Test
+	public void testUnsampledServerSpanSkipsTracing() {
+		brave = newBrave(Sampler.ALWAYS_SAMPLE);
+		brave.serverTracer().setStateNoTracing();
+
+		BraveRepositoryFilter filter = new BraveRepositoryFilter(brave, moduleContext);
+		Assert.assertSame(response, filter.filterRequest(filterContext, chain));
+
+		Mockito.verify(chain, Mockito.times(1)).doFilter(filterContext);
+		Mockito.verifyZeroInteractions(request, moduleContext, reporter);
+	}
+
+	@Test
+	public void testUnsampledTraceSkipsAnnotations() {
+		brave = newBrave(Sampler.NEVER_SAMPLE);
+		QueryAdapter queryAdapter = Mockito.mock(QueryAdapter.class);
+		ResourceInformation resourceInformation = Mockito.mock(ResourceInformation.class);
+		Mockito.when(resourceInformation.getResourceType()).thenReturn("tasks");
+		Mockito.when(queryAdapter.getResourceInformation()).thenReturn(resourceInformation);
+		Mockito.when(request.getQueryAdapter()).thenReturn(queryAdapter);
+		Mockito.when(request.getMethod()).thenReturn(HttpMethod.GET);
+
+		BraveRepositoryFilter filter = new BraveRepositoryFilter(brave, moduleContext);
+		Assert.assertSame(response, filter.filterRequest(filterContext, chain));
+
+		Mockito.verify(chain, Mockito.times(1)).doFilter(filterContext);
+		Mockito.verify(request, Mockito.never()).getQuerySpec(Mockito.any(ResourceInformation.class));
+		Mockito.verifyZeroInteractions(moduleContext, reporter);
+	}
+
+	/**
+	 * Compares calling the chain directly to passing through the filter while the server span is not sampled. The
+	 * numbers are logged rather than asserted.
+	 */
+	@Test
+	public void benchmarkUnsampledOverhead() {
+		brave = newBrave(Sampler.ALWAYS_SAMPLE);
+		brave.serverTracer().setStateNoTracing();
+		BraveRepositoryFilter filter = new BraveRepositoryFilter(brave, moduleContext);
+		RepositoryRequestFilterChain directChain = new RepositoryRequestFilterChain() {
+
+			@Override
+			public JsonApiResponse doFilter(RepositoryFilterContext context) {
+				return response;
+			}
+		};
+
+		for (int i = 0; i < WARMUP_RUNS; i++) {
+			directChain.doFilter(filterContext);
+			filter.filterRequest(filterContext, directChain);
+		}
+
+		long directTime = 0;
+		long filterTime = 0;
+		for (int i = 0; i < BENCHMARK_RUNS; i++) {
+			long start = System.nanoTime();
+			directChain.doFilter(filterContext);
+			directTime += System.nanoTime() - start;
+
+			start = System.nanoTime();
+			filter.filterRequest(filterContext, directChain);
+			filterTime += System.nanoTime() - start;
+		}
+		LOGGER.info("unsampled repository call, direct: {}ns, filtered: {}ns", (double) directTime / BENCHMARK_RUNS,
+				(double) filterTime / BENCHMARK_RUNS);
+		Mockito.verifyZeroInteractions(request, moduleContext, reporter);
+	}
+
+	private Brave newBrave(Sampler sampler) {
+		Endpoint localEndpoint = Endpoint.builder().serviceName("testServer").build();
+		Brave.Builder builder = new Brave.Builder(new InheritableServerClientAndLocalSpanState(localEndpoint));
+		builder.reporter(reporter);
+		builder.traceSampler(sampler);
+		return builder.build();
+	}
+}
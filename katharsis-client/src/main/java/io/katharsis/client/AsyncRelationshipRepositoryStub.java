@@ -0,0 +1,33 @@
+package io.katharsis.client;
+
+import java.io.Serializable;
+
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.resource.list.DefaultResourceList;
+
+/**
+ * Non-blocking counterpart of a relationship repository stub, see {@link AsyncResourceRepositoryStub}.
+ *
+ * @param <T> source resource type
+ * @param <I> source identifier type
+ * @param <D> target resource type
+ * @param <J> target identifier type
+ */
+public interface AsyncRelationshipRepositoryStub<T, I extends Serializable, D, J extends Serializable> {
+
+	ClientFuture<Void> setRelation(T source, J targetId, String fieldName);
+
+	ClientFuture<Void> setRelations(T source, Iterable<J> targetIds, String fieldName);
+
+	ClientFuture<Void> addRelations(T source, Iterable<J> targetIds, String fieldName);
+
+	ClientFuture<Void> removeRelations(T source, Iterable<J> targetIds, String fieldName);
+
+	ClientFuture<D> findOneTarget(I sourceId, String fieldName, QuerySpec querySpec);
+
+	ClientFuture<DefaultResourceList<D>> findManyTargets(I sourceId, String fieldName, QuerySpec querySpec);
+
+	Class<T> getSourceResourceClass();
+
+	Class<D> getTargetResourceClass();
+}
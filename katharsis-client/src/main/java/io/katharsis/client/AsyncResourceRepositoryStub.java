@@ -0,0 +1,31 @@
+package io.katharsis.client;
+
+import java.io.Serializable;
+
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.resource.list.DefaultResourceList;
+
+/**
+ * Non-blocking counterpart of a resource repository stub. Requests are issued right away, the calling thread is not
+ * blocked while waiting for the response. Allows to query many repositories in parallel without allocating a thread
+ * for each call.
+ *
+ * @param <T> resource type
+ * @param <I> identifier type
+ */
+public interface AsyncResourceRepositoryStub<T, I extends Serializable> {
+
+	ClientFuture<T> findOne(I id, QuerySpec querySpec);
+
+	ClientFuture<DefaultResourceList<T>> findAll(QuerySpec querySpec);
+
+	ClientFuture<DefaultResourceList<T>> findAll(Iterable<I> ids, QuerySpec querySpec);
+
+	<S extends T> ClientFuture<S> create(S resource);
+
+	<S extends T> ClientFuture<S> save(S resource);
+
+	ClientFuture<Void> delete(I id);
+
+	Class<T> getResourceClass();
+}
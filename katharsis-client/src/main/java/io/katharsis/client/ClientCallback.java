@@ -0,0 +1,14 @@
+package io.katharsis.client;
+
+/**
+ * Gets notified about the completion of a {@link ClientFuture}. Invoked on a thread of the underlying http client,
+ * implementations must not block.
+ *
+ * @param <T> type of the result
+ */
+public interface ClientCallback<T> {
+
+	void onSuccess(T result);
+
+	void onFailure(RuntimeException e);
+}
@@ -0,0 +1,20 @@
+package io.katharsis.client;
+
+import java.util.concurrent.Future;
+
+/**
+ * Result of an asynchronous repository call. Can either be awaited with {@link #get()} or observed with
+ * {@link #addCallback(ClientCallback)}. Failures are reported as the exceptions the synchronous repository would have
+ * thrown, wrapped in an ExecutionException by {@link #get()}.
+ *
+ * @param <T> type of the result
+ */
+public interface ClientFuture<T> extends Future<T> {
+
+	/**
+	 * Registers a callback invoked once the call completed. Invoked right away if the call already completed.
+	 * 
+	 * @param callback to notify
+	 */
+	void addCallback(ClientCallback<? super T> callback);
+}
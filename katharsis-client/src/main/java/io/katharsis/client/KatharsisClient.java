@@ -4,7 +4,10 @@ import java.io.Serializable;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -12,9 +15,15 @@ import com.fasterxml.jackson.databind.module.SimpleModule;
 
 import io.katharsis.client.action.ActionStubFactory;
 import io.katharsis.client.action.ActionStubFactoryContext;
+import io.katharsis.client.http.ClientTransportConfig;
 import io.katharsis.client.http.HttpAdapter;
 import io.katharsis.client.http.apache.HttpClientAdapter;
 import io.katharsis.client.http.okhttp.OkHttpAdapter;
+import io.katharsis.client.http.resilience.ResilienceConfig;
+import io.katharsis.client.http.resilience.ResilientHttpAdapter;
+import io.katharsis.client.internal.AsyncRelationshipRepositoryStubImpl;
+import io.katharsis.client.internal.AsyncResourceRepositoryStubImpl;
+import io.katharsis.client.internal.ClientDocumentCache;
 import io.katharsis.client.internal.ClientDocumentMapper;
 import io.katharsis.client.internal.ClientStubInvocationHandler;
 import io.katharsis.client.internal.RelationshipRepositoryStubImpl;
@@ -35,6 +44,7 @@ import io.katharsis.core.internal.repository.adapter.RelationshipRepositoryAdapt
 import io.katharsis.core.internal.repository.adapter.ResourceRepositoryAdapter;
 import io.katharsis.core.internal.repository.information.ResourceRepositoryInformationImpl;
 import io.katharsis.core.internal.utils.JsonApiUrlBuilder;
+import io.katharsis.core.internal.utils.MultivaluedMap;
 import io.katharsis.core.internal.utils.PreconditionUtil;
 import io.katharsis.errorhandling.exception.RepositoryNotFoundException;
 import io.katharsis.legacy.registry.DefaultResourceInformationBuilderContext;
@@ -42,6 +52,8 @@ import io.katharsis.legacy.registry.RepositoryInstanceBuilder;
 import io.katharsis.legacy.repository.RelationshipRepository;
 import io.katharsis.module.Module;
 import io.katharsis.module.ModuleRegistry;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.repository.BulkRelationshipRepositoryV2;
 import io.katharsis.repository.RelationshipRepositoryV2;
 import io.katharsis.repository.ResourceRepositoryV2;
 import io.katharsis.repository.information.RepositoryInformationBuilder;
@@ -89,6 +101,12 @@ public class KatharsisClient {
 
 	private ClientDocumentMapper documentMapper;
 
+	private ClientDocumentCache documentCache;
+
+	private ClientTransportConfig transportConfig;
+
+	private ResilientHttpAdapter resilientHttpAdapter;
+
 	public KatharsisClient(String serviceUrl) {
 		this(new ConstantServiceUrlProvider(normalize(serviceUrl)));
 	}
@@ -131,6 +149,24 @@ public class KatharsisClient {
 				return repositoryStub.findAll(url);
 
 			}
+
+			@Override
+			@SuppressWarnings({ "unchecked", "rawtypes" })
+			public Map<Object, Collection<?>> getRelatedCollections(Class<?> resourceClass, Collection<Object> ids, String fieldName) {
+				RegistryEntry entry = resourceRegistry.findEntry(resourceClass);
+				ResourceField field = entry.getResourceInformation().findRelationshipFieldByName(fieldName);
+				Class<?> targetClass = field.getElementType();
+				BulkRelationshipRepositoryV2 repositoryStub = getBulkRepositoryForType(resourceClass, targetClass);
+				MultivaluedMap targets = repositoryStub.findTargets(ids, fieldName, new QuerySpec(targetClass));
+
+				Map<Object, Collection<?>> collections = new HashMap<>();
+				for (Object id : ids) {
+					if (targets.containsKey(id)) {
+						collections.put(id, targets.getList(id));
+					}
+				}
+				return collections;
+			}
 		});
 		documentMapper.setProxyFactory(proxyFactory);
 	}
@@ -374,6 +410,17 @@ public class KatharsisClient {
 
 	}
 
+	/**
+	 * @param resourceClass
+	 *            resource class
+	 * @return non-blocking stub for the given resourceClass
+	 */
+	public <T, I extends Serializable> AsyncResourceRepositoryStub<T, I> getAsyncRepositoryForType(Class<T> resourceClass) {
+		ResourceRepositoryV2<T, I> repository = getRepositoryForType(resourceClass);
+		PreconditionUtil.assertTrue("not a client stub", repository instanceof ResourceRepositoryStubImpl);
+		return new AsyncResourceRepositoryStubImpl<>(this, (ResourceRepositoryStubImpl<T, I>) repository, urlBuilder);
+	}
+
 	/**
 	 * @deprecated make use of getRepositoryForType()
 	 */
@@ -420,6 +467,33 @@ public class KatharsisClient {
 		return (RelationshipRepositoryV2<T, I, D, J>) repositoryAdapter.getRelationshipRepository();
 	}
 
+	/**
+	 * @param sourceClass
+	 *            source class
+	 * @param targetClass
+	 *            target class
+	 * @return stub for the relationship between the given source and target
+	 *         class, supports to request the targets of multiple sources at once
+	 */
+	public <T, I extends Serializable, D, J extends Serializable> BulkRelationshipRepositoryV2<T, I, D, J> getBulkRepositoryForType(Class<T> sourceClass, Class<D> targetClass) {
+		RelationshipRepositoryV2<T, I, D, J> repository = getRepositoryForType(sourceClass, targetClass);
+		PreconditionUtil.assertTrue("not a client stub", repository instanceof RelationshipRepositoryStubImpl);
+		return (BulkRelationshipRepositoryV2<T, I, D, J>) repository;
+	}
+
+	/**
+	 * @param sourceClass
+	 *            source class
+	 * @param targetClass
+	 *            target class
+	 * @return non-blocking stub for the relationship between the given source and target class
+	 */
+	public <T, I extends Serializable, D, J extends Serializable> AsyncRelationshipRepositoryStub<T, I, D, J> getAsyncRepositoryForType(Class<T> sourceClass, Class<D> targetClass) {
+		RelationshipRepositoryV2<T, I, D, J> repository = getRepositoryForType(sourceClass, targetClass);
+		PreconditionUtil.assertTrue("not a client stub", repository instanceof RelationshipRepositoryStubImpl);
+		return new AsyncRelationshipRepositoryStubImpl<>(this, (RelationshipRepositoryStubImpl<T, I, D, J>) repository, urlBuilder);
+	}
+
 	/**
 	 * @deprecated make use of getRepositoryForType()
 	 */
@@ -437,6 +511,12 @@ public class KatharsisClient {
 
 	public void setHttpAdapter(HttpAdapter httpAdapter) {
 		this.httpAdapter = httpAdapter;
+		if (transportConfig != null) {
+			applyTransportConfig(httpAdapter, transportConfig);
+		}
+		if (resilientHttpAdapter != null) {
+			resilientHttpAdapter.setDelegate(httpAdapter);
+		}
 
 		List<Module> modules = moduleRegistry.getModules();
 		for (Module module : modules) {
@@ -509,4 +589,80 @@ public class KatharsisClient {
 	public ClientDocumentMapper getDocumentMapper() {
 		return documentMapper;
 	}
+
+	/**
+	 * Sets connection pooling, keep-alive, concurrency and protocol settings of the http adapter. Applies to the
+	 * current adapter as well as to adapters set later on. Must be called before the first request is issued. Supported
+	 * by {@link OkHttpAdapter} and {@link HttpClientAdapter}, other adapters are left untouched.
+	 *
+	 * @param transportConfig to apply
+	 */
+	public void setTransportConfig(ClientTransportConfig transportConfig) {
+		applyTransportConfig(httpAdapter, transportConfig);
+		this.transportConfig = transportConfig;
+	}
+
+	private static void applyTransportConfig(HttpAdapter httpAdapter, ClientTransportConfig transportConfig) {
+		if (httpAdapter instanceof OkHttpAdapter) {
+			((OkHttpAdapter) httpAdapter).setTransportConfig(transportConfig);
+		} else if (httpAdapter instanceof HttpClientAdapter) {
+			((HttpClientAdapter) httpAdapter).setTransportConfig(transportConfig);
+		}
+	}
+
+	public ClientTransportConfig getTransportConfig() {
+		return transportConfig;
+	}
+
+	/**
+	 * Applies retries, hedging and circuit breakers to the requests of the repository stubs. The policies are layered
+	 * on top of the http adapter, {@link #getHttpAdapter()} keeps returning the plain adapter. Disabled by default. The
+	 * adapter applying previously set policies is closed, dropping its pending hedges and retries.
+	 *
+	 * @param resilienceConfig policies to apply or null to disable them
+	 */
+	public void setResilienceConfig(ResilienceConfig resilienceConfig) {
+		if (resilientHttpAdapter != null) {
+			resilientHttpAdapter.close();
+		}
+		resilientHttpAdapter = resilienceConfig != null ? new ResilientHttpAdapter(httpAdapter, resilienceConfig) : null;
+	}
+
+	/**
+	 * @return adapter applying the resilience policies or null if none are configured
+	 */
+	public ResilientHttpAdapter getResilientHttpAdapter() {
+		return resilientHttpAdapter;
+	}
+
+	/**
+	 * Lazy collections of the same relationship obtained with one response are loaded in batches once one of them is
+	 * accessed. The owning resources are re-requested with the relationship included instead of following the related
+	 * link of every collection. Disabled by default.
+	 *
+	 * @param batchSize maximum number of collections to load with one request, 1 to load every collection separately
+	 */
+	public void setProxyBatchSize(int batchSize) {
+		PreconditionUtil.assertTrue("batchSize must be positive", batchSize > 0);
+		documentMapper.setProxyBatchSize(batchSize);
+	}
+
+	/**
+	 * Enables caching of GET responses carrying an ETag. Cached documents are revalidated with If-None-Match and
+	 * reused if the server answers with 304 Not Modified. Modifications through the repository stubs invalidate the
+	 * cached documents of the affected resource type. Disabled by default.
+	 *
+	 * @param maxEntries maximum number of cached documents, 0 to disable caching
+	 */
+	public void setDocumentCacheSize(int maxEntries) {
+		PreconditionUtil.assertTrue("maxEntries must not be negative", maxEntries >= 0);
+		documentCache = maxEntries > 0 ? new ClientDocumentCache(maxEntries) : null;
+	}
+
+	/**
+	 * @return cache of GET responses or null if caching is disabled
+	 */
+	public ClientDocumentCache getDocumentCache() {
+		return documentCache;
+	}
 }
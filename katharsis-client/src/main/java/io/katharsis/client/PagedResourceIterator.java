@@ -0,0 +1,77 @@
+package io.katharsis.client;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import io.katharsis.core.internal.utils.PreconditionUtil;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.repository.ResourceRepositoryV2;
+
+/**
+ * Iterates over a potentially large collection of resources page by page. Only the current page is held in memory,
+ * the next one is requested once the current one has been consumed. Iteration ends with the first page that is not
+ * full.
+ *
+ * @param <T> resource type
+ */
+public class PagedResourceIterator<T> implements Iterator<T> {
+
+	private final ResourceRepositoryV2<T, ?> repository;
+
+	private final QuerySpec querySpec;
+
+	private final long pageSize;
+
+	private long offset;
+
+	private Iterator<T> page;
+
+	private boolean lastPage;
+
+	/**
+	 * @param repository to fetch the pages from
+	 * @param querySpec filters, sorting and inclusions to apply, paging is overridden
+	 * @param pageSize number of resources to request at once
+	 */
+	public PagedResourceIterator(ResourceRepositoryV2<T, ?> repository, QuerySpec querySpec, long pageSize) {
+		PreconditionUtil.assertTrue("pageSize must be positive", pageSize > 0);
+		this.repository = repository;
+		this.querySpec = querySpec.duplicate();
+		this.pageSize = pageSize;
+		this.offset = querySpec.getOffset();
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (page == null || !page.hasNext()) {
+			if (lastPage) {
+				return false;
+			}
+			fetchPage();
+		}
+		return true;
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return page.next();
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	private void fetchPage() {
+		querySpec.setOffset(offset);
+		querySpec.setLimit(pageSize);
+		List<T> resources = repository.findAll(querySpec);
+		offset += resources.size();
+		lastPage = resources.size() < pageSize;
+		page = resources.iterator();
+	}
+}
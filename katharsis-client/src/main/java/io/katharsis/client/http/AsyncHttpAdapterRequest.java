@@ -0,0 +1,16 @@
+package io.katharsis.client.http;
+
+/**
+ * Implemented by requests supporting non-blocking execution. Requests of other adapters are executed on the calling
+ * thread when used asynchronously.
+ */
+public interface AsyncHttpAdapterRequest extends HttpAdapterRequest {
+
+	/**
+	 * Executes the request without blocking the calling thread.
+	 * 
+	 * @param callback to notify once the response is available or the request failed
+	 */
+	void executeAsync(HttpAdapterCallback callback);
+
+}
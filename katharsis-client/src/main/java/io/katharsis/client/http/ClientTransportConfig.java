@@ -0,0 +1,147 @@
+package io.katharsis.client.http;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transport settings applied by {@link io.katharsis.client.http.okhttp.OkHttpAdapter} and
+ * {@link io.katharsis.client.http.apache.HttpClientAdapter} when they create the underlying client. Unset values leave
+ * the defaults of the respective http client in place. Settings an implementation does not support are ignored:
+ *
+ * <ul>
+ * <li>OkHttp maps all settings, maxRequests and maxRequestsPerHost limit the dispatcher and thereby only asynchronous
+ * calls.</li>
+ * <li>Apache HttpClient 4.x does not support HTTP/2 and has no limit for idle connections. Idle connections are
+ * evicted after the keep-alive duration instead. Since every request in progress holds a connection, maxRequests and
+ * maxRequestsPerHost limit the connections of the pool rather than the requests.</li>
+ * </ul>
+ *
+ * Instances are immutable, every {@link Builder#build()} call creates a new one.
+ */
+public class ClientTransportConfig {
+
+	private final Long connectTimeout;
+
+	private final Integer maxIdleConnections;
+
+	private final Long keepAliveDuration;
+
+	private final Integer maxRequests;
+
+	private final Integer maxRequestsPerHost;
+
+	private final boolean http2Enabled;
+
+	private ClientTransportConfig(Builder builder) {
+		this.connectTimeout = builder.connectTimeout;
+		this.maxIdleConnections = builder.maxIdleConnections;
+		this.keepAliveDuration = builder.keepAliveDuration;
+		this.maxRequests = builder.maxRequests;
+		this.maxRequestsPerHost = builder.maxRequestsPerHost;
+		this.http2Enabled = builder.http2Enabled;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * @return connect timeout in milliseconds
+	 */
+	public Long getConnectTimeout() {
+		return connectTimeout;
+	}
+
+	/**
+	 * @return maximum number of idle connections to keep in the pool
+	 */
+	public Integer getMaxIdleConnections() {
+		return maxIdleConnections;
+	}
+
+	/**
+	 * @return duration in milliseconds to keep idle connections alive
+	 */
+	public Long getKeepAliveDuration() {
+		return keepAliveDuration;
+	}
+
+	/**
+	 * @return maximum number of concurrent requests
+	 */
+	public Integer getMaxRequests() {
+		return maxRequests;
+	}
+
+	/**
+	 * @return maximum number of concurrent requests per host
+	 */
+	public Integer getMaxRequestsPerHost() {
+		return maxRequestsPerHost;
+	}
+
+	/**
+	 * @return true if HTTP/2 may be negotiated, true by default
+	 */
+	public boolean isHttp2Enabled() {
+		return http2Enabled;
+	}
+
+	public static class Builder {
+
+		private Long connectTimeout;
+
+		private Integer maxIdleConnections;
+
+		private Long keepAliveDuration;
+
+		private Integer maxRequests;
+
+		private Integer maxRequestsPerHost;
+
+		private boolean http2Enabled = true;
+
+		private Builder() {
+		}
+
+		public Builder setConnectTimeout(long timeout, TimeUnit unit) {
+			this.connectTimeout = unit.toMillis(timeout);
+			return this;
+		}
+
+		public Builder setMaxIdleConnections(int maxIdleConnections) {
+			this.maxIdleConnections = checkPositive(maxIdleConnections);
+			return this;
+		}
+
+		public Builder setKeepAliveDuration(long duration, TimeUnit unit) {
+			this.keepAliveDuration = unit.toMillis(duration);
+			return this;
+		}
+
+		public Builder setMaxRequests(int maxRequests) {
+			this.maxRequests = checkPositive(maxRequests);
+			return this;
+		}
+
+		public Builder setMaxRequestsPerHost(int maxRequestsPerHost) {
+			this.maxRequestsPerHost = checkPositive(maxRequestsPerHost);
+			return this;
+		}
+
+		public Builder setHttp2Enabled(boolean http2Enabled) {
+			this.http2Enabled = http2Enabled;
+			return this;
+		}
+
+		public ClientTransportConfig build() {
+			return new ClientTransportConfig(this);
+		}
+
+		private static int checkPositive(int value) {
+			if (value <= 0) {
+				throw new IllegalArgumentException("value must be positive: " + value);
+			}
+			return value;
+		}
+	}
+}
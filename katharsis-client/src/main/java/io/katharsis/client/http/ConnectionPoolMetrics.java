@@ -0,0 +1,23 @@
+package io.katharsis.client.http;
+
+/**
+ * Gives access to the current state of the connection pool of an {@link HttpAdapter}.
+ */
+public interface ConnectionPoolMetrics {
+
+	/**
+	 * @return number of open connections not in use
+	 */
+	int getIdleConnections();
+
+	/**
+	 * @return number of connections in use
+	 */
+	int getActiveConnections();
+
+	/**
+	 * @return number of requests waiting for a connection or an execution slot
+	 */
+	int getPendingRequests();
+
+}
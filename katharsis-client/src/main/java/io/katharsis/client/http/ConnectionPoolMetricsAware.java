@@ -0,0 +1,16 @@
+package io.katharsis.client.http;
+
+/**
+ * Can be implemented by adapter listeners, like {@link io.katharsis.client.http.okhttp.OkHttpAdapterListener} and
+ * {@link io.katharsis.client.http.apache.HttpClientAdapterListener}, to get access to the connection pool of the
+ * created http client.
+ */
+public interface ConnectionPoolMetricsAware {
+
+	/**
+	 * Called once the http client has been created.
+	 *
+	 * @param metrics of the connection pool of the created client, null if not available
+	 */
+	public void setConnectionPoolMetrics(ConnectionPoolMetrics metrics);
+}
@@ -0,0 +1,15 @@
+package io.katharsis.client.http;
+
+import java.io.IOException;
+
+/**
+ * Gets notified about the outcome of {@link AsyncHttpAdapterRequest#executeAsync(HttpAdapterCallback)}. Invoked on a
+ * thread of the underlying http client, implementations must not block.
+ */
+public interface HttpAdapterCallback {
+
+	void onResponse(HttpAdapterResponse response);
+
+	void onFailure(IOException e);
+
+}
@@ -1,6 +1,7 @@
 package io.katharsis.client.http;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 public interface HttpAdapterResponse {
 
@@ -8,6 +9,14 @@ public interface HttpAdapterResponse {
 
 	String body() throws IOException;
 
+	/**
+	 * Gives access to the body without buffering it as a string. Either {@link #body()} or this method is used for a
+	 * response, not both. The caller is responsible to close the stream.
+	 *
+	 * @return body of the response as stream
+	 */
+	InputStream bodyStream() throws IOException;
+
 	int code();
 
 	String message();
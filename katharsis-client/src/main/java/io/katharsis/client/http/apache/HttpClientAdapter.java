@@ -1,25 +1,43 @@
 package io.katharsis.client.http.apache;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.http.HttpResponse;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.protocol.HttpContext;
 
+import io.katharsis.client.http.ClientTransportConfig;
+import io.katharsis.client.http.ConnectionPoolMetrics;
+import io.katharsis.client.http.ConnectionPoolMetricsAware;
 import io.katharsis.client.http.HttpAdapter;
 import io.katharsis.client.http.HttpAdapterRequest;
 import io.katharsis.repository.request.HttpMethod;
 
-public class HttpClientAdapter implements HttpAdapter {
+public class HttpClientAdapter implements HttpAdapter, Closeable {
 
 	private CloseableHttpClient impl;
 
+	private CloseableHttpAsyncClient asyncImpl;
+
 	private CopyOnWriteArrayList<HttpClientAdapterListener> listeners = new CopyOnWriteArrayList<>();
 
 	private Integer receiveTimeout;
 
+	private ClientTransportConfig transportConfig;
+
+	private PoolingHttpClientConnectionManager connectionManager;
+
 	public void addListener(HttpClientAdapterListener listener) {
 		if (impl != null) {
 			throw new IllegalStateException("already initialized");
@@ -34,29 +52,171 @@ public class HttpClientAdapter implements HttpAdapter {
 		return impl;
 	}
 
+	/**
+	 * @return client used for asynchronous requests, requires org.apache.httpcomponents:httpasyncclient on the
+	 *         classpath.
+	 */
+	public CloseableHttpAsyncClient getAsyncImplementation() {
+		if (asyncImpl == null) {
+			initAsyncImpl();
+		}
+		return asyncImpl;
+	}
+
+	private void initAsyncImpl() {
+		synchronized (this) {
+			if (asyncImpl == null) {
+				HttpAsyncClientBuilder builder = HttpAsyncClients.custom();
+				builder.setDefaultRequestConfig(buildRequestConfig());
+				if (transportConfig != null) {
+					if (transportConfig.getMaxRequests() != null) {
+						builder.setMaxConnTotal(transportConfig.getMaxRequests());
+					}
+					if (transportConfig.getMaxRequestsPerHost() != null) {
+						builder.setMaxConnPerRoute(transportConfig.getMaxRequestsPerHost());
+					}
+					if (transportConfig.getKeepAliveDuration() != null) {
+						builder.setKeepAliveStrategy(newKeepAliveStrategy());
+					}
+				}
+
+				CloseableHttpAsyncClient client = builder.build();
+				client.start();
+				asyncImpl = client;
+			}
+		}
+	}
+
 	private void initImpl() {
 		synchronized (this) {
 			if (impl == null) {
 				HttpClientBuilder builder = HttpClients.custom();
+				builder.setDefaultRequestConfig(buildRequestConfig());
 
-				if (receiveTimeout != null) {
-					RequestConfig.Builder requestBuilder = RequestConfig.custom();
-					requestBuilder = requestBuilder.setSocketTimeout(receiveTimeout);
-					builder.setDefaultRequestConfig(requestBuilder.build());
+				if (transportConfig != null) {
+					applyTransportConfig(builder);
 				}
 
 				for (HttpClientAdapterListener listener : listeners) {
 					listener.onBuild(builder);
 				}
 				impl = builder.build();
+
+				ConnectionPoolMetrics metrics = getConnectionPoolMetrics();
+				for (HttpClientAdapterListener listener : listeners) {
+					if (listener instanceof ConnectionPoolMetricsAware) {
+						((ConnectionPoolMetricsAware) listener).setConnectionPoolMetrics(metrics);
+					}
+				}
+			}
+		}
+	}
+
+	private RequestConfig buildRequestConfig() {
+		RequestConfig.Builder requestBuilder = RequestConfig.custom();
+		if (receiveTimeout != null) {
+			requestBuilder.setSocketTimeout(receiveTimeout);
+		}
+		if (transportConfig != null && transportConfig.getConnectTimeout() != null) {
+			requestBuilder.setConnectTimeout(transportConfig.getConnectTimeout().intValue());
+		}
+		return requestBuilder.build();
+	}
+
+	private void applyTransportConfig(HttpClientBuilder builder) {
+		connectionManager = new PoolingHttpClientConnectionManager();
+		builder.setConnectionManager(connectionManager);
+		if (transportConfig.getMaxRequests() != null) {
+			connectionManager.setMaxTotal(transportConfig.getMaxRequests());
+		}
+		if (transportConfig.getMaxRequestsPerHost() != null) {
+			connectionManager.setDefaultMaxPerRoute(transportConfig.getMaxRequestsPerHost());
+		}
+		if (transportConfig.getKeepAliveDuration() != null) {
+			builder.setKeepAliveStrategy(newKeepAliveStrategy());
+			builder.evictIdleConnections(transportConfig.getKeepAliveDuration(), TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private ConnectionKeepAliveStrategy newKeepAliveStrategy() {
+		final long keepAliveDuration = transportConfig.getKeepAliveDuration();
+		return new ConnectionKeepAliveStrategy() {
+
+			@Override
+			public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+				return keepAliveDuration;
+			}
+		};
+	}
+
+	/**
+	 * With a {@link ClientTransportConfig} in place, the adapter sets up the connection manager itself. Listeners
+	 * customizing the socket factories or replacing the connection manager must then do so on a connection manager of
+	 * their own.
+	 *
+	 * @return metrics of the connection pool used by blocking requests, null if no {@link ClientTransportConfig} has
+	 *         been set and the pool has been created internally by the HttpClientBuilder.
+	 */
+	public ConnectionPoolMetrics getConnectionPoolMetrics() {
+		getImplementation();
+		if (connectionManager == null) {
+			return null;
+		}
+		return new ConnectionPoolMetrics() {
+
+			@Override
+			public int getIdleConnections() {
+				return connectionManager.getTotalStats().getAvailable();
+			}
+
+			@Override
+			public int getActiveConnections() {
+				return connectionManager.getTotalStats().getLeased();
+			}
+
+			@Override
+			public int getPendingRequests() {
+				return connectionManager.getTotalStats().getPending();
+			}
+		};
+	}
+
+	/**
+	 * Must be called before the first request is issued. HttpClient 4.x has no limit for concurrent requests, every
+	 * request in progress holds a connection instead. maxRequests and maxRequestsPerHost of the given config are
+	 * therefore applied as limits of the connection pool, which also bounds the idle connections kept open.
+	 *
+	 * @param transportConfig to apply when creating the underlying http client
+	 */
+	public void setTransportConfig(ClientTransportConfig transportConfig) {
+		if (impl != null) {
+			throw new IllegalStateException("already initialized");
+		}
+		this.transportConfig = transportConfig;
+	}
+
+	/**
+	 * Closes the created http clients. The client used for asynchronous requests runs I/O threads of its own that
+	 * are only stopped this way.
+	 */
+	@Override
+	public void close() throws IOException {
+		synchronized (this) {
+			try {
+				if (asyncImpl != null) {
+					asyncImpl.close();
+				}
+			} finally {
+				if (impl != null) {
+					impl.close();
+				}
 			}
 		}
 	}
 
 	@Override
 	public HttpAdapterRequest newRequest(String url, HttpMethod method, String requestBody) {
-		CloseableHttpClient impl = getImplementation();
-		return new HttpClientRequest(impl, url, method, requestBody);
+		return new HttpClientRequest(this, url, method, requestBody);
 	}
 
 	public static HttpClientAdapter newInstance() {
@@ -3,6 +3,7 @@ package io.katharsis.client.http.apache;
 import java.io.IOException;
 import java.nio.charset.Charset;
 
+import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPatch;
@@ -10,14 +11,16 @@ import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
+import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.impl.client.CloseableHttpClient;
 
-import io.katharsis.client.http.HttpAdapterRequest;
+import io.katharsis.client.http.AsyncHttpAdapterRequest;
+import io.katharsis.client.http.HttpAdapterCallback;
 import io.katharsis.client.http.HttpAdapterResponse;
 import io.katharsis.client.internal.AbstractStub;
 import io.katharsis.repository.request.HttpMethod;
 
-public class HttpClientRequest implements HttpAdapterRequest {
+public class HttpClientRequest implements AsyncHttpAdapterRequest {
 
 	private static final Charset CHARSET_UTF8 = Charset.forName("UTF8");
 
@@ -27,6 +30,13 @@ public class HttpClientRequest implements HttpAdapterRequest {
 
 	private CloseableHttpClient impl;
 
+	private HttpClientAdapter adapter;
+
+	public HttpClientRequest(HttpClientAdapter adapter, String url, HttpMethod method, String requestBody) {
+		this(adapter.getImplementation(), url, method, requestBody);
+		this.adapter = adapter;
+	}
+
 	public HttpClientRequest(CloseableHttpClient impl, String url, HttpMethod method, String requestBody) {
 		this.impl = impl;
 		if (method == HttpMethod.GET) {
@@ -60,4 +70,28 @@ public class HttpClientRequest implements HttpAdapterRequest {
 	public HttpAdapterResponse execute() throws IOException {
 		return new HttpClientResponse(impl.execute(requestBase));
 	}
+
+	@Override
+	public void executeAsync(final HttpAdapterCallback callback) {
+		if (adapter == null) {
+			throw new UnsupportedOperationException("asynchronous execution requires a HttpClientAdapter");
+		}
+		adapter.getAsyncImplementation().execute(requestBase, new FutureCallback<HttpResponse>() {
+
+			@Override
+			public void completed(HttpResponse result) {
+				callback.onResponse(new HttpClientResponse(result));
+			}
+
+			@Override
+			public void failed(Exception e) {
+				callback.onFailure(e instanceof IOException ? (IOException) e : new IOException(e));
+			}
+
+			@Override
+			public void cancelled() {
+				callback.onFailure(new IOException("request cancelled: " + requestBase.getURI()));
+			}
+		});
+	}
 }
@@ -1,28 +1,30 @@
 package io.katharsis.client.http.apache;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
 
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
 import org.apache.http.ParseException;
-import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.util.EntityUtils;
 
 import io.katharsis.client.http.HttpAdapterResponse;
 
 public class HttpClientResponse implements HttpAdapterResponse {
 
-	private CloseableHttpResponse response;
+	private static final Charset CHARSET_UTF8 = Charset.forName("UTF8");
+
+	private HttpResponse response;
 
 	private String body;
 
-	public HttpClientResponse(CloseableHttpResponse response) throws ParseException, IOException {
-		this.response = response;
+	private boolean consumed;
 
-		HttpEntity entity = response.getEntity();
-		if (entity != null) {
-			body = EntityUtils.toString(entity);
-		}
+	public HttpClientResponse(HttpResponse response) {
+		this.response = response;
 	}
 
 	@Override
@@ -31,10 +33,27 @@ public class HttpClientResponse implements HttpAdapterResponse {
 	}
 
 	@Override
-	public String body() throws IOException {
+	public String body() throws ParseException, IOException {
+		if (!consumed) {
+			consumed = true;
+			HttpEntity entity = response.getEntity();
+			if (entity != null) {
+				body = EntityUtils.toString(entity);
+			}
+		}
 		return body;
 	}
 
+	@Override
+	public InputStream bodyStream() throws IOException {
+		if (consumed) {
+			return new ByteArrayInputStream(body != null ? body.getBytes(CHARSET_UTF8) : new byte[0]);
+		}
+		consumed = true;
+		HttpEntity entity = response.getEntity();
+		return entity != null ? entity.getContent() : new ByteArrayInputStream(new byte[0]);
+	}
+
 	@Override
 	public int code() {
 		return response.getStatusLine().getStatusCode();
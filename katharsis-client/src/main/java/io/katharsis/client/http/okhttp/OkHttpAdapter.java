@@ -1,22 +1,35 @@
 package io.katharsis.client.http.okhttp;
 
+import java.util.Arrays;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
+import io.katharsis.client.http.ClientTransportConfig;
+import io.katharsis.client.http.ConnectionPoolMetrics;
+import io.katharsis.client.http.ConnectionPoolMetricsAware;
 import io.katharsis.client.http.HttpAdapter;
 import io.katharsis.client.http.HttpAdapterRequest;
 import io.katharsis.repository.request.HttpMethod;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
 import okhttp3.OkHttpClient.Builder;
+import okhttp3.Protocol;
 
 public class OkHttpAdapter implements HttpAdapter {
 
+	private static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+
+	private static final long DEFAULT_KEEP_ALIVE_DURATION = TimeUnit.MINUTES.toMillis(5);
+
 	private OkHttpClient impl;
 
 	private CopyOnWriteArrayList<OkHttpAdapterListener> listeners = new CopyOnWriteArrayList<>();
 
 	private Long networkTimeout;
 
+	private ClientTransportConfig transportConfig;
+
 	public void addListener(OkHttpAdapterListener listener) {
 		if (impl != null) {
 			throw new IllegalStateException("already initialized");
@@ -39,13 +52,91 @@ public class OkHttpAdapter implements HttpAdapter {
 				if (networkTimeout != null) {
 					builder.readTimeout(networkTimeout, TimeUnit.MILLISECONDS);
 				}
+				if (transportConfig != null) {
+					applyTransportConfig(builder);
+				}
 
 				for (OkHttpAdapterListener listener : listeners) {
 					listener.onBuild(builder);
 				}
 				impl = builder.build();
+				if (transportConfig != null) {
+					applyDispatcherLimits(impl.dispatcher());
+				}
+
+				ConnectionPoolMetrics metrics = getConnectionPoolMetrics();
+				for (OkHttpAdapterListener listener : listeners) {
+					if (listener instanceof ConnectionPoolMetricsAware) {
+						((ConnectionPoolMetricsAware) listener).setConnectionPoolMetrics(metrics);
+					}
+				}
+			}
+		}
+	}
+
+	private void applyTransportConfig(Builder builder) {
+		if (transportConfig.getConnectTimeout() != null) {
+			builder.connectTimeout(transportConfig.getConnectTimeout(), TimeUnit.MILLISECONDS);
+		}
+		if (transportConfig.getMaxIdleConnections() != null || transportConfig.getKeepAliveDuration() != null) {
+			Integer maxIdleConnections = transportConfig.getMaxIdleConnections();
+			Long keepAliveDuration = transportConfig.getKeepAliveDuration();
+			builder.connectionPool(new ConnectionPool(maxIdleConnections != null ? maxIdleConnections : DEFAULT_MAX_IDLE_CONNECTIONS,
+					keepAliveDuration != null ? keepAliveDuration : DEFAULT_KEEP_ALIVE_DURATION, TimeUnit.MILLISECONDS));
+		}
+		if (!transportConfig.isHttp2Enabled()) {
+			builder.protocols(Arrays.asList(Protocol.HTTP_1_1));
+		}
+	}
+
+	/**
+	 * Limits are applied to the dispatcher of the created client since listeners may replace the dispatcher, e.g. to
+	 * propagate tracing information.
+	 */
+	private void applyDispatcherLimits(Dispatcher dispatcher) {
+		if (transportConfig.getMaxRequests() != null) {
+			dispatcher.setMaxRequests(transportConfig.getMaxRequests());
+		}
+		if (transportConfig.getMaxRequestsPerHost() != null) {
+			dispatcher.setMaxRequestsPerHost(transportConfig.getMaxRequestsPerHost());
+		}
+	}
+
+	/**
+	 * @return metrics of the connection pool and dispatcher in use
+	 */
+	public ConnectionPoolMetrics getConnectionPoolMetrics() {
+		final OkHttpClient client = getImplementation();
+		return new ConnectionPoolMetrics() {
+
+			@Override
+			public int getIdleConnections() {
+				return client.connectionPool().idleConnectionCount();
 			}
+
+			@Override
+			public int getActiveConnections() {
+				ConnectionPool pool = client.connectionPool();
+				return pool.connectionCount() - pool.idleConnectionCount();
+			}
+
+			@Override
+			public int getPendingRequests() {
+				return client.dispatcher().queuedCallsCount();
+			}
+		};
+	}
+
+	/**
+	 * Must be called before the first request is issued.
+	 *
+	 * @param transportConfig to apply when creating the underlying http client
+	 */
+	public void setTransportConfig(ClientTransportConfig transportConfig) {
+		if (impl != null) {
+			throw new IllegalStateException("already initialized");
 		}
+		this.transportConfig = transportConfig;
 	}
 
 	@Override
@@ -2,16 +2,19 @@ package io.katharsis.client.http.okhttp;
 
 import java.io.IOException;
 
-import io.katharsis.client.http.HttpAdapterRequest;
+import io.katharsis.client.http.AsyncHttpAdapterRequest;
+import io.katharsis.client.http.HttpAdapterCallback;
 import io.katharsis.client.http.HttpAdapterResponse;
 import io.katharsis.repository.request.HttpMethod;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Request.Builder;
 import okhttp3.RequestBody;
 import okhttp3.Response;
 
-public class OkHttpRequest implements HttpAdapterRequest {
+public class OkHttpRequest implements AsyncHttpAdapterRequest {
 
 	private Builder builder;
 
@@ -37,4 +40,21 @@ public class OkHttpRequest implements HttpAdapterRequest {
 		return new OkHttpResponse(response);
 	}
 
+	@Override
+	public void executeAsync(final HttpAdapterCallback callback) {
+		Request request = builder.build();
+		client.newCall(request).enqueue(new Callback() {
+
+			@Override
+			public void onResponse(Call call, Response response) {
+				callback.onResponse(new OkHttpResponse(response));
+			}
+
+			@Override
+			public void onFailure(Call call, IOException e) {
+				callback.onFailure(e);
+			}
+		});
+	}
+
 }
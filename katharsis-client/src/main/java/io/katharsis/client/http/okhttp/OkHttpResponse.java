@@ -1,6 +1,7 @@
 package io.katharsis.client.http.okhttp;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 import io.katharsis.client.http.HttpAdapterResponse;
 import okhttp3.Response;
@@ -23,6 +24,11 @@ public class OkHttpResponse implements HttpAdapterResponse {
 		return response.body().string();
 	}
 
+	@Override
+	public InputStream bodyStream() throws IOException {
+		return response.body().byteStream();
+	}
+
 	@Override
 	public int code() {
 		return response.code();
@@ -0,0 +1,121 @@
+package io.katharsis.client.http.resilience;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the consecutive failures of a host. Trips once the failure threshold is reached and rejects requests for the
+ * open duration. Afterwards a single probe request is let through, its outcome either closes the breaker or opens it
+ * again. Only the outcome of the probe is taken into account while the breaker is not closed, outcomes of requests
+ * acquired before the breaker tripped are ignored. A probe ending without outcome, like due to an unexpected exception,
+ * must be released with {@link #release(Permit)} to let the next request probe the host.
+ */
+public class CircuitBreaker {
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	/**
+	 * Handed out by {@link CircuitBreaker#tryAcquire()} and passed back along with the outcome of the request.
+	 */
+	enum Permit {
+		/**
+		 * Request issued while the breaker was closed.
+		 */
+		REQUEST,
+
+		/**
+		 * Single request probing the host while the breaker is half open.
+		 */
+		PROBE
+	}
+
+	private final int failureThreshold;
+
+	private final long openDuration;
+
+	private final Ticker ticker;
+
+	private State state = State.CLOSED;
+
+	private int failures;
+
+	private long openedAt;
+
+	private boolean probing;
+
+	CircuitBreaker(int failureThreshold, long openDuration, Ticker ticker) {
+		this.failureThreshold = failureThreshold;
+		this.openDuration = TimeUnit.MILLISECONDS.toNanos(openDuration);
+		this.ticker = ticker;
+	}
+
+	/**
+	 * @return permit for the request or null if the request is rejected
+	 */
+	synchronized Permit tryAcquire() {
+		if (state == State.CLOSED) {
+			return Permit.REQUEST;
+		}
+		if (state == State.OPEN && ticker.read() - openedAt >= openDuration) {
+			state = State.HALF_OPEN;
+		}
+		if (state == State.HALF_OPEN && !probing) {
+			probing = true;
+			return Permit.PROBE;
+		}
+		return null;
+	}
+
+	/**
+	 * Releases a request acquired with {@link #tryAcquire()} whose outcome has been neither reported with
+	 * {@link #onSuccess(Permit)} nor {@link #onFailure(Permit)}. Lets the next request probe the host if it was the
+	 * probe.
+	 *
+	 * @param permit of the request
+	 */
+	synchronized void release(Permit permit) {
+		if (permit == Permit.PROBE) {
+			probing = false;
+		}
+	}
+
+	/**
+	 * @param permit of the succeeded request
+	 */
+	synchronized void onSuccess(Permit permit) {
+		if (permit == Permit.PROBE) {
+			probing = false;
+			failures = 0;
+			state = State.CLOSED;
+		}
+		else if (state == State.CLOSED) {
+			failures = 0;
+		}
+	}
+
+	/**
+	 * @param permit of the failed request
+	 * @return true if the failure tripped the breaker
+	 */
+	synchronized boolean onFailure(Permit permit) {
+		if (permit == Permit.PROBE) {
+			probing = false;
+			return trip();
+		}
+		if (state == State.CLOSED && ++failures >= failureThreshold) {
+			return trip();
+		}
+		return false;
+	}
+
+	private boolean trip() {
+		state = State.OPEN;
+		openedAt = ticker.read();
+		return true;
+	}
+
+	public synchronized State getState() {
+		return state;
+	}
+}
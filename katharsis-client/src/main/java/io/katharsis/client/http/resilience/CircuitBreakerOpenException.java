@@ -0,0 +1,15 @@
+package io.katharsis.client.http.resilience;
+
+import java.io.IOException;
+
+/**
+ * Thrown if a request is rejected because the circuit breaker of the host is open.
+ */
+public class CircuitBreakerOpenException extends IOException {
+
+	private static final long serialVersionUID = -3203482466581239127L;
+
+	public CircuitBreakerOpenException(String host) {
+		super("circuit breaker open for " + host);
+	}
+}
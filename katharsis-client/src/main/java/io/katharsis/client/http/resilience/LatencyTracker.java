@@ -0,0 +1,38 @@
+package io.katharsis.client.http.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent latencies of a host to derive the hedging delay from.
+ */
+class LatencyTracker {
+
+	private static final int MAX_SAMPLES = 128;
+
+	private static final int MIN_SAMPLES = 20;
+
+	private final long[] samples = new long[MAX_SAMPLES];
+
+	private int count;
+
+	private int next;
+
+	synchronized void record(long latency) {
+		samples[next] = latency;
+		next = (next + 1) % MAX_SAMPLES;
+		count = Math.min(count + 1, MAX_SAMPLES);
+	}
+
+	/**
+	 * @return latency at the given percentile or -1 if too few latencies have been recorded
+	 */
+	synchronized long getPercentile(double percentile) {
+		if (count < MIN_SAMPLES) {
+			return -1;
+		}
+		long[] sorted = Arrays.copyOf(samples, count);
+		Arrays.sort(sorted);
+		int index = (int) Math.ceil(percentile * count) - 1;
+		return sorted[Math.max(0, index)];
+	}
+}
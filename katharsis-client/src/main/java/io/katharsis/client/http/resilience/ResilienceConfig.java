@@ -0,0 +1,191 @@
+package io.katharsis.client.http.resilience;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Policies applied by the {@link ResilientHttpAdapter}. All of them are disabled by default:
+ *
+ * <ul>
+ * <li>Retries repeat idempotent requests (GET, PUT and DELETE) failing with an I/O error or one of the retry status
+ * codes. The delay between attempts grows exponentially and is randomized to avoid synchronized retry waves.</li>
+ * <li>Hedging issues a second GET request if the first one did not complete within the given percentile of the
+ * latencies recently observed for the host. The first response wins.</li>
+ * <li>Circuit breakers keep track of consecutive failures per host. Once tripped, requests to the host are rejected
+ * with a {@link CircuitBreakerOpenException} until the open duration has passed and a single probe request
+ * succeeded.</li>
+ * </ul>
+ */
+public class ResilienceConfig {
+
+	private final int maxRetries;
+
+	private final long initialBackoff;
+
+	private final long maxBackoff;
+
+	private final Set<Integer> retryStatusCodes;
+
+	private final double hedgePercentile;
+
+	private final long minHedgeDelay;
+
+	private final int failureThreshold;
+
+	private final long openDuration;
+
+	private ResilienceConfig(Builder builder) {
+		this.maxRetries = builder.maxRetries;
+		this.initialBackoff = builder.initialBackoff;
+		this.maxBackoff = builder.maxBackoff;
+		this.retryStatusCodes = Collections.unmodifiableSet(new HashSet<>(builder.retryStatusCodes));
+		this.hedgePercentile = builder.hedgePercentile;
+		this.minHedgeDelay = builder.minHedgeDelay;
+		this.failureThreshold = builder.failureThreshold;
+		this.openDuration = builder.openDuration;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * @return maximum number of times a request is repeated, 0 if retries are disabled
+	 */
+	public int getMaxRetries() {
+		return maxRetries;
+	}
+
+	/**
+	 * @return upper bound of the delay in milliseconds before the first retry
+	 */
+	public long getInitialBackoff() {
+		return initialBackoff;
+	}
+
+	/**
+	 * @return upper bound of the delay in milliseconds between any two attempts
+	 */
+	public long getMaxBackoff() {
+		return maxBackoff;
+	}
+
+	/**
+	 * @return status codes that are retried, 502, 503 and 504 by default
+	 */
+	public Set<Integer> getRetryStatusCodes() {
+		return retryStatusCodes;
+	}
+
+	public boolean isHedgingEnabled() {
+		return hedgePercentile > 0.0;
+	}
+
+	/**
+	 * @return percentile of the recent latencies after which a GET request is hedged
+	 */
+	public double getHedgePercentile() {
+		return hedgePercentile;
+	}
+
+	/**
+	 * @return minimum delay in milliseconds before a request is hedged, also used as long as too few latencies have
+	 *         been observed
+	 */
+	public long getMinHedgeDelay() {
+		return minHedgeDelay;
+	}
+
+	public boolean isCircuitBreakerEnabled() {
+		return failureThreshold > 0;
+	}
+
+	/**
+	 * @return number of consecutive failures tripping the circuit breaker of a host
+	 */
+	public int getFailureThreshold() {
+		return failureThreshold;
+	}
+
+	/**
+	 * @return duration in milliseconds a tripped circuit breaker rejects requests
+	 */
+	public long getOpenDuration() {
+		return openDuration;
+	}
+
+	public static class Builder {
+
+		private int maxRetries = 0;
+
+		private long initialBackoff = 100;
+
+		private long maxBackoff = 2000;
+
+		private Set<Integer> retryStatusCodes = new HashSet<>(Arrays.asList(502, 503, 504));
+
+		private double hedgePercentile = 0.0;
+
+		private long minHedgeDelay;
+
+		private int failureThreshold = 0;
+
+		private long openDuration;
+
+		private Builder() {
+		}
+
+		public Builder setMaxRetries(int maxRetries) {
+			if (maxRetries < 0) {
+				throw new IllegalArgumentException("maxRetries must not be negative: " + maxRetries);
+			}
+			this.maxRetries = maxRetries;
+			return this;
+		}
+
+		public Builder setRetryBackoff(long initialBackoff, long maxBackoff, TimeUnit unit) {
+			if (initialBackoff < 0 || maxBackoff < initialBackoff) {
+				throw new IllegalArgumentException("invalid backoff: " + initialBackoff + ", " + maxBackoff);
+			}
+			this.initialBackoff = unit.toMillis(initialBackoff);
+			this.maxBackoff = unit.toMillis(maxBackoff);
+			return this;
+		}
+
+		public Builder setRetryStatusCodes(Integer... statusCodes) {
+			this.retryStatusCodes = new HashSet<>(Arrays.asList(statusCodes));
+			return this;
+		}
+
+		public Builder setHedging(double percentile, long minDelay, TimeUnit unit) {
+			if (percentile <= 0.0 || percentile > 1.0) {
+				throw new IllegalArgumentException("percentile must be within (0, 1]: " + percentile);
+			}
+			if (minDelay < 0) {
+				throw new IllegalArgumentException("minDelay must not be negative: " + minDelay);
+			}
+			this.hedgePercentile = percentile;
+			this.minHedgeDelay = unit.toMillis(minDelay);
+			return this;
+		}
+
+		public Builder setCircuitBreaker(int failureThreshold, long openDuration, TimeUnit unit) {
+			if (failureThreshold <= 0 || openDuration <= 0) {
+				throw new IllegalArgumentException("invalid circuit breaker: " + failureThreshold + ", " + openDuration);
+			}
+			this.failureThreshold = failureThreshold;
+			this.openDuration = unit.toMillis(openDuration);
+			return this;
+		}
+
+		/**
+		 * @return new config with the current settings, later changes to this builder do not affect it
+		 */
+		public ResilienceConfig build() {
+			return new ResilienceConfig(this);
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package io.katharsis.client.http.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the actions taken by the {@link ResilientHttpAdapter}.
+ */
+public class ResilienceMetrics {
+
+	private final AtomicLong requestCount = new AtomicLong();
+
+	private final AtomicLong retryCount = new AtomicLong();
+
+	private final AtomicLong hedgeCount = new AtomicLong();
+
+	private final AtomicLong hedgeWinCount = new AtomicLong();
+
+	private final AtomicLong rejectionCount = new AtomicLong();
+
+	private final AtomicLong tripCount = new AtomicLong();
+
+	void recordRequest() {
+		requestCount.incrementAndGet();
+	}
+
+	void recordRetry() {
+		retryCount.incrementAndGet();
+	}
+
+	void recordHedge() {
+		hedgeCount.incrementAndGet();
+	}
+
+	void recordHedgeWin() {
+		hedgeWinCount.incrementAndGet();
+	}
+
+	void recordRejection() {
+		rejectionCount.incrementAndGet();
+	}
+
+	void recordTrip() {
+		tripCount.incrementAndGet();
+	}
+
+	/**
+	 * @return number of requests issued by the stubs, excluding retries and hedges
+	 */
+	public long getRequestCount() {
+		return requestCount.get();
+	}
+
+	/**
+	 * @return number of repeated attempts
+	 */
+	public long getRetryCount() {
+		return retryCount.get();
+	}
+
+	/**
+	 * @return number of hedge requests issued
+	 */
+	public long getHedgeCount() {
+		return hedgeCount.get();
+	}
+
+	/**
+	 * @return number of hedge requests that completed before the original request
+	 */
+	public long getHedgeWinCount() {
+		return hedgeWinCount.get();
+	}
+
+	/**
+	 * @return number of requests rejected by an open circuit breaker
+	 */
+	public long getRejectionCount() {
+		return rejectionCount.get();
+	}
+
+	/**
+	 * @return number of times a circuit breaker has been opened
+	 */
+	public long getTripCount() {
+		return tripCount.get();
+	}
+}
@@ -0,0 +1,222 @@
+package io.katharsis.client.http.resilience;
+
+import java.io.Closeable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import io.katharsis.client.http.HttpAdapter;
+import io.katharsis.client.http.HttpAdapterRequest;
+import io.katharsis.repository.request.HttpMethod;
+
+/**
+ * Applies the retry, hedging and circuit breaker policies of a {@link ResilienceConfig} on top of another
+ * {@link HttpAdapter}. Circuit breakers and latencies are tracked per host, whereas a host is identified by the
+ * scheme, name and port of the request urls. Hedges and asynchronous retries are timed by a daemon thread and issued
+ * from daemon worker threads, so a blocking delegate does not hold up other timers. The threads are released by
+ * {@link #close()}.
+ */
+public class ResilientHttpAdapter implements HttpAdapter, Closeable {
+
+	/**
+	 * Used to bound the wait for hedged requests as long as no receive timeout has been set, matches the default read
+	 * timeout of OkHttp.
+	 */
+	private static final long DEFAULT_RECEIVE_TIMEOUT = 10000;
+
+	private HttpAdapter delegate;
+
+	private final ResilienceConfig config;
+
+	private final ResilienceMetrics metrics = new ResilienceMetrics();
+
+	private final ConcurrentMap<String, HostState> hostStates = new ConcurrentHashMap<>();
+
+	private ScheduledExecutorService scheduler;
+
+	private ExecutorService workers;
+
+	private boolean closed;
+
+	private volatile long receiveTimeout = DEFAULT_RECEIVE_TIMEOUT;
+
+	private Ticker ticker = Ticker.SYSTEM;
+
+	public ResilientHttpAdapter(HttpAdapter delegate, ResilienceConfig config) {
+		this.delegate = delegate;
+		this.config = config;
+	}
+
+	@Override
+	public HttpAdapterRequest newRequest(String url, HttpMethod method, String requestBody) {
+		return new ResilientHttpRequest(this, url, method, requestBody);
+	}
+
+	@Override
+	public void setReceiveTimeout(int timeout, TimeUnit unit) {
+		delegate.setReceiveTimeout(timeout, unit);
+		receiveTimeout = unit.toMillis(timeout);
+	}
+
+	/**
+	 * @return receive timeout in milliseconds
+	 */
+	long getReceiveTimeout() {
+		return receiveTimeout;
+	}
+
+	/**
+	 * Must be set before the first request is issued.
+	 *
+	 * @param ticker to use for the circuit breakers
+	 */
+	void setTicker(Ticker ticker) {
+		this.ticker = ticker;
+	}
+
+	/**
+	 * Stops the threads scheduling and issuing hedges and asynchronous retries. Pending ones are dropped. The delegate
+	 * is left open since it is not owned by this adapter.
+	 */
+	@Override
+	public synchronized void close() {
+		closed = true;
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+			scheduler = null;
+		}
+		if (workers != null) {
+			workers.shutdownNow();
+			workers = null;
+		}
+	}
+
+	public HttpAdapter getDelegate() {
+		return delegate;
+	}
+
+	/**
+	 * Replaces the adapter issuing the requests. Circuit breakers, latencies and metrics are kept.
+	 *
+	 * @param delegate to use from now on
+	 */
+	public void setDelegate(HttpAdapter delegate) {
+		this.delegate = delegate;
+	}
+
+	public ResilienceConfig getConfig() {
+		return config;
+	}
+
+	public ResilienceMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * @param url of the host or any of its resources
+	 * @return state of the circuit breaker of the host or null if no request has been issued to it yet or circuit
+	 *         breakers are disabled
+	 */
+	public CircuitBreaker.State getCircuitBreakerState(String url) {
+		HostState hostState = hostStates.get(getHost(url));
+		return hostState != null && hostState.breaker != null ? hostState.breaker.getState() : null;
+	}
+
+	HostState getHostState(String url) {
+		String host = getHost(url);
+		HostState hostState = hostStates.get(host);
+		if (hostState == null) {
+			hostState = new HostState(host, config, ticker);
+			HostState existing = hostStates.putIfAbsent(host, hostState);
+			if (existing != null) {
+				hostState = existing;
+			}
+		}
+		return hostState;
+	}
+
+	/**
+	 * Runs the task on a worker thread once the delay elapsed. The timing thread only hands the task over, it never
+	 * runs it.
+	 *
+	 * @param task to run
+	 * @param delay in milliseconds
+	 * @return future to cancel the task as long as it has not been handed over
+	 */
+	synchronized ScheduledFuture<?> schedule(final Runnable task, long delay) {
+		startThreads();
+		final Executor executor = workers;
+		return scheduler.schedule(new Runnable() {
+
+			@Override
+			public void run() {
+				executor.execute(task);
+			}
+		}, delay, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * @param task to run on a worker thread right away
+	 */
+	synchronized void execute(Runnable task) {
+		startThreads();
+		workers.execute(task);
+	}
+
+	private void startThreads() {
+		if (closed) {
+			throw new IllegalStateException("adapter has been closed");
+		}
+		if (scheduler == null) {
+			scheduler = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("katharsis-client-resilience"));
+			workers = Executors.newCachedThreadPool(new DaemonThreadFactory("katharsis-client-resilience-worker"));
+		}
+	}
+
+	static String getHost(String url) {
+		int schemeEnd = url.indexOf("://");
+		int hostStart = schemeEnd != -1 ? schemeEnd + 3 : 0;
+		int hostEnd = hostStart;
+		while (hostEnd < url.length() && url.charAt(hostEnd) != '/' && url.charAt(hostEnd) != '?') {
+			hostEnd++;
+		}
+		return url.substring(0, hostEnd);
+	}
+
+	private static class DaemonThreadFactory implements ThreadFactory {
+
+		private final String name;
+
+		DaemonThreadFactory(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, name);
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+	static class HostState {
+
+		final String host;
+
+		final CircuitBreaker breaker;
+
+		final LatencyTracker latencies = new LatencyTracker();
+
+		HostState(String host, ResilienceConfig config, Ticker ticker) {
+			this.host = host;
+			this.breaker = config.isCircuitBreakerEnabled()
+					? new CircuitBreaker(config.getFailureThreshold(), config.getOpenDuration(), ticker) : null;
+		}
+	}
+}
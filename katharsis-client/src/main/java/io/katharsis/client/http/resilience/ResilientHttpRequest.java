@@ -0,0 +1,446 @@
+package io.katharsis.client.http.resilience;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import io.katharsis.client.http.AsyncHttpAdapterRequest;
+import io.katharsis.client.http.HttpAdapterCallback;
+import io.katharsis.client.http.HttpAdapterRequest;
+import io.katharsis.client.http.HttpAdapterResponse;
+import io.katharsis.client.http.resilience.CircuitBreaker.Permit;
+import io.katharsis.client.http.resilience.ResilientHttpAdapter.HostState;
+import io.katharsis.client.internal.HttpAdapterRequestUtils;
+import io.katharsis.repository.request.HttpMethod;
+
+/**
+ * Records the request and issues it as many times against the underlying adapter as the policies ask for.
+ */
+class ResilientHttpRequest implements AsyncHttpAdapterRequest {
+
+	private static final int MAX_BACKOFF_SHIFT = 30;
+
+	private final ResilientHttpAdapter adapter;
+
+	private final ResilienceConfig config;
+
+	private final ResilienceMetrics metrics;
+
+	private final HostState hostState;
+
+	private final String url;
+
+	private final HttpMethod method;
+
+	private final String requestBody;
+
+	private final List<String[]> headers = new ArrayList<>();
+
+	ResilientHttpRequest(ResilientHttpAdapter adapter, String url, HttpMethod method, String requestBody) {
+		this.adapter = adapter;
+		this.config = adapter.getConfig();
+		this.metrics = adapter.getMetrics();
+		this.hostState = adapter.getHostState(url);
+		this.url = url;
+		this.method = method;
+		this.requestBody = requestBody;
+	}
+
+	@Override
+	public void header(String name, String value) {
+		headers.add(new String[] { name, value });
+	}
+
+	@Override
+	public HttpAdapterResponse execute() throws IOException {
+		metrics.recordRequest();
+		int attempt = 0;
+		while (true) {
+			Permit permit = tryAcquire();
+			if (permit == null) {
+				throw new CircuitBreakerOpenException(hostState.host);
+			}
+			HttpAdapterResponse response;
+			try {
+				response = executeAttempt(permit);
+			}
+			catch (IOException e) {
+				if (!isRetryable(attempt)) {
+					throw e;
+				}
+				sleep(getBackoff(attempt++));
+				continue;
+			}
+			if (!isRetryable(attempt, response)) {
+				return response;
+			}
+			discard(response);
+			sleep(getBackoff(attempt++));
+		}
+	}
+
+	@Override
+	public void executeAsync(HttpAdapterCallback callback) {
+		metrics.recordRequest();
+		new AsyncExecution(callback).run();
+	}
+
+	/**
+	 * Issues a single attempt and records its outcome with the circuit breaker. An attempt ending without outcome
+	 * releases the breaker to not leave it half open forever.
+	 */
+	private HttpAdapterResponse executeAttempt(Permit permit) throws IOException {
+		long start = System.nanoTime();
+		boolean recorded = false;
+		try {
+			HttpAdapterResponse response;
+			try {
+				response = isHedged() ? executeHedged() : newAttempt().execute();
+			}
+			catch (IOException e) {
+				recorded = true;
+				recordFailure(permit);
+				throw e;
+			}
+			recorded = true;
+			recordResponse(response, start, permit);
+			return response;
+		}
+		finally {
+			if (!recorded) {
+				release(permit);
+			}
+		}
+	}
+
+	/**
+	 * Waits for the hedged requests at most until the last of them ran into the receive timeout.
+	 */
+	private HttpAdapterResponse executeHedged() throws IOException {
+		BlockingCallback callback = new BlockingCallback();
+		HedgedExecution execution = new HedgedExecution(callback);
+		execution.start();
+		return callback.await(execution.hedgeDelay + adapter.getReceiveTimeout());
+	}
+
+	private HttpAdapterRequest newAttempt() {
+		HttpAdapterRequest request = adapter.getDelegate().newRequest(url, method, requestBody);
+		for (String[] header : headers) {
+			request.header(header[0], header[1]);
+		}
+		return request;
+	}
+
+	private boolean isHedged() {
+		return config.isHedgingEnabled() && method == HttpMethod.GET;
+	}
+
+	private boolean isRetryable(int attempt) {
+		boolean idempotent = method == HttpMethod.GET || method == HttpMethod.PUT || method == HttpMethod.DELETE;
+		return idempotent && attempt < config.getMaxRetries();
+	}
+
+	private boolean isRetryable(int attempt, HttpAdapterResponse response) {
+		return isRetryable(attempt) && config.getRetryStatusCodes().contains(response.code());
+	}
+
+	/**
+	 * @return permit for the attempt or null if the circuit breaker rejected it
+	 */
+	private Permit tryAcquire() {
+		if (hostState.breaker == null) {
+			return Permit.REQUEST;
+		}
+		Permit permit = hostState.breaker.tryAcquire();
+		if (permit == null) {
+			metrics.recordRejection();
+		}
+		return permit;
+	}
+
+	private void release(Permit permit) {
+		if (hostState.breaker != null) {
+			hostState.breaker.release(permit);
+		}
+	}
+
+	private void recordResponse(HttpAdapterResponse response, long start, Permit permit) {
+		if (response.code() >= 500) {
+			recordFailure(permit);
+		}
+		else {
+			if (hostState.breaker != null) {
+				hostState.breaker.onSuccess(permit);
+			}
+			hostState.latencies.record(System.nanoTime() - start);
+		}
+	}
+
+	private void recordFailure(Permit permit) {
+		if (hostState.breaker != null && hostState.breaker.onFailure(permit)) {
+			metrics.recordTrip();
+		}
+	}
+
+	/**
+	 * Full jitter: a random delay between zero and the exponentially growing upper bound.
+	 */
+	private long getBackoff(int attempt) {
+		metrics.recordRetry();
+		long bound = Math.min(config.getMaxBackoff(), config.getInitialBackoff() << Math.min(attempt, MAX_BACKOFF_SHIFT));
+		return ThreadLocalRandom.current().nextLong(bound + 1);
+	}
+
+	private long getHedgeDelay() {
+		long latency = hostState.latencies.getPercentile(config.getHedgePercentile());
+		long minDelay = config.getMinHedgeDelay();
+		return latency < 0 ? minDelay : Math.max(minDelay, TimeUnit.NANOSECONDS.toMillis(latency));
+	}
+
+	private static void sleep(long millis) throws IOException {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted while waiting for retry");
+		}
+	}
+
+	private static void discard(HttpAdapterResponse response) {
+		try {
+			response.bodyStream().close();
+		}
+		catch (IOException e) { // NOSONAR response no longer of interest
+		}
+	}
+
+	/**
+	 * Asynchronous counterpart of {@link ResilientHttpRequest#execute()}, retries are scheduled rather than waited
+	 * for.
+	 */
+	private class AsyncExecution implements HttpAdapterCallback, Runnable {
+
+		private final HttpAdapterCallback callback;
+
+		private int attempt;
+
+		private long start;
+
+		private Permit permit;
+
+		AsyncExecution(HttpAdapterCallback callback) {
+			this.callback = callback;
+		}
+
+		@Override
+		public void run() {
+			permit = tryAcquire();
+			if (permit == null) {
+				callback.onFailure(new CircuitBreakerOpenException(hostState.host));
+				return;
+			}
+			start = System.nanoTime();
+			boolean issued = false;
+			try {
+				if (isHedged()) {
+					new HedgedExecution(this).start();
+				}
+				else {
+					HttpAdapterRequestUtils.executeAsync(newAttempt(), this);
+				}
+				issued = true;
+			}
+			finally {
+				if (!issued) {
+					release(permit);
+				}
+			}
+		}
+
+		@Override
+		public void onResponse(HttpAdapterResponse response) {
+			recordResponse(response, start, permit);
+			if (isRetryable(attempt, response)) {
+				discard(response);
+				scheduleRetry();
+			}
+			else {
+				callback.onResponse(response);
+			}
+		}
+
+		@Override
+		public void onFailure(IOException e) {
+			recordFailure(permit);
+			if (isRetryable(attempt)) {
+				scheduleRetry();
+			}
+			else {
+				callback.onFailure(e);
+			}
+		}
+
+		private void scheduleRetry() {
+			long delay = getBackoff(attempt++);
+			adapter.schedule(this, delay);
+		}
+	}
+
+	/**
+	 * Issues the request and a second one if the first did not complete within the hedging delay. The first response
+	 * is passed on, a failure only once no other request is pending. Requests not supporting asynchronous execution
+	 * are issued from worker threads of the adapter, so neither the caller nor the thread timing the hedge is blocked
+	 * by them.
+	 */
+	private class HedgedExecution implements Runnable {
+
+		private final HttpAdapterCallback callback;
+
+		private int pending;
+
+		private boolean done;
+
+		private ScheduledFuture<?> timer;
+
+		private final long hedgeDelay;
+
+		HedgedExecution(HttpAdapterCallback callback) {
+			this.callback = callback;
+			this.hedgeDelay = getHedgeDelay();
+		}
+
+		void start() {
+			synchronized (this) {
+				pending = 1;
+				timer = adapter.schedule(this, hedgeDelay);
+			}
+			send(false);
+		}
+
+		@Override
+		public void run() {
+			synchronized (this) {
+				if (done) {
+					return;
+				}
+				pending++;
+			}
+			metrics.recordHedge();
+			send(true);
+		}
+
+		private void send(final boolean hedge) {
+			final HttpAdapterRequest request = newAttempt();
+			final HttpAdapterCallback hedgeCallback = newCallback(hedge);
+			if (request instanceof AsyncHttpAdapterRequest) {
+				((AsyncHttpAdapterRequest) request).executeAsync(hedgeCallback);
+				return;
+			}
+			adapter.execute(new Runnable() {
+
+				@Override
+				public void run() {
+					HttpAdapterRequestUtils.executeAsync(request, hedgeCallback);
+				}
+			});
+		}
+
+		private HttpAdapterCallback newCallback(final boolean hedge) {
+			return new HttpAdapterCallback() {
+
+				@Override
+				public void onResponse(HttpAdapterResponse response) {
+					if (complete(true)) {
+						if (hedge) {
+							metrics.recordHedgeWin();
+						}
+						callback.onResponse(response);
+					}
+					else {
+						discard(response);
+					}
+				}
+
+				@Override
+				public void onFailure(IOException e) {
+					if (complete(false)) {
+						callback.onFailure(e);
+					}
+				}
+			};
+		}
+
+		private synchronized boolean complete(boolean success) {
+			pending--;
+			if (done || !success && pending > 0) {
+				return false;
+			}
+			done = true;
+			timer.cancel(false);
+			return true;
+		}
+	}
+
+	private static class BlockingCallback implements HttpAdapterCallback {
+
+		private final CountDownLatch latch = new CountDownLatch(1);
+
+		private HttpAdapterResponse response;
+
+		private IOException failure;
+
+		private boolean abandoned;
+
+		@Override
+		public void onResponse(HttpAdapterResponse response) {
+			synchronized (this) {
+				if (abandoned) {
+					discard(response);
+					return;
+				}
+				this.response = response;
+			}
+			latch.countDown();
+		}
+
+		@Override
+		public synchronized void onFailure(IOException e) {
+			this.failure = e;
+			latch.countDown();
+		}
+
+		/**
+		 * @param timeout in milliseconds
+		 */
+		HttpAdapterResponse await(long timeout) throws IOException {
+			boolean completed;
+			try {
+				completed = latch.await(timeout, TimeUnit.MILLISECONDS);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				completed = false;
+			}
+			synchronized (this) {
+				if (!completed && response == null && failure == null) {
+					abandoned = true;
+					if (Thread.currentThread().isInterrupted()) {
+						throw new InterruptedIOException("interrupted while waiting for response");
+					}
+					throw new SocketTimeoutException("no response within " + timeout + "ms");
+				}
+				if (failure != null) {
+					throw failure;
+				}
+				return response;
+			}
+		}
+	}
+}
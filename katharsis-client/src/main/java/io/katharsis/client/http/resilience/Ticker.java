@@ -0,0 +1,20 @@
+package io.katharsis.client.http.resilience;
+
+/**
+ * Source of the time used by the circuit breakers, can be replaced to not depend on the wall clock.
+ */
+interface Ticker {
+
+	Ticker SYSTEM = new Ticker() {
+
+		@Override
+		public long read() {
+			return System.nanoTime();
+		}
+	};
+
+	/**
+	 * @return time in nanoseconds, only meaningful relative to other readings
+	 */
+	long read();
+}
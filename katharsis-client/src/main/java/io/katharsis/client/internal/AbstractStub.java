@@ -1,6 +1,7 @@
 package io.katharsis.client.internal;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,8 +9,10 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.katharsis.client.ClientException;
+import io.katharsis.client.ClientFuture;
 import io.katharsis.client.KatharsisClient;
 import io.katharsis.client.http.HttpAdapter;
+import io.katharsis.client.http.HttpAdapterCallback;
 import io.katharsis.client.http.HttpAdapterRequest;
 import io.katharsis.client.http.HttpAdapterResponse;
 import io.katharsis.core.internal.exception.ExceptionMapperRegistry;
@@ -26,6 +29,12 @@ public class AbstractStub {
 
 	public static final String CONTENT_TYPE = "application/vnd.api+json";
 
+	private static final String HEADER_ETAG = "ETag";
+
+	private static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+
+	private static final int HTTP_NOT_MODIFIED = 304;
+
 	protected KatharsisClient client;
 
 	protected JsonApiUrlBuilder urlBuilder;
@@ -49,37 +58,135 @@ public class AbstractStub {
 
 	protected Object execute(String url, ResponseType responseType, HttpMethod method, String requestBody) {
 		try {
+			ClientDocumentCache.Entry cached = getCachedEntry(url, method, responseType);
+			HttpAdapterRequest request = newRequest(url, method, requestBody, cached);
+			HttpAdapterResponse response = request.execute();
+			return handleResponse(url, method, response, responseType, cached);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
 
-			HttpAdapter httpAdapter = client.getHttpAdapter();
-			HttpAdapterRequest request = httpAdapter.newRequest(url, method, requestBody);
+	/**
+	 * Same as {@link #execute(String, ResponseType, HttpMethod, String)}, but does not block the calling thread.
+	 */
+	protected ClientFuture<Object> executeAsync(final String url, final ResponseType responseType, final HttpMethod method, String requestBody) {
+		final ClientFutureImpl<Object> future = new ClientFutureImpl<>();
+		final ClientDocumentCache.Entry cached = getCachedEntry(url, method, responseType);
+		HttpAdapterRequest request = newRequest(url, method, requestBody, cached);
+		HttpAdapterRequestUtils.executeAsync(request, new HttpAdapterCallback() {
+
+			@Override
+			public void onResponse(HttpAdapterResponse response) {
+				Object result;
+				try {
+					result = handleResponse(url, method, response, responseType, cached);
+				} catch (IOException e) {
+					future.fail(new IllegalStateException(e));
+					return;
+				} catch (RuntimeException e) {
+					future.fail(e);
+					return;
+				}
+				future.complete(result);
+			}
 
-			LOGGER.debug("requesting {} {}", method, url);
-			if (requestBody != null) {
-				LOGGER.debug("request body: {}", requestBody);
+			@Override
+			public void onFailure(IOException e) {
+				future.fail(new IllegalStateException(e));
 			}
+		});
+		return future;
+	}
 
-			request.header("Content-Type", CONTENT_TYPE);
-			request.header("Accept", CONTENT_TYPE);
+	/**
+	 * @return resource type used to associate cached responses with the repository and to invalidate them upon
+	 *         modifications.
+	 */
+	protected String getResourceType() {
+		return null;
+	}
 
-			HttpAdapterResponse response = request.execute();
+	private ClientDocumentCache.Entry getCachedEntry(String url, HttpMethod method, ResponseType responseType) {
+		ClientDocumentCache cache = client.getDocumentCache();
+		if (cache != null && method == HttpMethod.GET && responseType != ResponseType.NONE) {
+			return cache.get(url);
+		}
+		return null;
+	}
+
+	private HttpAdapterRequest newRequest(String url, HttpMethod method, String requestBody, ClientDocumentCache.Entry cached) {
+		HttpAdapter httpAdapter = client.getResilientHttpAdapter();
+		if (httpAdapter == null) {
+			httpAdapter = client.getHttpAdapter();
+		}
+		HttpAdapterRequest request = httpAdapter.newRequest(url, method, requestBody);
+
+		LOGGER.debug("requesting {} {}", method, url);
+		if (requestBody != null) {
+			LOGGER.debug("request body: {}", requestBody);
+		}
 
+		request.header("Content-Type", CONTENT_TYPE);
+		request.header("Accept", CONTENT_TYPE);
+		if (cached != null) {
+			request.header(HEADER_IF_NONE_MATCH, cached.getEtag());
+		}
+		return request;
+	}
+
+	private Object handleResponse(String url, HttpMethod method, HttpAdapterResponse response, ResponseType responseType, ClientDocumentCache.Entry cached) throws IOException {
+		ClientDocumentCache cache = client.getDocumentCache();
+		Document document;
+		if (cached != null && response.code() == HTTP_NOT_MODIFIED) {
+			response.bodyStream().close();
+			cache.recordHit();
+			document = cached.getDocument();
+		} else {
 			if (!response.isSuccessful()) {
 				throw handleError(response);
 			}
+			document = readDocument(response, responseType != ResponseType.NONE);
+			if (cache != null) {
+				updateCache(cache, url, method, response, document);
+			}
+		}
 
-			String body = response.body();
-			LOGGER.debug("response body: {}", body);
-			ObjectMapper objectMapper = client.getObjectMapper();
-
-			if (responseType != ResponseType.NONE) {
-				Document document = objectMapper.readValue(body, Document.class);
+		if (document != null) {
+			ClientDocumentMapper documentMapper = client.getDocumentMapper();
+			return documentMapper.fromDocument(document, responseType == ResponseType.RESOURCES);
+		}
+		return null;
+	}
 
-				ClientDocumentMapper documentMapper = client.getDocumentMapper();
-				return documentMapper.fromDocument(document, responseType == ResponseType.RESOURCES);
+	private void updateCache(ClientDocumentCache cache, String url, HttpMethod method, HttpAdapterResponse response, Document document) {
+		String resourceType = getResourceType();
+		if (method != HttpMethod.GET) {
+			if (resourceType != null) {
+				cache.invalidate(resourceType);
 			}
-			return null;
-		} catch (IOException e) {
-			throw new IllegalStateException(e);
+			return;
+		}
+		String etag = response.getResponseHeader(HEADER_ETAG);
+		if (document != null && etag != null) {
+			cache.recordMiss();
+			cache.put(url, resourceType, etag, document);
+		}
+	}
+
+	/**
+	 * Unless debug logging asks for the body, the document is parsed straight from the response stream without
+	 * buffering the payload as string.
+	 */
+	private Document readDocument(HttpAdapterResponse response, boolean parse) throws IOException {
+		ObjectMapper objectMapper = client.getObjectMapper();
+		if (LOGGER.isDebugEnabled()) {
+			String body = response.body();
+			LOGGER.debug("response body: {}", body);
+			return parse ? objectMapper.readValue(body, Document.class) : null;
+		}
+		try (InputStream body = response.bodyStream()) {
+			return parse ? objectMapper.readValue(body, Document.class) : null;
 		}
 	}
 
@@ -0,0 +1,85 @@
+package io.katharsis.client.internal;
+
+import java.io.Serializable;
+
+import io.katharsis.client.AsyncRelationshipRepositoryStub;
+import io.katharsis.client.ClientFuture;
+import io.katharsis.client.KatharsisClient;
+import io.katharsis.core.internal.utils.JsonApiUrlBuilder;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.repository.request.HttpMethod;
+import io.katharsis.resource.information.ResourceInformation;
+import io.katharsis.resource.list.DefaultResourceList;
+
+/**
+ * Shares the request setup with the blocking stub, only the execution differs.
+ */
+public class AsyncRelationshipRepositoryStubImpl<T, I extends Serializable, D, J extends Serializable> extends AbstractStub
+		implements AsyncRelationshipRepositoryStub<T, I, D, J> {
+
+	private RelationshipRepositoryStubImpl<T, I, D, J> stub;
+
+	private ResourceInformation sourceResourceInformation;
+
+	public AsyncRelationshipRepositoryStubImpl(KatharsisClient client, RelationshipRepositoryStubImpl<T, I, D, J> stub, JsonApiUrlBuilder urlBuilder) {
+		super(client, urlBuilder);
+		this.stub = stub;
+		this.sourceResourceInformation = stub.getSourceResourceInformation();
+	}
+
+	@Override
+	public ClientFuture<Void> setRelation(T source, J targetId, String fieldName) {
+		return executeModification(source, fieldName, HttpMethod.PATCH, stub.toIdRequestBody(targetId));
+	}
+
+	@Override
+	public ClientFuture<Void> setRelations(T source, Iterable<J> targetIds, String fieldName) {
+		return executeModification(source, fieldName, HttpMethod.PATCH, stub.toIdsRequestBody(targetIds));
+	}
+
+	@Override
+	public ClientFuture<Void> addRelations(T source, Iterable<J> targetIds, String fieldName) {
+		return executeModification(source, fieldName, HttpMethod.POST, stub.toIdsRequestBody(targetIds));
+	}
+
+	@Override
+	public ClientFuture<Void> removeRelations(T source, Iterable<J> targetIds, String fieldName) {
+		return executeModification(source, fieldName, HttpMethod.DELETE, stub.toIdsRequestBody(targetIds));
+	}
+
+	@SuppressWarnings("unchecked")
+	private ClientFuture<Void> executeModification(T source, String fieldName, HttpMethod method, String requestBody) {
+		Serializable sourceId = stub.getSourceId(source);
+		String url = urlBuilder.buildUrl(sourceResourceInformation, sourceId, (QuerySpec) null, fieldName);
+		return (ClientFuture<Void>) (ClientFuture<?>) executeAsync(url, ResponseType.NONE, method, requestBody);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public ClientFuture<D> findOneTarget(I sourceId, String fieldName, QuerySpec querySpec) {
+		String url = urlBuilder.buildUrl(sourceResourceInformation, sourceId, querySpec, fieldName);
+		return (ClientFuture<D>) (ClientFuture<?>) executeAsync(url, ResponseType.RESOURCE, HttpMethod.GET, null);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public ClientFuture<DefaultResourceList<D>> findManyTargets(I sourceId, String fieldName, QuerySpec querySpec) {
+		String url = urlBuilder.buildUrl(sourceResourceInformation, sourceId, querySpec, fieldName);
+		return (ClientFuture<DefaultResourceList<D>>) (ClientFuture<?>) executeAsync(url, ResponseType.RESOURCES, HttpMethod.GET, null);
+	}
+
+	@Override
+	public Class<T> getSourceResourceClass() {
+		return stub.getSourceResourceClass();
+	}
+
+	@Override
+	public Class<D> getTargetResourceClass() {
+		return stub.getTargetResourceClass();
+	}
+
+	@Override
+	protected String getResourceType() {
+		return sourceResourceInformation.getResourceType();
+	}
+}
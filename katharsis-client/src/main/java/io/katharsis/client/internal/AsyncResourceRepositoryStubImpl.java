@@ -0,0 +1,87 @@
+package io.katharsis.client.internal;
+
+import java.io.Serializable;
+
+import io.katharsis.client.AsyncResourceRepositoryStub;
+import io.katharsis.client.ClientFuture;
+import io.katharsis.client.KatharsisClient;
+import io.katharsis.core.internal.utils.JsonApiUrlBuilder;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.repository.request.HttpMethod;
+import io.katharsis.resource.information.ResourceInformation;
+import io.katharsis.resource.list.DefaultResourceList;
+
+/**
+ * Shares the request setup with the blocking stub, only the execution differs.
+ */
+public class AsyncResourceRepositoryStubImpl<T, I extends Serializable> extends AbstractStub implements AsyncResourceRepositoryStub<T, I> {
+
+	private ResourceRepositoryStubImpl<T, I> stub;
+
+	private ResourceInformation resourceInformation;
+
+	public AsyncResourceRepositoryStubImpl(KatharsisClient client, ResourceRepositoryStubImpl<T, I> stub, JsonApiUrlBuilder urlBuilder) {
+		super(client, urlBuilder);
+		this.stub = stub;
+		this.resourceInformation = stub.getResourceInformation();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public ClientFuture<T> findOne(I id, QuerySpec querySpec) {
+		String url = urlBuilder.buildUrl(resourceInformation, id, querySpec);
+		return (ClientFuture<T>) (ClientFuture<?>) executeAsync(url, ResponseType.RESOURCE, HttpMethod.GET, null);
+	}
+
+	@Override
+	public ClientFuture<DefaultResourceList<T>> findAll(QuerySpec querySpec) {
+		String url = urlBuilder.buildUrl(resourceInformation, null, querySpec);
+		return findAll(url);
+	}
+
+	@Override
+	public ClientFuture<DefaultResourceList<T>> findAll(Iterable<I> ids, QuerySpec querySpec) {
+		String url = urlBuilder.buildUrl(resourceInformation, ids, querySpec);
+		return findAll(url);
+	}
+
+	@SuppressWarnings("unchecked")
+	private ClientFuture<DefaultResourceList<T>> findAll(String url) {
+		return (ClientFuture<DefaultResourceList<T>>) (ClientFuture<?>) executeAsync(url, ResponseType.RESOURCES, HttpMethod.GET, null);
+	}
+
+	@Override
+	public <S extends T> ClientFuture<S> create(S resource) {
+		return modify(resource, true);
+	}
+
+	@Override
+	public <S extends T> ClientFuture<S> save(S resource) {
+		return modify(resource, false);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <S extends T> ClientFuture<S> modify(S resource, boolean create) {
+		String url = stub.getUpdateUrl(resource, create);
+		String requestBody = stub.toRequestBody(resource);
+		HttpMethod method = stub.getUpdateMethod(create);
+		return (ClientFuture<S>) (ClientFuture<?>) executeAsync(url, ResponseType.RESOURCE, method, requestBody);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public ClientFuture<Void> delete(I id) {
+		String url = urlBuilder.buildUrl(resourceInformation, id, (QuerySpec) null);
+		return (ClientFuture<Void>) (ClientFuture<?>) executeAsync(url, ResponseType.NONE, HttpMethod.DELETE, null);
+	}
+
+	@Override
+	public Class<T> getResourceClass() {
+		return stub.getResourceClass();
+	}
+
+	@Override
+	protected String getResourceType() {
+		return resourceInformation.getResourceType();
+	}
+}
@@ -0,0 +1,127 @@
+package io.katharsis.client.internal;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.katharsis.resource.Document;
+
+/**
+ * Holds the decoded documents of GET requests together with the ETag the server returned for them. Entries are
+ * revalidated with If-None-Match and reused if the server answers with 304. The least recently used entries are
+ * evicted once the maximum size is reached.
+ */
+public class ClientDocumentCache {
+
+	private final Map<String, Entry> cache;
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	@SuppressWarnings("serial")
+	public ClientDocumentCache(final int maxSize) {
+		this.cache = Collections.synchronizedMap(new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > maxSize;
+			}
+		});
+	}
+
+	/**
+	 * @param url of the request
+	 * @return cached entry or null
+	 */
+	public Entry get(String url) {
+		return cache.get(url);
+	}
+
+	/**
+	 * @param url of the request
+	 * @param resourceType of the repository that was called
+	 * @param etag returned by the server
+	 * @param document decoded from the response
+	 */
+	public void put(String url, String resourceType, String etag, Document document) {
+		cache.put(url, new Entry(resourceType, etag, document));
+	}
+
+	/**
+	 * Removes all entries obtained from the repository of the given resource type.
+	 *
+	 * @param resourceType that got modified
+	 */
+	public void invalidate(String resourceType) {
+		synchronized (cache) {
+			Iterator<Entry> iterator = cache.values().iterator();
+			while (iterator.hasNext()) {
+				if (resourceType.equals(iterator.next().getResourceType())) {
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	void recordHit() {
+		hitCount.incrementAndGet();
+	}
+
+	void recordMiss() {
+		missCount.incrementAndGet();
+	}
+
+	/**
+	 * @return number of requests answered with 304 and served from the cache
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * @return number of GET requests for which the server sent a new document
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	public int getSize() {
+		return cache.size();
+	}
+
+	public void clear() {
+		cache.clear();
+		hitCount.set(0);
+		missCount.set(0);
+	}
+
+	public static final class Entry {
+
+		private final String resourceType;
+
+		private final String etag;
+
+		private final Document document;
+
+		Entry(String resourceType, String etag, Document document) {
+			this.resourceType = resourceType;
+			this.etag = etag;
+			this.document = document;
+		}
+
+		public String getResourceType() {
+			return resourceType;
+		}
+
+		public String getEtag() {
+			return etag;
+		}
+
+		public Document getDocument() {
+			return document;
+		}
+	}
+}
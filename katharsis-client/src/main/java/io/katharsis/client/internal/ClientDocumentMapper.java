@@ -36,6 +36,8 @@ public class ClientDocumentMapper extends DocumentMapper {
 
 	private TypeParser typeParser;
 
+	private int proxyBatchSize = 1;
+
 	public ClientDocumentMapper(ModuleRegistry moduleRegistry, ObjectMapper objectMapper, PropertiesProvider propertiesProvider) {
 		super(moduleRegistry.getResourceRegistry(), objectMapper, propertiesProvider, true);
 		this.resourceRegistry = moduleRegistry.getResourceRegistry();
@@ -78,8 +80,12 @@ public class ClientDocumentMapper extends DocumentMapper {
 		this.proxyFactory = proxyFactory;
 	}
 
+	public void setProxyBatchSize(int proxyBatchSize) {
+		this.proxyBatchSize = proxyBatchSize;
+	}
+
 	public Object fromDocument(Document document, boolean getList) {
-		ClientResourceUpsert upsert = new ClientResourceUpsert(resourceRegistry, typeParser, objectMapper, null, proxyFactory);
+		ClientResourceUpsert upsert = new ClientResourceUpsert(resourceRegistry, typeParser, objectMapper, null, proxyFactory, proxyBatchSize);
 
 		if (document.getErrors() != null && !document.getErrors().isEmpty()) {
 			throw new IllegalStateException("document contains json api errors and cannot be processed");
@@ -0,0 +1,136 @@
+package io.katharsis.client.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.katharsis.client.ClientCallback;
+import io.katharsis.client.ClientFuture;
+
+public class ClientFutureImpl<T> implements ClientFuture<T> {
+
+	private final CountDownLatch latch = new CountDownLatch(1);
+
+	private List<ClientCallback<? super T>> callbacks = new ArrayList<>();
+
+	private boolean done;
+
+	private boolean cancelled;
+
+	private T result;
+
+	private RuntimeException failure;
+
+	public void complete(T result) {
+		List<ClientCallback<? super T>> completedCallbacks;
+		synchronized (this) {
+			if (done) {
+				return;
+			}
+			this.result = result;
+			completedCallbacks = finish();
+		}
+		for (ClientCallback<? super T> callback : completedCallbacks) {
+			callback.onSuccess(result);
+		}
+	}
+
+	public void fail(RuntimeException failure) {
+		List<ClientCallback<? super T>> completedCallbacks;
+		synchronized (this) {
+			if (done) {
+				return;
+			}
+			this.failure = failure;
+			completedCallbacks = finish();
+		}
+		for (ClientCallback<? super T> callback : completedCallbacks) {
+			callback.onFailure(failure);
+		}
+	}
+
+	private List<ClientCallback<? super T>> finish() {
+		done = true;
+		latch.countDown();
+		List<ClientCallback<? super T>> completedCallbacks = callbacks;
+		callbacks = null;
+		return completedCallbacks;
+	}
+
+	@Override
+	public void addCallback(ClientCallback<? super T> callback) {
+		synchronized (this) {
+			if (!done) {
+				callbacks.add(callback);
+				return;
+			}
+		}
+		if (cancelled) {
+			callback.onFailure(new CancellationException());
+		}
+		else if (failure != null) {
+			callback.onFailure(failure);
+		}
+		else {
+			callback.onSuccess(result);
+		}
+	}
+
+	/**
+	 * Only marks the future as cancelled, an already issued http request is not aborted. Callbacks get notified with a
+	 * {@link CancellationException}.
+	 */
+	@Override
+	public boolean cancel(boolean mayInterruptIfRunning) {
+		List<ClientCallback<? super T>> completedCallbacks;
+		synchronized (this) {
+			if (done) {
+				return false;
+			}
+			cancelled = true;
+			completedCallbacks = finish();
+		}
+		for (ClientCallback<? super T> callback : completedCallbacks) {
+			callback.onFailure(new CancellationException());
+		}
+		return true;
+	}
+
+	@Override
+	public synchronized boolean isCancelled() {
+		return cancelled;
+	}
+
+	@Override
+	public synchronized boolean isDone() {
+		return done;
+	}
+
+	@Override
+	public T get() throws InterruptedException, ExecutionException {
+		latch.await();
+		return getResult();
+	}
+
+	@Override
+	public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+		if (!latch.await(timeout, unit)) {
+			throw new TimeoutException();
+		}
+		return getResult();
+	}
+
+	private synchronized T getResult() throws ExecutionException {
+		if (cancelled) {
+			throw new CancellationException();
+		}
+		if (failure != null) {
+			throw new ExecutionException(failure);
+		}
+		return result;
+	}
+}
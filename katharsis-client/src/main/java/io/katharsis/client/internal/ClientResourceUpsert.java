@@ -14,6 +14,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.katharsis.client.ResponseBodyException;
 import io.katharsis.client.internal.proxy.ClientProxyFactory;
+import io.katharsis.client.internal.proxy.CollectionProxyBatch;
 import io.katharsis.core.internal.dispatcher.controller.ResourceUpsert;
 import io.katharsis.core.internal.dispatcher.path.JsonPath;
 import io.katharsis.core.internal.resource.DocumentMapper;
@@ -38,9 +39,22 @@ class ClientResourceUpsert extends ResourceUpsert {
 
 	private Map<String, Object> resourceMap = new HashMap<>();
 
+	private int proxyBatchSize;
+
+	private Map<String, CollectionProxyBatch> proxyBatches = new HashMap<>();
+
 	public ClientResourceUpsert(ResourceRegistry resourceRegistry, TypeParser typeParser, ObjectMapper objectMapper, DocumentMapper documentMapper, ClientProxyFactory proxyFactory) {
+		this(resourceRegistry, typeParser, objectMapper, documentMapper, proxyFactory, 1);
+	}
+
+	/**
+	 * @param proxyBatchSize maximum number of lazy collections of the same relationship to load at once, 1 to load
+	 *        every collection separately
+	 */
+	public ClientResourceUpsert(ResourceRegistry resourceRegistry, TypeParser typeParser, ObjectMapper objectMapper, DocumentMapper documentMapper, ClientProxyFactory proxyFactory, int proxyBatchSize) {
 		super(resourceRegistry, typeParser, objectMapper, documentMapper);
 		this.proxyFactory = proxyFactory;
+		this.proxyBatchSize = proxyBatchSize;
 	}
 
 	public String getUID(ResourceIdentifier id) {
@@ -173,7 +187,14 @@ class ClientResourceUpsert extends ResourceUpsert {
 				JsonNode relatedNode = links.get("related");
 				if (relatedNode != null) {
 					String url = relatedNode.asText().trim();
-					Object proxy = proxyFactory.createCollectionProxy(elementType, collectionClass, url);
+					Object proxy;
+					if (proxyBatchSize > 1) {
+						CollectionProxyBatch batch = getProxyBatch(resourceInformation, fieldName);
+						Object sourceId = resourceInformation.getId(newResource);
+						proxy = proxyFactory.createCollectionProxy(elementType, collectionClass, url, batch, sourceId);
+					} else {
+						proxy = proxyFactory.createCollectionProxy(elementType, collectionClass, url);
+					}
 					PropertyUtils.setProperty(newResource, fieldName, proxy);
 				}
 			}
@@ -183,4 +204,13 @@ class ClientResourceUpsert extends ResourceUpsert {
 		}
 	}
 
+	private CollectionProxyBatch getProxyBatch(ResourceInformation resourceInformation, String fieldName) {
+		String key = resourceInformation.getResourceType() + "." + fieldName;
+		CollectionProxyBatch batch = proxyBatches.get(key);
+		if (batch == null) {
+			batch = new CollectionProxyBatch(resourceInformation.getResourceClass(), fieldName, proxyBatchSize);
+			proxyBatches.put(key, batch);
+		}
+		return batch;
+	}
 }
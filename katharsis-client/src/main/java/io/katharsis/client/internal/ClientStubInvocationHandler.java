@@ -10,36 +10,44 @@ import java.util.Map;
 import io.katharsis.client.KatharsisClient;
 import io.katharsis.client.action.ActionStubFactory;
 import io.katharsis.core.internal.utils.ClassUtils;
+import io.katharsis.queryspec.QuerySpec;
 import io.katharsis.repository.ResourceRepositoryV2;
 import io.katharsis.resource.list.DefaultResourceList;
 import io.katharsis.resource.list.ResourceListBase;
 import net.jodah.typetools.TypeResolver;
 
+/**
+ * Dispatches the methods of a repository interface to the repository stub and the action stub. The target of every
+ * method is determined once when the handler is created. Repository methods are invoked directly on the stub rather
+ * than through reflection.
+ */
 public class ClientStubInvocationHandler implements InvocationHandler {
 
-	private ResourceRepositoryV2<?, Serializable> repositoryStub;
+	private ResourceRepositoryV2<Object, Serializable> repositoryStub;
 
 	private Object actionStub;
 
-	private Map<Method, Method> interfaceStubMethodMap = new HashMap<>();
+	private Map<Method, MethodInvoker> invokers = new HashMap<>();
 
+	@SuppressWarnings("unchecked")
 	public ClientStubInvocationHandler(Class<?> repositoryInterface,
 			ResourceRepositoryV2<?, Serializable> repositoryStub, Object actionStub) {
-		this.repositoryStub = repositoryStub;
+		this.repositoryStub = (ResourceRepositoryV2<Object, Serializable>) repositoryStub;
 		this.actionStub = actionStub;
 		setupRepositoryMethods(repositoryInterface);
 	}
 
 	@Override
 	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		MethodInvoker invoker = invokers.get(method);
+		if (invoker != null) {
+			return invoker.invoke(args);
+		}
 		try {
 			if (method.getDeclaringClass().isAssignableFrom(ResourceRepositoryV2.class)) {
 				// execute repository method
 				return method.invoke(repositoryStub, args);
 			}
-			else if (interfaceStubMethodMap.containsKey(method)) {
-				return invokeInterfaceMethod(proxy, method, args);
-			}
 			else if (actionStub != null) {
 				// execute action
 				return method.invoke(actionStub, args);
@@ -54,53 +62,98 @@ public class ClientStubInvocationHandler implements InvocationHandler {
 		}
 	}
 
-	private Object invokeInterfaceMethod(Object proxy, Method method, Object[] args)
-			throws IllegalAccessException, InvocationTargetException {
-		Method stubMethod = interfaceStubMethodMap.get(method);
-		Object result = stubMethod.invoke(repositoryStub, args);
-
-		Class<?> returnType = method.getReturnType();
-		if (result == null || returnType.isInstance(result)) {
-			return result;
-		}
-		else if (result instanceof DefaultResourceList) {
-			return createTypesafeList(result, returnType);
-		}
-		else {
-			throw new IllegalStateException("cannot cast return type " + result + " to " + returnType.getName());
-		}
-	}
-
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private Object createTypesafeList(Object result, Class<?> returnType) {
-		DefaultResourceList defaultList = (DefaultResourceList) result;
-
-		Class<?>[] typeArguments = TypeResolver.resolveRawArguments(ResourceListBase.class, returnType);
-		Class<?> metaType = typeArguments[1];
-		Class<?> linksType = typeArguments[2];
-
-		ResourceListBase typedList = (ResourceListBase) ClassUtils.newInstance(returnType);
-		typedList.addAll(defaultList);
-		typedList.setMeta(defaultList.getMeta(metaType));
-		typedList.setLinks(defaultList.getLinks(linksType));
-		return typedList;
-	}
-
 	private void setupRepositoryMethods(Class<?> repositoryInterface) {
-		Map<String, Method> stubMethods = new HashMap<>();
+		Map<String, MethodInvoker> stubInvokers = new HashMap<>();
 		for (Method method : ResourceRepositoryV2.class.getMethods()) {
-			stubMethods.put(getMethodId(method), method);
+			MethodInvoker invoker = createStubInvoker(method);
+			stubInvokers.put(getMethodId(method), invoker);
+			invokers.put(method, invoker);
 		}
 
-		for (Method method : repositoryInterface.getDeclaredMethods()) {
-			String id = getMethodId(method);
-			Method stubMethod = stubMethods.get(id);
-			if (stubMethod != null) {
-				interfaceStubMethodMap.put(method, stubMethod);
+		for (Method method : repositoryInterface.getMethods()) {
+			MethodInvoker stubInvoker = stubInvokers.get(getMethodId(method));
+			if (stubInvoker != null && !invokers.containsKey(method)) {
+				invokers.put(method, new ResultConversionInvoker(stubInvoker, method.getReturnType()));
 			}
 		}
 	}
 
+	private MethodInvoker createStubInvoker(final Method method) {
+		switch (getMethodId(method)) {
+			case "getResourceClass":
+				return new MethodInvoker() {
+
+					@Override
+					public Object invoke(Object[] args) {
+						return repositoryStub.getResourceClass();
+					}
+				};
+			case "findOne#java.io.Serializable#io.katharsis.queryspec.QuerySpec":
+				return new MethodInvoker() {
+
+					@Override
+					public Object invoke(Object[] args) {
+						return repositoryStub.findOne((Serializable) args[0], (QuerySpec) args[1]);
+					}
+				};
+			case "findAll#io.katharsis.queryspec.QuerySpec":
+				return new MethodInvoker() {
+
+					@Override
+					public Object invoke(Object[] args) {
+						return repositoryStub.findAll((QuerySpec) args[0]);
+					}
+				};
+			case "findAll#java.lang.Iterable#io.katharsis.queryspec.QuerySpec":
+				return new MethodInvoker() {
+
+					@Override
+					@SuppressWarnings("unchecked")
+					public Object invoke(Object[] args) {
+						return repositoryStub.findAll((Iterable<Serializable>) args[0], (QuerySpec) args[1]);
+					}
+				};
+			case "save#java.lang.Object":
+				return new MethodInvoker() {
+
+					@Override
+					public Object invoke(Object[] args) {
+						return repositoryStub.save(args[0]);
+					}
+				};
+			case "create#java.lang.Object":
+				return new MethodInvoker() {
+
+					@Override
+					public Object invoke(Object[] args) {
+						return repositoryStub.create(args[0]);
+					}
+				};
+			case "delete#java.io.Serializable":
+				return new MethodInvoker() {
+
+					@Override
+					public Object invoke(Object[] args) {
+						repositoryStub.delete((Serializable) args[0]);
+						return null;
+					}
+				};
+			default:
+				return new MethodInvoker() {
+
+					@Override
+					public Object invoke(Object[] args) throws Throwable {
+						try {
+							return method.invoke(repositoryStub, args);
+						}
+						catch (InvocationTargetException e) { // NOSONAR ok this way
+							throw e.getCause();
+						}
+					}
+				};
+		}
+	}
+
 	private static String getMethodId(Method method) {
 		StringBuilder builder = new StringBuilder();
 		builder.append(method.getName());
@@ -110,4 +163,56 @@ public class ClientStubInvocationHandler implements InvocationHandler {
 		}
 		return builder.toString();
 	}
+
+	private interface MethodInvoker {
+
+		Object invoke(Object[] args) throws Throwable;
+	}
+
+	/**
+	 * Converts the results of the stub to the more specific return types of a repository interface.
+	 */
+	private static class ResultConversionInvoker implements MethodInvoker {
+
+		private MethodInvoker stubInvoker;
+
+		private Class<?> returnType;
+
+		private Class<?> metaType;
+
+		private Class<?> linksType;
+
+		ResultConversionInvoker(MethodInvoker stubInvoker, Class<?> returnType) {
+			this.stubInvoker = stubInvoker;
+			this.returnType = returnType;
+			if (ResourceListBase.class.isAssignableFrom(returnType)) {
+				Class<?>[] typeArguments = TypeResolver.resolveRawArguments(ResourceListBase.class, returnType);
+				metaType = typeArguments[1];
+				linksType = typeArguments[2];
+			}
+		}
+
+		@Override
+		public Object invoke(Object[] args) throws Throwable {
+			Object result = stubInvoker.invoke(args);
+			if (result == null || returnType.isInstance(result)) {
+				return result;
+			}
+			else if (result instanceof DefaultResourceList && metaType != null) {
+				return createTypesafeList((DefaultResourceList<?>) result);
+			}
+			else {
+				throw new IllegalStateException("cannot cast return type " + result + " to " + returnType.getName());
+			}
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private Object createTypesafeList(DefaultResourceList defaultList) {
+			ResourceListBase typedList = (ResourceListBase) ClassUtils.newInstance(returnType);
+			typedList.addAll(defaultList);
+			typedList.setMeta(defaultList.getMeta(metaType));
+			typedList.setLinks(defaultList.getLinks(linksType));
+			return typedList;
+		}
+	}
 }
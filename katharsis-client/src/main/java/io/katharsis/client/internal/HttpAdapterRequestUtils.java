@@ -0,0 +1,36 @@
+package io.katharsis.client.internal;
+
+import java.io.IOException;
+
+import io.katharsis.client.http.AsyncHttpAdapterRequest;
+import io.katharsis.client.http.HttpAdapterCallback;
+import io.katharsis.client.http.HttpAdapterRequest;
+import io.katharsis.client.http.HttpAdapterResponse;
+
+public class HttpAdapterRequestUtils {
+
+	private HttpAdapterRequestUtils() {
+	}
+
+	/**
+	 * Executes the request without blocking if it implements {@link AsyncHttpAdapterRequest}, on the calling thread
+	 * otherwise.
+	 *
+	 * @param request to execute
+	 * @param callback to notify once the response is available or the request failed
+	 */
+	public static void executeAsync(HttpAdapterRequest request, HttpAdapterCallback callback) {
+		if (request instanceof AsyncHttpAdapterRequest) {
+			((AsyncHttpAdapterRequest) request).executeAsync(callback);
+			return;
+		}
+		HttpAdapterResponse response;
+		try {
+			response = request.execute();
+		} catch (IOException e) {
+			callback.onFailure(e);
+			return;
+		}
+		callback.onResponse(response);
+	}
+}
@@ -2,17 +2,25 @@ package io.katharsis.client.internal;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.katharsis.client.KatharsisClient;
 import io.katharsis.client.RelationshipRepositoryStub;
+import io.katharsis.client.internal.proxy.ObjectProxy;
 import io.katharsis.core.internal.utils.JsonApiUrlBuilder;
+import io.katharsis.core.internal.utils.MultivaluedMap;
 import io.katharsis.core.internal.utils.PropertyUtils;
 import io.katharsis.legacy.queryParams.QueryParams;
+import io.katharsis.queryspec.IncludeFieldSpec;
 import io.katharsis.queryspec.QuerySpec;
-import io.katharsis.repository.RelationshipRepositoryV2;
+import io.katharsis.repository.BulkRelationshipRepositoryV2;
 import io.katharsis.repository.request.HttpMethod;
 import io.katharsis.resource.Document;
 import io.katharsis.resource.ResourceIdentifier;
@@ -22,7 +30,13 @@ import io.katharsis.resource.list.DefaultResourceList;
 import io.katharsis.resource.registry.RegistryEntry;
 import io.katharsis.utils.Nullable;
 
-public class RelationshipRepositoryStubImpl<T, I extends Serializable, D, J extends Serializable> extends AbstractStub implements RelationshipRepositoryStub<T, I, D, J>, RelationshipRepositoryV2<T, I, D, J> {
+public class RelationshipRepositoryStubImpl<T, I extends Serializable, D, J extends Serializable> extends AbstractStub implements RelationshipRepositoryStub<T, I, D, J>, BulkRelationshipRepositoryV2<T, I, D, J> {
+
+	/**
+	 * Maximum number of sources requested with a single url to keep the url length within the limits of common servers
+	 * and proxies.
+	 */
+	private static final int BULK_REQUEST_SIZE = 100;
 
 	private Class<T> sourceClass;
 
@@ -68,7 +82,7 @@ public class RelationshipRepositoryStubImpl<T, I extends Serializable, D, J exte
 		executeWithIds(url, HttpMethod.DELETE, targetIds);
 	}
 
-	private Serializable getSourceId(T source) {
+	Serializable getSourceId(T source) {
 		ResourceField idField = sourceResourceInformation.getIdField();
 		return (Serializable) PropertyUtils.getProperty(source, idField.getUnderlyingName());
 	}
@@ -99,7 +113,112 @@ public class RelationshipRepositoryStubImpl<T, I extends Serializable, D, J exte
 		return (DefaultResourceList<D>) executeGet(url, ResponseType.RESOURCES);
 	}
 
+	/**
+	 * Requests the sources with the relationship included and splits the response by source. Paging, sorting and
+	 * filtering cannot be applied per source with such a request, query specs making use of them fall back to one
+	 * request per source, as do sources for which the server did not return the relationship data. Large numbers of
+	 * sources are requested in chunks of {@value #BULK_REQUEST_SIZE}.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public MultivaluedMap<I, D> findTargets(Iterable<I> sourceIds, String fieldName, QuerySpec querySpec) {
+		ResourceField field = getRelationshipField(fieldName);
+		MultivaluedMap<I, D> targets = new MultivaluedMap<>();
+		Set<I> pendingIds = new LinkedHashSet<>();
+		for (I sourceId : sourceIds) {
+			pendingIds.add(sourceId);
+		}
+
+		if (isBulkRequestable(querySpec) && !pendingIds.isEmpty()) {
+			QuerySpec sourceQuerySpec = newSourceQuerySpec(field, querySpec);
+			List<I> requestIds = new ArrayList<>(pendingIds);
+			for (int i = 0; i < requestIds.size(); i += BULK_REQUEST_SIZE) {
+				List<I> chunkIds = requestIds.subList(i, Math.min(i + BULK_REQUEST_SIZE, requestIds.size()));
+				String url = urlBuilder.buildUrl(sourceResourceInformation, chunkIds, sourceQuerySpec);
+				List<T> sources = (List<T>) executeGet(url, ResponseType.RESOURCES);
+				for (T source : sources) {
+					I sourceId = (I) sourceResourceInformation.getId(source);
+					Object value = PropertyUtils.getProperty(source, field.getUnderlyingName());
+					if (value instanceof ObjectProxy && !((ObjectProxy) value).isLoaded() || !pendingIds.remove(sourceId)) {
+						// relationship data not returned
+						continue;
+					}
+					targets.set(sourceId, new ArrayList<D>());
+					if (value instanceof Collection) {
+						targets.addAll(sourceId, (Collection<D>) value);
+					} else if (value != null) {
+						targets.add(sourceId, (D) value);
+					}
+				}
+			}
+		}
+
+		for (I sourceId : pendingIds) {
+			targets.set(sourceId, new ArrayList<D>());
+			if (field.isCollection()) {
+				targets.addAll(sourceId, findManyTargets(sourceId, field.getJsonName(), querySpec));
+			} else {
+				D target = findOneTarget(sourceId, field.getJsonName(), querySpec);
+				if (target != null) {
+					targets.add(sourceId, target);
+				}
+			}
+		}
+		return targets;
+	}
+
+	/**
+	 * Sparse fieldsets of the targets are passed on as related spec. If the targets are of the same type as the
+	 * sources, the fieldset applies to the sources as well and must contain the relationship to get its data returned.
+	 */
+	private QuerySpec newSourceQuerySpec(ResourceField field, QuerySpec querySpec) {
+		QuerySpec sourceQuerySpec = new QuerySpec(sourceClass);
+		sourceQuerySpec.includeRelation(Arrays.asList(field.getJsonName()));
+		if (!querySpec.getIncludedFields().isEmpty()) {
+			if (targetClass != sourceClass) {
+				sourceQuerySpec.putRelatedSpec(targetClass, querySpec);
+			} else {
+				List<String> relationshipPath = Arrays.asList(field.getJsonName());
+				boolean relationshipIncluded = false;
+				for (IncludeFieldSpec includedField : querySpec.getIncludedFields()) {
+					sourceQuerySpec.includeField(includedField.getAttributePath());
+					relationshipIncluded = relationshipIncluded || relationshipPath.equals(includedField.getAttributePath());
+				}
+				if (!relationshipIncluded) {
+					sourceQuerySpec.includeField(relationshipPath);
+				}
+			}
+		}
+		return sourceQuerySpec;
+	}
+
+	private static boolean isBulkRequestable(QuerySpec querySpec) {
+		return querySpec.getFilters().isEmpty() && querySpec.getSort().isEmpty() && querySpec.getLimit() == null
+				&& querySpec.getOffset() == 0 && querySpec.getIncludedRelations().isEmpty();
+	}
+
+	private ResourceField getRelationshipField(String fieldName) {
+		ResourceField field = sourceResourceInformation.findRelationshipFieldByName(fieldName);
+		if (field == null) {
+			for (ResourceField relationshipField : sourceResourceInformation.getRelationshipFields()) {
+				if (relationshipField.getUnderlyingName().equals(fieldName)) {
+					return relationshipField;
+				}
+			}
+			throw new IllegalArgumentException("relationship " + fieldName + " not found in " + sourceClass.getName());
+		}
+		return field;
+	}
+
 	private void executeWithIds(String requestUrl, HttpMethod method, Iterable<?> targetIds) {
+		execute(requestUrl, ResponseType.NONE, method, toIdsRequestBody(targetIds));
+	}
+
+	private void executeWithId(String requestUrl, HttpMethod method, Object targetId) {
+		execute(requestUrl, ResponseType.NONE, method, toIdRequestBody(targetId));
+	}
+
+	String toIdsRequestBody(Iterable<?> targetIds) {
 		Document document = new Document();
 		ArrayList<ResourceIdentifier> resourceIdentifiers = new ArrayList<>();
 		for (Object targetId : (Iterable<?>) targetIds) {
@@ -107,26 +226,28 @@ public class RelationshipRepositoryStubImpl<T, I extends Serializable, D, J exte
 			resourceIdentifiers.add(new ResourceIdentifier(strTargetId, sourceResourceInformation.getResourceType()));
 		}
 		document.setData(Nullable.of((Object) resourceIdentifiers));
-		doExecute(requestUrl, method, document);
+		return toRequestBody(document);
 	}
-	
-	private void executeWithId(String requestUrl, HttpMethod method, Object targetIds) {
+
+	String toIdRequestBody(Object targetId) {
 		Document document = new Document();
-		String strTargetId = sourceResourceInformation.toIdString(targetIds);
+		String strTargetId = sourceResourceInformation.toIdString(targetId);
 		ResourceIdentifier resourceIdentifier = new ResourceIdentifier(strTargetId, sourceResourceInformation.getResourceType());
 		document.setData(Nullable.of((Object) resourceIdentifier));
-		doExecute(requestUrl, method, document);
+		return toRequestBody(document);
 	}
 
-	private void doExecute(String requestUrl, HttpMethod method, Document document) {
+	private String toRequestBody(Document document) {
 		ObjectMapper objectMapper = client.getObjectMapper();
-		String requestBodyValue;
 		try {
-			requestBodyValue = objectMapper.writeValueAsString(document);
+			return objectMapper.writeValueAsString(document);
 		} catch (JsonProcessingException e) {
 			throw new IllegalStateException(e);
 		}
-		execute(requestUrl, ResponseType.NONE, method, requestBodyValue);
+	}
+
+	ResourceInformation getSourceResourceInformation() {
+		return sourceResourceInformation;
 	}
 
 	@Override
@@ -138,4 +259,9 @@ public class RelationshipRepositoryStubImpl<T, I extends Serializable, D, J exte
 	public Class<D> getTargetResourceClass() {
 		return targetClass;
 	}
+
+	@Override
+	protected String getResourceType() {
+		return sourceResourceInformation.getResourceType();
+	}
 }
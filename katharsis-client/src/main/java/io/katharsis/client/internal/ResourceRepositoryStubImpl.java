@@ -33,6 +33,10 @@ public class ResourceRepositoryStubImpl<T, I extends Serializable> extends Abstr
 	}
 
 	private Object executeUpdate(String requestUrl, T resource, boolean create) {
+		return execute(requestUrl, ResponseType.RESOURCE, getUpdateMethod(create), toRequestBody(resource));
+	}
+
+	String toRequestBody(T resource) {
 		JsonApiResponse response = new JsonApiResponse();
 		response.setEntity(resource);
 
@@ -40,16 +44,24 @@ public class ResourceRepositoryStubImpl<T, I extends Serializable> extends Abstr
 		Document requestDocument = documentMapper.toDocument(response, null);
 
 		ObjectMapper objectMapper = client.getObjectMapper();
-		String requestBodyValue;
 		try {
-			requestBodyValue = objectMapper.writeValueAsString(requestDocument);
+			return objectMapper.writeValueAsString(requestDocument);
 		} catch (JsonProcessingException e) {
 			throw new IllegalStateException(e);
 		}
+	}
 
-		HttpMethod method = create || client.getPushAlways() ? HttpMethod.POST : HttpMethod.PATCH;
+	HttpMethod getUpdateMethod(boolean create) {
+		return create || client.getPushAlways() ? HttpMethod.POST : HttpMethod.PATCH;
+	}
 
-		return execute(requestUrl, ResponseType.RESOURCE, method, requestBodyValue);
+	String getUpdateUrl(T entity, boolean create) {
+		Object id = getId(entity, create);
+		return urlBuilder.buildUrl(resourceInformation, id, (QuerySpec) null);
+	}
+
+	ResourceInformation getResourceInformation() {
+		return resourceInformation;
 	}
 
 	@Override
@@ -77,8 +89,7 @@ public class ResourceRepositoryStubImpl<T, I extends Serializable> extends Abstr
 
 	@SuppressWarnings("unchecked")
 	private <S extends T> S modify(S entity, boolean create) {
-		Object id = getId(entity, create);
-		String url = urlBuilder.buildUrl(resourceInformation, id, (QuerySpec) null);
+		String url = getUpdateUrl(entity, create);
 		return (S) executeUpdate(url, entity, create);
 	}
 
@@ -138,4 +149,8 @@ public class ResourceRepositoryStubImpl<T, I extends Serializable> extends Abstr
 		return (T) executeGet(url, ResponseType.RESOURCE);
 	}
 
+	@Override
+	protected String getResourceType() {
+		return resourceInformation.getResourceType();
+	}
 }
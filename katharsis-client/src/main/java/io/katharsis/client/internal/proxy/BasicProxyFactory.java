@@ -1,9 +1,5 @@
 package io.katharsis.client.internal.proxy;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
@@ -11,8 +7,6 @@ import java.util.Set;
 import io.katharsis.core.internal.utils.ClassUtils;
 import io.katharsis.core.internal.utils.WrappedList;
 import io.katharsis.resource.information.ResourceInformation;
-import io.katharsis.resource.list.DefaultResourceList;
-import io.katharsis.resource.list.ResourceList;
 import io.katharsis.resource.registry.RegistryEntry;
 import io.katharsis.resource.registry.ResourceRegistry;
 
@@ -27,18 +21,9 @@ public class BasicProxyFactory implements ClientProxyFactory {
 
 	private ClientProxyFactoryContext context;
 
-	private Constructor<?> listConstructor;
-
-	private Constructor<?> setConstructor;
-
 	@Override
 	public void init(ClientProxyFactoryContext context) {
 		this.context = context;
-
-		ClassLoader loader = getClass().getClassLoader();
-
-		listConstructor = Proxy.getProxyClass(loader, ObjectProxy.class, ResourceList.class).getConstructors()[0];
-		setConstructor = Proxy.getProxyClass(loader, ObjectProxy.class, Set.class).getConstructors()[0];
 	}
 
 	@Override
@@ -53,17 +38,28 @@ public class BasicProxyFactory implements ClientProxyFactory {
 		return instance;
 	}
 
-	@SuppressWarnings({ "unchecked", "rawtypes" })
 	@Override
 	public <C extends Collection<T>, T> C createCollectionProxy(Class<T> resourceClass, Class<C> collectionClass, String url) {
+		return wrap(collectionClass, newLazyCollection(resourceClass, collectionClass, url));
+	}
 
-		boolean useSet = Set.class.isAssignableFrom(collectionClass);
-		InvocationHandler handler = new CollectionInvocationHandler(resourceClass, url, context, useSet);
+	@Override
+	public <C extends Collection<T>, T> C createCollectionProxy(Class<T> resourceClass, Class<C> collectionClass, String url, CollectionProxyBatch batch, Object sourceId) {
+		LazyCollection<T> lazyCollection = newLazyCollection(resourceClass, collectionClass, url);
+		lazyCollection.setBatch(batch, sourceId);
+		return wrap(collectionClass, lazyCollection);
+	}
 
-		final Constructor<?> constructor = useSet ? setConstructor : listConstructor;
+	private <T> LazyCollection<T> newLazyCollection(Class<T> resourceClass, Class<?> collectionClass, String url) {
+		if (Set.class.isAssignableFrom(collectionClass)) {
+			return new LazyResourceSet<>(resourceClass, url, context);
+		}
+		return new LazyResourceList<>(resourceClass, url, context);
+	}
 
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private <C extends Collection<T>, T> C wrap(Class<C> collectionClass, LazyCollection<T> lazyCollection) {
 		try {
-			Collection lazyCollection = (Collection) constructor.newInstance(handler);
 			boolean isCustomClass = WrappedList.class.isAssignableFrom(collectionClass);
 			if (isCustomClass) {
 				WrappedList collectionImpl = (WrappedList) collectionClass.newInstance();
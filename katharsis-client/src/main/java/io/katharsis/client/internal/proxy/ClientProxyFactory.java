@@ -12,4 +12,9 @@ public interface ClientProxyFactory {
 	<T> T createResourceProxy(Class<T> clazz, Object id);
 
 	<C extends Collection<T>, T> C createCollectionProxy(Class<T> resourceClass, Class<C> collectionClass, String url);
+
+	/**
+	 * Creates a collection proxy that gets loaded together with the other proxies of the given batch.
+	 */
+	<C extends Collection<T>, T> C createCollectionProxy(Class<T> resourceClass, Class<C> collectionClass, String url, CollectionProxyBatch batch, Object sourceId);
 }
@@ -1,5 +1,8 @@
 package io.katharsis.client.internal.proxy;
 
+import java.util.Collection;
+import java.util.Map;
+
 import io.katharsis.module.ModuleRegistry;
 import io.katharsis.resource.list.DefaultResourceList;
 
@@ -9,4 +12,15 @@ public interface ClientProxyFactoryContext {
 
 	<T> DefaultResourceList<T> getCollection(Class<T> resourceClass, String url);
 
+	/**
+	 * Loads a relationship of multiple resources with a single request.
+	 *
+	 * @param resourceClass owning the relationship
+	 * @param ids of the resources to load the relationship for
+	 * @param fieldName of the relationship
+	 * @return loaded relationship by resource id, resources for which the relationship could not be obtained are
+	 *         missing
+	 */
+	Map<Object, Collection<?>> getRelatedCollections(Class<?> resourceClass, Collection<Object> ids, String fieldName);
+
 }
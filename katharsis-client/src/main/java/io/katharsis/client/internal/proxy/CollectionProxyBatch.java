@@ -0,0 +1,65 @@
+package io.katharsis.client.internal.proxy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups the lazy collections of the same relationship obtained with one response. Once one of them is accessed, it
+ * gets loaded together with up to batchSize - 1 of its unloaded siblings by re-requesting the owning resources with
+ * the relationship included, rather than following the related link of every collection separately.
+ */
+public class CollectionProxyBatch {
+
+	private final Class<?> sourceClass;
+
+	private final String fieldName;
+
+	private final int batchSize;
+
+	private final Map<Object, LazyCollection<?>> proxies = new LinkedHashMap<>();
+
+	public CollectionProxyBatch(Class<?> sourceClass, String fieldName, int batchSize) {
+		this.sourceClass = sourceClass;
+		this.fieldName = fieldName;
+		this.batchSize = batchSize;
+	}
+
+	synchronized void add(Object sourceId, LazyCollection<?> proxy) {
+		proxies.put(sourceId, proxy);
+	}
+
+	/**
+	 * Loads the given proxy and the ones of unloaded siblings.
+	 */
+	synchronized void load(Object sourceId, LazyCollection<?> proxy, ClientProxyFactoryContext context) {
+		if (proxy.isLoaded()) {
+			return;
+		}
+
+		List<Object> sourceIds = new ArrayList<>();
+		sourceIds.add(sourceId);
+		for (Map.Entry<Object, LazyCollection<?>> entry : proxies.entrySet()) {
+			if (sourceIds.size() >= batchSize) {
+				break;
+			}
+			if (entry.getValue() != proxy && !entry.getValue().isLoaded()) {
+				sourceIds.add(entry.getKey());
+			}
+		}
+
+		Map<Object, Collection<?>> collections = context.getRelatedCollections(sourceClass, sourceIds, fieldName);
+		for (Object id : sourceIds) {
+			Collection<?> collection = collections.get(id);
+			LazyCollection<?> idProxy = proxies.get(id);
+			if (collection != null && idProxy != null) {
+				idProxy.setCollection(collection);
+			}
+		}
+		for (Object id : sourceIds) {
+			proxies.remove(id);
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package io.katharsis.client.internal.proxy;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Collection loaded from the related link of a relationship upon first access. Once loaded, all operations are
+ * delegated to the loaded collection.
+ *
+ * @param <T> element type
+ */
+public abstract class LazyCollection<T> implements Collection<T>, ObjectProxy {
+
+	private volatile Collection<T> collection;
+
+	private final Class<T> resourceClass;
+
+	private final String url;
+
+	private final ClientProxyFactoryContext context;
+
+	private CollectionProxyBatch batch;
+
+	private Object sourceId;
+
+	protected LazyCollection(Class<T> resourceClass, String url, ClientProxyFactoryContext context) {
+		this.resourceClass = resourceClass;
+		this.url = url;
+		this.context = context;
+	}
+
+	/**
+	 * @param batch to load the collection together with its siblings
+	 * @param sourceId of the resource owning the collection
+	 */
+	void setBatch(CollectionProxyBatch batch, Object sourceId) {
+		this.batch = batch;
+		this.sourceId = sourceId;
+		batch.add(sourceId, this);
+	}
+
+	protected Collection<T> getCollection() {
+		Collection<T> result = collection;
+		if (result == null) {
+			synchronized (this) {
+				if (collection == null && batch != null) {
+					batch.load(sourceId, this, context);
+				}
+				if (collection == null) {
+					setCollection(context.getCollection(resourceClass, url));
+				}
+				result = collection;
+			}
+		}
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	void setCollection(Collection<?> collection) {
+		this.collection = convert((Collection<T>) collection);
+	}
+
+	/**
+	 * @param loaded collection
+	 * @return collection to delegate to
+	 */
+	protected abstract Collection<T> convert(Collection<T> loaded);
+
+	@Override
+	public String getUrl() {
+		return url;
+	}
+
+	@Override
+	public boolean isLoaded() {
+		return collection != null;
+	}
+
+	@Override
+	public int size() {
+		return getCollection().size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return getCollection().isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return getCollection().contains(o);
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return getCollection().iterator();
+	}
+
+	@Override
+	public Object[] toArray() {
+		return getCollection().toArray();
+	}
+
+	@Override
+	public <A> A[] toArray(A[] a) {
+		return getCollection().toArray(a);
+	}
+
+	@Override
+	public boolean add(T e) {
+		return getCollection().add(e);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		return getCollection().remove(o);
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		return getCollection().containsAll(c);
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends T> c) {
+		return getCollection().addAll(c);
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		return getCollection().removeAll(c);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		return getCollection().retainAll(c);
+	}
+
+	@Override
+	public void clear() {
+		getCollection().clear();
+	}
+}
@@ -0,0 +1,104 @@
+package io.katharsis.client.internal.proxy;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.ListIterator;
+
+import io.katharsis.resource.links.LinksInformation;
+import io.katharsis.resource.list.DefaultResourceList;
+import io.katharsis.resource.list.ResourceList;
+import io.katharsis.resource.meta.MetaInformation;
+
+/**
+ * Lazily loaded {@link ResourceList}.
+ */
+public class LazyResourceList<T> extends LazyCollection<T> implements ResourceList<T> {
+
+	public LazyResourceList(Class<T> resourceClass, String url, ClientProxyFactoryContext context) {
+		super(resourceClass, url, context);
+	}
+
+	@Override
+	protected Collection<T> convert(Collection<T> loaded) {
+		if (loaded instanceof ResourceList) {
+			return loaded;
+		}
+		DefaultResourceList<T> list = new DefaultResourceList<>();
+		list.addAll(loaded);
+		return list;
+	}
+
+	private ResourceList<T> getList() {
+		return (ResourceList<T>) getCollection();
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends T> c) {
+		return getList().addAll(index, c);
+	}
+
+	@Override
+	public T get(int index) {
+		return getList().get(index);
+	}
+
+	@Override
+	public T set(int index, T element) {
+		return getList().set(index, element);
+	}
+
+	@Override
+	public void add(int index, T element) {
+		getList().add(index, element);
+	}
+
+	@Override
+	public T remove(int index) {
+		return getList().remove(index);
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		return getList().indexOf(o);
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		return getList().lastIndexOf(o);
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		return getList().listIterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int index) {
+		return getList().listIterator(index);
+	}
+
+	@Override
+	public List<T> subList(int fromIndex, int toIndex) {
+		return getList().subList(fromIndex, toIndex);
+	}
+
+	@Override
+	public LinksInformation getLinks() {
+		return getList().getLinks();
+	}
+
+	@Override
+	public MetaInformation getMeta() {
+		return getList().getMeta();
+	}
+
+	@Override
+	public <L extends LinksInformation> L getLinks(Class<L> linksClass) {
+		return getList().getLinks(linksClass);
+	}
+
+	@Override
+	public <M extends MetaInformation> M getMeta(Class<M> metaClass) {
+		return getList().getMeta(metaClass);
+	}
+}
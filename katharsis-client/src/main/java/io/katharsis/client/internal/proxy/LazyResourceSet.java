@@ -0,0 +1,20 @@
+package io.katharsis.client.internal.proxy;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Lazily loaded {@link Set}.
+ */
+public class LazyResourceSet<T> extends LazyCollection<T> implements Set<T> {
+
+	public LazyResourceSet(Class<T> resourceClass, String url, ClientProxyFactoryContext context) {
+		super(resourceClass, url, context);
+	}
+
+	@Override
+	protected Collection<T> convert(Collection<T> loaded) {
+		return new HashSet<>(loaded);
+	}
+}
@@ -0,0 +1,21 @@
+package io.katharsis.client;
+
+import java.io.IOException;
+
+import org.junit.After;
+
+import io.katharsis.client.http.apache.HttpClientAdapter;
+
+public class ApacheAsyncClientTest extends AsyncClientTest {
+
+	@Override
+	protected void setupClient(KatharsisClient client) {
+		super.setupClient(client);
+		client.setHttpAdapter(HttpClientAdapter.newInstance());
+	}
+
+	@After
+	public void closeAdapter() throws IOException {
+		((HttpClientAdapter) client.getHttpAdapter()).close();
+	}
+}
@@ -0,0 +1,122 @@
+package io.katharsis.client;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.katharsis.client.mock.models.Schedule;
+import io.katharsis.client.mock.models.Task;
+import io.katharsis.errorhandling.exception.ResourceNotFoundException;
+import io.katharsis.queryspec.QuerySpec;
+
+public class AsyncClientTest extends AbstractClientTest {
+
+	protected AsyncResourceRepositoryStub<Task, Long> taskRepo;
+
+	protected AsyncResourceRepositoryStub<Schedule, Long> scheduleRepo;
+
+	protected AsyncRelationshipRepositoryStub<Task, Long, Schedule, Long> taskScheduleRepo;
+
+	@Before
+	public void setup() {
+		super.setup();
+
+		taskRepo = client.getAsyncRepositoryForType(Task.class);
+		scheduleRepo = client.getAsyncRepositoryForType(Schedule.class);
+		taskScheduleRepo = client.getAsyncRepositoryForType(Task.class, Schedule.class);
+	}
+
+	@Override
+	protected TestApplication configure() {
+		return new TestApplication(true);
+	}
+
+	@Test
+	public void testGetters() {
+		Assert.assertEquals(Task.class, taskRepo.getResourceClass());
+		Assert.assertEquals(Task.class, taskScheduleRepo.getSourceResourceClass());
+		Assert.assertEquals(Schedule.class, taskScheduleRepo.getTargetResourceClass());
+	}
+
+	@Test
+	public void testCreateAndFind() throws Exception {
+		Task task = new Task();
+		task.setId(1L);
+		task.setName("test");
+		Task savedTask = taskRepo.create(task).get(10, TimeUnit.SECONDS);
+		Assert.assertEquals("test", savedTask.getName());
+
+		Task foundTask = taskRepo.findOne(1L, new QuerySpec(Task.class)).get();
+		Assert.assertEquals("test", foundTask.getName());
+
+		List<Task> tasks = taskRepo.findAll(new QuerySpec(Task.class)).get();
+		Assert.assertEquals(1, tasks.size());
+
+		taskRepo.delete(1L).get();
+		tasks = taskRepo.findAll(new QuerySpec(Task.class)).get();
+		Assert.assertEquals(0, tasks.size());
+	}
+
+	@Test
+	public void testFindNull() throws InterruptedException {
+		try {
+			taskRepo.findOne(1L, new QuerySpec(Task.class)).get();
+			Assert.fail();
+		}
+		catch (ExecutionException e) {
+			Assert.assertTrue(e.getCause() instanceof ResourceNotFoundException);
+		}
+	}
+
+	@Test
+	public void testCallback() throws InterruptedException {
+		Task task = new Task();
+		task.setId(2L);
+		task.setName("test");
+
+		final CountDownLatch latch = new CountDownLatch(1);
+		final AtomicReference<Task> result = new AtomicReference<>();
+		taskRepo.create(task).addCallback(new ClientCallback<Task>() {
+
+			@Override
+			public void onSuccess(Task value) {
+				result.set(value);
+				latch.countDown();
+			}
+
+			@Override
+			public void onFailure(RuntimeException e) {
+				latch.countDown();
+			}
+		});
+		Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+		Assert.assertNotNull(result.get());
+		Assert.assertEquals("test", result.get().getName());
+	}
+
+	@Test
+	public void testSetRelation() throws Exception {
+		Schedule schedule = new Schedule();
+		schedule.setId(1L);
+		schedule.setName("schedule");
+		scheduleRepo.create(schedule).get();
+
+		Task task = new Task();
+		task.setId(2L);
+		task.setName("test");
+		taskRepo.create(task).get();
+
+		taskScheduleRepo.setRelation(task, schedule.getId(), "schedule").get();
+
+		Schedule relSchedule = taskScheduleRepo.findOneTarget(task.getId(), "schedule", new QuerySpec(Schedule.class))
+				.get();
+		Assert.assertNotNull(relSchedule);
+		Assert.assertEquals(schedule.getId(), relSchedule.getId());
+	}
+}
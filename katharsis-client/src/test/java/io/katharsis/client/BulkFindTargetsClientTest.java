@@ -0,0 +1,90 @@
+package io.katharsis.client;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.katharsis.client.mock.models.Schedule;
+import io.katharsis.client.mock.models.Task;
+import io.katharsis.core.internal.utils.MultivaluedMap;
+import io.katharsis.queryspec.Direction;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.queryspec.SortSpec;
+import io.katharsis.repository.BulkRelationshipRepositoryV2;
+import io.katharsis.repository.RelationshipRepositoryV2;
+import io.katharsis.repository.ResourceRepositoryV2;
+
+public class BulkFindTargetsClientTest extends AbstractClientTest {
+
+	private BulkRelationshipRepositoryV2<Schedule, Long, Task, Long> scheduleTaskRepo;
+
+	private BulkRelationshipRepositoryV2<Task, Long, Schedule, Long> taskScheduleRepo;
+
+	@Before
+	public void setup() {
+		super.setup();
+
+		ResourceRepositoryV2<Schedule, Long> scheduleRepo = client.getQuerySpecRepository(Schedule.class);
+		ResourceRepositoryV2<Task, Long> taskRepo = client.getQuerySpecRepository(Task.class);
+		scheduleTaskRepo = client.getBulkRepositoryForType(Schedule.class, Task.class);
+		taskScheduleRepo = client.getBulkRepositoryForType(Task.class, Schedule.class);
+		RelationshipRepositoryV2<Task, Long, Schedule, Long> relRepo = taskScheduleRepo;
+
+		for (long i = 1; i <= 3; i++) {
+			Schedule schedule = new Schedule();
+			schedule.setId(i);
+			schedule.setName("schedule" + i);
+			scheduleRepo.create(schedule);
+
+			Task task = new Task();
+			task.setId(10 + i);
+			task.setName("task" + i);
+			taskRepo.create(task);
+			relRepo.setRelation(task, schedule.getId(), "schedule");
+		}
+	}
+
+	@Override
+	protected TestApplication configure() {
+		return new TestApplication(true);
+	}
+
+	@Test
+	public void testManyTargets() {
+		MultivaluedMap<Long, Task> targets = scheduleTaskRepo.findTargets(Arrays.asList(1L, 2L, 3L), "tasks",
+				new QuerySpec(Task.class));
+		Assert.assertEquals(3, targets.keySet().size());
+		for (long i = 1; i <= 3; i++) {
+			List<Task> tasks = targets.getList(i);
+			Assert.assertEquals(1, tasks.size());
+			Assert.assertEquals(10 + i, tasks.get(0).getId().longValue());
+		}
+	}
+
+	@Test
+	public void testOneTarget() {
+		MultivaluedMap<Long, Schedule> targets = taskScheduleRepo.findTargets(Arrays.asList(11L, 13L), "schedule",
+				new QuerySpec(Schedule.class));
+		Assert.assertEquals(2, targets.keySet().size());
+		Assert.assertEquals(1L, targets.getUnique(11L).getId().longValue());
+		Assert.assertEquals(3L, targets.getUnique(13L).getId().longValue());
+	}
+
+	@Test
+	public void testSortedFallsBackToSingleRequests() {
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		querySpec.addSort(new SortSpec(Arrays.asList("name"), Direction.DESC));
+		MultivaluedMap<Long, Task> targets = scheduleTaskRepo.findTargets(Arrays.asList(1L, 2L), "tasks", querySpec);
+		Assert.assertEquals(2, targets.keySet().size());
+		Assert.assertEquals(11L, targets.getList(1L).get(0).getId().longValue());
+		Assert.assertEquals(12L, targets.getList(2L).get(0).getId().longValue());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownRelationship() {
+		scheduleTaskRepo.findTargets(Arrays.asList(1L), "doesNotExist", new QuerySpec(Task.class));
+	}
+}
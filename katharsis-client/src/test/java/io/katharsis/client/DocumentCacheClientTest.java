@@ -0,0 +1,199 @@
+package io.katharsis.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.katharsis.client.http.HttpAdapter;
+import io.katharsis.client.http.HttpAdapterRequest;
+import io.katharsis.client.http.HttpAdapterResponse;
+import io.katharsis.client.internal.ClientDocumentCache;
+import io.katharsis.client.mock.models.Task;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.repository.ResourceRepositoryV2;
+import io.katharsis.repository.request.HttpMethod;
+
+public class DocumentCacheClientTest extends AbstractClientTest {
+
+	private ResourceRepositoryV2<Task, Long> taskRepo;
+
+	private ClientDocumentCache cache;
+
+	@Before
+	public void setup() {
+		super.setup();
+		taskRepo = client.getQuerySpecRepository(Task.class);
+
+		Task task = new Task();
+		task.setId(1L);
+		task.setName("test");
+		taskRepo.create(task);
+	}
+
+	@Override
+	protected void setupClient(KatharsisClient client) {
+		client.setHttpAdapter(new EtagHttpAdapter(client.getHttpAdapter()));
+		client.setDocumentCacheSize(10);
+		cache = client.getDocumentCache();
+	}
+
+	@Override
+	protected TestApplication configure() {
+		return new TestApplication(true);
+	}
+
+	@Test
+	public void testNotModifiedServedFromCache() {
+		Task task = taskRepo.findOne(1L, new QuerySpec(Task.class));
+		Assert.assertEquals("test", task.getName());
+		Assert.assertEquals(1, cache.getSize());
+		Assert.assertEquals(0, cache.getHitCount());
+
+		Task cachedTask = taskRepo.findOne(1L, new QuerySpec(Task.class));
+		Assert.assertEquals("test", cachedTask.getName());
+		Assert.assertNotSame(task, cachedTask);
+		Assert.assertEquals(1, cache.getHitCount());
+		Assert.assertEquals(1, cache.getMissCount());
+
+		Assert.assertEquals(1, taskRepo.findAll(new QuerySpec(Task.class)).size());
+		Assert.assertEquals(1, taskRepo.findAll(new QuerySpec(Task.class)).size());
+		Assert.assertEquals(2, cache.getHitCount());
+		Assert.assertEquals(2, cache.getSize());
+	}
+
+	@Test
+	public void testModificationInvalidates() {
+		taskRepo.findOne(1L, new QuerySpec(Task.class));
+		Assert.assertEquals(1, cache.getSize());
+
+		Task task = new Task();
+		task.setId(1L);
+		task.setName("updated");
+		taskRepo.save(task);
+		Assert.assertEquals(0, cache.getSize());
+
+		Assert.assertEquals("updated", taskRepo.findOne(1L, new QuerySpec(Task.class)).getName());
+		Assert.assertEquals(0, cache.getHitCount());
+	}
+
+	@Test
+	public void testChangedDocumentRefetched() {
+		taskRepo.findOne(1L, new QuerySpec(Task.class));
+
+		KatharsisClient otherClient = new KatharsisClient(getBaseUri().toString());
+		otherClient.addModule(new TestModule());
+		ResourceRepositoryV2<Task, Long> otherRepo = otherClient.getQuerySpecRepository(Task.class);
+		Task task = new Task();
+		task.setId(1L);
+		task.setName("updated");
+		otherRepo.save(task);
+
+		Assert.assertEquals("updated", taskRepo.findOne(1L, new QuerySpec(Task.class)).getName());
+		Assert.assertEquals(0, cache.getHitCount());
+		Assert.assertEquals(2, cache.getMissCount());
+	}
+
+	/**
+	 * Emulates a server supporting ETags by hashing the response bodies.
+	 */
+	private static class EtagHttpAdapter implements HttpAdapter {
+
+		private static final Charset CHARSET_UTF8 = Charset.forName("UTF8");
+
+		private HttpAdapter delegate;
+
+		EtagHttpAdapter(HttpAdapter delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public HttpAdapterRequest newRequest(String url, final HttpMethod method, String requestBody) {
+			final HttpAdapterRequest request = delegate.newRequest(url, method, requestBody);
+			return new HttpAdapterRequest() {
+
+				private String ifNoneMatch;
+
+				@Override
+				public void header(String name, String value) {
+					if ("If-None-Match".equals(name)) {
+						ifNoneMatch = value;
+					}
+					else {
+						request.header(name, value);
+					}
+				}
+
+				@Override
+				public HttpAdapterResponse execute() throws IOException {
+					HttpAdapterResponse response = request.execute();
+					String body = response.body();
+					String etag = method == HttpMethod.GET ? "\"" + Integer.toHexString(body.hashCode()) + "\"" : null;
+					boolean notModified = etag != null && etag.equals(ifNoneMatch);
+					return new EtagResponse(response, notModified ? "" : body, etag, notModified);
+				}
+			};
+		}
+
+		@Override
+		public void setReceiveTimeout(int timeout, TimeUnit unit) {
+			delegate.setReceiveTimeout(timeout, unit);
+		}
+
+		private static class EtagResponse implements HttpAdapterResponse {
+
+			private HttpAdapterResponse response;
+
+			private String body;
+
+			private String etag;
+
+			private boolean notModified;
+
+			EtagResponse(HttpAdapterResponse response, String body, String etag, boolean notModified) {
+				this.response = response;
+				this.body = body;
+				this.etag = etag;
+				this.notModified = notModified;
+			}
+
+			@Override
+			public boolean isSuccessful() {
+				return !notModified && response.isSuccessful();
+			}
+
+			@Override
+			public String body() {
+				return body;
+			}
+
+			@Override
+			public InputStream bodyStream() {
+				return new ByteArrayInputStream(body.getBytes(CHARSET_UTF8));
+			}
+
+			@Override
+			public int code() {
+				return notModified ? 304 : response.code();
+			}
+
+			@Override
+			public String message() {
+				return notModified ? "Not Modified" : response.message();
+			}
+
+			@Override
+			public String getResponseHeader(String name) {
+				if ("ETag".equals(name)) {
+					return etag;
+				}
+				return response.getResponseHeader(name);
+			}
+		}
+	}
+}
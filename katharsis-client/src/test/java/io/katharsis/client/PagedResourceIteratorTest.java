@@ -0,0 +1,75 @@
+package io.katharsis.client;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import io.katharsis.client.mock.models.Task;
+import io.katharsis.queryspec.Direction;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.queryspec.SortSpec;
+import io.katharsis.repository.ResourceRepositoryV2;
+
+public class PagedResourceIteratorTest extends AbstractClientTest {
+
+	private ResourceRepositoryV2<Task, Long> taskRepo;
+
+	@Before
+	public void setup() {
+		super.setup();
+		taskRepo = client.getQuerySpecRepository(Task.class);
+		for (int i = 0; i < 7; i++) {
+			Task task = new Task();
+			task.setId(Long.valueOf(i));
+			task.setName("task" + i);
+			taskRepo.create(task);
+		}
+	}
+
+	@Override
+	protected TestApplication configure() {
+		return new TestApplication(true);
+	}
+
+	@Test
+	public void testIteratePages() {
+		ResourceRepositoryV2<Task, Long> spy = Mockito.spy(taskRepo);
+
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		querySpec.addSort(new SortSpec(Arrays.asList("name"), Direction.ASC));
+		Iterator<Task> iterator = new PagedResourceIterator<>(spy, querySpec, 3);
+		for (int i = 0; i < 7; i++) {
+			Assert.assertTrue(iterator.hasNext());
+			Assert.assertEquals("task" + i, iterator.next().getName());
+		}
+		Assert.assertFalse(iterator.hasNext());
+		Mockito.verify(spy, Mockito.times(3)).findAll(Mockito.any(QuerySpec.class));
+
+		// paging of the passed query spec is left untouched
+		Assert.assertNull(querySpec.getLimit());
+	}
+
+	@Test
+	public void testFullLastPage() {
+		Iterator<Task> iterator = new PagedResourceIterator<>(taskRepo, new QuerySpec(Task.class), 7);
+		int count = 0;
+		while (iterator.hasNext()) {
+			iterator.next();
+			count++;
+		}
+		Assert.assertEquals(7, count);
+
+		try {
+			iterator.next();
+			Assert.fail();
+		}
+		catch (NoSuchElementException e) {
+			// ok
+		}
+	}
+}
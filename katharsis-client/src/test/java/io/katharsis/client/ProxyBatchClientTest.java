@@ -0,0 +1,76 @@
+package io.katharsis.client;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.katharsis.client.internal.proxy.ObjectProxy;
+import io.katharsis.client.mock.models.Schedule;
+import io.katharsis.client.mock.models.Task;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.repository.RelationshipRepositoryV2;
+import io.katharsis.repository.ResourceRepositoryV2;
+
+public class ProxyBatchClientTest extends AbstractClientTest {
+
+	private ResourceRepositoryV2<Schedule, Long> scheduleRepo;
+
+	@Before
+	public void setup() {
+		super.setup();
+
+		client.setPushAlways(false);
+		client.setProxyBatchSize(2);
+
+		scheduleRepo = client.getQuerySpecRepository(Schedule.class);
+		ResourceRepositoryV2<Task, Long> taskRepo = client.getQuerySpecRepository(Task.class);
+		RelationshipRepositoryV2<Task, Long, Schedule, Long> taskScheduleRepo = client.getQuerySpecRepository(Task.class, Schedule.class);
+
+		for (long i = 1; i <= 3; i++) {
+			Schedule schedule = new Schedule();
+			schedule.setId(i);
+			schedule.setName("schedule" + i);
+			scheduleRepo.create(schedule);
+
+			Task task = new Task();
+			task.setId(10 + i);
+			task.setName("task" + i);
+			taskRepo.create(task);
+			taskScheduleRepo.setRelation(task, schedule.getId(), "schedule");
+		}
+	}
+
+	@Override
+	protected TestApplication configure() {
+		return new TestApplication(true);
+	}
+
+	@Test
+	public void testSiblingsLoadedTogether() {
+		List<Schedule> schedules = scheduleRepo.findAll(new QuerySpec(Schedule.class));
+		Assert.assertEquals(3, schedules.size());
+		for (Schedule schedule : schedules) {
+			Assert.assertFalse(((ObjectProxy) schedule.getTasks()).isLoaded());
+		}
+
+		// first access loads the first two collections at once
+		Schedule first = schedules.get(0);
+		Assert.assertEquals(1, first.getTasks().size());
+		Assert.assertTrue(((ObjectProxy) schedules.get(1).getTasks()).isLoaded());
+		Assert.assertFalse(((ObjectProxy) schedules.get(2).getTasks()).isLoaded());
+
+		for (Schedule schedule : schedules) {
+			Assert.assertEquals(1, schedule.getTasks().size());
+			Task task = schedule.getTasks().iterator().next();
+			Assert.assertEquals(schedule.getId().longValue() + 10, task.getId().longValue());
+		}
+
+		// other relationships are batched separately
+		Assert.assertFalse(((ObjectProxy) first.getTasksList()).isLoaded());
+		first.getTasksList().size();
+		Assert.assertTrue(((ObjectProxy) first.getTasksList()).isLoaded());
+		Assert.assertTrue(((ObjectProxy) schedules.get(1).getTasksList()).isLoaded());
+	}
+}
@@ -0,0 +1,67 @@
+package io.katharsis.client;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.katharsis.client.http.HttpAdapter;
+import io.katharsis.client.http.okhttp.OkHttpAdapter;
+import io.katharsis.client.http.resilience.CircuitBreaker;
+import io.katharsis.client.http.resilience.ResilienceConfig;
+import io.katharsis.client.http.resilience.ResilienceMetrics;
+import io.katharsis.client.http.resilience.ResilientHttpAdapter;
+import io.katharsis.client.mock.models.Task;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.repository.ResourceRepositoryV2;
+
+public class ResilienceClientTest extends AbstractClientTest {
+
+	private ResourceRepositoryV2<Task, Long> taskRepo;
+
+	@Before
+	public void setup() {
+		super.setup();
+		taskRepo = client.getQuerySpecRepository(Task.class);
+	}
+
+	@Override
+	protected void setupClient(KatharsisClient client) {
+		client.setResilienceConfig(ResilienceConfig.builder().setMaxRetries(2)
+				.setCircuitBreaker(5, 10, TimeUnit.SECONDS).build());
+	}
+
+	@Override
+	protected TestApplication configure() {
+		return new TestApplication(true);
+	}
+
+	@Test
+	public void testStubsUseResilientAdapter() {
+		Task task = new Task();
+		task.setId(1L);
+		task.setName("test");
+		taskRepo.create(task);
+		Assert.assertEquals(1, taskRepo.findAll(new QuerySpec(Task.class)).size());
+
+		ResilientHttpAdapter resilientAdapter = client.getResilientHttpAdapter();
+		ResilienceMetrics metrics = resilientAdapter.getMetrics();
+		Assert.assertEquals(2, metrics.getRequestCount());
+		Assert.assertEquals(0, metrics.getRetryCount());
+		Assert.assertEquals(CircuitBreaker.State.CLOSED,
+				resilientAdapter.getCircuitBreakerState(getBaseUri().toString()));
+		Assert.assertFalse(client.getHttpAdapter() instanceof ResilientHttpAdapter);
+	}
+
+	@Test
+	public void testAdapterReplacementKeepsPolicies() {
+		HttpAdapter adapter = OkHttpAdapter.newInstance();
+		client.setHttpAdapter(adapter);
+		Assert.assertSame(adapter, client.getResilientHttpAdapter().getDelegate());
+
+		client.setResilienceConfig(null);
+		Assert.assertNull(client.getResilientHttpAdapter());
+		Assert.assertEquals(0, taskRepo.findAll(new QuerySpec(Task.class)).size());
+	}
+}
@@ -0,0 +1,99 @@
+package io.katharsis.client;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import io.katharsis.client.http.ClientTransportConfig;
+import io.katharsis.client.http.ConnectionPoolMetrics;
+import io.katharsis.client.http.ConnectionPoolMetricsAware;
+import io.katharsis.client.http.apache.HttpClientAdapter;
+import io.katharsis.client.http.apache.HttpClientAdapterListener;
+import io.katharsis.client.http.okhttp.OkHttpAdapter;
+import io.katharsis.client.http.okhttp.OkHttpAdapterListener;
+import io.katharsis.client.mock.models.Task;
+import io.katharsis.queryspec.QuerySpec;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+public class TransportConfigClientTest extends AbstractClientTest {
+
+	private ClientTransportConfig transportConfig = ClientTransportConfig.builder().setConnectTimeout(3, TimeUnit.SECONDS)
+			.setKeepAliveDuration(1, TimeUnit.MINUTES).setMaxIdleConnections(3).setMaxRequests(7).setMaxRequestsPerHost(2)
+			.setHttp2Enabled(false).build();
+
+	@Override
+	protected TestApplication configure() {
+		return new TestApplication(true);
+	}
+
+	@Test
+	public void testOkHttp() {
+		OkHttpAdapter adapter = (OkHttpAdapter) OkHttpAdapter.newInstance();
+		OkHttpAdapterListener listener = Mockito.mock(OkHttpAdapterListener.class,
+				Mockito.withSettings().extraInterfaces(ConnectionPoolMetricsAware.class));
+		adapter.addListener(listener);
+		client.setHttpAdapter(adapter);
+		client.setTransportConfig(transportConfig);
+
+		client.getQuerySpecRepository(Task.class).findAll(new QuerySpec(Task.class));
+
+		OkHttpClient impl = adapter.getImplementation();
+		Assert.assertEquals(3000, impl.connectTimeoutMillis());
+		Assert.assertEquals(7, impl.dispatcher().getMaxRequests());
+		Assert.assertEquals(2, impl.dispatcher().getMaxRequestsPerHost());
+		Assert.assertEquals(Arrays.asList(Protocol.HTTP_1_1), impl.protocols());
+
+		ArgumentCaptor<ConnectionPoolMetrics> captor = ArgumentCaptor.forClass(ConnectionPoolMetrics.class);
+		Mockito.verify((ConnectionPoolMetricsAware) listener, Mockito.times(1)).setConnectionPoolMetrics(captor.capture());
+		ConnectionPoolMetrics metrics = captor.getValue();
+		Assert.assertEquals(1, metrics.getIdleConnections());
+		Assert.assertEquals(0, metrics.getActiveConnections());
+		Assert.assertEquals(0, metrics.getPendingRequests());
+	}
+
+	@Test
+	public void testApache() {
+		HttpClientAdapter adapter = HttpClientAdapter.newInstance();
+		HttpClientAdapterListener listener = Mockito.mock(HttpClientAdapterListener.class,
+				Mockito.withSettings().extraInterfaces(ConnectionPoolMetricsAware.class));
+		adapter.addListener(listener);
+		client.setTransportConfig(transportConfig);
+		client.setHttpAdapter(adapter);
+
+		client.getQuerySpecRepository(Task.class).findAll(new QuerySpec(Task.class));
+
+		ArgumentCaptor<ConnectionPoolMetrics> captor = ArgumentCaptor.forClass(ConnectionPoolMetrics.class);
+		Mockito.verify((ConnectionPoolMetricsAware) listener, Mockito.times(1)).setConnectionPoolMetrics(captor.capture());
+		ConnectionPoolMetrics metrics = captor.getValue();
+		Assert.assertNotNull(metrics);
+		Assert.assertEquals(1, metrics.getIdleConnections());
+		Assert.assertEquals(0, metrics.getActiveConnections());
+		Assert.assertEquals(0, metrics.getPendingRequests());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testConfigAfterInitializationRejected() {
+		client.getQuerySpecRepository(Task.class).findAll(new QuerySpec(Task.class));
+		client.setTransportConfig(transportConfig);
+	}
+
+	@Test
+	public void testBuilderCreatesNewInstances() {
+		ClientTransportConfig.Builder builder = ClientTransportConfig.builder().setMaxRequests(3);
+		ClientTransportConfig config1 = builder.build();
+		ClientTransportConfig config2 = builder.setMaxRequests(5).build();
+		Assert.assertNotSame(config1, config2);
+		Assert.assertEquals(3, config1.getMaxRequests().intValue());
+		Assert.assertEquals(5, config2.getMaxRequests().intValue());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidMaxRequests() {
+		ClientTransportConfig.builder().setMaxRequests(0);
+	}
+}
@@ -0,0 +1,73 @@
+package io.katharsis.client.action;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.katharsis.client.AbstractClientTest;
+import io.katharsis.client.KatharsisTestFeature;
+import io.katharsis.client.mock.models.Schedule;
+import io.katharsis.client.mock.repository.ScheduleRepository;
+import io.katharsis.module.RequestPhase;
+import io.katharsis.module.RequestPhaseContext;
+import io.katharsis.module.RequestPhaseListener;
+import io.katharsis.module.SimpleModule;
+
+public class ActionRequestPhaseTest extends AbstractClientTest {
+
+	private ScheduleRepository scheduleRepo;
+
+	private List<String> parsedResourceTypes = new CopyOnWriteArrayList<>();
+
+	@Before
+	public void setup() {
+		super.setup();
+		scheduleRepo = client.getRepositoryForInterface(ScheduleRepository.class);
+	}
+
+	@Override
+	protected void setupFeature(KatharsisTestFeature feature) {
+		SimpleModule testModule = new SimpleModule("testPhases");
+		testModule.addRequestPhaseListener(new RequestPhaseListener() {
+
+			@Override
+			public Object onPhaseStarted(RequestPhaseContext context, RequestPhase phase) {
+				return null;
+			}
+
+			@Override
+			public void onPhaseFinished(RequestPhaseContext context, RequestPhase phase, Object state, long duration,
+					long size, Throwable failure) {
+				if (phase == RequestPhase.PATH_PARSING) {
+					parsedResourceTypes.add(context.getResourceType());
+				}
+			}
+		});
+		feature.addModule(testModule);
+	}
+
+	@Override
+	protected TestApplication configure() {
+		return new TestApplication(true);
+	}
+
+	@Test
+	public void testRepositoryActionReportsResourceType() {
+		Assert.assertEquals("repository action: hello", scheduleRepo.repositoryAction("hello"));
+		Assert.assertEquals("schedules", parsedResourceTypes.get(parsedResourceTypes.size() - 1));
+	}
+
+	@Test
+	public void testResourceActionReportsResourceType() {
+		Schedule schedule = new Schedule();
+		schedule.setId(1L);
+		schedule.setName("scheduleName");
+		scheduleRepo.create(schedule);
+
+		Assert.assertEquals("resource action: hello@scheduleName", scheduleRepo.resourceAction(1, "hello"));
+		Assert.assertEquals("schedules", parsedResourceTypes.get(parsedResourceTypes.size() - 1));
+	}
+}
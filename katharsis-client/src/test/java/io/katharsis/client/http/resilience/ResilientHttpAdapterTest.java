@@ -0,0 +1,513 @@
+package io.katharsis.client.http.resilience;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.katharsis.client.http.AsyncHttpAdapterRequest;
+import io.katharsis.client.http.HttpAdapter;
+import io.katharsis.client.http.HttpAdapterCallback;
+import io.katharsis.client.http.HttpAdapterRequest;
+import io.katharsis.client.http.HttpAdapterResponse;
+import io.katharsis.repository.request.HttpMethod;
+
+public class ResilientHttpAdapterTest {
+
+	private static final String URL = "http://localhost:1234/api/tasks";
+
+	private ScriptedHttpAdapter delegate = new ScriptedHttpAdapter();
+
+	private ManualTicker ticker = new ManualTicker();
+
+	private ResilientHttpAdapter adapter;
+
+	@After
+	public void teardown() {
+		if (adapter != null) {
+			adapter.close();
+		}
+	}
+
+	@Test
+	public void testRetryOnFailure() throws IOException {
+		adapter = newAdapter(ResilienceConfig.builder().setMaxRetries(2));
+		delegate.enqueue(new IOException("connection reset"));
+		delegate.enqueue(200);
+
+		Assert.assertEquals(200, adapter.newRequest(URL, HttpMethod.GET, null).execute().code());
+		Assert.assertEquals(2, delegate.requestCount.get());
+		Assert.assertEquals(1, adapter.getMetrics().getRetryCount());
+		Assert.assertEquals(1, adapter.getMetrics().getRequestCount());
+	}
+
+	@Test
+	public void testRetryOnStatus() throws IOException {
+		adapter = newAdapter(ResilienceConfig.builder().setMaxRetries(2));
+		delegate.enqueue(503);
+		delegate.enqueue(502);
+		delegate.enqueue(200);
+
+		Assert.assertEquals(200, adapter.newRequest(URL, HttpMethod.GET, null).execute().code());
+		Assert.assertEquals(2, adapter.getMetrics().getRetryCount());
+	}
+
+	@Test
+	public void testRetriesExhausted() throws IOException {
+		adapter = newAdapter(ResilienceConfig.builder().setMaxRetries(1));
+		delegate.enqueue(503);
+		delegate.enqueue(503);
+		delegate.enqueue(200);
+
+		Assert.assertEquals(503, adapter.newRequest(URL, HttpMethod.GET, null).execute().code());
+		Assert.assertEquals(2, delegate.requestCount.get());
+	}
+
+	@Test
+	public void testNonIdempotentNotRetried() {
+		adapter = newAdapter(ResilienceConfig.builder().setMaxRetries(2));
+		delegate.enqueue(new IOException("connection reset"));
+		delegate.enqueue(201);
+
+		try {
+			adapter.newRequest(URL, HttpMethod.POST, "{}").execute();
+			Assert.fail();
+		}
+		catch (IOException e) {
+			Assert.assertEquals("connection reset", e.getMessage());
+		}
+		Assert.assertEquals(1, delegate.requestCount.get());
+	}
+
+	@Test
+	public void testHeadersReplayed() throws IOException {
+		adapter = newAdapter(ResilienceConfig.builder().setMaxRetries(1));
+		delegate.enqueue(503);
+		delegate.enqueue(200);
+
+		HttpAdapterRequest request = adapter.newRequest(URL, HttpMethod.GET, null);
+		request.header("Accept", "application/vnd.api+json");
+		request.execute();
+		Assert.assertEquals(2, delegate.headerCount.get());
+	}
+
+	@Test
+	public void testCircuitBreaker() throws Exception {
+		adapter = newAdapter(ResilienceConfig.builder().setCircuitBreaker(2, 100, TimeUnit.MILLISECONDS));
+		delegate.enqueue(500);
+		delegate.enqueue(new IOException("connection refused"));
+		delegate.enqueue(200);
+
+		Assert.assertEquals(500, adapter.newRequest(URL, HttpMethod.GET, null).execute().code());
+		Assert.assertEquals(CircuitBreaker.State.CLOSED, adapter.getCircuitBreakerState(URL));
+		try {
+			adapter.newRequest(URL, HttpMethod.GET, null).execute();
+			Assert.fail();
+		}
+		catch (IOException e) {
+			Assert.assertFalse(e instanceof CircuitBreakerOpenException);
+		}
+		Assert.assertEquals(CircuitBreaker.State.OPEN, adapter.getCircuitBreakerState("http://localhost:1234"));
+		Assert.assertEquals(1, adapter.getMetrics().getTripCount());
+
+		try {
+			adapter.newRequest(URL, HttpMethod.GET, null).execute();
+			Assert.fail();
+		}
+		catch (CircuitBreakerOpenException e) {
+			// ok
+		}
+		Assert.assertEquals(2, delegate.requestCount.get());
+		Assert.assertEquals(1, adapter.getMetrics().getRejectionCount());
+
+		// other hosts are not affected
+		Assert.assertNull(adapter.getCircuitBreakerState("http://otherhost/api"));
+
+		ticker.advance(150, TimeUnit.MILLISECONDS);
+		Assert.assertEquals(200, adapter.newRequest(URL, HttpMethod.GET, null).execute().code());
+		Assert.assertEquals(CircuitBreaker.State.CLOSED, adapter.getCircuitBreakerState(URL));
+	}
+
+	@Test
+	public void testCircuitBreakerReleasesProbeWithoutOutcome() throws IOException {
+		adapter = newAdapter(ResilienceConfig.builder().setCircuitBreaker(1, 100, TimeUnit.MILLISECONDS));
+		delegate.enqueue(500);
+		delegate.enqueue(new IllegalStateException("unexpected"));
+		delegate.enqueue(200);
+
+		Assert.assertEquals(500, adapter.newRequest(URL, HttpMethod.GET, null).execute().code());
+		Assert.assertEquals(CircuitBreaker.State.OPEN, adapter.getCircuitBreakerState(URL));
+
+		ticker.advance(150, TimeUnit.MILLISECONDS);
+		try {
+			adapter.newRequest(URL, HttpMethod.GET, null).execute();
+			Assert.fail();
+		}
+		catch (IllegalStateException e) {
+			Assert.assertEquals("unexpected", e.getMessage());
+		}
+		Assert.assertEquals(CircuitBreaker.State.HALF_OPEN, adapter.getCircuitBreakerState(URL));
+
+		// the probe has been released, the next request probes again
+		Assert.assertEquals(200, adapter.newRequest(URL, HttpMethod.GET, null).execute().code());
+		Assert.assertEquals(CircuitBreaker.State.CLOSED, adapter.getCircuitBreakerState(URL));
+	}
+
+	@Test
+	public void testRetriesStopAtOpenBreaker() {
+		adapter = newAdapter(ResilienceConfig.builder().setMaxRetries(5)
+				.setCircuitBreaker(2, 1, TimeUnit.MINUTES));
+		for (int i = 0; i < 5; i++) {
+			delegate.enqueue(new IOException("connection refused"));
+		}
+
+		try {
+			adapter.newRequest(URL, HttpMethod.GET, null).execute();
+			Assert.fail();
+		}
+		catch (IOException e) {
+			Assert.assertTrue(e instanceof CircuitBreakerOpenException);
+		}
+		Assert.assertEquals(2, delegate.requestCount.get());
+	}
+
+	@Test
+	public void testHedging() throws IOException {
+		adapter = newAdapter(ResilienceConfig.builder().setHedging(0.95, 20, TimeUnit.MILLISECONDS));
+		CountDownLatch slowResponse = new CountDownLatch(1);
+		delegate.enqueue(200, slowResponse);
+		delegate.enqueue(204);
+
+		try {
+			HttpAdapterResponse response = adapter.newRequest(URL, HttpMethod.GET, null).execute();
+			Assert.assertEquals(204, response.code());
+			Assert.assertEquals(1, adapter.getMetrics().getHedgeCount());
+			Assert.assertEquals(1, adapter.getMetrics().getHedgeWinCount());
+		}
+		finally {
+			slowResponse.countDown();
+		}
+	}
+
+	@Test
+	public void testHedgingBoundedByReceiveTimeout() throws IOException {
+		adapter = newAdapter(ResilienceConfig.builder().setHedging(0.95, 10, TimeUnit.MILLISECONDS));
+		adapter.setReceiveTimeout(50, TimeUnit.MILLISECONDS);
+		CountDownLatch noResponse = new CountDownLatch(1);
+		delegate.enqueue(200, noResponse);
+		delegate.enqueue(200, noResponse);
+
+		try {
+			adapter.newRequest(URL, HttpMethod.GET, null).execute();
+			Assert.fail();
+		}
+		catch (SocketTimeoutException e) {
+			// ok
+		}
+		finally {
+			noResponse.countDown();
+		}
+	}
+
+	@Test
+	public void testFastResponseNotHedged() throws IOException {
+		adapter = newAdapter(ResilienceConfig.builder().setHedging(0.95, 1, TimeUnit.MINUTES));
+		delegate.enqueue(200);
+
+		Assert.assertEquals(200, adapter.newRequest(URL, HttpMethod.GET, null).execute().code());
+		Assert.assertEquals(0, adapter.getMetrics().getHedgeCount());
+		Assert.assertEquals(1, delegate.requestCount.get());
+	}
+
+	@Test
+	public void testAsyncRetry() throws Exception {
+		adapter = newAdapter(ResilienceConfig.builder().setMaxRetries(2));
+		delegate.enqueue(new IOException("connection reset"));
+		delegate.enqueue(503);
+		delegate.enqueue(200);
+
+		final CountDownLatch latch = new CountDownLatch(1);
+		final AtomicReference<HttpAdapterResponse> result = new AtomicReference<>();
+		((AsyncHttpAdapterRequest) adapter.newRequest(URL, HttpMethod.GET, null)).executeAsync(new HttpAdapterCallback() {
+
+			@Override
+			public void onResponse(HttpAdapterResponse response) {
+				result.set(response);
+				latch.countDown();
+			}
+
+			@Override
+			public void onFailure(IOException e) {
+				latch.countDown();
+			}
+		});
+		Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+		Assert.assertEquals(200, result.get().code());
+		Assert.assertEquals(2, adapter.getMetrics().getRetryCount());
+	}
+
+	@Test
+	public void testBuilderCreatesNewInstances() {
+		ResilienceConfig.Builder builder = ResilienceConfig.builder().setMaxRetries(1);
+		ResilienceConfig config = builder.build();
+		builder.setMaxRetries(3);
+		Assert.assertEquals(1, config.getMaxRetries());
+		Assert.assertEquals(3, builder.build().getMaxRetries());
+		Assert.assertNotSame(config, builder.build());
+	}
+
+	@Test
+	public void testStaleOutcomesIgnoredByHalfOpenBreaker() {
+		CircuitBreaker breaker = new CircuitBreaker(1, 100, ticker);
+		CircuitBreaker.Permit stalePermit = breaker.tryAcquire();
+		Assert.assertTrue(breaker.onFailure(breaker.tryAcquire()));
+		ticker.advance(150, TimeUnit.MILLISECONDS);
+
+		CircuitBreaker.Permit probe = breaker.tryAcquire();
+		Assert.assertEquals(CircuitBreaker.Permit.PROBE, probe);
+		breaker.onSuccess(stalePermit);
+		breaker.release(stalePermit);
+		Assert.assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+		Assert.assertNull(breaker.tryAcquire());
+
+		breaker.onSuccess(probe);
+		Assert.assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+	}
+
+	@Test
+	public void testBlockingTaskDoesNotDelayOtherTasks() throws InterruptedException {
+		adapter = newAdapter(ResilienceConfig.builder());
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final CountDownLatch ran = new CountDownLatch(1);
+		try {
+			adapter.schedule(new Runnable() {
+
+				@Override
+				public void run() {
+					try {
+						blocked.await();
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			}, 0);
+			adapter.schedule(new Runnable() {
+
+				@Override
+				public void run() {
+					ran.countDown();
+				}
+			}, 10);
+			Assert.assertTrue(ran.await(5, TimeUnit.SECONDS));
+		}
+		finally {
+			blocked.countDown();
+		}
+	}
+
+	@Test
+	public void testHedgingWithBlockingDelegate() throws IOException {
+		delegate.blocking = true;
+		adapter = newAdapter(ResilienceConfig.builder().setHedging(0.95, 20, TimeUnit.MILLISECONDS));
+		CountDownLatch slowResponse = new CountDownLatch(1);
+		delegate.enqueue(200, slowResponse);
+		delegate.enqueue(204);
+
+		try {
+			Assert.assertEquals(204, adapter.newRequest(URL, HttpMethod.GET, null).execute().code());
+			Assert.assertEquals(1, adapter.getMetrics().getHedgeWinCount());
+		}
+		finally {
+			slowResponse.countDown();
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testClosedAdapterDoesNotSchedule() {
+		adapter = newAdapter(ResilienceConfig.builder());
+		adapter.close();
+		adapter.schedule(new Runnable() {
+
+			@Override
+			public void run() {
+				// not expected to run
+			}
+		}, 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidPercentile() {
+		ResilienceConfig.builder().setHedging(1.5, 10, TimeUnit.MILLISECONDS);
+	}
+
+	@Test
+	public void testGetHost() {
+		Assert.assertEquals("http://localhost:1234", ResilientHttpAdapter.getHost(URL));
+		Assert.assertEquals("https://host", ResilientHttpAdapter.getHost("https://host?filter[name]=a"));
+		Assert.assertEquals("https://host", ResilientHttpAdapter.getHost("https://host"));
+	}
+
+	private ResilientHttpAdapter newAdapter(ResilienceConfig.Builder builder) {
+		builder.setRetryBackoff(0, 0, TimeUnit.MILLISECONDS);
+		ResilientHttpAdapter newAdapter = new ResilientHttpAdapter(delegate, builder.build());
+		newAdapter.setTicker(ticker);
+		return newAdapter;
+	}
+
+	private static class ManualTicker implements Ticker {
+
+		private AtomicLong nanos = new AtomicLong();
+
+		void advance(long duration, TimeUnit unit) {
+			nanos.addAndGet(unit.toNanos(duration));
+		}
+
+		@Override
+		public long read() {
+			return nanos.get();
+		}
+	}
+
+	/**
+	 * Answers requests with the enqueued outcomes, either a status code or an exception. An outcome may be held back
+	 * until a latch is released. Blocking requests do not support asynchronous execution.
+	 */
+	private static class ScriptedHttpAdapter implements HttpAdapter {
+
+		private volatile boolean blocking;
+
+		private ConcurrentLinkedQueue<Object[]> outcomes = new ConcurrentLinkedQueue<>();
+
+		private AtomicInteger requestCount = new AtomicInteger();
+
+		private AtomicInteger headerCount = new AtomicInteger();
+
+		void enqueue(Object outcome) {
+			enqueue(outcome, new CountDownLatch(0));
+		}
+
+		void enqueue(Object outcome, CountDownLatch release) {
+			outcomes.add(new Object[] { outcome, release });
+		}
+
+		@Override
+		public HttpAdapterRequest newRequest(String url, HttpMethod method, String requestBody) {
+			final AsyncHttpAdapterRequest request = newAsyncRequest();
+			if (!blocking) {
+				return request;
+			}
+			return new HttpAdapterRequest() {
+
+				@Override
+				public void header(String name, String value) {
+					request.header(name, value);
+				}
+
+				@Override
+				public HttpAdapterResponse execute() throws IOException {
+					return request.execute();
+				}
+			};
+		}
+
+		private AsyncHttpAdapterRequest newAsyncRequest() {
+			return new AsyncHttpAdapterRequest() {
+
+				@Override
+				public void header(String name, String value) {
+					headerCount.incrementAndGet();
+				}
+
+				@Override
+				public HttpAdapterResponse execute() throws IOException {
+					Object[] outcome = outcomes.poll();
+					requestCount.incrementAndGet();
+					try {
+						((CountDownLatch) outcome[1]).await();
+					}
+					catch (InterruptedException e) {
+						throw new IllegalStateException(e);
+					}
+					if (outcome[0] instanceof IOException) {
+						throw (IOException) outcome[0];
+					}
+					if (outcome[0] instanceof RuntimeException) {
+						throw (RuntimeException) outcome[0];
+					}
+					return new ScriptedResponse((Integer) outcome[0]);
+				}
+
+				@Override
+				public void executeAsync(final HttpAdapterCallback callback) {
+					new Thread() {
+
+						@Override
+						public void run() {
+							try {
+								callback.onResponse(execute());
+							}
+							catch (IOException e) {
+								callback.onFailure(e);
+							}
+						}
+					}.start();
+				}
+			};
+		}
+
+		@Override
+		public void setReceiveTimeout(int timeout, TimeUnit unit) {
+			// not supported
+		}
+	}
+
+	private static class ScriptedResponse implements HttpAdapterResponse {
+
+		private int code;
+
+		ScriptedResponse(int code) {
+			this.code = code;
+		}
+
+		@Override
+		public boolean isSuccessful() {
+			return code < 300;
+		}
+
+		@Override
+		public String body() {
+			return "";
+		}
+
+		@Override
+		public InputStream bodyStream() {
+			return new ByteArrayInputStream(new byte[0]);
+		}
+
+		@Override
+		public int code() {
+			return code;
+		}
+
+		@Override
+		public String message() {
+			return String.valueOf(code);
+		}
+
+		@Override
+		public String getResponseHeader(String name) {
+			return null;
+		}
+	}
+}
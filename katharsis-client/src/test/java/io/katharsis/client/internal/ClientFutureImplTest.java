@@ -0,0 +1,54 @@
+package io.katharsis.client.internal;
+
+import java.util.concurrent.CancellationException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import io.katharsis.client.ClientCallback;
+
+public class ClientFutureImplTest {
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testCancelNotifiesPendingCallbacks() {
+		ClientFutureImpl<String> future = new ClientFutureImpl<>();
+		ClientCallback<String> callback = Mockito.mock(ClientCallback.class);
+		future.addCallback(callback);
+
+		Assert.assertTrue(future.cancel(false));
+		Assert.assertTrue(future.isCancelled());
+		Assert.assertTrue(future.isDone());
+
+		ArgumentCaptor<RuntimeException> captor = ArgumentCaptor.forClass(RuntimeException.class);
+		Mockito.verify(callback, Mockito.times(1)).onFailure(captor.capture());
+		Assert.assertTrue(captor.getValue() instanceof CancellationException);
+		Mockito.verify(callback, Mockito.never()).onSuccess(Mockito.anyString());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testCancelNotifiesLateCallbacks() {
+		ClientFutureImpl<String> future = new ClientFutureImpl<>();
+		future.cancel(false);
+
+		ClientCallback<String> callback = Mockito.mock(ClientCallback.class);
+		future.addCallback(callback);
+		Mockito.verify(callback, Mockito.times(1)).onFailure(Mockito.any(CancellationException.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testCompletionAfterCancelIgnored() {
+		ClientFutureImpl<String> future = new ClientFutureImpl<>();
+		ClientCallback<String> callback = Mockito.mock(ClientCallback.class);
+		future.addCallback(callback);
+		future.cancel(false);
+		future.complete("test");
+
+		Assert.assertFalse(future.cancel(false));
+		Mockito.verify(callback, Mockito.never()).onSuccess(Mockito.anyString());
+	}
+}
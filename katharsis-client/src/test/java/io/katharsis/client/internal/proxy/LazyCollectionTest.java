@@ -0,0 +1,66 @@
+package io.katharsis.client.internal.proxy;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import io.katharsis.client.mock.models.Task;
+import io.katharsis.resource.list.DefaultResourceList;
+
+public class LazyCollectionTest {
+
+	private static final String URL = "http://localhost/schedules/1/tasks";
+
+	private ClientProxyFactoryContext context;
+
+	private DefaultResourceList<Task> tasks;
+
+	@Before
+	public void setup() {
+		Task task = new Task();
+		task.setId(1L);
+		tasks = new DefaultResourceList<>();
+		tasks.add(task);
+
+		context = Mockito.mock(ClientProxyFactoryContext.class);
+		Mockito.when(context.getCollection(Task.class, URL)).thenReturn(tasks);
+	}
+
+	@Test
+	public void testListLoadedOnce() {
+		LazyResourceList<Task> list = new LazyResourceList<>(Task.class, URL, context);
+		Assert.assertFalse(list.isLoaded());
+		Assert.assertEquals(URL, list.getUrl());
+
+		Assert.assertEquals(1, list.size());
+		Assert.assertTrue(list.isLoaded());
+		Assert.assertSame(tasks.get(0), list.get(0));
+		Iterator<Task> iterator = list.iterator();
+		Assert.assertTrue(iterator.hasNext());
+		Mockito.verify(context, Mockito.times(1)).getCollection(Task.class, URL);
+	}
+
+	@Test
+	public void testSetConverted() {
+		Set<Task> set = new LazyResourceSet<>(Task.class, URL, context);
+		Assert.assertTrue(set.contains(tasks.get(0)));
+		Assert.assertFalse(set.add(tasks.get(0)));
+		Assert.assertEquals(1, set.size());
+		Assert.assertEquals(1, tasks.size());
+	}
+
+	@Test
+	public void testBatchedLoadConvertsToResourceList() {
+		LazyResourceList<Task> list = new LazyResourceList<>(Task.class, URL, context);
+		list.setCollection(Arrays.asList(tasks.get(0)));
+		Assert.assertTrue(list.isLoaded());
+		Assert.assertNull(list.getMeta());
+		Assert.assertEquals(1, list.size());
+		Mockito.verify(context, Mockito.never()).getCollection(Task.class, URL);
+	}
+}
@@ -27,7 +27,33 @@ public class FallbackServiceDiscoveryFactory implements ServiceDiscoveryFactory
 			return instance;
 		}
 		String resourceSearchPackage = propertiesProvider.getProperty(KatharsisProperties.RESOURCE_SEARCH_PACKAGE);
+		if (Boolean.parseBoolean(propertiesProvider.getProperty(KatharsisProperties.RESOURCE_INDEX))) {
+			// generated at compile time, no need to scan the classpath
+			ResourceIndex index = ResourceIndex.load();
+			if (index == null) {
+				throw new IllegalStateException(KatharsisProperties.RESOURCE_INDEX + " is enabled, but no " + ResourceIndex.INDEX_LOCATION
+						+ " found on the classpath, make sure katharsis-index is on the compile classpath");
+			}
+			checkIndexed(index, resourceSearchPackage);
+			return new IndexServiceDiscovery(index, resourceSearchPackage, serviceLocator);
+		}
 		return new ReflectionsServiceDiscovery(resourceSearchPackage, serviceLocator);
 	}
 
+	/**
+	 * Indexes may also come with libraries. Make sure the application classes have been indexed as well rather than
+	 * silently missing its resources and repositories.
+	 */
+	private static void checkIndexed(ResourceIndex index, String resourceSearchPackages) {
+		if (resourceSearchPackages == null) {
+			return;
+		}
+		for (String resourceSearchPackage : resourceSearchPackages.split(",")) {
+			if (index.getClasses(resourceSearchPackage).isEmpty()) {
+				throw new IllegalStateException("no classes of package " + resourceSearchPackage.trim() + " found in "
+						+ ResourceIndex.INDEX_LOCATION + ", make sure katharsis-index is on the compile classpath of the package");
+			}
+		}
+	}
+
 }
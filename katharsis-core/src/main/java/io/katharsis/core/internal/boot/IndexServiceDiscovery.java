@@ -0,0 +1,82 @@
+package io.katharsis.core.internal.boot;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.katharsis.legacy.locator.JsonServiceLocator;
+import io.katharsis.legacy.locator.SampleJsonServiceLocator;
+import io.katharsis.module.ServiceDiscovery;
+
+/**
+ * Discovers services among the classes of a {@link ResourceIndex} generated at compile time rather than by scanning
+ * the classpath like the {@link ReflectionsServiceDiscovery}. Indexed services lacking a public default constructor
+ * are obtained from the locator as well, unless it is the {@link SampleJsonServiceLocator} not capable of creating
+ * them.
+ */
+public class IndexServiceDiscovery implements ServiceDiscovery {
+
+	private List<Class<?>> classes;
+
+	private JsonServiceLocator locator;
+
+	/**
+	 * @param index to discover the services from
+	 * @param resourceSearchPackages comma-separated list of packages to restrict the discovery to or null
+	 * @param locator to obtain the instances from
+	 */
+	public IndexServiceDiscovery(ResourceIndex index, String resourceSearchPackages, JsonServiceLocator locator) {
+		this.classes = index.getClasses(resourceSearchPackages);
+		this.locator = locator;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> List<T> getInstancesByType(Class<T> clazz) {
+		List<T> instances = new ArrayList<>();
+		for (Class<?> type : classes) {
+			if (clazz.isAssignableFrom(type)) {
+				addInstance(instances, (Class<T>) type);
+			}
+		}
+		return instances;
+	}
+
+	@Override
+	public <A extends Annotation> List<Object> getInstancesByAnnotation(Class<A> annotation) {
+		List<Object> instances = new ArrayList<>();
+		for (Class<?> type : classes) {
+			if (type.isAnnotationPresent(annotation)) {
+				addInstance(instances, type);
+			}
+		}
+		return instances;
+	}
+
+	@SuppressWarnings("deprecation")
+	private <T> void addInstance(List<? super T> instances, Class<T> type) {
+		if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+			// abstract resource classes are indexed as well
+			return;
+		}
+		if (locator instanceof SampleJsonServiceLocator && !hasDefaultConstructor(type)) {
+			// services relying on constructor injection are indexed as well, but can only be created by other locators
+			return;
+		}
+		T instance = locator.getInstance(type);
+		if (instance != null) {
+			instances.add(instance);
+		}
+	}
+
+	private static boolean hasDefaultConstructor(Class<?> type) {
+		for (Constructor<?> constructor : type.getConstructors()) {
+			if (constructor.getParameterTypes().length == 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
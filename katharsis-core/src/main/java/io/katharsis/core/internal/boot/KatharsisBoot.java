@@ -1,9 +1,12 @@
 package io.katharsis.core.internal.boot;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import io.katharsis.core.internal.dispatcher.ControllerRegistry;
 import io.katharsis.core.internal.dispatcher.ControllerRegistryBuilder;
@@ -55,6 +58,8 @@ import net.jodah.typetools.TypeResolver;
 @SuppressWarnings("deprecation")
 public class KatharsisBoot {
 
+	private static final Logger LOGGER = LoggerFactory.getLogger(KatharsisBoot.class);
+
 	private final ModuleRegistry moduleRegistry = new ModuleRegistry();
 
 	private ObjectMapper objectMapper;
@@ -87,6 +92,12 @@ public class KatharsisBoot {
 
 	private DocumentMapper documentMapper;
 
+	private Boolean lazyRegistry;
+
+	private Boolean prewarmRegistry;
+
+	private Executor prewarmExecutor;
+
 	public void setObjectMapper(ObjectMapper objectMapper) {
 		PreconditionUtil.assertNull("ObjectMapper already set", this.objectMapper);
 		this.objectMapper = objectMapper;
@@ -145,6 +156,41 @@ public class KatharsisBoot {
 		this.serviceUrlProvider = serviceUrlProvider;
 	}
 
+	/**
+	 * Sets up resources upon first access rather than during {@link #boot()}. Overrides
+	 * {@link KatharsisProperties#LAZY_REGISTRY}.
+	 *
+	 * @param lazyRegistry
+	 *            true to set up resources lazily
+	 */
+	public void setLazyRegistry(boolean lazyRegistry) {
+		checkNotConfiguredYet();
+		this.lazyRegistry = lazyRegistry;
+	}
+
+	/**
+	 * Sets up lazily registered resources in the background once {@link #boot()} completed. Overrides
+	 * {@link KatharsisProperties#LAZY_REGISTRY_PREWARM}.
+	 *
+	 * @param prewarmRegistry
+	 *            true to pre-warm the registry
+	 */
+	public void setPrewarmRegistry(boolean prewarmRegistry) {
+		checkNotConfiguredYet();
+		this.prewarmRegistry = prewarmRegistry;
+	}
+
+	/**
+	 * Sets the executor to pre-warm the registry with. By default a new daemon thread is started.
+	 *
+	 * @param prewarmExecutor
+	 *            executor to use
+	 */
+	public void setPrewarmExecutor(Executor prewarmExecutor) {
+		checkNotConfiguredYet();
+		this.prewarmExecutor = prewarmExecutor;
+	}
+
 	private void checkNotConfiguredYet() {
 		if (configured) {
 			throw new IllegalStateException("cannot further modify KatharsisFeature once configured/initialized by JAX-RS");
@@ -160,6 +206,44 @@ public class KatharsisBoot {
 		setupServiceUrlProvider();
 		setupServiceDiscovery();
 		bootDiscovery();
+		prewarmRegistry();
+	}
+
+	private void prewarmRegistry() {
+		if (!isEnabled(prewarmRegistry, KatharsisProperties.LAZY_REGISTRY_PREWARM) || !(resourceRegistry instanceof ResourceRegistryImpl)) {
+			return;
+		}
+		final ResourceRegistryImpl registry = (ResourceRegistryImpl) resourceRegistry;
+		if (!registry.hasLazyEntries()) {
+			return;
+		}
+		Runnable prewarm = new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					registry.initializeLazyEntries();
+					LOGGER.debug("pre-warmed resource registry");
+				} catch (RuntimeException e) {
+					// failures show up again on first access of the affected resource
+					LOGGER.warn("failed to pre-warm resource registry", e);
+				}
+			}
+		};
+		if (prewarmExecutor != null) {
+			prewarmExecutor.execute(prewarm);
+		} else {
+			Thread thread = new Thread(prewarm, "katharsis-registry-prewarm");
+			thread.setDaemon(true);
+			thread.start();
+		}
+	}
+
+	private boolean isEnabled(Boolean value, String propertyKey) {
+		if (value != null) {
+			return value;
+		}
+		return Boolean.parseBoolean(getProperty(propertyKey));
 	}
 
 	private void setupServiceDiscovery() {
@@ -177,6 +261,7 @@ public class KatharsisBoot {
 		setupComponents();
 		resourceRegistry = new ResourceRegistryImpl(moduleRegistry, serviceUrlProvider);
 
+		moduleRegistry.setLazyRegistry(isEnabled(lazyRegistry, KatharsisProperties.LAZY_REGISTRY));
 		moduleRegistry.init(objectMapper);
 
 		JsonApiModuleBuilder jsonApiModuleBuilder = new JsonApiModuleBuilder();
@@ -204,6 +289,7 @@ public class KatharsisBoot {
 		ControllerRegistryBuilder controllerRegistryBuilder = new ControllerRegistryBuilder(resourceRegistry, moduleRegistry.getTypeParser(), objectMapper, propertiesProvider);
 		ControllerRegistry controllerRegistry = controllerRegistryBuilder.build();
 		this.documentMapper = controllerRegistryBuilder.getDocumentMapper();
+		this.documentMapper.setRequestPhaseMonitor(moduleRegistry.getRequestPhaseMonitor());
 
 		QueryAdapterBuilder queryAdapterBuilder;
 		if (queryParamsBuilder != null) {
@@ -0,0 +1,115 @@
+package io.katharsis.core.internal.boot;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Gives access to the classes listed in the resource indexes generated at compile time by the katharsis-index
+ * annotation processor. Every jar may contain an index, all of them are merged. The index lists resources,
+ * repositories, modules, exception mappers, filters and other classes Katharsis looks up during startup and thereby
+ * makes classpath scanning unnecessary.
+ */
+public class ResourceIndex {
+
+	/**
+	 * Location of the index files on the classpath, holding one class name per line.
+	 */
+	public static final String INDEX_LOCATION = "META-INF/katharsis/resource.index";
+
+	private static final Charset CHARSET_UTF8 = Charset.forName("UTF8");
+
+	private final List<Class<?>> classes;
+
+	private ResourceIndex(List<Class<?>> classes) {
+		this.classes = Collections.unmodifiableList(classes);
+	}
+
+	/**
+	 * @param classLoader to load the indexes and classes with
+	 * @return merged index or null if no index is available
+	 */
+	public static ResourceIndex load(ClassLoader classLoader) {
+		Set<String> classNames = new LinkedHashSet<>();
+		try {
+			Enumeration<URL> urls = classLoader.getResources(INDEX_LOCATION);
+			if (!urls.hasMoreElements()) {
+				return null;
+			}
+			while (urls.hasMoreElements()) {
+				readIndex(urls.nextElement(), classNames);
+			}
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("failed to read " + INDEX_LOCATION, e);
+		}
+
+		List<Class<?>> classes = new ArrayList<>();
+		for (String className : classNames) {
+			try {
+				classes.add(Class.forName(className, false, classLoader));
+			}
+			catch (ClassNotFoundException e) {
+				throw new IllegalStateException("class listed in " + INDEX_LOCATION + " not found: " + className, e);
+			}
+		}
+		return new ResourceIndex(classes);
+	}
+
+	/**
+	 * @return index of the context class loader or null if no index is available
+	 */
+	public static ResourceIndex load() {
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		return load(classLoader != null ? classLoader : ResourceIndex.class.getClassLoader());
+	}
+
+	private static void readIndex(URL url, Set<String> classNames) throws IOException {
+		try (InputStream in = url.openStream()) {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(in, CHARSET_UTF8));
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+				if (!line.isEmpty() && !line.startsWith("#")) {
+					classNames.add(line);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return all indexed classes
+	 */
+	public List<Class<?>> getClasses() {
+		return classes;
+	}
+
+	/**
+	 * @param packageNames comma-separated list of packages or null
+	 * @return all indexed classes within the given packages or all classes if no package is given
+	 */
+	public List<Class<?>> getClasses(String packageNames) {
+		if (packageNames == null) {
+			return classes;
+		}
+		List<Class<?>> result = new ArrayList<>();
+		for (Class<?> clazz : classes) {
+			for (String packageName : packageNames.split(",")) {
+				if (clazz.getName().startsWith(packageName.trim() + ".")) {
+					result.add(clazz);
+					break;
+				}
+			}
+		}
+		return result;
+	}
+}
@@ -19,6 +19,7 @@ import io.katharsis.legacy.internal.QueryParamsAdapter;
 import io.katharsis.legacy.internal.RepositoryMethodParameterProvider;
 import io.katharsis.legacy.queryParams.QueryParams;
 import io.katharsis.module.ModuleRegistry;
+import io.katharsis.module.RequestPhase;
 import io.katharsis.repository.filter.DocumentFilter;
 import io.katharsis.repository.filter.DocumentFilterChain;
 import io.katharsis.repository.filter.DocumentFilterContext;
@@ -72,7 +73,7 @@ public class RequestDispatcher {
 			BaseController controller = controllerRegistry.getController(jsonPath, method);
 
 			ResourceInformation resourceInformation = getRequestedResource(jsonPath);
-			QueryAdapter queryAdapter = queryAdapterBuilder.build(resourceInformation, parameters);
+			QueryAdapter queryAdapter = buildQueryAdapter(resourceInformation, parameters);
 
 			DefaultFilterRequestContext context = new DefaultFilterRequestContext(jsonPath, queryAdapter, parameterProvider,
 					requestBody, method);
@@ -90,6 +91,19 @@ public class RequestDispatcher {
 		}
 	}
 
+	private QueryAdapter buildQueryAdapter(ResourceInformation resourceInformation, Map<String, Set<String>> parameters) {
+		RequestPhaseMonitor.Phase phase = getRequestPhaseMonitor().start(RequestPhase.QUERY_DESERIALIZATION);
+		try {
+			QueryAdapter queryAdapter = queryAdapterBuilder.build(resourceInformation, parameters);
+			phase.finish();
+			return queryAdapter;
+		}
+		catch (RuntimeException e) {
+			phase.fail(e);
+			throw e;
+		}
+	}
+
 	private ResourceInformation getRequestedResource(JsonPath jsonPath) {
 		ResourceRegistry resourceRegistry = moduleRegistry.getResourceRegistry();
 		RegistryEntry registryEntry = resourceRegistry.getEntry(jsonPath.getResourceName());
@@ -215,4 +229,11 @@ public class RequestDispatcher {
 	public QueryAdapterBuilder getQueryAdapterBuilder() {
 		return queryAdapterBuilder;
 	}
+
+	/**
+	 * @return monitor to be used by integrations to report the phases of a request not covered by this dispatcher
+	 */
+	public RequestPhaseMonitor getRequestPhaseMonitor() {
+		return moduleRegistry.getRequestPhaseMonitor();
+	}
 }
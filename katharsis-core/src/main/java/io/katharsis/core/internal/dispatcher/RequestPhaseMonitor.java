@@ -0,0 +1,293 @@
+package io.katharsis.core.internal.dispatcher;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.katharsis.core.internal.dispatcher.path.ActionPath;
+import io.katharsis.core.internal.dispatcher.path.JsonPath;
+import io.katharsis.core.internal.dispatcher.path.PathBuilder;
+import io.katharsis.errorhandling.exception.JsonDeserializationException;
+import io.katharsis.module.RequestPhase;
+import io.katharsis.module.RequestPhaseContext;
+import io.katharsis.module.RequestPhaseListener;
+import io.katharsis.resource.Document;
+
+/**
+ * Notifies the {@link RequestPhaseListener}s about the phases of the request currently processed by this thread.
+ * Phases started outside of a request and all phases without any listener registered are not tracked and cause no
+ * allocations. The duration of a phase is measured once for all listeners. Exceptions thrown by a listener are logged
+ * and do not affect the request or the other listeners.
+ */
+public class RequestPhaseMonitor {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(RequestPhaseMonitor.class);
+
+	private static final Phase NOOP = new Phase(null, null, null, null);
+
+	/**
+	 * State of a listener that failed to start a phase, the phase is then not finished for that listener.
+	 */
+	private static final Object FAILED = new Object();
+
+	private final RequestPhaseListener[] listeners;
+
+	private final ThreadLocal<RequestScope> currentScope = new ThreadLocal<>();
+
+	public RequestPhaseMonitor(List<RequestPhaseListener> listeners) {
+		this.listeners = listeners.toArray(new RequestPhaseListener[listeners.size()]);
+	}
+
+	/**
+	 * @return true if any listener is registered
+	 */
+	public boolean isEnabled() {
+		return listeners.length > 0;
+	}
+
+	/**
+	 * Starts a new request on this thread. The request ends once the returned {@link RequestPhase#REQUEST} phase is
+	 * finished.
+	 * 
+	 * @param method HTTP method of the request
+	 * @return request phase
+	 */
+	public Phase startRequest(String method) {
+		if (listeners.length == 0) {
+			return NOOP;
+		}
+		RequestScope scope = new RequestScope(method, currentScope.get());
+		currentScope.set(scope);
+		return start(scope, RequestPhase.REQUEST);
+	}
+
+	/**
+	 * @param phase to start
+	 * @return started phase to be finished by the caller
+	 */
+	public Phase start(RequestPhase phase) {
+		if (listeners.length == 0) {
+			return NOOP;
+		}
+		RequestScope scope = currentScope.get();
+		if (scope == null) {
+			return NOOP;
+		}
+		return start(scope, phase);
+	}
+
+	private Phase start(RequestScope scope, RequestPhase phase) {
+		Object[] states = new Object[listeners.length];
+		for (int i = 0; i < listeners.length; i++) {
+			try {
+				states[i] = listeners[i].onPhaseStarted(scope, phase);
+			}
+			catch (RuntimeException e) {
+				LOGGER.error("request phase listener " + listeners[i] + " failed to start " + phase, e);
+				states[i] = FAILED;
+			}
+		}
+		return new Phase(this, scope, phase, states);
+	}
+
+	/**
+	 * Sets the resource type of the current request once known.
+	 * 
+	 * @param resourceType requested
+	 */
+	public void setResourceType(String resourceType) {
+		if (listeners.length > 0) {
+			RequestScope scope = currentScope.get();
+			if (scope != null) {
+				scope.resourceType = resourceType;
+			}
+		}
+	}
+
+	/**
+	 * Sets the resource type of the current request from the parsed path. Actions report the resource they belong to.
+	 * 
+	 * @param jsonPath requested or null if not found
+	 */
+	public void setResourceType(JsonPath jsonPath) {
+		JsonPath resourcePath = jsonPath;
+		while (resourcePath instanceof ActionPath) {
+			resourcePath = resourcePath.getParentResource();
+		}
+		if (resourcePath != null) {
+			setResourceType(resourcePath.getResourceName());
+		}
+	}
+
+	/**
+	 * Parses the requested path as {@link RequestPhase#PATH_PARSING} phase and sets the resource type of the current
+	 * request.
+	 * 
+	 * @param pathBuilder to parse the path with
+	 * @param path requested
+	 * @param required whether to throw a {@link io.katharsis.errorhandling.exception.RepositoryNotFoundException}
+	 *            rather than returning null if no repository serves the path
+	 * @return parsed path
+	 */
+	public JsonPath parsePath(PathBuilder pathBuilder, String path, boolean required) {
+		Phase phase = start(RequestPhase.PATH_PARSING);
+		try {
+			JsonPath jsonPath = required ? pathBuilder.buildPath(path) : pathBuilder.build(path);
+			setResourceType(jsonPath);
+			phase.finish();
+			return jsonPath;
+		}
+		catch (RuntimeException e) {
+			phase.fail(e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Reads the request document as {@link RequestPhase#DOCUMENT_DESERIALIZATION} phase.
+	 * 
+	 * @param objectMapper to read the document with
+	 * @param requestBody to read
+	 * @return request document
+	 */
+	public Document readDocument(ObjectMapper objectMapper, String requestBody) {
+		Phase phase = start(RequestPhase.DOCUMENT_DESERIALIZATION);
+		try {
+			Document document = objectMapper.readValue(requestBody, Document.class);
+			phase.finish(requestBody.length());
+			return document;
+		}
+		catch (IOException e) {
+			phase.fail(e);
+			throw new JsonDeserializationException(e.getMessage());
+		}
+	}
+
+	/**
+	 * Writes the response document as {@link RequestPhase#SERIALIZATION} phase.
+	 * 
+	 * @param objectMapper to write the document with
+	 * @param out buffer to write to
+	 * @param document to write
+	 * @throws IOException if writing failed
+	 */
+	public void writeDocument(ObjectMapper objectMapper, ByteArrayOutputStream out, Document document) throws IOException {
+		Phase phase = start(RequestPhase.SERIALIZATION);
+		int offset = out.size();
+		try {
+			objectMapper.writeValue(out, document);
+			phase.finish(out.size() - offset);
+		}
+		catch (IOException | RuntimeException e) {
+			phase.fail(e);
+			throw e;
+		}
+	}
+
+	/**
+	 * A started phase. Must be finished exactly once with {@link #finish()}, {@link #finish(long)} or
+	 * {@link #fail(Throwable)}.
+	 */
+	public static final class Phase {
+
+		private final RequestPhaseMonitor monitor;
+
+		private final RequestScope scope;
+
+		private final RequestPhase phase;
+
+		private final Object[] states;
+
+		private final long startTime;
+
+		private boolean finished;
+
+		private Phase(RequestPhaseMonitor monitor, RequestScope scope, RequestPhase phase, Object[] states) {
+			this.monitor = monitor;
+			this.scope = scope;
+			this.phase = phase;
+			this.states = states;
+			this.startTime = monitor != null ? System.nanoTime() : 0L;
+		}
+
+		public void finish() {
+			finish(-1L, null);
+		}
+
+		public void finish(long size) {
+			finish(size, null);
+		}
+
+		public void fail(Throwable failure) {
+			finish(-1L, failure);
+		}
+
+		private void finish(long size, Throwable failure) {
+			if (monitor == null || finished) {
+				return;
+			}
+			finished = true;
+			long duration = System.nanoTime() - startTime;
+			try {
+				RequestPhaseListener[] listeners = monitor.listeners;
+				for (int i = listeners.length - 1; i >= 0; i--) {
+					if (states[i] != FAILED) {
+						finish(listeners[i], states[i], duration, size, failure);
+					}
+				}
+			}
+			finally {
+				if (phase == RequestPhase.REQUEST) {
+					monitor.endRequest(scope);
+				}
+			}
+		}
+
+		private void finish(RequestPhaseListener listener, Object state, long duration, long size, Throwable failure) {
+			try {
+				listener.onPhaseFinished(scope, phase, state, duration, size, failure);
+			}
+			catch (RuntimeException e) {
+				LOGGER.error("request phase listener " + listener + " failed to finish " + phase, e);
+			}
+		}
+	}
+
+	private void endRequest(RequestScope scope) {
+		if (scope.parent != null) {
+			currentScope.set(scope.parent);
+		}
+		else {
+			currentScope.remove();
+		}
+	}
+
+	private static class RequestScope implements RequestPhaseContext {
+
+		private final String method;
+
+		private final RequestScope parent;
+
+		private String resourceType;
+
+		public RequestScope(String method, RequestScope parent) {
+			this.method = method;
+			this.parent = parent;
+		}
+
+		@Override
+		public String getMethod() {
+			return method;
+		}
+
+		@Override
+		public String getResourceType() {
+			return resourceType;
+		}
+	}
+}
@@ -1,18 +1,38 @@
 package io.katharsis.core.internal.exception;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.katharsis.errorhandling.ErrorResponse;
 import io.katharsis.errorhandling.mapper.ExceptionMapper;
+import io.katharsis.errorhandling.mapper.HttpStatusExceptionMapper;
 import io.katharsis.errorhandling.mapper.JsonApiExceptionMapper;
 import io.katharsis.utils.Optional;
 
+/**
+ * Resolves the mapper of an exception class once and caches the result. Mappers to convert error responses back to
+ * exceptions are pre-sorted by the number of super types of their exception and indexed by the status codes declared
+ * with {@link HttpStatusExceptionMapper}, so that only the candidates of the given status code are asked.
+ */
 public final class ExceptionMapperRegistry {
 
     private final Set<ExceptionMapperType> exceptionMappers;
 
+    private final ConcurrentHashMap<Class<?>, Optional<JsonApiExceptionMapper>> resolvedMappers = new ConcurrentHashMap<>();
+
+    private final Map<Integer, List<ExceptionMapper<?>>> statusMappers = new HashMap<>();
+
+    private final List<ExceptionMapper<?>> genericMappers = new ArrayList<>();
+
     ExceptionMapperRegistry(Set<ExceptionMapperType> exceptionMappers) {
         this.exceptionMappers = exceptionMappers;
+        indexErrorResponseMappers();
     }
 
     Set<ExceptionMapperType> getExceptionMappers() {
@@ -20,6 +40,15 @@ public final class ExceptionMapperRegistry {
     }
 
     public Optional<JsonApiExceptionMapper> findMapperFor(Class<? extends Throwable> exceptionClass) {
+        Optional<JsonApiExceptionMapper> mapper = resolvedMappers.get(exceptionClass);
+        if (mapper == null) {
+            mapper = resolveMapper(exceptionClass);
+            resolvedMappers.putIfAbsent(exceptionClass, mapper);
+        }
+        return mapper;
+    }
+
+    private Optional<JsonApiExceptionMapper> resolveMapper(Class<? extends Throwable> exceptionClass) {
         int currentDistance = Integer.MAX_VALUE;
         JsonApiExceptionMapper closestExceptionMapper = null;
         for (ExceptionMapperType mapperType : exceptionMappers) {
@@ -34,30 +63,76 @@ public final class ExceptionMapperRegistry {
         }
         return Optional.ofNullable(closestExceptionMapper);
     }
-    
+
     @SuppressWarnings({ "rawtypes", "unchecked" })
 	public Optional<ExceptionMapper<?>> findMapperFor(ErrorResponse errorResponse) {
-		int currentDepth = -1;
-		ExceptionMapper closestExceptionMapper = null;
-		    
-		for (ExceptionMapperType mapperType : exceptionMappers) {
-			JsonApiExceptionMapper mapperObj = mapperType.getExceptionMapper();
-			if(mapperObj instanceof ExceptionMapper){
-				ExceptionMapper mapper = (ExceptionMapper) mapperObj;
-				boolean accepted = mapper.accepts(errorResponse);
-				if(accepted){
-					// the exception with the most super types is chosen
-					int tempDepth = countSuperTypes(mapperType.getExceptionClass());
-		            if (tempDepth > currentDepth) {
-		                currentDepth = tempDepth;
-		                closestExceptionMapper = mapper;
-		            }
-				}
+		List<ExceptionMapper<?>> candidates = statusMappers.get(errorResponse.getHttpStatus());
+		if (candidates == null) {
+			candidates = genericMappers;
+		}
+		// candidates are sorted, the exception with the most super types is chosen
+		for (ExceptionMapper mapper : candidates) {
+			if (mapper.accepts(errorResponse)) {
+				return (Optional) Optional.of(mapper);
 			}
 		}
-		return (Optional)Optional.ofNullable(closestExceptionMapper);
+		return Optional.empty();
 	}
 
+    /**
+     * Sorts the mappers by the number of super types of their exceptions, keeping the iteration order for mappers of
+     * equal depth. Every status code declared by a {@link HttpStatusExceptionMapper} gets its own list, holding its
+     * mappers together with the mappers accepting any status code.
+     */
+    private void indexErrorResponseMappers() {
+        final Map<ExceptionMapper<?>, Integer> depths = new HashMap<>();
+        List<ExceptionMapper<?>> mappers = new ArrayList<>();
+        for (ExceptionMapperType mapperType : exceptionMappers) {
+            JsonApiExceptionMapper mapperObj = mapperType.getExceptionMapper();
+            if (mapperObj instanceof ExceptionMapper && !depths.containsKey(mapperObj)) {
+                ExceptionMapper<?> mapper = (ExceptionMapper<?>) mapperObj;
+                depths.put(mapper, countSuperTypes(mapperType.getExceptionClass()));
+                mappers.add(mapper);
+            }
+        }
+        Collections.sort(mappers, new Comparator<ExceptionMapper<?>>() {
+
+            @Override
+            public int compare(ExceptionMapper<?> o1, ExceptionMapper<?> o2) {
+                return depths.get(o2).compareTo(depths.get(o1));
+            }
+        });
+
+        for (ExceptionMapper<?> mapper : mappers) {
+            if (!(mapper instanceof HttpStatusExceptionMapper)) {
+                genericMappers.add(mapper);
+            }
+            else {
+                for (int status : ((HttpStatusExceptionMapper<?>) mapper).getAcceptedHttpStatuses()) {
+                    statusMappers.put(status, null);
+                }
+            }
+        }
+        for (Integer status : new ArrayList<>(statusMappers.keySet())) {
+            List<ExceptionMapper<?>> candidates = new ArrayList<>();
+            for (ExceptionMapper<?> mapper : mappers) {
+                if (!(mapper instanceof HttpStatusExceptionMapper) || accepts((HttpStatusExceptionMapper<?>) mapper, status)) {
+                    candidates.add(mapper);
+                }
+            }
+            statusMappers.put(status, candidates);
+        }
+    }
+
+    private static boolean accepts(HttpStatusExceptionMapper<?> mapper, int status) {
+        for (int acceptedStatus : mapper.getAcceptedHttpStatuses()) {
+            if (acceptedStatus == status) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     int getDistanceBetweenExceptions(Class<?> clazz, Class<?> mapperTypeClazz) {
         int distance = 0;
         Class<?> superClazz = clazz;
@@ -80,4 +155,4 @@ public final class ExceptionMapperRegistry {
         }
         return count;
     }
-}
\ No newline at end of file
+}
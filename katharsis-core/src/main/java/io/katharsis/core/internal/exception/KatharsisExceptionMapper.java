@@ -13,13 +13,13 @@ import io.katharsis.errorhandling.exception.InternalServerErrorException;
 import io.katharsis.errorhandling.exception.KatharsisMappableException;
 import io.katharsis.errorhandling.exception.ResourceNotFoundException;
 import io.katharsis.errorhandling.exception.UnauthorizedException;
-import io.katharsis.errorhandling.mapper.ExceptionMapper;
+import io.katharsis.errorhandling.mapper.HttpStatusExceptionMapper;
 import io.katharsis.repository.response.HttpStatus;
 
 /**
  * Exception mapper for a generic exception which can be thrown in request processing.
  */
-public final class KatharsisExceptionMapper implements ExceptionMapper<KatharsisMappableException> {
+public final class KatharsisExceptionMapper implements HttpStatusExceptionMapper<KatharsisMappableException> {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(KatharsisExceptionMapper.class);
 
@@ -69,6 +69,12 @@ public final class KatharsisExceptionMapper implements ExceptionMapper<Katharsis
 		return message;
 	}
 
+	@Override
+	public int[] getAcceptedHttpStatuses() {
+		return new int[] { HttpStatus.NOT_FOUND_404, HttpStatus.BAD_REQUEST_400, HttpStatus.FORBIDDEN_403,
+				HttpStatus.UNAUTHORIZED_401, HttpStatus.INTERNAL_SERVER_ERROR_500 };
+	}
+
 	@Override
 	public boolean accepts(ErrorResponse errorResponse) {
 		int httpStatus = errorResponse.getHttpStatus();
@@ -0,0 +1,11 @@
+package io.katharsis.core.internal.registry;
+
+import io.katharsis.resource.registry.RegistryEntry;
+
+/**
+ * Creates the {@link RegistryEntry} of a lazily registered resource upon first access.
+ */
+public interface RegistryEntryFactory {
+
+	RegistryEntry create();
+}
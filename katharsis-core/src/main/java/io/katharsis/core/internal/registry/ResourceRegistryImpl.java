@@ -1,10 +1,10 @@
 package io.katharsis.core.internal.registry;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,10 +24,17 @@ public class ResourceRegistryImpl implements ResourceRegistry {
 	private final Logger logger = LoggerFactory.getLogger(ResourceRegistryImpl.class);
 	private ModuleRegistry moduleRegistry;
 
+	/**
+	 * Resources registered with {@link #addLazyEntry(Class, String, RegistryEntryFactory)} and not yet accessed.
+	 */
+	private final Map<Class<?>, RegistryEntryFactory> lazyEntries = new ConcurrentHashMap<>();
+
+	private final Map<String, Class<?>> lazyResourceTypes = new ConcurrentHashMap<>();
+
 	public ResourceRegistryImpl(ModuleRegistry moduleRegistry, ServiceUrlProvider serviceUrlProvider) {
 		this.moduleRegistry = moduleRegistry;
 		this.serviceUrlProvider = serviceUrlProvider;
-		this.resources = new HashMap<>();
+		this.resources = new ConcurrentHashMap<>();
 		this.moduleRegistry.setResourceRegistry(this);
 	}
 
@@ -42,12 +49,75 @@ public class ResourceRegistryImpl implements ResourceRegistry {
 	 *            type of a resource
 	 */
 	public RegistryEntry addEntry(Class<?> resource, RegistryEntry registryEntry) {
-		resources.put(resource, registryEntry);
+		// initialize before publishing, lookups of lazy entries access the map without locking
 		registryEntry.initialize(moduleRegistry);
+		resources.put(resource, registryEntry);
 		logger.debug("Added resource {} to ResourceRegistry", resource.getName());
 		return registryEntry;
 	}
 
+	/**
+	 * Registers a resource without setting it up. Its {@link RegistryEntry}, including the {@link ResourceInformation}
+	 * and repositories, is created by the given factory upon first access.
+	 *
+	 * @param resource
+	 *            class of a resource
+	 * @param resourceType
+	 *            JSON API resource type of the resource
+	 * @param factory
+	 *            to create the registry entry with
+	 */
+	public void addLazyEntry(Class<?> resource, String resourceType, RegistryEntryFactory factory) {
+		lazyEntries.put(resource, factory);
+		lazyResourceTypes.put(resourceType, resource);
+		logger.debug("Added lazy resource {} to ResourceRegistry", resource.getName());
+	}
+
+	/**
+	 * @return true if some resources have not been accessed and set up yet
+	 */
+	public boolean hasLazyEntries() {
+		return !lazyEntries.isEmpty();
+	}
+
+	/**
+	 * Sets up all lazily registered resources that have not been accessed yet, for example, to pre-warm the registry
+	 * in the background after startup.
+	 */
+	public void initializeLazyEntries() {
+		for (Class<?> resource : lazyEntries.keySet()) {
+			initializeLazyEntry(resource);
+		}
+	}
+
+	private RegistryEntry initializeLazyEntry(Class<?> resource) {
+		RegistryEntry entry = resources.get(resource);
+		if (entry != null) {
+			return entry;
+		}
+		synchronized (lazyEntries) {
+			entry = resources.get(resource);
+			if (entry == null) {
+				RegistryEntryFactory factory = lazyEntries.get(resource);
+				if (factory == null) {
+					return null;
+				}
+				// keep the lazy entry until the entry is in place to not lose the resource for concurrent lookups
+				entry = addEntry(resource, factory.create());
+				lazyEntries.remove(resource);
+			}
+			return entry;
+		}
+	}
+
+	private RegistryEntry getRegisteredEntry(Class<?> resource) {
+		RegistryEntry entry = resources.get(resource);
+		if (entry == null && lazyEntries.containsKey(resource)) {
+			return initializeLazyEntry(resource);
+		}
+		return entry;
+	}
+
 	/**
 	 * Searches the registry for a resource identified by a JSON API resource
 	 * type. If a resource cannot be found, <i>null</i> is returned.
@@ -57,6 +127,10 @@ public class ResourceRegistryImpl implements ResourceRegistry {
 	 * @return registry entry or <i>null</i>
 	 */
 	public RegistryEntry getEntry(String searchType) {
+		Class<?> lazyResource = lazyResourceTypes.get(searchType);
+		if (lazyResource != null) {
+			return getRegisteredEntry(lazyResource);
+		}
 		for (Map.Entry<Class, RegistryEntry> entry : resources.entrySet()) {
 			String type = getResourceType(entry.getKey());
 			if (type == null) {
@@ -108,7 +182,8 @@ public class ResourceRegistryImpl implements ResourceRegistry {
 	}
 
 	public boolean hasEntry(Class<?> clazz) {
-		return getEntry(clazz, true) != null;
+		// avoids setting up lazy entries
+		return getResourceClass(clazz).isPresent() || getEntry(clazz, true) != null;
 	}
 
 	protected RegistryEntry getEntry(Class<?> clazz, boolean allowNull) {
@@ -117,7 +192,7 @@ public class ResourceRegistryImpl implements ResourceRegistry {
 			return null;
 		else if (!resourceClazz.isPresent())
 			throw new ResourceNotFoundInitializationException(clazz.getCanonicalName());
-		return resources.get(resourceClazz.get());
+		return getRegisteredEntry(resourceClazz.get());
 	}
 
 	public <T> RegistryEntry getEntry(T targetDataObject) {
@@ -159,8 +234,7 @@ public class ResourceRegistryImpl implements ResourceRegistry {
 	public Optional<Class<?>> getResourceClass(Class<?> resourceClass) {
 		Class<?> currentClass = resourceClass;
 		while (currentClass != null && currentClass != Object.class) {
-			RegistryEntry entry = resources.get(currentClass);
-			if (entry != null) {
+			if (resources.containsKey(currentClass) || lazyEntries.containsKey(currentClass)) {
 				return (Optional) Optional.of(currentClass);
 			}
 			currentClass = currentClass.getSuperclass();
@@ -186,11 +260,26 @@ public class ResourceRegistryImpl implements ResourceRegistry {
 	 * @return resources
 	 */
 	public Set<RegistryEntry> getResources() {
+		initializeLazyEntries();
 		return Collections.unmodifiableSet(new HashSet<>(resources.values()));
 	}
 
+	/**
+	 * Get the JSON API types of all resources registered by Katharsis. Unlike {@link #getResources()}, lazily registered
+	 * resources are not set up.
+	 *
+	 * @return resource types
+	 */
+	public Set<String> getResourceTypes() {
+		Set<String> resourceTypes = new HashSet<>(lazyResourceTypes.keySet());
+		for (RegistryEntry entry : resources.values()) {
+			resourceTypes.add(entry.getResourceInformation().getResourceType());
+		}
+		return Collections.unmodifiableSet(resourceTypes);
+	}
+
 	public RegistryEntry getEntryForClass(Class<?> resourceClass) {
-		return resources.get(resourceClass);
+		return getRegisteredEntry(resourceClass);
 	}
 
 
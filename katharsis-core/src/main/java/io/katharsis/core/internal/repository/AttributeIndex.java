@@ -0,0 +1,99 @@
+package io.katharsis.core.internal.repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import io.katharsis.core.internal.utils.PropertyUtils;
+import io.katharsis.queryspec.FilterOperator;
+
+/**
+ * Secondary index over the values of an attribute path. Resources are indexed by the same value the
+ * {@link io.katharsis.queryspec.InMemoryEvaluator} compares against, multi-valued attributes once for every element.
+ * Lookups may return more resources than actually match, the filter gets applied again to the returned resources.
+ */
+public abstract class AttributeIndex<T> {
+
+	private final List<String> attributePath;
+
+	private final Map<IndexEntry<T>, Collection<?>> entryKeys = new IdentityHashMap<>();
+
+	private boolean multiValued = false;
+
+	protected AttributeIndex(List<String> attributePath) {
+		this.attributePath = attributePath;
+	}
+
+	public List<String> getAttributePath() {
+		return attributePath;
+	}
+
+	/**
+	 * @return true if a collection of values has been indexed for any resource
+	 */
+	public boolean isMultiValued() {
+		return multiValued;
+	}
+
+	public void add(IndexEntry<T> entry) {
+		Collection<?> keys = getKeys(entry.getResource());
+		entryKeys.put(entry, keys);
+		for (Object key : keys) {
+			Set<IndexEntry<T>> entries = getBuckets().get(key);
+			if (entries == null) {
+				entries = new TreeSet<>(IndexEntry.POSITION_COMPARATOR);
+				getBuckets().put(key, entries);
+			}
+			entries.add(entry);
+		}
+	}
+
+	/**
+	 * Removes the entry from the keys it has been added with, the resource may have been modified in the meantime.
+	 */
+	public void remove(IndexEntry<T> entry) {
+		Collection<?> keys = entryKeys.remove(entry);
+		if (keys == null) {
+			return;
+		}
+		for (Object key : keys) {
+			Set<IndexEntry<T>> entries = getBuckets().get(key);
+			if (entries != null) {
+				entries.remove(entry);
+				if (entries.isEmpty()) {
+					getBuckets().remove(key);
+				}
+			}
+		}
+	}
+
+	private Collection<?> getKeys(T resource) {
+		Object value = PropertyUtils.getProperty(resource, attributePath);
+		if (value instanceof Collection) {
+			multiValued = true;
+			return new LinkedHashSet<>((Collection<?>) value);
+		}
+		return Collections.singleton(value);
+	}
+
+	/**
+	 * @param operator to apply
+	 * @param value to compare with
+	 * @return entries possibly matching the given filter, null if the operator is not supported by this index
+	 */
+	public abstract Collection<IndexEntry<T>> find(FilterOperator operator, Object value);
+
+	protected abstract Map<Object, Set<IndexEntry<T>>> getBuckets();
+
+	protected void addBucket(Collection<IndexEntry<T>> result, Object key) {
+		Set<IndexEntry<T>> entries = getBuckets().get(key);
+		if (entries != null) {
+			result.addAll(entries);
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package io.katharsis.core.internal.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.katharsis.queryspec.FilterOperator;
+
+/**
+ * Index supporting {@link FilterOperator#EQ} lookups.
+ */
+public class HashAttributeIndex<T> extends AttributeIndex<T> {
+
+	private final Map<Object, Set<IndexEntry<T>>> buckets = new HashMap<>();
+
+	public HashAttributeIndex(List<String> attributePath) {
+		super(attributePath);
+	}
+
+	@Override
+	public Collection<IndexEntry<T>> find(FilterOperator operator, Object value) {
+		if (!FilterOperator.EQ.equals(operator)) {
+			return null;
+		}
+		List<IndexEntry<T>> result = new ArrayList<>();
+		if (value instanceof Collection) {
+			for (Object element : (Collection<?>) value) {
+				addBucket(result, element);
+			}
+		}
+		else {
+			addBucket(result, value);
+		}
+		return result;
+	}
+
+	@Override
+	protected Map<Object, Set<IndexEntry<T>>> getBuckets() {
+		return buckets;
+	}
+}
@@ -0,0 +1,35 @@
+package io.katharsis.core.internal.repository;
+
+import java.util.Comparator;
+
+/**
+ * Resource held by an {@link AttributeIndex}. Entries use identity equality and carry the position of the resource
+ * within the repository to restore the repository order after an index lookup.
+ */
+public final class IndexEntry<T> {
+
+	public static final Comparator<IndexEntry<?>> POSITION_COMPARATOR = new Comparator<IndexEntry<?>>() {
+
+		@Override
+		public int compare(IndexEntry<?> o1, IndexEntry<?> o2) {
+			return o1.position < o2.position ? -1 : (o1.position == o2.position ? 0 : 1);
+		}
+	};
+
+	private final long position;
+
+	private final T resource;
+
+	public IndexEntry(long position, T resource) {
+		this.position = position;
+		this.resource = resource;
+	}
+
+	public long getPosition() {
+		return position;
+	}
+
+	public T getResource() {
+		return resource;
+	}
+}
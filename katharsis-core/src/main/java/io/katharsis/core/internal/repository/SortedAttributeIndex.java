@@ -0,0 +1,133 @@
+package io.katharsis.core.internal.repository;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import io.katharsis.queryspec.Direction;
+import io.katharsis.queryspec.FilterOperator;
+
+/**
+ * Index supporting {@link FilterOperator#EQ}, range lookups with {@link FilterOperator#LT}, {@link FilterOperator#LE},
+ * {@link FilterOperator#GT} and {@link FilterOperator#GE} and iteration in sort order. Indexed values must be
+ * {@link Comparable}.
+ */
+public class SortedAttributeIndex<T> extends AttributeIndex<T> {
+
+	private final NavigableMap<Object, Set<IndexEntry<T>>> sortedBuckets = new TreeMap<>();
+
+	private final Set<IndexEntry<T>> nullBucket = new TreeSet<>(IndexEntry.POSITION_COMPARATOR);
+
+	private final Map<Object, Set<IndexEntry<T>>> buckets = new AbstractMap<Object, Set<IndexEntry<T>>>() {
+
+		@Override
+		public Set<IndexEntry<T>> get(Object key) {
+			return key == null ? nullBucket : sortedBuckets.get(key);
+		}
+
+		@Override
+		public Set<IndexEntry<T>> put(Object key, Set<IndexEntry<T>> value) {
+			return sortedBuckets.put(key, value);
+		}
+
+		@Override
+		public Set<IndexEntry<T>> remove(Object key) {
+			return key == null ? null : sortedBuckets.remove(key);
+		}
+
+		@Override
+		public Set<Map.Entry<Object, Set<IndexEntry<T>>>> entrySet() {
+			return sortedBuckets.entrySet();
+		}
+	};
+
+	public SortedAttributeIndex(List<String> attributePath) {
+		super(attributePath);
+	}
+
+	@Override
+	public Collection<IndexEntry<T>> find(FilterOperator operator, Object value) {
+		try {
+			return findInRange(operator, value);
+		}
+		catch (ClassCastException e) { // NOSONAR
+			// value not comparable to the indexed ones, left to the in-memory evaluation
+			return null;
+		}
+	}
+
+	private Collection<IndexEntry<T>> findInRange(FilterOperator operator, Object value) {
+		if (value instanceof Collection) {
+			if (!FilterOperator.EQ.equals(operator)) {
+				return null;
+			}
+			List<IndexEntry<T>> result = new ArrayList<>();
+			for (Object element : (Collection<?>) value) {
+				addBucket(result, element);
+			}
+			return result;
+		}
+
+		if (FilterOperator.EQ.equals(operator)) {
+			List<IndexEntry<T>> result = new ArrayList<>();
+			addBucket(result, value);
+			return result;
+		}
+		if (value == null) {
+			return null;
+		}
+		NavigableMap<Object, Set<IndexEntry<T>>> range;
+		if (FilterOperator.LT.equals(operator)) {
+			range = sortedBuckets.headMap(value, false);
+		}
+		else if (FilterOperator.LE.equals(operator)) {
+			range = sortedBuckets.headMap(value, true);
+		}
+		else if (FilterOperator.GT.equals(operator)) {
+			range = sortedBuckets.tailMap(value, false);
+		}
+		else if (FilterOperator.GE.equals(operator)) {
+			range = sortedBuckets.tailMap(value, true);
+		}
+		else {
+			return null;
+		}
+		return flatten(range.values(), new ArrayList<IndexEntry<T>>());
+	}
+
+	/**
+	 * @param direction to sort
+	 * @return all entries in the given sort order, null values first in ascending order. Entries of equal values keep
+	 * their repository order.
+	 */
+	public List<IndexEntry<T>> getSorted(Direction direction) {
+		List<IndexEntry<T>> result = new ArrayList<>();
+		if (direction == Direction.DESC) {
+			flatten(sortedBuckets.descendingMap().values(), result);
+			result.addAll(nullBucket);
+		}
+		else {
+			result.addAll(nullBucket);
+			flatten(sortedBuckets.values(), result);
+		}
+		return result;
+	}
+
+	private List<IndexEntry<T>> flatten(Collection<Set<IndexEntry<T>>> values, List<IndexEntry<T>> result) {
+		for (Set<IndexEntry<T>> entries : values) {
+			result.addAll(entries);
+		}
+		return result;
+	}
+
+	@Override
+	protected Map<Object, Set<IndexEntry<T>>> getBuckets() {
+		return buckets;
+	}
+}
@@ -8,8 +8,11 @@ import java.util.Set;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.katharsis.core.internal.boot.PropertiesProvider;
+import io.katharsis.core.internal.dispatcher.RequestPhaseMonitor;
 import io.katharsis.errorhandling.ErrorData;
 import io.katharsis.legacy.internal.RepositoryMethodParameterProvider;
+import io.katharsis.module.RequestPhase;
+import io.katharsis.module.RequestPhaseListener;
 import io.katharsis.repository.request.QueryAdapter;
 import io.katharsis.repository.response.JsonApiResponse;
 import io.katharsis.resource.Document;
@@ -26,6 +29,8 @@ public class DocumentMapper {
 
 	private boolean client;
 
+	private RequestPhaseMonitor requestPhaseMonitor = new RequestPhaseMonitor(Collections.<RequestPhaseListener> emptyList());
+
 	public DocumentMapper(ResourceRegistry resourceRegistry, ObjectMapper objectMapper, PropertiesProvider propertiesProvider) {
 		this(resourceRegistry, objectMapper, propertiesProvider, false);
 	}
@@ -37,6 +42,14 @@ public class DocumentMapper {
 		this.client = client;
 	}
 
+	/**
+	 * @param requestPhaseMonitor to report {@link RequestPhase#DOCUMENT_MAPPING} and
+	 *            {@link RequestPhase#INCLUDE_RESOLUTION} to
+	 */
+	public void setRequestPhaseMonitor(RequestPhaseMonitor requestPhaseMonitor) {
+		this.requestPhaseMonitor = requestPhaseMonitor;
+	}
+
 	protected ResourceMapper newResourceMapper(DocumentMapperUtil util, boolean client, ObjectMapper objectMapper) {
 		return new ResourceMapper(util, client, objectMapper);
 	}
@@ -55,23 +68,39 @@ public class DocumentMapper {
 			return null;
 		}
 
-		Document doc = new Document();
-		addErrors(doc, response.getErrors());
-		util.setMeta(doc, response.getMetaInformation());
-		util.setLinks(doc, response.getLinksInformation());
-		addData(doc, response.getEntity(), queryAdapter);
-		addRelationDataAndInclusions(doc, response.getEntity(), queryAdapter, parameterProvider, additionalEagerLoadedRelations);
-
-		return doc;
+		RequestPhaseMonitor.Phase phase = requestPhaseMonitor.start(RequestPhase.DOCUMENT_MAPPING);
+		try {
+			Document doc = new Document();
+			addErrors(doc, response.getErrors());
+			util.setMeta(doc, response.getMetaInformation());
+			util.setLinks(doc, response.getLinksInformation());
+			int numResources = addData(doc, response.getEntity(), queryAdapter);
+			addRelationDataAndInclusions(doc, response.getEntity(), queryAdapter, parameterProvider, additionalEagerLoadedRelations);
+
+			phase.finish(numResources);
+			return doc;
+		}
+		catch (RuntimeException e) {
+			phase.fail(e);
+			throw e;
+		}
 	}
 
 	private void addRelationDataAndInclusions(Document doc, Object entity, QueryAdapter queryAdapter, RepositoryMethodParameterProvider parameterProvider, Set<String> additionalEagerLoadedRelations) {
 		if (doc.getData().isPresent() && !client) {
-			includeLookupSetter.setIncludedElements(doc, entity, queryAdapter, parameterProvider, additionalEagerLoadedRelations);
+			RequestPhaseMonitor.Phase phase = requestPhaseMonitor.start(RequestPhase.INCLUDE_RESOLUTION);
+			try {
+				includeLookupSetter.setIncludedElements(doc, entity, queryAdapter, parameterProvider, additionalEagerLoadedRelations);
+				phase.finish(doc.getIncluded() != null ? doc.getIncluded().size() : 0);
+			}
+			catch (RuntimeException e) {
+				phase.fail(e);
+				throw e;
+			}
 		}
 	}
 
-	private void addData(Document doc, Object entity, QueryAdapter queryAdapter) {
+	private int addData(Document doc, Object entity, QueryAdapter queryAdapter) {
 		if (entity != null) {
 			if (entity instanceof Iterable) {
 				ArrayList<Object> dataList = new ArrayList<>();
@@ -79,10 +108,13 @@ public class DocumentMapper {
 					dataList.add(resourceMapper.toData(obj, queryAdapter));
 				}
 				doc.setData(Nullable.of((Object) dataList));
+				return dataList.size();
 			} else {
 				doc.setData(Nullable.of((Object) resourceMapper.toData(entity, queryAdapter)));
+				return 1;
 			}
 		}
+		return 0;
 	}
 
 	private void addErrors(Document doc, Iterable<ErrorData> errors) {
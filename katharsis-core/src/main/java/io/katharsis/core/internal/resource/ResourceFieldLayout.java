@@ -0,0 +1,89 @@
+package io.katharsis.core.internal.resource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.katharsis.resource.Relationship;
+import io.katharsis.resource.information.ResourceField;
+import io.katharsis.resource.information.ResourceInformation;
+
+/**
+ * Positions of the attributes and relationships of a resource type, shared by the {@link ResourceFieldMap}s of all
+ * resources of that type.
+ */
+public class ResourceFieldLayout {
+
+	private final ResourceInformation resourceInformation;
+
+	private final String[] attributeNames;
+
+	private final Map<String, Integer> attributePositions;
+
+	private final String[] relationshipNames;
+
+	private final Map<String, Integer> relationshipPositions;
+
+	public ResourceFieldLayout(ResourceInformation resourceInformation) {
+		this.resourceInformation = resourceInformation;
+		this.attributeNames = getNames(resourceInformation.getAttributeFields().getFields());
+		this.attributePositions = getPositions(attributeNames);
+		this.relationshipNames = getNames(resourceInformation.getRelationshipFields());
+		this.relationshipPositions = getPositions(relationshipNames);
+	}
+
+	private static String[] getNames(List<ResourceField> fields) {
+		String[] names = new String[fields.size()];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = fields.get(i).getJsonName();
+		}
+		return names;
+	}
+
+	private static Map<String, Integer> getPositions(String[] names) {
+		Map<String, Integer> positions = new HashMap<>();
+		for (int i = 0; i < names.length; i++) {
+			if (!positions.containsKey(names[i])) {
+				positions.put(names[i], i);
+			}
+		}
+		return positions;
+	}
+
+	public ResourceInformation getResourceInformation() {
+		return resourceInformation;
+	}
+
+	/**
+	 * @param information to check
+	 * @return true if the attributes and relationships of the given resource information have the names and
+	 *         positions of this layout.
+	 */
+	public boolean matches(ResourceInformation information) {
+		return information == resourceInformation
+				|| matches(attributeNames, information.getAttributeFields().getFields())
+						&& matches(relationshipNames, information.getRelationshipFields());
+	}
+
+	private static boolean matches(String[] names, List<ResourceField> fields) {
+		if (names.length != fields.size()) {
+			return false;
+		}
+		for (int i = 0; i < names.length; i++) {
+			if (!names[i].equals(fields.get(i).getJsonName())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public Map<String, JsonNode> newAttributes() {
+		return new ResourceFieldMap<>(attributeNames, attributePositions);
+	}
+
+	public Map<String, Relationship> newRelationships() {
+		return new ResourceFieldMap<>(relationshipNames, relationshipPositions);
+	}
+}
@@ -0,0 +1,219 @@
+package io.katharsis.core.internal.resource;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map of attributes or relationships of a resource. Values of the fields known by the {@link ResourceFieldLayout} are
+ * held in an array slot at the position of the field, avoiding an entry object per value. Other keys are held in a
+ * regular map allocated upon first use.
+ */
+public class ResourceFieldMap<V> extends AbstractMap<String, V> {
+
+	private static final Object NULL_VALUE = new Object();
+
+	private final String[] names;
+
+	private final Map<String, Integer> positions;
+
+	private Object[] slots;
+
+	private Map<String, V> others;
+
+	private int size = 0;
+
+	ResourceFieldMap(String[] names, Map<String, Integer> positions) {
+		this.names = names;
+		this.positions = positions;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		Integer position = positions.get(key);
+		if (position != null) {
+			return slots != null && slots[position] != null;
+		}
+		return others != null && others.containsKey(key);
+	}
+
+	@Override
+	public V get(Object key) {
+		Integer position = positions.get(key);
+		if (position != null) {
+			return slots != null ? unmask(slots[position]) : null;
+		}
+		return others != null ? others.get(key) : null;
+	}
+
+	@Override
+	public V put(String key, V value) {
+		Integer position = positions.get(key);
+		if (position != null) {
+			if (slots == null) {
+				slots = new Object[names.length];
+			}
+			Object previous = slots[position];
+			slots[position] = value != null ? value : NULL_VALUE;
+			if (previous == null) {
+				size++;
+			}
+			return unmask(previous);
+		}
+		if (others == null) {
+			others = new LinkedHashMap<>();
+		}
+		boolean present = others.containsKey(key);
+		V previous = others.put(key, value);
+		if (!present) {
+			size++;
+		}
+		return previous;
+	}
+
+	@Override
+	public V remove(Object key) {
+		Integer position = positions.get(key);
+		if (position != null) {
+			if (slots == null || slots[position] == null) {
+				return null;
+			}
+			Object previous = slots[position];
+			slots[position] = null;
+			size--;
+			return unmask(previous);
+		}
+		if (others != null && others.containsKey(key)) {
+			size--;
+			return others.remove(key);
+		}
+		return null;
+	}
+
+	@Override
+	public void clear() {
+		slots = null;
+		others = null;
+		size = 0;
+	}
+
+	@Override
+	public Set<Map.Entry<String, V>> entrySet() {
+		return new AbstractSet<Map.Entry<String, V>>() {
+
+			@Override
+			public Iterator<Map.Entry<String, V>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	private V unmask(Object value) {
+		return value == NULL_VALUE ? null : (V) value;
+	}
+
+	private class SlotEntry extends AbstractMap.SimpleEntry<String, V> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int position;
+
+		SlotEntry(int position) {
+			super(names[position], unmask(slots[position]));
+			this.position = position;
+		}
+
+		@Override
+		public V setValue(V value) {
+			slots[position] = value != null ? value : NULL_VALUE;
+			return super.setValue(value);
+		}
+	}
+
+	private class EntryIterator implements Iterator<Map.Entry<String, V>> {
+
+		private int nextPosition = -1;
+
+		private int currentPosition = -1;
+
+		private Iterator<Map.Entry<String, V>> othersIterator;
+
+		EntryIterator() {
+			advance();
+		}
+
+		private void advance() {
+			nextPosition++;
+			while (slots != null && nextPosition < slots.length && slots[nextPosition] == null) {
+				nextPosition++;
+			}
+		}
+
+		private boolean hasNextSlot() {
+			return slots != null && nextPosition < slots.length;
+		}
+
+		private Iterator<Map.Entry<String, V>> getOthersIterator() {
+			if (othersIterator == null && others != null) {
+				othersIterator = others.entrySet().iterator();
+			}
+			return othersIterator;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (hasNextSlot()) {
+				return true;
+			}
+			Iterator<Map.Entry<String, V>> iterator = getOthersIterator();
+			return iterator != null && iterator.hasNext();
+		}
+
+		@Override
+		public Map.Entry<String, V> next() {
+			if (hasNextSlot()) {
+				currentPosition = nextPosition;
+				advance();
+				return new SlotEntry(currentPosition);
+			}
+			Iterator<Map.Entry<String, V>> iterator = getOthersIterator();
+			if (iterator == null) {
+				throw new NoSuchElementException();
+			}
+			currentPosition = -1;
+			return iterator.next();
+		}
+
+		@Override
+		public void remove() {
+			if (currentPosition != -1) {
+				if (slots[currentPosition] == null) {
+					throw new IllegalStateException();
+				}
+				slots[currentPosition] = null;
+			}
+			else if (othersIterator != null) {
+				othersIterator.remove();
+			}
+			else {
+				throw new IllegalStateException();
+			}
+			size--;
+		}
+	}
+}
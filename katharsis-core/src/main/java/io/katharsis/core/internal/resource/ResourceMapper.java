@@ -1,6 +1,7 @@
 package io.katharsis.core.internal.resource;
 
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -26,6 +27,8 @@ public class ResourceMapper {
 	private boolean client;
 	private ObjectMapper objectMapper;
 
+	private ConcurrentHashMap<Class<?>, ResourceFieldLayout> layouts = new ConcurrentHashMap<>();
+
 	public ResourceMapper(DocumentMapperUtil util, boolean client, ObjectMapper objectMapper) {
 		this.util = util;
 		this.client = client;
@@ -42,7 +45,8 @@ public class ResourceMapper {
 
 			ResourceInformation resourceInformation = util.getResourceInformation(dataClass);
 
-			Resource resource = new Resource();
+			ResourceFieldLayout layout = getLayout(dataClass, resourceInformation);
+			Resource resource = new Resource(layout.newAttributes(), layout.newRelationships());
 			resource.setId(util.getIdString(entity, resourceInformation));
 			resource.setType(resourceInformation.getResourceType());
 			if (!client) {
@@ -55,6 +59,28 @@ public class ResourceMapper {
 		}
 	}
 
+	/**
+	 * @return layout shared by all resources of the given class, renewed if the fields of the resource information
+	 *         changed
+	 */
+	private ResourceFieldLayout getLayout(Class<?> dataClass, ResourceInformation resourceInformation) {
+		ResourceFieldLayout layout = layouts.get(dataClass);
+		if (layout != null && layout.matches(resourceInformation)) {
+			return layout;
+		}
+		ResourceFieldLayout newLayout = new ResourceFieldLayout(resourceInformation);
+		boolean stored = layout == null ? layouts.putIfAbsent(dataClass, newLayout) == null
+				: layouts.replace(dataClass, layout, newLayout);
+		if (!stored) {
+			// lost against a concurrent update, prefer its layout to share it if it fits as well
+			ResourceFieldLayout currentLayout = layouts.get(dataClass);
+			if (currentLayout != null && currentLayout.matches(resourceInformation)) {
+				return currentLayout;
+			}
+		}
+		return newLayout;
+	}
+
 	private MetaInformation getResourceMeta(Object entity, ResourceInformation resourceInformation) {
 		if (resourceInformation.getMetaField() != null) {
 			return (MetaInformation) PropertyUtils.getProperty(entity, resourceInformation.getMetaField().getUnderlyingName());
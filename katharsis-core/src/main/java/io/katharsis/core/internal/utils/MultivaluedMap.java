@@ -12,7 +12,18 @@ import java.util.Set;
  */
 public class MultivaluedMap<K, V> {
 
-	private Map<K, List<V>> map = new HashMap<>();
+	private Map<K, List<V>> map;
+
+	public MultivaluedMap() {
+		this(new HashMap<K, List<V>>());
+	}
+
+	/**
+	 * @param map backing the lists of values, e.g. a concurrent one to allow lookups from multiple threads.
+	 */
+	protected MultivaluedMap(Map<K, List<V>> map) {
+		this.map = map;
+	}
 
 	public void add(K key, V value) {
 		List<V> list = map.get(key);
@@ -62,4 +62,39 @@ public class KatharsisProperties {
      * @since 2.8.2
      */
     public static final String INCLUDE_AUTOMATICALLY_OVERWRITE = "katharsis.config.include.automatically.overwrite";
+
+    /**
+     * Set a boolean whether resources are set up lazily upon first access rather than during startup. Resources
+     * are only registered with their type during startup, their information and repositories are set up once
+     * requested.
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 3.0.1
+     */
+    public static final String LAZY_REGISTRY = "katharsis.config.core.registry.lazy";
+
+    /**
+     * Set a boolean whether lazily registered resources are set up in the background once startup completed.
+     * Only applies together with {@link #LAZY_REGISTRY}.
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 3.0.1
+     */
+    public static final String LAZY_REGISTRY_PREWARM = "katharsis.config.core.registry.prewarm";
+
+    /**
+     * Set a boolean whether services are discovered from the resource index generated at compile time by the
+     * katharsis-index annotation processor rather than by scanning the classpath. Startup fails if no index is
+     * available or the index lacks classes of a configured {@link #RESOURCE_SEARCH_PACKAGE}.
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 3.0.1
+     */
+    public static final String RESOURCE_INDEX = "katharsis.config.core.discovery.index";
 }
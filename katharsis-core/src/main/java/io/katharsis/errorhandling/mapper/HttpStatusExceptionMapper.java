@@ -0,0 +1,14 @@
+package io.katharsis.errorhandling.mapper;
+
+/**
+ * {@link ExceptionMapper} accepting error responses of a fixed set of HTTP status codes only. Allows clients to look up
+ * mappers by status code instead of asking every registered mapper. {@link #accepts(io.katharsis.errorhandling.ErrorResponse)}
+ * is still called for error responses with a matching status code.
+ */
+public interface HttpStatusExceptionMapper<E extends Throwable> extends ExceptionMapper<E> {
+
+	/**
+	 * @return HTTP status codes of the error responses this mapper may accept
+	 */
+	int[] getAcceptedHttpStatuses();
+}
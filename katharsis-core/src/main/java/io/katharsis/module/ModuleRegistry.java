@@ -4,15 +4,19 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.katharsis.core.internal.dispatcher.RequestPhaseMonitor;
 import io.katharsis.core.internal.exception.ExceptionMapperLookup;
 import io.katharsis.core.internal.registry.DirectResponseRelationshipEntry;
 import io.katharsis.core.internal.registry.DirectResponseResourceEntry;
+import io.katharsis.core.internal.registry.RegistryEntryFactory;
+import io.katharsis.core.internal.registry.ResourceRegistryImpl;
 import io.katharsis.core.internal.repository.information.ResourceRepositoryInformationImpl;
 import io.katharsis.core.internal.utils.ClassUtils;
 import io.katharsis.core.internal.utils.Decorator;
@@ -38,6 +42,7 @@ import io.katharsis.repository.information.RepositoryInformation;
 import io.katharsis.repository.information.RepositoryInformationBuilder;
 import io.katharsis.repository.information.RepositoryInformationBuilderContext;
 import io.katharsis.repository.information.ResourceRepositoryInformation;
+import io.katharsis.resource.annotations.JsonApiResource;
 import io.katharsis.resource.information.ResourceInformation;
 import io.katharsis.resource.information.ResourceInformationBuilder;
 import io.katharsis.resource.information.ResourceInformationBuilderContext;
@@ -49,6 +54,7 @@ import io.katharsis.resource.registry.ResourceRegistry;
 import io.katharsis.resource.registry.ResourceRegistryAware;
 import io.katharsis.resource.registry.ResponseRelationshipEntry;
 import io.katharsis.security.SecurityProvider;
+import io.katharsis.utils.Optional;
 import io.katharsis.utils.parser.TypeParser;
 
 /**
@@ -72,6 +78,10 @@ public class ModuleRegistry {
 
 	private boolean isServer = true;
 
+	private boolean lazyRegistry;
+
+	private volatile RequestPhaseMonitor requestPhaseMonitor;
+
 	public ModuleRegistry() {
 		this(true);
 	}
@@ -97,7 +107,7 @@ public class ModuleRegistry {
 		return resourceRegistry;
 	}
 
-	class ModuleContextImpl implements Module.ModuleContext {
+	class ModuleContextImpl implements Module.ModuleContext, RequestPhaseListenerRegistry {
 
 		@Override
 		public void addResourceInformationBuilder(ResourceInformationBuilder resourceInformationBuilder) {
@@ -191,6 +201,12 @@ public class ModuleRegistry {
 			aggregatedModule.addRepositoryDecoratorFactory(decoratorFactory);
 		}
 
+		@Override
+		public void addRequestPhaseListener(RequestPhaseListener listener) {
+			checkNotInitialized();
+			aggregatedModule.addRequestPhaseListener(listener);
+		}
+
 		@Override
 		public void addRepository(Object repository) {
 			aggregatedModule.addRepository(repository);
@@ -420,6 +436,7 @@ public class ModuleRegistry {
 	public void init(ObjectMapper objectMapper) {
 		if (!initialized) {
 			this.initialized = true;
+			this.requestPhaseMonitor = new RequestPhaseMonitor(getRequestPhaseListeners());
 			this.objectMapper = objectMapper;
 			this.objectMapper.registerModules(getJacksonModules());
 
@@ -437,12 +454,73 @@ public class ModuleRegistry {
 		this.serviceDiscovery = serviceDiscovery;
 	}
 
+	/**
+	 * Enables the lazy setup of resources. Resources are then only registered with their type during initialization,
+	 * while their {@link ResourceInformation} and repositories get set up upon first access. Resources lacking a
+	 * {@link JsonApiResource} annotation or whose repositories do not expose the resource class are still set up
+	 * right away. Modules accessing all resources at startup set them up right away as well, like the JAX-RS
+	 * integration registering the action repositories and the meta module.
+	 *
+	 * @param lazyRegistry
+	 *            true to set up resources upon first access
+	 */
+	public void setLazyRegistry(boolean lazyRegistry) {
+		checkNotInitialized();
+		this.lazyRegistry = lazyRegistry;
+	}
+
+	public boolean isLazyRegistry() {
+		return lazyRegistry;
+	}
+
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	private void applyRepositoryRegistration(ResourceRegistry resourceRegistry) {
 		List<Object> repositories = aggregatedModule.getRepositories();
 
 		RepositoryInformationBuilder repositoryInformationBuilder = getRepositoryInformationBuilder();
-		RepositoryInformationBuilderContext builderContext = new RepositoryInformationBuilderContext() {
+		RepositoryInformationBuilderContext builderContext = newRepositoryInformationBuilderContext();
+
+		boolean lazy = lazyRegistry && resourceRegistry instanceof ResourceRegistryImpl;
+
+		MultivaluedMap<Class<?>, Object> repositoryMap = new MultivaluedMap<>();
+		final Map<Object, RepositoryInformation> repositoryInformations = new IdentityHashMap<>();
+
+		for (Object repository : repositories) {
+			if (!(repository instanceof ResourceRepositoryDecorator) && !(repository instanceof RelationshipRepositoryDecorator)) {
+				Class<?> resourceClass = lazy ? getRepositoryResourceClass(repository) : null;
+				if (resourceClass == null) {
+					RepositoryInformation repositoryInformation = repositoryInformationBuilder.build(repository, builderContext);
+					repositoryInformations.put(repository, repositoryInformation);
+					if (repositoryInformation instanceof ResourceRepositoryInformation) {
+						resourceClass = ((ResourceRepositoryInformation) repositoryInformation).getResourceInformation().getResourceClass();
+					} else {
+						resourceClass = ((RelationshipRepositoryInformation) repositoryInformation).getSourceResourceInformation().getResourceClass();
+					}
+				}
+				repositoryMap.add(resourceClass, repository);
+			}
+		}
+
+		for (final Class<?> resourceClass : repositoryMap.keySet()) {
+			final List<Object> resourceRepositories = repositoryMap.getList(resourceClass);
+			String resourceType = lazy ? getAnnotatedResourceType(resourceClass) : null;
+			if (resourceType != null) {
+				((ResourceRegistryImpl) resourceRegistry).addLazyEntry(resourceClass, resourceType, new RegistryEntryFactory() {
+
+					@Override
+					public RegistryEntry create() {
+						return buildRegistryEntry(resourceClass, resourceRepositories, repositoryInformations);
+					}
+				});
+			} else {
+				RegistryEntry registryEntry = buildRegistryEntry(resourceClass, resourceRepositories, repositoryInformations);
+				resourceRegistry.addEntry(resourceClass, registryEntry);
+			}
+		}
+	}
+
+	private RepositoryInformationBuilderContext newRepositoryInformationBuilderContext() {
+		return new RepositoryInformationBuilderContext() {
 
 			@Override
 			public ResourceInformationBuilder getResourceInformationBuilder() {
@@ -454,54 +532,61 @@ public class ModuleRegistry {
 				return typeParser;
 			}
 		};
+	}
 
-		MultivaluedMap<Class<?>, RepositoryInformation> repositoryMap = new MultivaluedMap<>();
-		Map<RepositoryInformation, Object> repositoryImplementations = new HashMap<>();
-
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private RegistryEntry buildRegistryEntry(Class<?> resourceClass, List<Object> repositories, Map<Object, RepositoryInformation> repositoryInformations) {
+		ResourceRepositoryInformation resourceRepositoryInformation = null;
+		List<ResponseRelationshipEntry> relationshipEntries = new ArrayList<>();
+		ResourceEntry resourceEntry = null;
 		for (Object repository : repositories) {
-			if (!(repository instanceof ResourceRepositoryDecorator) && !(repository instanceof RelationshipRepositoryDecorator)) {
-				RepositoryInformation repositoryInformation = repositoryInformationBuilder.build(repository, builderContext);
-				if (repositoryInformation instanceof ResourceRepositoryInformation) {
-					ResourceRepositoryInformation info = (ResourceRepositoryInformation) repositoryInformation;
-					repositoryImplementations.put(info, repository);
-					repositoryMap.add(info.getResourceInformation().getResourceClass(), repositoryInformation);
-				} else {
-					RelationshipRepositoryInformation info = (RelationshipRepositoryInformation) repositoryInformation;
-					repositoryImplementations.put(info, repository);
-					repositoryMap.add(info.getSourceResourceInformation().getResourceClass(), repositoryInformation);
-				}
+			RepositoryInformation repositoryInformation = repositoryInformations.get(repository);
+			if (repositoryInformation == null) {
+				repositoryInformation = getRepositoryInformationBuilder().build(repository, newRepositoryInformationBuilderContext());
 			}
-		}
-
-		for (Class<?> resourceClass : repositoryMap.keySet()) {
-			ResourceRepositoryInformation resourceRepositoryInformation = null;
-			List<ResponseRelationshipEntry> relationshipEntries = new ArrayList<>();
-			ResourceEntry resourceEntry = null;
-			List<RepositoryInformation> repositoryInformations = repositoryMap.getList(resourceClass);
-			for (RepositoryInformation repositoryInformation : repositoryInformations) {
-				if (repositoryInformation instanceof ResourceRepositoryInformation) {
-					resourceRepositoryInformation = (ResourceRepositoryInformation) repositoryInformation;
-					Object repository = repositoryImplementations.get(resourceRepositoryInformation);
-					resourceEntry = setupResourceRepository(resourceRepositoryInformation, repository);
-				} else {
-					RelationshipRepositoryInformation relationshipRepositoryInformation = (RelationshipRepositoryInformation) repositoryInformation;
-					Object repository = repositoryImplementations.get(repositoryInformation);
-					setupRelationship(relationshipEntries, relationshipRepositoryInformation, repository);
-				}
+			if (repositoryInformation instanceof ResourceRepositoryInformation) {
+				resourceRepositoryInformation = (ResourceRepositoryInformation) repositoryInformation;
+				resourceEntry = setupResourceRepository(resourceRepositoryInformation, repository);
+			} else {
+				RelationshipRepositoryInformation relationshipRepositoryInformation = (RelationshipRepositoryInformation) repositoryInformation;
+				setupRelationship(relationshipEntries, relationshipRepositoryInformation, repository);
 			}
+		}
 
-			if (resourceRepositoryInformation == null) {
-
-				ResourceInformationBuilder resourceInformationBuilder = getResourceInformationBuilder();
-				DefaultResourceInformationBuilderContext context = new DefaultResourceInformationBuilderContext(resourceInformationBuilder, typeParser);
-
-				ResourceInformation resourceInformation = resourceInformationBuilder.build(resourceClass);
-				resourceRepositoryInformation = new ResourceRepositoryInformationImpl(resourceClass, resourceInformation.getResourceType(), resourceInformation);
-			}
+		if (resourceRepositoryInformation == null) {
+			ResourceInformationBuilder resourceInformationBuilder = getResourceInformationBuilder();
+			ResourceInformation resourceInformation = resourceInformationBuilder.build(resourceClass);
+			resourceRepositoryInformation = new ResourceRepositoryInformationImpl(resourceClass, resourceInformation.getResourceType(), resourceInformation);
+		}
+		return new RegistryEntry(resourceRepositoryInformation, resourceEntry, relationshipEntries);
+	}
 
-			RegistryEntry registryEntry = new RegistryEntry(resourceRepositoryInformation, resourceEntry, relationshipEntries);
-			resourceRegistry.addEntry(resourceClass, registryEntry);
+	/**
+	 * @return resource class of a resource repository or source resource class of a relationship repository if
+	 *         available without setting up the repository, null otherwise
+	 */
+	private static Class<?> getRepositoryResourceClass(Object repository) {
+		Class<?> repositoryClass = repository.getClass();
+		Optional<JsonApiResourceRepository> resourceAnnotation = ClassUtils.getAnnotation(repositoryClass, JsonApiResourceRepository.class);
+		if (resourceAnnotation.isPresent()) {
+			return resourceAnnotation.get().value();
 		}
+		Optional<JsonApiRelationshipRepository> relationshipAnnotation = ClassUtils.getAnnotation(repositoryClass, JsonApiRelationshipRepository.class);
+		if (relationshipAnnotation.isPresent()) {
+			return relationshipAnnotation.get().source();
+		}
+		if (repository instanceof ResourceRepositoryV2) {
+			return ((ResourceRepositoryV2<?, ?>) repository).getResourceClass();
+		}
+		if (repository instanceof RelationshipRepositoryV2) {
+			return ((RelationshipRepositoryV2<?, ?, ?, ?>) repository).getSourceResourceClass();
+		}
+		return null;
+	}
+
+	private static String getAnnotatedResourceType(Class<?> resourceClass) {
+		Optional<JsonApiResource> annotation = ClassUtils.getAnnotation(resourceClass, JsonApiResource.class);
+		return annotation.isPresent() ? annotation.get().type() : null;
 	}
 
 	@SuppressWarnings({ "rawtypes", "unchecked" })
@@ -596,6 +681,26 @@ public class ModuleRegistry {
 		return aggregatedModule.getRepositoryDecoratorFactories();
 	}
 
+	/**
+	 * @return {@link RequestPhaseListener} added by all modules
+	 */
+	public List<RequestPhaseListener> getRequestPhaseListeners() {
+		return aggregatedModule.getRequestPhaseListeners();
+	}
+
+	/**
+	 * @return monitor notifying the {@link RequestPhaseListener} added by all modules. The monitor is set up by
+	 *         {@link #init(ObjectMapper)} once no more modules can be added. Before that a new monitor reflecting the
+	 *         modules added so far is returned with every call.
+	 */
+	public RequestPhaseMonitor getRequestPhaseMonitor() {
+		RequestPhaseMonitor monitor = requestPhaseMonitor;
+		if (monitor == null) {
+			return new RequestPhaseMonitor(getRequestPhaseListeners());
+		}
+		return monitor;
+	}
+
 	/**
 	 * @return combined {@link ExceptionMapperLookup} added by all modules
 	 */
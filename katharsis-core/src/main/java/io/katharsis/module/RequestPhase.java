@@ -0,0 +1,47 @@
+package io.katharsis.module;
+
+/**
+ * Stages a request passes through on the server-side. Phases can be nested, {@link #INCLUDE_RESOLUTION} is part of
+ * {@link #DOCUMENT_MAPPING} and all other phases are part of {@link #REQUEST}. Repository calls are not covered as
+ * they can be intercepted with a {@link io.katharsis.repository.filter.RepositoryFilter}.
+ */
+public enum RequestPhase {
+
+	/**
+	 * Processing of the entire request.
+	 */
+	REQUEST,
+
+	/**
+	 * Parsing of the requested path into a {@link io.katharsis.core.internal.dispatcher.path.JsonPath}.
+	 */
+	PATH_PARSING,
+
+	/**
+	 * Parsing of the query parameters into a {@link io.katharsis.queryspec.QuerySpec} or
+	 * {@link io.katharsis.legacy.queryParams.QueryParams}.
+	 */
+	QUERY_DESERIALIZATION,
+
+	/**
+	 * Parsing of the request body. The size reports the number of characters of the body, not its encoded length in
+	 * bytes.
+	 */
+	DOCUMENT_DESERIALIZATION,
+
+	/**
+	 * Mapping of the repository result to a {@link io.katharsis.resource.Document}. The size reports the number of
+	 * primary resources.
+	 */
+	DOCUMENT_MAPPING,
+
+	/**
+	 * Lookup of related resources to be included. The size reports the number of included resources.
+	 */
+	INCLUDE_RESOLUTION,
+
+	/**
+	 * Writing of the response document. The size reports the number of bytes written.
+	 */
+	SERIALIZATION
+}
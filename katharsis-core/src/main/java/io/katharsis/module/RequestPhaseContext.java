@@ -0,0 +1,19 @@
+package io.katharsis.module;
+
+/**
+ * Information about the request a {@link RequestPhase} belongs to.
+ */
+public interface RequestPhaseContext {
+
+	/**
+	 * @return HTTP method of the request
+	 */
+	String getMethod();
+
+	/**
+	 * @return requested resource type or null if not (yet) known, such as during {@link RequestPhase#PATH_PARSING}
+	 *         of an unknown path.
+	 */
+	String getResourceType();
+
+}
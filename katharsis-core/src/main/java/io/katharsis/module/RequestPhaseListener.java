@@ -0,0 +1,29 @@
+package io.katharsis.module;
+
+/**
+ * Gets notified about the {@link RequestPhase}s of a request, for example to gather metrics or trace requests.
+ * Listeners are invoked on the thread processing the request and should return quickly. Exceptions thrown by a
+ * listener are logged and do not fail the request.
+ */
+public interface RequestPhaseListener {
+
+	/**
+	 * @param context of the request
+	 * @param phase started
+	 * @return state handed to
+	 *         {@link #onPhaseFinished(RequestPhaseContext, RequestPhase, Object, long, long, Throwable)} for this
+	 *         phase, such as a span. May be null, the duration of the phase is measured by the caller.
+	 */
+	Object onPhaseStarted(RequestPhaseContext context, RequestPhase phase);
+
+	/**
+	 * @param context of the request
+	 * @param phase finished
+	 * @param state returned by {@link #onPhaseStarted(RequestPhaseContext, RequestPhase)}
+	 * @param duration of the phase in nanoseconds
+	 * @param size phase-specific size as documented by {@link RequestPhase} or -1 if not available
+	 * @param failure if the phase failed, null otherwise
+	 */
+	void onPhaseFinished(RequestPhaseContext context, RequestPhase phase, Object state, long duration, long size, Throwable failure);
+
+}
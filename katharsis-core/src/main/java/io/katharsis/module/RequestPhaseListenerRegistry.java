@@ -0,0 +1,16 @@
+package io.katharsis.module;
+
+/**
+ * Implemented by {@link Module.ModuleContext}s supporting {@link RequestPhaseListener}s. Kept separate from
+ * {@link Module.ModuleContext} to not break custom implementations of it. Modules check for it with instanceof.
+ */
+public interface RequestPhaseListenerRegistry {
+
+	/**
+	 * Adds a listener to get notified about the phases of requests.
+	 *
+	 * @param listener
+	 *            listener
+	 */
+	void addRequestPhaseListener(RequestPhaseListener listener);
+}
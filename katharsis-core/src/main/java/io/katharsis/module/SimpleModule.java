@@ -32,6 +32,8 @@ public class SimpleModule implements Module {
 
 	private List<RepositoryDecoratorFactory> repositoryDecoratorFactories = new ArrayList<>();
 
+	private List<RequestPhaseListener> requestPhaseListeners = new ArrayList<>();
+
 	private List<SecurityProvider> securityProviders = new ArrayList<>();
 
 	private List<ResourceLookup> resourceLookups = new ArrayList<>();
@@ -76,6 +78,14 @@ public class SimpleModule implements Module {
 		for (RepositoryDecoratorFactory decorator : repositoryDecoratorFactories) {
 			context.addRepositoryDecoratorFactory(decorator);
 		}
+		if (!requestPhaseListeners.isEmpty()) {
+			if (!(context instanceof RequestPhaseListenerRegistry)) {
+				throw new UnsupportedOperationException("module context does not support request phase listeners: " + context);
+			}
+			for (RequestPhaseListener listener : requestPhaseListeners) {
+				((RequestPhaseListenerRegistry) context).addRequestPhaseListener(listener);
+			}
+		}
 		for (com.fasterxml.jackson.databind.Module jacksonModule : jacksonModules) {
 			context.addJacksonModule(jacksonModule);
 		}
@@ -164,6 +174,16 @@ public class SimpleModule implements Module {
 		return Collections.unmodifiableList(repositoryDecoratorFactories);
 	}
 
+	public void addRequestPhaseListener(RequestPhaseListener listener) {
+		checkInitialized();
+		requestPhaseListeners.add(listener);
+	}
+
+	protected List<RequestPhaseListener> getRequestPhaseListeners() {
+		checkInitialized();
+		return Collections.unmodifiableList(requestPhaseListeners);
+	}
+
 	public void addSecurityProvider(SecurityProvider securityProvider) {
 		checkInitialized();
 		securityProviders.add(securityProvider);
@@ -0,0 +1,235 @@
+package io.katharsis.repository;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import io.katharsis.core.internal.repository.AttributeIndex;
+import io.katharsis.core.internal.repository.HashAttributeIndex;
+import io.katharsis.core.internal.repository.IndexEntry;
+import io.katharsis.core.internal.repository.SortedAttributeIndex;
+import io.katharsis.queryspec.FilterOperator;
+import io.katharsis.queryspec.FilterSpec;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.queryspec.SortSpec;
+import io.katharsis.resource.information.ResourceField;
+import io.katharsis.resource.information.ResourceInformation;
+import io.katharsis.resource.list.ResourceList;
+import io.katharsis.resource.registry.ResourceRegistry;
+
+/**
+ * In-memory {@link ResourceRepositoryBase} holding its resources in a map by id. Lookups by id make use of that map
+ * rather than evaluating the filter against every resource. Further indexes can be declared with
+ * {@link #addHashIndex(String)} and {@link #addSortedIndex(String)}. {@link #findAll(QuerySpec)} then evaluates a
+ * top-level filter on the id or an indexed attribute with the index and applies the {@link QuerySpec} only to the
+ * resources found. Unfiltered requests sorted by an attribute with a sorted index are served in index order. The
+ * results are the same as applying the {@link QuerySpec} to all resources. A hash index on the id of the opposite
+ * relationship, e.g. <code>project.id</code>, serves the lookups of {@link RelationshipRepositoryBase}.
+ *
+ * <p>
+ * Index keys are read when a resource is saved. A resource that gets modified must be saved again to update the
+ * indexes.
+ * </p>
+ *
+ * @param <T>
+ *            resource type
+ * @param <I>
+ *            identity type
+ */
+public abstract class IndexedResourceRepositoryBase<T, I extends Serializable> extends ResourceRepositoryBase<T, I> {
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Map<Object, IndexEntry<T>> resources = new LinkedHashMap<>();
+
+	private final Map<List<String>, AttributeIndex<T>> indexes = new LinkedHashMap<>();
+
+	private long nextPosition = 0;
+
+	private ResourceRegistry resourceRegistry;
+
+	protected IndexedResourceRepositoryBase(Class<T> resourceClass) {
+		super(resourceClass);
+	}
+
+	/**
+	 * Adds an index supporting {@link FilterOperator#EQ} filters on the given attribute.
+	 *
+	 * @param attributePath
+	 *            dot-separated path of the attribute, e.g. <code>project.id</code>
+	 */
+	protected void addHashIndex(String attributePath) {
+		addIndex(new HashAttributeIndex<T>(toPath(attributePath)));
+	}
+
+	/**
+	 * Adds an index supporting {@link FilterOperator#EQ}, {@link FilterOperator#LT}, {@link FilterOperator#LE},
+	 * {@link FilterOperator#GT} and {@link FilterOperator#GE} filters and sorting on the given attribute. Values of the
+	 * attribute must be {@link Comparable}.
+	 *
+	 * @param attributePath
+	 *            dot-separated path of the attribute, e.g. <code>project.id</code>
+	 */
+	protected void addSortedIndex(String attributePath) {
+		addIndex(new SortedAttributeIndex<T>(toPath(attributePath)));
+	}
+
+	private void addIndex(AttributeIndex<T> index) {
+		lock.writeLock().lock();
+		try {
+			for (IndexEntry<T> entry : resources.values()) {
+				index.add(entry);
+			}
+			indexes.put(index.getAttributePath(), index);
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private static List<String> toPath(String attributePath) {
+		return Arrays.asList(attributePath.split("\\."));
+	}
+
+	@Override
+	public ResourceList<T> findAll(QuerySpec querySpec) {
+		List<T> candidates = new ArrayList<>();
+		lock.readLock().lock();
+		try {
+			for (IndexEntry<T> entry : findCandidates(querySpec)) {
+				candidates.add(entry.getResource());
+			}
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+		return querySpec.apply(candidates);
+	}
+
+	private Collection<IndexEntry<T>> findCandidates(QuerySpec querySpec) {
+		List<FilterSpec> filters = querySpec.getFilters();
+		for (FilterSpec filter : filters) {
+			if (!filter.hasExpressions() && FilterOperator.EQ.equals(filter.getOperator()) && isIdPath(filter.getAttributePath())) {
+				return findById(filter.getValue());
+			}
+		}
+		for (FilterSpec filter : filters) {
+			if (!filter.hasExpressions()) {
+				AttributeIndex<T> index = indexes.get(filter.getAttributePath());
+				Collection<IndexEntry<T>> candidates = index != null ? index.find(filter.getOperator(), filter.getValue()) : null;
+				if (candidates != null) {
+					return sortByPosition(candidates);
+				}
+			}
+		}
+		if (filters.isEmpty() && !querySpec.getSort().isEmpty()) {
+			// already sorted candidates let the sorting of the QuerySpec complete in linear time
+			SortSpec sortSpec = querySpec.getSort().get(0);
+			AttributeIndex<T> index = indexes.get(sortSpec.getAttributePath());
+			if (index instanceof SortedAttributeIndex && !index.isMultiValued()) {
+				return ((SortedAttributeIndex<T>) index).getSorted(sortSpec.getDirection());
+			}
+		}
+		return resources.values();
+	}
+
+	private Collection<IndexEntry<T>> findById(Object id) {
+		List<IndexEntry<T>> candidates = new ArrayList<>();
+		if (id instanceof Collection) {
+			for (Object element : (Collection<?>) id) {
+				addIfFound(candidates, element);
+			}
+			return sortByPosition(candidates);
+		}
+		addIfFound(candidates, id);
+		return candidates;
+	}
+
+	private void addIfFound(List<IndexEntry<T>> candidates, Object id) {
+		IndexEntry<T> entry = resources.get(id);
+		if (entry != null) {
+			candidates.add(entry);
+		}
+	}
+
+	/**
+	 * Restores the repository order and removes duplicates of resources found multiple times.
+	 */
+	private static <T> Collection<IndexEntry<T>> sortByPosition(Collection<IndexEntry<T>> entries) {
+		TreeSet<IndexEntry<T>> sorted = new TreeSet<>(IndexEntry.POSITION_COMPARATOR);
+		sorted.addAll(entries);
+		return sorted;
+	}
+
+	private boolean isIdPath(List<String> attributePath) {
+		if (attributePath.size() != 1) {
+			return false;
+		}
+		ResourceField idField = getResourceInformation().getIdField();
+		String name = attributePath.get(0);
+		return name.equals(idField.getUnderlyingName()) || name.equals(idField.getJsonName());
+	}
+
+	@Override
+	public <S extends T> S save(S resource) {
+		Object id = getResourceInformation().getId(resource);
+		lock.writeLock().lock();
+		try {
+			IndexEntry<T> current = resources.get(id);
+			long position;
+			if (current != null) {
+				removeFromIndexes(current);
+				position = current.getPosition();
+			}
+			else {
+				position = nextPosition++;
+			}
+			IndexEntry<T> entry = new IndexEntry<T>(position, resource);
+			resources.put(id, entry);
+			for (AttributeIndex<T> index : indexes.values()) {
+				index.add(entry);
+			}
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+		return resource;
+	}
+
+	@Override
+	public void delete(I id) {
+		lock.writeLock().lock();
+		try {
+			IndexEntry<T> entry = resources.remove(id);
+			if (entry != null) {
+				removeFromIndexes(entry);
+			}
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeFromIndexes(IndexEntry<T> entry) {
+		for (AttributeIndex<T> index : indexes.values()) {
+			index.remove(entry);
+		}
+	}
+
+	private ResourceInformation getResourceInformation() {
+		return resourceRegistry.findEntry(getResourceClass()).getResourceInformation();
+	}
+
+	@Override
+	public void setResourceRegistry(ResourceRegistry resourceRegistry) {
+		super.setResourceRegistry(resourceRegistry);
+		this.resourceRegistry = resourceRegistry;
+	}
+}
@@ -17,10 +17,10 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 public class Resource extends ResourceIdentifier implements MetaContainer, LinksContainer {
 
 	@JsonInclude(Include.NON_EMPTY)
-	private Map<String, JsonNode> attributes = new HashMap<>();
+	private Map<String, JsonNode> attributes;
 
 	@JsonInclude(Include.NON_EMPTY)
-	private Map<String, Relationship> relationships = new HashMap<>();
+	private Map<String, Relationship> relationships;
 
 	@JsonInclude(Include.NON_EMPTY)
 	private ObjectNode links;
@@ -28,6 +28,19 @@ public class Resource extends ResourceIdentifier implements MetaContainer, Links
 	@JsonInclude(Include.NON_EMPTY)
 	private ObjectNode meta;
 
+	public Resource() {
+		this(new HashMap<String, JsonNode>(), new HashMap<String, Relationship>());
+	}
+
+	/**
+	 * @param attributes map to hold the attributes
+	 * @param relationships map to hold the relationships
+	 */
+	public Resource(Map<String, JsonNode> attributes, Map<String, Relationship> relationships) {
+		this.attributes = attributes;
+		this.relationships = relationships;
+	}
+
 	@Override
 	public ObjectNode getLinks() {
 		return links;
@@ -0,0 +1,59 @@
+package io.katharsis.resource.registry;
+
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.Set;
+
+import io.katharsis.core.internal.boot.ResourceIndex;
+import io.katharsis.legacy.repository.annotations.JsonApiRelationshipRepository;
+import io.katharsis.legacy.repository.annotations.JsonApiResourceRepository;
+import io.katharsis.repository.Repository;
+import io.katharsis.resource.annotations.JsonApiResource;
+
+/**
+ * Finds resources and repositories in the {@link ResourceIndex} generated at compile time. Counterpart of the
+ * {@link DefaultResourceLookup} without classpath scanning.
+ */
+public class IndexResourceLookup implements ResourceLookup {
+
+	private Set<Class<?>> resourceClasses = new HashSet<>();
+
+	private Set<Class<?>> repositoryClasses = new HashSet<>();
+
+	/**
+	 * @param packageNames comma-separated list of packages to restrict the lookup to or null
+	 */
+	public IndexResourceLookup(String packageNames) {
+		this(ResourceIndex.load(), packageNames);
+	}
+
+	public IndexResourceLookup(ResourceIndex index, String packageNames) {
+		if (index == null) {
+			throw new IllegalStateException("no " + ResourceIndex.INDEX_LOCATION
+					+ " found on the classpath, make sure katharsis-index is available at compile time");
+		}
+		for (Class<?> clazz : index.getClasses(packageNames)) {
+			if (clazz.isAnnotationPresent(JsonApiResource.class)) {
+				resourceClasses.add(clazz);
+			}
+			else if (isRepository(clazz) && !clazz.isInterface() && !Modifier.isAbstract(clazz.getModifiers())) {
+				repositoryClasses.add(clazz);
+			}
+		}
+	}
+
+	private static boolean isRepository(Class<?> clazz) {
+		return Repository.class.isAssignableFrom(clazz) || clazz.isAnnotationPresent(JsonApiResourceRepository.class)
+				|| clazz.isAnnotationPresent(JsonApiRelationshipRepository.class);
+	}
+
+	@Override
+	public Set<Class<?>> getResourceClasses() {
+		return resourceClasses;
+	}
+
+	@Override
+	public Set<Class<?>> getResourceRepositoryClasses() {
+		return repositoryClasses;
+	}
+}
@@ -3,6 +3,7 @@ package io.katharsis.core.internal.boot;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Executor;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -16,6 +17,7 @@ import io.katharsis.core.internal.boot.PropertiesProvider;
 import io.katharsis.core.internal.dispatcher.RequestDispatcher;
 import io.katharsis.core.internal.query.QueryAdapterBuilder;
 import io.katharsis.core.internal.query.QuerySpecAdapterBuilder;
+import io.katharsis.core.internal.registry.ResourceRegistryImpl;
 import io.katharsis.core.internal.repository.adapter.ResourceRepositoryAdapter;
 import io.katharsis.core.properties.KatharsisProperties;
 import io.katharsis.errorhandling.mapper.JsonApiExceptionMapper;
@@ -33,6 +35,7 @@ import io.katharsis.queryspec.QuerySpecDeserializer;
 import io.katharsis.repository.filter.DocumentFilter;
 import io.katharsis.repository.response.JsonApiResponse;
 import io.katharsis.resource.information.ResourceFieldNameTransformer;
+import io.katharsis.resource.mock.models.Project;
 import io.katharsis.resource.mock.models.Task;
 import io.katharsis.resource.registry.ConstantServiceUrlProvider;
 import io.katharsis.resource.registry.RegistryEntry;
@@ -231,4 +234,71 @@ public class KatharsisBootTest {
 		boot.setDefaultPageLimit(20L);
 		boot.setMaxPageLimit(100L);
 	}
+
+	@Test
+	public void bootLazyRegistry() {
+		KatharsisBoot boot = newMockBoot();
+		boot.setLazyRegistry(true);
+		boot.boot();
+
+		ResourceRegistryImpl resourceRegistry = (ResourceRegistryImpl) boot.getResourceRegistry();
+		Assert.assertTrue(resourceRegistry.hasLazyEntries());
+		Assert.assertTrue(resourceRegistry.hasEntry(Task.class));
+
+		RegistryEntry taskEntry = resourceRegistry.getEntry("tasks");
+		Assert.assertEquals(Task.class, taskEntry.getResourceInformation().getResourceClass());
+		Assert.assertSame(taskEntry, resourceRegistry.findEntry(Task.class));
+		Assert.assertNotEquals(0, taskEntry.getRelationshipEntries().size());
+		ResourceRepositoryAdapter<?, ?> repositoryAdapter = taskEntry.getResourceRepository(null);
+		Assert.assertNotNull(repositoryAdapter.findAll(new QueryParamsAdapter(new QueryParams())));
+		Assert.assertTrue(resourceRegistry.hasLazyEntries());
+
+		Assert.assertNotEquals(0, resourceRegistry.getResources().size());
+		Assert.assertFalse(resourceRegistry.hasLazyEntries());
+	}
+
+	@Test
+	public void bootLazyRegistryWithPrewarming() {
+		KatharsisBoot boot = newMockBoot();
+		boot.setLazyRegistry(true);
+		boot.setPrewarmRegistry(true);
+		boot.setPrewarmExecutor(new Executor() {
+
+			@Override
+			public void execute(Runnable command) {
+				command.run();
+			}
+		});
+		boot.boot();
+
+		ResourceRegistryImpl resourceRegistry = (ResourceRegistryImpl) boot.getResourceRegistry();
+		Assert.assertFalse(resourceRegistry.hasLazyEntries());
+		Assert.assertNotNull(resourceRegistry.getEntryForClass(Project.class));
+	}
+
+	@Test
+	public void bootEagerRegistryByDefault() {
+		KatharsisBoot boot = newMockBoot();
+		boot.boot();
+
+		ResourceRegistryImpl resourceRegistry = (ResourceRegistryImpl) boot.getResourceRegistry();
+		Assert.assertFalse(resourceRegistry.hasLazyEntries());
+		Assert.assertNotNull(resourceRegistry.getEntry("tasks"));
+	}
+
+	private KatharsisBoot newMockBoot() {
+		final Properties properties = new Properties();
+		properties.put(KatharsisProperties.RESOURCE_SEARCH_PACKAGE, "io.katharsis.resource.mock");
+		KatharsisBoot boot = new KatharsisBoot();
+		boot.setServiceLocator(new SampleJsonServiceLocator());
+		boot.setServiceUrlProvider(new ConstantServiceUrlProvider("http://127.0.0.1"));
+		boot.setPropertiesProvider(new PropertiesProvider() {
+
+			@Override
+			public String getProperty(String key) {
+				return (String) properties.get(key);
+			}
+		});
+		return boot;
+	}
 }
@@ -0,0 +1,133 @@
+package io.katharsis.core.internal.dispatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.katharsis.core.internal.dispatcher.path.ActionPath;
+import io.katharsis.core.internal.dispatcher.path.JsonPath;
+import io.katharsis.core.internal.dispatcher.path.ResourcePath;
+import io.katharsis.module.RequestPhase;
+import io.katharsis.module.RequestPhaseContext;
+import io.katharsis.module.RequestPhaseListener;
+
+public class RequestPhaseMonitorTest {
+
+	private List<String> events;
+
+	private RequestPhaseListener listener;
+
+	private RequestPhaseMonitor monitor;
+
+	@Before
+	public void setup() {
+		events = new ArrayList<>();
+		listener = new RequestPhaseListener() {
+
+			@Override
+			public Object onPhaseStarted(RequestPhaseContext context, RequestPhase phase) {
+				events.add("start " + phase + " " + context.getMethod() + " " + context.getResourceType());
+				return phase.name().toLowerCase();
+			}
+
+			@Override
+			public void onPhaseFinished(RequestPhaseContext context, RequestPhase phase, Object state, long duration,
+					long size, Throwable failure) {
+				Assert.assertTrue(duration >= 0);
+				events.add("finish " + state + " " + context.getResourceType() + " " + size + " " + (failure != null));
+			}
+		};
+		monitor = new RequestPhaseMonitor(Arrays.asList(listener));
+	}
+
+	@Test
+	public void testNestedPhases() {
+		RequestPhaseMonitor.Phase request = monitor.startRequest("GET");
+		RequestPhaseMonitor.Phase path = monitor.start(RequestPhase.PATH_PARSING);
+		monitor.setResourceType("tasks");
+		path.finish();
+		RequestPhaseMonitor.Phase mapping = monitor.start(RequestPhase.DOCUMENT_MAPPING);
+		monitor.start(RequestPhase.INCLUDE_RESOLUTION).fail(new IllegalStateException());
+		mapping.finish(3);
+		mapping.finish(4);
+		request.finish();
+
+		Assert.assertEquals(Arrays.asList("start REQUEST GET null", "start PATH_PARSING GET null", "finish path_parsing tasks -1 false",
+				"start DOCUMENT_MAPPING GET tasks", "start INCLUDE_RESOLUTION GET tasks", "finish include_resolution tasks -1 true",
+				"finish document_mapping tasks 3 false", "finish request tasks -1 false"), events);
+	}
+
+	@Test
+	public void testPhasesOutsideRequestNotTracked() {
+		monitor.startRequest("POST").finish();
+		events.clear();
+
+		monitor.setResourceType("tasks");
+		monitor.start(RequestPhase.DOCUMENT_MAPPING).finish(1);
+		Assert.assertTrue(events.isEmpty());
+	}
+
+	@Test
+	public void testResourceTypeOfActionPath() {
+		ResourcePath resourcePath = new ResourcePath("tasks");
+		ActionPath actionPath = new ActionPath("doSomething");
+		actionPath.setParentResource(resourcePath);
+
+		RequestPhaseMonitor.Phase request = monitor.startRequest("GET");
+		monitor.setResourceType(actionPath);
+		monitor.start(RequestPhase.SERIALIZATION).finish();
+		Assert.assertEquals("finish serialization tasks -1 false", events.get(events.size() - 1));
+
+		monitor.setResourceType((JsonPath) null);
+		monitor.start(RequestPhase.SERIALIZATION).finish();
+		Assert.assertEquals("finish serialization tasks -1 false", events.get(events.size() - 1));
+		request.finish();
+	}
+
+	@Test
+	public void testFailingListenerIsolated() {
+		RequestPhaseListener failingListener = new RequestPhaseListener() {
+
+			@Override
+			public Object onPhaseStarted(RequestPhaseContext context, RequestPhase phase) {
+				if (phase == RequestPhase.PATH_PARSING) {
+					throw new IllegalStateException("start");
+				}
+				return null;
+			}
+
+			@Override
+			public void onPhaseFinished(RequestPhaseContext context, RequestPhase phase, Object state, long duration,
+					long size, Throwable failure) {
+				if (phase == RequestPhase.PATH_PARSING) {
+					Assert.fail("not started");
+				}
+				throw new IllegalStateException("finish");
+			}
+		};
+		RequestPhaseMonitor failingMonitor = new RequestPhaseMonitor(Arrays.asList(failingListener, listener));
+
+		RequestPhaseMonitor.Phase request = failingMonitor.startRequest("GET");
+		failingMonitor.start(RequestPhase.PATH_PARSING).finish();
+		request.finish();
+
+		Assert.assertEquals(Arrays.asList("start REQUEST GET null", "start PATH_PARSING GET null", "finish path_parsing null -1 false",
+				"finish request null -1 false"), events);
+	}
+
+	@Test
+	public void testDisabledWithoutListeners() {
+		RequestPhaseMonitor disabledMonitor = new RequestPhaseMonitor(Collections.<RequestPhaseListener> emptyList());
+		Assert.assertFalse(disabledMonitor.isEnabled());
+		Assert.assertTrue(monitor.isEnabled());
+
+		RequestPhaseMonitor.Phase request = disabledMonitor.startRequest("GET");
+		Assert.assertSame(request, disabledMonitor.start(RequestPhase.SERIALIZATION));
+		request.finish();
+	}
+}
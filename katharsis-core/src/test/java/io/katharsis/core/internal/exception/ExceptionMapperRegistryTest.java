@@ -14,6 +14,7 @@ import io.katharsis.core.internal.exception.ExceptionMapperType;
 import io.katharsis.errorhandling.ErrorData;
 import io.katharsis.errorhandling.ErrorResponse;
 import io.katharsis.errorhandling.mapper.ExceptionMapper;
+import io.katharsis.errorhandling.mapper.HttpStatusExceptionMapper;
 import io.katharsis.errorhandling.mapper.JsonApiExceptionMapper;
 import io.katharsis.repository.response.HttpStatus;
 import io.katharsis.utils.Optional;
@@ -93,6 +94,31 @@ public class ExceptionMapperRegistryTest {
         assertThat(mapper.get()).isExactlyInstanceOf(IllegalStateExceptionMapper.class);
     }
     
+    @Test
+    public void shouldCacheResolvedMapperFromException() throws Exception {
+        Optional<JsonApiExceptionMapper> mapper = exceptionMapperRegistry.findMapperFor(ClosedFileSystemException.class);
+        assertThat(exceptionMapperRegistry.findMapperFor(ClosedFileSystemException.class)).isSameAs(mapper);
+    }
+
+    @Test
+    public void shouldOnlyAskMappersOfStatusFromError() throws Exception {
+        ConflictExceptionMapper conflictMapper = new ConflictExceptionMapper();
+        Set<ExceptionMapperType> types = exceptionMapperTypeSet();
+        types.add(new ExceptionMapperType(SomeConflictException.class, conflictMapper));
+        ExceptionMapperRegistry registry = new ExceptionMapperRegistry(types);
+
+        ErrorResponse conflictResponse = ErrorResponse.builder().setStatus(HttpStatus.CONFLICT_409).build();
+        Optional<ExceptionMapper<?>> mapper = registry.findMapperFor(conflictResponse);
+        assertThat(mapper.isPresent()).isTrue();
+        assertThat(mapper.get()).isSameAs(conflictMapper);
+        assertThat(conflictMapper.acceptCount).isEqualTo(1);
+
+        ErrorResponse badRequestResponse = ErrorResponse.builder().setStatus(HttpStatus.BAD_REQUEST_400).build();
+        mapper = registry.findMapperFor(badRequestResponse);
+        assertThat(mapper.get()).isExactlyInstanceOf(IllegalStateExceptionMapper.class);
+        assertThat(conflictMapper.acceptCount).isEqualTo(1);
+    }
+
     private static class SomeException extends Exception {
 
     	private static final long serialVersionUID = 1L;
@@ -103,6 +129,11 @@ public class ExceptionMapperRegistryTest {
 		private static final long serialVersionUID = 1L;
     }
 
+    private static class SomeConflictException extends IllegalStateException {
+
+		private static final long serialVersionUID = 1L;
+    }
+
     private static Set<ExceptionMapperType> exceptionMapperTypeSet() {
         Set<ExceptionMapperType> types = new HashSet<>();
         types.add(new ExceptionMapperType(IllegalStateException.class, new IllegalStateExceptionMapper()));
@@ -148,4 +179,30 @@ public class ExceptionMapperRegistryTest {
 			return false;
 		}
     }
+
+    public static class ConflictExceptionMapper implements HttpStatusExceptionMapper<SomeConflictException> {
+
+        private int acceptCount = 0;
+
+        @Override
+        public ErrorResponse toErrorResponse(SomeConflictException exception) {
+            return ErrorResponse.builder().setStatus(HttpStatus.CONFLICT_409).build();
+        }
+
+		@Override
+		public SomeConflictException fromErrorResponse(ErrorResponse errorResponse) {
+			return new SomeConflictException();
+		}
+
+		@Override
+		public int[] getAcceptedHttpStatuses() {
+			return new int[] { HttpStatus.CONFLICT_409 };
+		}
+
+		@Override
+		public boolean accepts(ErrorResponse errorResponse) {
+			acceptCount++;
+			return errorResponse.getHttpStatus() == HttpStatus.CONFLICT_409;
+		}
+    }
 }
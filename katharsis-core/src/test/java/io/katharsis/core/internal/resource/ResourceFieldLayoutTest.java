@@ -0,0 +1,41 @@
+package io.katharsis.core.internal.resource;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.katharsis.legacy.registry.DefaultResourceInformationBuilderContext;
+import io.katharsis.resource.information.ResourceFieldNameTransformer;
+import io.katharsis.resource.information.ResourceInformation;
+import io.katharsis.resource.information.ResourceInformationBuilder;
+import io.katharsis.resource.mock.models.Project;
+import io.katharsis.resource.mock.models.Task;
+import io.katharsis.utils.parser.TypeParser;
+
+public class ResourceFieldLayoutTest {
+
+	private ResourceInformationBuilder builder;
+
+	@Before
+	public void setup() {
+		builder = new AnnotationResourceInformationBuilder(new ResourceFieldNameTransformer());
+		builder.init(new DefaultResourceInformationBuilderContext(builder, new TypeParser()));
+	}
+
+	@Test
+	public void testMatchesSameFields() {
+		ResourceInformation information = builder.build(Task.class);
+		ResourceFieldLayout layout = new ResourceFieldLayout(information);
+		Assert.assertTrue(layout.matches(information));
+
+		ResourceInformation rebuiltInformation = builder.build(Task.class);
+		Assert.assertNotSame(information, rebuiltInformation);
+		Assert.assertTrue(layout.matches(rebuiltInformation));
+	}
+
+	@Test
+	public void testDoesNotMatchOtherFields() {
+		ResourceFieldLayout layout = new ResourceFieldLayout(builder.build(Task.class));
+		Assert.assertFalse(layout.matches(builder.build(Project.class)));
+	}
+}
@@ -0,0 +1,91 @@
+package io.katharsis.core.internal.resource;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResourceFieldMapTest {
+
+	private ResourceFieldMap<String> map;
+
+	@Before
+	public void setup() {
+		Map<String, Integer> positions = new HashMap<>();
+		positions.put("a", 0);
+		positions.put("b", 1);
+		positions.put("c", 2);
+		map = new ResourceFieldMap<>(new String[] { "a", "b", "c" }, positions);
+	}
+
+	@Test
+	public void testEmpty() {
+		Assert.assertTrue(map.isEmpty());
+		Assert.assertNull(map.get("a"));
+		Assert.assertFalse(map.containsKey("a"));
+		Assert.assertFalse(map.containsKey("other"));
+		Assert.assertFalse(map.entrySet().iterator().hasNext());
+		Assert.assertEquals(new HashMap<String, String>(), map);
+	}
+
+	@Test
+	public void testMatchesHashMap() {
+		Map<String, String> expected = new HashMap<>();
+		for (Map<String, String> target : Arrays.asList(expected, map)) {
+			Assert.assertNull(target.put("c", "valueC"));
+			Assert.assertNull(target.put("a", null));
+			Assert.assertNull(target.put("other", "valueOther"));
+			Assert.assertEquals("valueC", target.put("c", "updatedC"));
+			Assert.assertNull(target.put("other2", null));
+			Assert.assertNull(target.remove("b"));
+			Assert.assertNull(target.remove("other2"));
+		}
+		Assert.assertEquals(expected, map);
+		Assert.assertEquals(map, expected);
+		Assert.assertEquals(expected.hashCode(), map.hashCode());
+		Assert.assertEquals(3, map.size());
+		Assert.assertTrue(map.containsKey("a"));
+		Assert.assertNull(map.get("a"));
+		Assert.assertFalse(map.containsKey("b"));
+		Assert.assertEquals("updatedC", map.get("c"));
+		Assert.assertEquals("valueOther", map.get("other"));
+	}
+
+	@Test
+	public void testIteratorOrderAndRemoval() {
+		map.put("other", "valueOther");
+		map.put("c", "valueC");
+		map.put("a", "valueA");
+
+		Iterator<Map.Entry<String, String>> iterator = map.entrySet().iterator();
+		Assert.assertEquals("a", iterator.next().getKey());
+		Map.Entry<String, String> entry = iterator.next();
+		Assert.assertEquals("c", entry.getKey());
+		entry.setValue("updatedC");
+		iterator.remove();
+		Assert.assertEquals("other", iterator.next().getKey());
+		iterator.remove();
+		Assert.assertFalse(iterator.hasNext());
+
+		Assert.assertEquals(1, map.size());
+		Assert.assertEquals("valueA", map.get("a"));
+		Assert.assertFalse(map.containsKey("c"));
+		Assert.assertFalse(map.containsKey("other"));
+
+		map.clear();
+		Assert.assertTrue(map.isEmpty());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testIteratorRemoveTwice() {
+		map.put("a", "valueA");
+		Iterator<Map.Entry<String, String>> iterator = map.entrySet().iterator();
+		iterator.next();
+		iterator.remove();
+		iterator.remove();
+	}
+}
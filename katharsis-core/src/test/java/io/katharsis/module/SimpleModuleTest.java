@@ -113,6 +113,17 @@ public class SimpleModuleTest {
 		Assert.assertEquals(0, context.numRepositories);
 	}
 
+	@Test
+	public void testRequestPhaseListener() {
+		module.addRequestPhaseListener(Mockito.mock(RequestPhaseListener.class));
+		Assert.assertEquals(1, module.getRequestPhaseListeners().size());
+		module.setupModule(context);
+
+		Assert.assertEquals(1, context.numRequestPhaseListeners);
+		Assert.assertEquals(0, context.numFilters);
+		Assert.assertEquals(0, context.numRepositories);
+	}
+
 	@Test
 	public void testJacksonModule() {
 		module.addJacksonModule(new com.fasterxml.jackson.databind.module.SimpleModule() {
@@ -188,7 +199,7 @@ public class SimpleModuleTest {
 		}
 	}
 
-	class TestModuleContext implements ModuleContext {
+	class TestModuleContext implements ModuleContext, RequestPhaseListenerRegistry {
 
 		private int numResourceInformationBuilds = 0;
 
@@ -208,6 +219,8 @@ public class SimpleModuleTest {
 
 		private int numDecorators = 0;
 
+		private int numRequestPhaseListeners = 0;
+
 		@Override
 		public void addResourceInformationBuilder(ResourceInformationBuilder resourceInformationBuilder) {
 			numResourceInformationBuilds++;
@@ -288,6 +301,11 @@ public class SimpleModuleTest {
 			numDecorators++;
 		}
 
+		@Override
+		public void addRequestPhaseListener(RequestPhaseListener listener) {
+			numRequestPhaseListeners++;
+		}
+
 		@Override
 		public boolean isServer() {
 			return true;
@@ -0,0 +1,158 @@
+package io.katharsis.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.katharsis.errorhandling.exception.ResourceNotFoundException;
+import io.katharsis.queryspec.AbstractQuerySpecTest;
+import io.katharsis.queryspec.Direction;
+import io.katharsis.queryspec.FilterOperator;
+import io.katharsis.queryspec.FilterSpec;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.queryspec.SortSpec;
+import io.katharsis.resource.list.ResourceList;
+import io.katharsis.resource.mock.models.Project;
+import io.katharsis.resource.mock.models.Task;
+
+public class IndexedResourceRepositoryBaseTest extends AbstractQuerySpecTest {
+
+	private TaskRepository repository;
+
+	private List<Task> tasks;
+
+	@Before
+	public void setup() {
+		super.setup();
+
+		List<Project> projects = new ArrayList<>();
+		for (long i = 0; i < 3; i++) {
+			projects.add(new Project().setId(i));
+		}
+
+		repository = new TaskRepository();
+		repository.setResourceRegistry(resourceRegistry);
+		tasks = new ArrayList<>();
+		for (long i = 0; i < 20; i++) {
+			Task task = new Task().setId(19 - i);
+			task.setName(i % 5 == 0 ? null : "task" + (i % 4));
+			task.setCategory("category" + (i % 7));
+			task.setProject(projects.get((int) (i % 3)));
+			repository.save(task);
+			tasks.add(task);
+		}
+	}
+
+	@Test
+	public void testFindOne() {
+		Assert.assertSame(tasks.get(5), repository.findOne(14L, new QuerySpec(Task.class)));
+	}
+
+	@Test(expected = ResourceNotFoundException.class)
+	public void testFindOneNotFound() {
+		repository.findOne(100L, new QuerySpec(Task.class));
+	}
+
+	@Test
+	public void testFindAllByIds() {
+		ResourceList<Task> list = repository.findAll(Arrays.asList(3L, 17L, 100L, 3L), new QuerySpec(Task.class));
+		Assert.assertEquals(Arrays.asList(tasks.get(2), tasks.get(16)), list);
+	}
+
+	@Test
+	public void testHashIndex() {
+		checkMatchesScan(filter("project.id", FilterOperator.EQ, 1L));
+		checkMatchesScan(filter("project.id", FilterOperator.EQ, Arrays.asList(0L, 2L)));
+		checkMatchesScan(filter("project.id", FilterOperator.EQ, 5L));
+		checkMatchesScan(filter("project.id", FilterOperator.NEQ, 1L));
+	}
+
+	@Test
+	public void testSortedIndex() {
+		checkMatchesScan(filter("name", FilterOperator.EQ, "task1"));
+		checkMatchesScan(filter("name", FilterOperator.EQ, null));
+		checkMatchesScan(filter("name", FilterOperator.LT, "task2"));
+		checkMatchesScan(filter("name", FilterOperator.LE, "task2"));
+		checkMatchesScan(filter("name", FilterOperator.GT, "task2"));
+		checkMatchesScan(filter("name", FilterOperator.GE, "task2"));
+		checkMatchesScan(filter("name", FilterOperator.LIKE, "task%"));
+	}
+
+	@Test
+	public void testSortedIndexWithIncompatibleValue() {
+		checkMatchesScan(filter("name", FilterOperator.EQ, 2L));
+	}
+
+	@Test
+	public void testSortBySortedIndex() {
+		for (Direction direction : Direction.values()) {
+			QuerySpec querySpec = new QuerySpec(Task.class);
+			querySpec.addSort(new SortSpec(Arrays.asList("name"), direction));
+			checkMatchesScan(querySpec);
+
+			querySpec.addSort(new SortSpec(Arrays.asList("category"), direction));
+			querySpec.setOffset(3);
+			querySpec.setLimit(5L);
+			checkMatchesScan(querySpec);
+		}
+	}
+
+	@Test
+	public void testCombinedFilters() {
+		QuerySpec querySpec = filter("project.id", FilterOperator.EQ, 1L);
+		querySpec.addFilter(new FilterSpec(Arrays.asList("name"), FilterOperator.GE, "task1"));
+		querySpec.addFilter(new FilterSpec(Arrays.asList("id"), FilterOperator.EQ, Arrays.asList(1L, 2L, 3L, 4L, 5L)));
+		querySpec.addSort(new SortSpec(Arrays.asList("category"), Direction.DESC));
+		checkMatchesScan(querySpec);
+
+		querySpec = new QuerySpec(Task.class);
+		querySpec.addFilter(FilterSpec.or(new FilterSpec(Arrays.asList("project", "id"), FilterOperator.EQ, 1L),
+				new FilterSpec(Arrays.asList("name"), FilterOperator.EQ, "task2")));
+		checkMatchesScan(querySpec);
+	}
+
+	@Test
+	public void testUpdateAndDelete() {
+		Task task = tasks.get(4);
+		task.setName("updated");
+		task.setProject(null);
+		repository.save(task);
+		repository.delete(tasks.get(7).getId());
+		tasks.remove(7);
+
+		checkMatchesScan(filter("name", FilterOperator.EQ, "updated"));
+		checkMatchesScan(filter("name", FilterOperator.LT, "task3"));
+		checkMatchesScan(filter("project.id", FilterOperator.EQ, null));
+		checkMatchesScan(filter("project.id", FilterOperator.EQ, Arrays.asList(0L, 1L, 2L)));
+
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		querySpec.addSort(new SortSpec(Arrays.asList("name"), Direction.ASC));
+		checkMatchesScan(querySpec);
+		Assert.assertEquals(19, repository.findAll(new QuerySpec(Task.class)).size());
+	}
+
+	private static QuerySpec filter(String attributePath, FilterOperator operator, Object value) {
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		querySpec.addFilter(new FilterSpec(Arrays.asList(attributePath.split("\\.")), operator, value));
+		return querySpec;
+	}
+
+	private void checkMatchesScan(QuerySpec querySpec) {
+		List<Task> expected = querySpec.apply(tasks);
+		List<Task> actual = repository.findAll(querySpec);
+		Assert.assertEquals(expected, actual);
+	}
+
+	class TaskRepository extends IndexedResourceRepositoryBase<Task, Long> {
+
+		public TaskRepository() {
+			super(Task.class);
+			addHashIndex("project.id");
+			addSortedIndex("name");
+		}
+	}
+}
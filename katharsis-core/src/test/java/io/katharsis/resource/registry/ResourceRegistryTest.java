@@ -3,11 +3,14 @@ package io.katharsis.resource.registry;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertNotNull;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import io.katharsis.core.internal.registry.RegistryEntryFactory;
 import io.katharsis.core.internal.registry.ResourceRegistryImpl;
 import io.katharsis.core.internal.repository.information.ResourceRepositoryInformationImpl;
 import io.katharsis.errorhandling.exception.ResourceNotFoundInitializationException;
@@ -44,6 +47,59 @@ public class ResourceRegistryTest {
 		return new RegistryEntry(new ResourceRepositoryInformationImpl(null, path, new ResourceInformation(moduleRegistry.getTypeParser(), Task.class, path, null)), null, null);
 	}
 
+	@Test
+	public void onLazyEntryShouldCreateEntryOnFirstAccess() {
+		ResourceRegistryImpl registry = (ResourceRegistryImpl) resourceRegistry;
+		final AtomicInteger creations = new AtomicInteger();
+		registry.addLazyEntry(Task.class, "tasks", new RegistryEntryFactory() {
+
+			@Override
+			public RegistryEntry create() {
+				creations.incrementAndGet();
+				return newRegistryEntry(Task.class, "tasks");
+			}
+		});
+		assertThat(registry.hasEntry(Task.class)).isTrue();
+		assertThat(registry.hasLazyEntries()).isTrue();
+		assertThat(creations.get()).isEqualTo(0);
+
+		RegistryEntry tasksEntry = registry.getEntry("tasks");
+		assertThat(tasksEntry).isNotNull();
+		assertThat(registry.findEntry(Task.class)).isSameAs(tasksEntry);
+		assertThat(registry.getResources()).containsExactly(tasksEntry);
+		assertThat(registry.hasLazyEntries()).isFalse();
+		assertThat(creations.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void onLazyEntryShouldCreateEntryWhenInitialized() {
+		ResourceRegistryImpl registry = (ResourceRegistryImpl) resourceRegistry;
+		registry.addLazyEntry(Task.class, "tasks", new RegistryEntryFactory() {
+
+			@Override
+			public RegistryEntry create() {
+				return newRegistryEntry(Task.class, "tasks");
+			}
+		});
+		registry.initializeLazyEntries();
+		assertThat(registry.hasLazyEntries()).isFalse();
+		assertThat(registry.getEntryForClass(Task.class)).isNotNull();
+	}
+
+	@Test
+	public void onLazyEntryShouldProvideTypeWithoutCreation() {
+		ResourceRegistryImpl registry = (ResourceRegistryImpl) resourceRegistry;
+		registry.addLazyEntry(Task.class, "tasks", new RegistryEntryFactory() {
+
+			@Override
+			public RegistryEntry create() {
+				throw new IllegalStateException("must not be created");
+			}
+		});
+		assertThat(registry.getResourceTypes()).containsExactly("tasks");
+		assertThat(registry.hasLazyEntries()).isTrue();
+	}
+
 	@Test
 	public void testGetSeriveUrlProvider() {
 		assertThat(resourceRegistry.getServiceUrlProvider().getUrl()).isEqualTo(TEST_MODELS_URL);
@@ -0,0 +1,199 @@
+package io.katharsis.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import io.katharsis.core.internal.boot.ResourceIndex;
+import io.katharsis.errorhandling.mapper.JsonApiExceptionMapper;
+import io.katharsis.module.Module;
+import io.katharsis.repository.Repository;
+import io.katharsis.repository.filter.DocumentFilter;
+import io.katharsis.resource.annotations.JsonApiResource;
+
+/**
+ * Writes the {@link ResourceIndex} of the compiled sources. Lists all resources as well as the repositories, modules,
+ * exception mappers, filters and other services Katharsis looks up during startup. Services must be public and
+ * concrete to be listed. Services without a public default constructor are listed as well, they are left to the
+ * service locator to be instantiated, such as one making use of constructor injection. Further service types can be
+ * added with the <code>katharsis.index.types</code> option as comma-separated list of class names.
+ *
+ * <p>
+ * The processor gets picked up automatically by the compiler once katharsis-index is on the classpath. Entries of a
+ * previous compilation are kept as long as the classes still exist to support incremental compilation.
+ * </p>
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(ResourceIndexProcessor.OPTION_TYPES)
+public class ResourceIndexProcessor extends AbstractProcessor {
+
+	public static final String OPTION_TYPES = "katharsis.index.types";
+
+	private static final Charset CHARSET_UTF8 = Charset.forName("UTF8");
+
+	private static final List<String> DEFAULT_SERVICE_TYPES = Arrays.asList(Repository.class.getName(),
+			Module.class.getName(), JsonApiExceptionMapper.class.getName(), DocumentFilter.class.getName(),
+			"io.katharsis.rs.internal.parameterProvider.provider.RequestContextParameterProvider");
+
+	@SuppressWarnings("deprecation")
+	private static final List<String> SERVICE_ANNOTATIONS = Arrays.asList(
+			io.katharsis.legacy.repository.annotations.JsonApiResourceRepository.class.getName(),
+			io.katharsis.legacy.repository.annotations.JsonApiRelationshipRepository.class.getName());
+
+	private List<TypeMirror> serviceTypes = new ArrayList<>();
+
+	private Set<String> classNames = new TreeSet<>();
+
+	@Override
+	public synchronized void init(ProcessingEnvironment processingEnv) {
+		super.init(processingEnv);
+
+		List<String> typeNames = new ArrayList<>(DEFAULT_SERVICE_TYPES);
+		String additionalTypes = processingEnv.getOptions().get(OPTION_TYPES);
+		if (additionalTypes != null) {
+			for (String typeName : additionalTypes.split(",")) {
+				typeNames.add(typeName.trim());
+			}
+		}
+
+		Types types = processingEnv.getTypeUtils();
+		for (String typeName : typeNames) {
+			TypeElement typeElement = processingEnv.getElementUtils().getTypeElement(typeName);
+			if (typeElement != null) {
+				serviceTypes.add(types.erasure(typeElement.asType()));
+			}
+		}
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (TypeElement typeElement : ElementFilter.typesIn(roundEnv.getRootElements())) {
+			processType(typeElement);
+		}
+		if (roundEnv.processingOver()) {
+			writeIndex();
+		}
+		return false;
+	}
+
+	private void processType(TypeElement typeElement) {
+		if (hasAnnotation(typeElement, JsonApiResource.class.getName()) || isService(typeElement)) {
+			classNames.add(processingEnv.getElementUtils().getBinaryName(typeElement).toString());
+		}
+		for (TypeElement memberType : ElementFilter.typesIn(typeElement.getEnclosedElements())) {
+			if (memberType.getModifiers().contains(Modifier.STATIC)) {
+				processType(memberType);
+			}
+		}
+	}
+
+	private boolean isService(TypeElement typeElement) {
+		if (typeElement.getKind() != ElementKind.CLASS || !typeElement.getModifiers().contains(Modifier.PUBLIC)
+				|| typeElement.getModifiers().contains(Modifier.ABSTRACT) || typeElement.getNestingKind() == NestingKind.LOCAL) {
+			return false;
+		}
+		for (String annotationName : SERVICE_ANNOTATIONS) {
+			if (hasAnnotation(typeElement, annotationName)) {
+				return true;
+			}
+		}
+		Types types = processingEnv.getTypeUtils();
+		TypeMirror type = types.erasure(typeElement.asType());
+		for (TypeMirror serviceType : serviceTypes) {
+			if (types.isAssignable(type, serviceType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean hasAnnotation(Element element, String annotationName) {
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+			if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void writeIndex() {
+		Set<String> entries = new TreeSet<>(classNames);
+		entries.addAll(readPreviousEntries());
+		if (entries.isEmpty()) {
+			return;
+		}
+		try {
+			FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+					ResourceIndex.INDEX_LOCATION);
+			try (Writer writer = new OutputStreamWriter(file.openOutputStream(), CHARSET_UTF8)) {
+				writer.write("# generated by " + getClass().getName() + "\n");
+				for (String entry : entries) {
+					writer.write(entry);
+					writer.write("\n");
+				}
+			}
+		}
+		catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					"failed to write " + ResourceIndex.INDEX_LOCATION + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * @return entries of a previous compilation whose classes still exist
+	 */
+	private Set<String> readPreviousEntries() {
+		Set<String> entries = new TreeSet<>();
+		Elements elements = processingEnv.getElementUtils();
+		try {
+			FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+					ResourceIndex.INDEX_LOCATION);
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.openInputStream(), CHARSET_UTF8))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					line = line.trim();
+					if (!line.isEmpty() && !line.startsWith("#") && elements.getTypeElement(line.replace('$', '.')) != null) {
+						entries.add(line);
+					}
+				}
+			}
+		}
+		catch (IOException | IllegalArgumentException e) { // NOSONAR no previous index
+		}
+		return entries;
+	}
+}
@@ -0,0 +1,161 @@
+package io.katharsis.index;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.katharsis.core.internal.boot.IndexServiceDiscovery;
+import io.katharsis.core.internal.boot.KatharsisBoot;
+import io.katharsis.core.internal.boot.PropertiesProvider;
+import io.katharsis.core.internal.boot.ReflectionsServiceDiscovery;
+import io.katharsis.core.internal.boot.ResourceIndex;
+import io.katharsis.core.properties.KatharsisProperties;
+import io.katharsis.errorhandling.mapper.JsonApiExceptionMapper;
+import io.katharsis.index.mock.Task;
+import io.katharsis.index.mock.TaskRepository;
+import io.katharsis.index.mock.TestModule;
+import io.katharsis.legacy.locator.JsonServiceLocator;
+import io.katharsis.legacy.locator.SampleJsonServiceLocator;
+import io.katharsis.module.Module;
+import io.katharsis.module.ServiceDiscovery;
+import io.katharsis.repository.Repository;
+import io.katharsis.resource.registry.ConstantServiceUrlProvider;
+import io.katharsis.resource.registry.DefaultResourceLookup;
+import io.katharsis.resource.registry.IndexResourceLookup;
+
+public class IndexServiceDiscoveryTest {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(IndexServiceDiscoveryTest.class);
+
+	private static final String PACKAGE = "io.katharsis.index.mock";
+
+	private static final int BENCHMARK_RUNS = 10;
+
+	@Test
+	public void testSameAsReflections() {
+		ServiceDiscovery index = new IndexServiceDiscovery(ResourceIndex.load(), PACKAGE, new SampleJsonServiceLocator());
+		ServiceDiscovery reflections = new ReflectionsServiceDiscovery(PACKAGE, new SampleJsonServiceLocator());
+
+		Assert.assertEquals(1, index.getInstancesByType(Repository.class).size());
+		Assert.assertEquals(getClasses(reflections.getInstancesByType(Repository.class)),
+				getClasses(index.getInstancesByType(Repository.class)));
+		Assert.assertEquals(getClasses(reflections.getInstancesByType(Module.class)),
+				getClasses(index.getInstancesByType(Module.class)));
+
+		// reflections only resolves subtypes through the scanned packages and misses mappers implementing the
+		// ExceptionMapper sub-interface
+		Assert.assertEquals(1, index.getInstancesByType(JsonApiExceptionMapper.class).size());
+	}
+
+	@Test
+	public void testConstructorInjectedServices() {
+		ServiceDiscovery index = new IndexServiceDiscovery(ResourceIndex.load(), PACKAGE, new JsonServiceLocator() {
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public <T> T getInstance(Class<T> clazz) {
+				if (clazz == TaskRepository.ConfiguredTaskRepository.class) {
+					return (T) new TaskRepository.ConfiguredTaskRepository(Task.class);
+				}
+				return new SampleJsonServiceLocator().getInstance(clazz);
+			}
+		});
+		Set<Class<?>> repositoryClasses = getClasses(index.getInstancesByType(Repository.class));
+		Assert.assertTrue(repositoryClasses.contains(TaskRepository.class));
+		Assert.assertTrue(repositoryClasses.contains(TaskRepository.ConfiguredTaskRepository.class));
+	}
+
+	@Test
+	public void testResourceLookup() {
+		IndexResourceLookup index = new IndexResourceLookup(PACKAGE);
+		DefaultResourceLookup reflections = new DefaultResourceLookup(PACKAGE);
+		Assert.assertEquals(reflections.getResourceClasses(), index.getResourceClasses());
+		Assert.assertTrue(index.getResourceClasses().contains(Task.class));
+		Assert.assertTrue(index.getResourceRepositoryClasses().contains(TaskRepository.class));
+	}
+
+	@Test
+	public void testBootPicksIndex() {
+		Properties properties = new Properties();
+		properties.put(KatharsisProperties.RESOURCE_SEARCH_PACKAGE, PACKAGE);
+		properties.put(KatharsisProperties.RESOURCE_INDEX, "true");
+		KatharsisBoot boot = boot(properties);
+
+		Assert.assertTrue(boot.getServiceDiscovery() instanceof IndexServiceDiscovery);
+		Assert.assertNotNull(boot.getResourceRegistry().findEntry(Task.class));
+		Assert.assertTrue(getClasses(boot.getModuleRegistry().getModules()).contains(TestModule.class));
+	}
+
+	@Test
+	public void testBootScansWithoutIndexProperty() {
+		Properties properties = new Properties();
+		properties.put(KatharsisProperties.RESOURCE_SEARCH_PACKAGE, PACKAGE);
+		KatharsisBoot boot = boot(properties);
+
+		Assert.assertTrue(boot.getServiceDiscovery() instanceof ReflectionsServiceDiscovery);
+		Assert.assertNotNull(boot.getResourceRegistry().findEntry(Task.class));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testBootFailsForPackageMissingInIndex() {
+		Properties properties = new Properties();
+		properties.put(KatharsisProperties.RESOURCE_SEARCH_PACKAGE, PACKAGE + ",io.katharsis.notindexed");
+		properties.put(KatharsisProperties.RESOURCE_INDEX, "true");
+		boot(properties);
+	}
+
+	private static KatharsisBoot boot(final Properties properties) {
+		KatharsisBoot boot = new KatharsisBoot();
+		boot.setServiceUrlProvider(new ConstantServiceUrlProvider("http://localhost"));
+		boot.setPropertiesProvider(new PropertiesProvider() {
+
+			@Override
+			public String getProperty(String key) {
+				return properties.getProperty(key);
+			}
+		});
+		boot.boot();
+		return boot;
+	}
+
+	/**
+	 * Compares the time both discoveries take to find the repositories, modules and exception mappers of a fresh
+	 * startup. The numbers are logged rather than asserted.
+	 */
+	@Test
+	public void benchmarkStartup() {
+		long reflectionsTime = 0;
+		long indexTime = 0;
+		for (int i = 0; i < BENCHMARK_RUNS; i++) {
+			long start = System.nanoTime();
+			discover(new ReflectionsServiceDiscovery(PACKAGE, new SampleJsonServiceLocator()));
+			reflectionsTime += System.nanoTime() - start;
+
+			start = System.nanoTime();
+			discover(new IndexServiceDiscovery(ResourceIndex.load(), PACKAGE, new SampleJsonServiceLocator()));
+			indexTime += System.nanoTime() - start;
+		}
+		LOGGER.info("service discovery startup, reflections: {}us, index: {}us", reflectionsTime / BENCHMARK_RUNS / 1000,
+				indexTime / BENCHMARK_RUNS / 1000);
+	}
+
+	private static void discover(ServiceDiscovery discovery) {
+		discovery.getInstancesByType(Module.class);
+		discovery.getInstancesByType(JsonApiExceptionMapper.class);
+		discovery.getInstancesByType(Repository.class);
+	}
+
+	private static Set<Class<?>> getClasses(List<?> instances) {
+		Set<Class<?>> classes = new HashSet<>();
+		for (Object instance : instances) {
+			classes.add(instance.getClass());
+		}
+		return classes;
+	}
+}
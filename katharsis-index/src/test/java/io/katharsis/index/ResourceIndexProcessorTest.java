@@ -0,0 +1,42 @@
+package io.katharsis.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.katharsis.core.internal.boot.ResourceIndex;
+import io.katharsis.index.mock.NotIndexed;
+import io.katharsis.index.mock.Task;
+import io.katharsis.index.mock.TaskRepository;
+import io.katharsis.index.mock.TestExceptionMapper;
+import io.katharsis.index.mock.TestModule;
+
+/**
+ * The test sources are compiled with the processor, the resulting index is verified.
+ */
+public class ResourceIndexProcessorTest {
+
+	@Test
+	public void testIndexGenerated() {
+		ResourceIndex index = ResourceIndex.load(getClass().getClassLoader());
+		Assert.assertNotNull(index);
+
+		List<Class<?>> classes = index.getClasses("io.katharsis.index.mock");
+		Assert.assertTrue(classes.contains(Task.class));
+		Assert.assertTrue(classes.contains(TaskRepository.class));
+		Assert.assertTrue(classes.contains(TestModule.class));
+		Assert.assertTrue(classes.contains(TestExceptionMapper.class));
+		Assert.assertFalse(classes.contains(NotIndexed.class));
+		Assert.assertTrue(classes.contains(TaskRepository.ConfiguredTaskRepository.class));
+		Assert.assertEquals(5, classes.size());
+	}
+
+	@Test
+	public void testPackageFilter() {
+		ResourceIndex index = ResourceIndex.load(getClass().getClassLoader());
+		Assert.assertTrue(index.getClasses("io.katharsis.other").isEmpty());
+		Assert.assertEquals(new ArrayList<>(index.getClasses()), index.getClasses(null));
+	}
+}
@@ -0,0 +1,8 @@
+package io.katharsis.index.mock;
+
+/**
+ * Neither a resource nor a service.
+ */
+public class NotIndexed {
+
+}
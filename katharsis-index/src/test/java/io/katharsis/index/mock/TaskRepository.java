@@ -0,0 +1,35 @@
+package io.katharsis.index.mock;
+
+import java.util.Collections;
+
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.repository.ResourceRepositoryBase;
+import io.katharsis.resource.list.ResourceList;
+
+public class TaskRepository extends ResourceRepositoryBase<Task, Long> {
+
+	public TaskRepository() {
+		super(Task.class);
+	}
+
+	@Override
+	public ResourceList<Task> findAll(QuerySpec querySpec) {
+		return querySpec.apply(Collections.<Task> emptyList());
+	}
+
+	/**
+	 * Lacks a default constructor, gets indexed but can only be created by a locator making use of constructor
+	 * injection.
+	 */
+	public static class ConfiguredTaskRepository extends ResourceRepositoryBase<Task, Long> {
+
+		public ConfiguredTaskRepository(Class<Task> resourceClass) {
+			super(resourceClass);
+		}
+
+		@Override
+		public ResourceList<Task> findAll(QuerySpec querySpec) {
+			return querySpec.apply(Collections.<Task> emptyList());
+		}
+	}
+}
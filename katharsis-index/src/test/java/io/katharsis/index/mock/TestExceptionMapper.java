@@ -0,0 +1,22 @@
+package io.katharsis.index.mock;
+
+import io.katharsis.errorhandling.ErrorResponse;
+import io.katharsis.errorhandling.mapper.ExceptionMapper;
+
+public class TestExceptionMapper implements ExceptionMapper<IllegalStateException> {
+
+	@Override
+	public ErrorResponse toErrorResponse(IllegalStateException exception) {
+		return ErrorResponse.builder().setStatus(500).build();
+	}
+
+	@Override
+	public IllegalStateException fromErrorResponse(ErrorResponse errorResponse) {
+		return new IllegalStateException();
+	}
+
+	@Override
+	public boolean accepts(ErrorResponse errorResponse) {
+		return errorResponse.getHttpStatus() == 500;
+	}
+}
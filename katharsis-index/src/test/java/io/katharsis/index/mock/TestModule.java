@@ -0,0 +1,16 @@
+package io.katharsis.index.mock;
+
+import io.katharsis.module.Module;
+
+public class TestModule implements Module {
+
+	@Override
+	public String getModuleName() {
+		return "test";
+	}
+
+	@Override
+	public void setupModule(ModuleContext context) {
+		// nothing to do
+	}
+}
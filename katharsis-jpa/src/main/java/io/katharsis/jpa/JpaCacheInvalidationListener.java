@@ -0,0 +1,29 @@
+package io.katharsis.jpa;
+
+/**
+ * Gets notified by the JPA repositories whenever an entity is modified. Allows to evict entries of caches maintained
+ * outside of the JPA implementation, like caches of rendered responses or of reference data. The second-level and
+ * query caches of the JPA implementation itself keep track of modifications on their own.
+ * 
+ * <p>
+ * Within requests served by the {@link JpaModule}, notifications are delivered once the transaction committed and
+ * dropped if it rolled back. Repositories used outside of such a request notify right away.
+ */
+public interface JpaCacheInvalidationListener {
+
+	/**
+	 * Called after an entity has been created, updated or its relationships have been changed.
+	 * 
+	 * @param entityClass of the modified entity
+	 * @param id of the modified entity
+	 */
+	void onModified(Class<?> entityClass, Object id);
+
+	/**
+	 * Called after an entity has been deleted.
+	 * 
+	 * @param entityClass of the deleted entity
+	 * @param id of the deleted entity
+	 */
+	void onDeleted(Class<?> entityClass, Object id);
+}
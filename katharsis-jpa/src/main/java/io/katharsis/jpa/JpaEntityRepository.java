@@ -1,16 +1,23 @@
 package io.katharsis.jpa;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.persistence.EntityManager;
 
 import io.katharsis.core.internal.utils.PropertyUtils;
+import io.katharsis.jpa.internal.IncludeFetchPlan;
 import io.katharsis.jpa.internal.JpaRepositoryBase;
 import io.katharsis.jpa.internal.JpaRepositoryUtils;
 import io.katharsis.jpa.internal.JpaRequestContext;
+import io.katharsis.jpa.internal.query.backend.querydsl.ObjectArrayTupleImpl;
 import io.katharsis.jpa.mapping.JpaMapper;
 import io.katharsis.jpa.meta.MetaEntity;
 import io.katharsis.jpa.query.ComputedAttributeRegistry;
@@ -72,9 +79,17 @@ public class JpaEntityRepository<T, I extends Serializable> extends JpaRepositor
 		query = filterQuery(filteredQuerySpec, query);
 		JpaQueryExecutor<?> executor = query.buildExecutor();
 		JpaRepositoryUtils.prepareExecutor(executor, filteredQuerySpec, fetchRelations(null));
+		JpaRepositoryUtils.prepareCaching(executor, repositoryConfig);
+		IncludeFetchPlan fetchPlan = planIncludeFetches(filteredQuerySpec);
+		if (fetchPlan != null) {
+			fetchPlan.applyJoinFetches(executor);
+		}
 		executor = filterExecutor(filteredQuerySpec, executor);
 
 		List<Tuple> tuples = executor.getResultTuples();
+		if (fetchPlan != null) {
+			fetchPlan.applyBatchFetches(module.getEntityManager(), getEntities(tuples));
+		}
 		tuples = filterTuples(filteredQuerySpec, tuples);
 		ResourceList<T> resources = map(tuples);
 		resources = filterResults(filteredQuerySpec, resources);
@@ -90,6 +105,26 @@ public class JpaEntityRepository<T, I extends Serializable> extends JpaRepositor
 		return resources;
 	}
 
+	/**
+	 * @return plan to fetch the included relations or null if the relations are not fetched by this repository.
+	 */
+	private IncludeFetchPlan planIncludeFetches(QuerySpec querySpec) {
+		boolean entityExposed = repositoryConfig.getResourceClass() == repositoryConfig.getEntityClass();
+		if (!repositoryConfig.isFetchIncludedRelations() || !entityExposed || fetchRelations(null)
+				|| querySpec.getIncludedRelations().isEmpty()) {
+			return null;
+		}
+		return IncludeFetchPlan.create(meta, querySpec);
+	}
+
+	private static List<Object> getEntities(List<Tuple> tuples) {
+		List<Object> entities = new ArrayList<>(tuples.size());
+		for (Tuple tuple : tuples) {
+			entities.add(tuple.get(0, Object.class));
+		}
+		return entities;
+	}
+
 	@Override
 	public <S extends T> S create(S resource) {
 		return saveInternal(resource);
@@ -100,6 +135,34 @@ public class JpaEntityRepository<T, I extends Serializable> extends JpaRepositor
 		return saveInternal(resource);
 	}
 
+	/**
+	 * Creates all the given resources in bulk, see {@link #saveAll(Iterable)}.
+	 * 
+	 * @param <S> resource type
+	 * @param resources to create
+	 * @return created resources in the order given
+	 */
+	public <S extends T> List<S> createAll(Iterable<S> resources) {
+		return saveAllInternal(resources);
+	}
+
+	/**
+	 * Saves all the given resources in bulk. The EntityManager is flushed every
+	 * {@link JpaRepositoryConfig#getWriteBatchSize()} entities to let the JPA implementation make use of JDBC batching.
+	 * The entities written by a batch are detached afterwards, together with the new entities persisted along with them
+	 * by associations cascading persist operations. Other entities of the persistence context are left untouched.
+	 * If read after write is enabled, the saved resources are queried again with a single query per batch rather than
+	 * one query per resource. Like for {@link #save(Object)}, the {@link io.katharsis.jpa.JpaRepositoryFilter}s are
+	 * applied to those queries and null is returned for a saved resource they do not let through.
+	 * 
+	 * @param <S> resource type
+	 * @param resources to save
+	 * @return saved resources in the order given
+	 */
+	public <S extends T> List<S> saveAll(Iterable<S> resources) {
+		return saveAllInternal(resources);
+	}
+
 	@SuppressWarnings("unchecked")
 	private <S extends T> S saveInternal(S resource) {
 		JpaMapper<Object, T> mapper = repositoryConfig.getMapper();
@@ -112,14 +175,102 @@ public class JpaEntityRepository<T, I extends Serializable> extends JpaRepositor
 		
 		I id = (I) PropertyUtils.getProperty(resource, primaryKeyAttr.getName());
 
-		// fetch again since we may have to fetch tuple data and do DTO mapping
-		QuerySpec querySpec = new QuerySpec(repositoryConfig.getResourceClass());
 		if (id == null) {
 			throw new IllegalStateException("id not available for entity " + id);
 		}
+		notifyModified(repositoryConfig, id);
+		if (!repositoryConfig.isReadAfterWrite()) {
+			return (S) mapper.map(new ObjectArrayTupleImpl(entity));
+		}
+		// fetch again since we may have to fetch tuple data and do DTO mapping
+		QuerySpec querySpec = new QuerySpec(repositoryConfig.getResourceClass());
 		return (S) findOne(id, querySpec);
 	}
 
+	@SuppressWarnings("unchecked")
+	private <S extends T> List<S> saveAllInternal(Iterable<S> resources) {
+		JpaMapper<Object, T> mapper = repositoryConfig.getMapper();
+		EntityManager em = module.getEntityManager();
+		int writeBatchSize = repositoryConfig.getWriteBatchSize();
+		boolean readAfterWrite = repositoryConfig.isReadAfterWrite();
+
+		List<S> results = new ArrayList<>();
+		List<I> batchIds = new ArrayList<>();
+		Set<Object> batchEntities = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+		int numWritten = 0;
+		for (S resource : resources) {
+			Object entity = mapper.unmap(resource);
+			if (writeBatchSize > 0) {
+				collectWrittenEntities(em, entity, batchEntities);
+			}
+			em.persist(entity);
+
+			I id = (I) PropertyUtils.getProperty(resource, primaryKeyAttr.getName());
+			if (id == null) {
+				throw new IllegalStateException("id not available for entity " + entity);
+			}
+			notifyModified(repositoryConfig, id);
+			if (readAfterWrite) {
+				batchIds.add(id);
+			}
+			else {
+				results.add((S) mapper.map(new ObjectArrayTupleImpl(entity)));
+			}
+
+			numWritten++;
+			if (writeBatchSize > 0 && numWritten % writeBatchSize == 0) {
+				em.flush();
+				if (readAfterWrite) {
+					results.addAll((List<S>) findAllInOrder(batchIds));
+					batchIds.clear();
+				}
+				// detach only what this batch persisted, other entities of the caller remain managed
+				for (Object batchEntity : batchEntities) {
+					em.detach(batchEntity);
+				}
+				batchEntities.clear();
+			}
+		}
+		if (!batchIds.isEmpty()) {
+			results.addAll((List<S>) findAllInOrder(batchIds));
+		}
+		return results;
+	}
+
+	/**
+	 * Collects the given entity and the new entities an upcoming persist is going to cascade to. Entities that are
+	 * already managed are not collected since they have not been brought into the persistence context by this
+	 * repository.
+	 */
+	private void collectWrittenEntities(EntityManager em, Object entity, Set<Object> writtenEntities) {
+		Set<Object> graph = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+		JpaRepositoryUtils.collectCascadedEntities(em, meta, entity, graph);
+		for (Object graphEntity : graph) {
+			if (graphEntity == entity || !em.contains(graphEntity)) {
+				writtenEntities.add(graphEntity);
+			}
+		}
+	}
+
+	/**
+	 * Reads back resources written by this repository with the repository filters applied.
+	 * 
+	 * @return resources with the given ids in the same order as the ids, null for resources not let through by a
+	 *         filter.
+	 */
+	private List<T> findAllInOrder(List<I> ids) {
+		ResourceList<T> resources = findAll(ids, new QuerySpec(repositoryConfig.getResourceClass()));
+		Map<Object, T> resourceMap = new HashMap<>();
+		for (T resource : resources) {
+			resourceMap.put(PropertyUtils.getProperty(resource, primaryKeyAttr.getName()), resource);
+		}
+		List<T> results = new ArrayList<>(ids.size());
+		for (I id : ids) {
+			results.add(resourceMap.get(id));
+		}
+		return results;
+	}
+
 	@Override
 	public void delete(I id) {
 		EntityManager em = module.getEntityManager();
@@ -127,6 +278,7 @@ public class JpaEntityRepository<T, I extends Serializable> extends JpaRepositor
 		Object object = em.find(repositoryConfig.getEntityClass(), id);
 		if (object != null) {
 			em.remove(object);
+			notifyDeleted(repositoryConfig, id);
 		}
 	}
 
@@ -18,6 +18,7 @@ import org.slf4j.LoggerFactory;
 
 import io.katharsis.core.internal.boot.TransactionRunner;
 import io.katharsis.core.internal.utils.PreconditionUtil;
+import io.katharsis.jpa.internal.CacheInvalidationQueue;
 import io.katharsis.jpa.internal.JpaRequestContext;
 import io.katharsis.jpa.internal.JpaResourceInformationBuilder;
 import io.katharsis.jpa.internal.OptimisticLockExceptionMapper;
@@ -115,6 +116,8 @@ public class JpaModule implements Module {
 
 	private List<JpaRepositoryFilter> filters = new CopyOnWriteArrayList<>();
 
+	private CacheInvalidationQueue cacheInvalidationQueue = new CacheInvalidationQueue();
+
 	private ResourceMetaProvider resourceMetaProvider;
 
 	/**
@@ -359,13 +362,26 @@ public class JpaModule implements Module {
 
 			@Override
 			public Response filter(final DocumentFilterContext context, final DocumentFilterChain chain) {
-				return transactionRunner.doInTransaction(new Callable<Response>() {
-
-					@Override
-					public Response call() throws Exception {
-						return chain.doFilter(context);
+				boolean began = cacheInvalidationQueue.begin();
+				try {
+					Response response = transactionRunner.doInTransaction(new Callable<Response>() {
+
+						@Override
+						public Response call() throws Exception {
+							return chain.doFilter(context);
+						}
+					});
+					if (began) {
+						// committed, caches can no longer be filled with the previous state
+						cacheInvalidationQueue.commit();
 					}
-				});
+					return response;
+				}
+				finally {
+					if (began) {
+						cacheInvalidationQueue.discard();
+					}
+				}
 			}
 		});
 	}
@@ -527,6 +543,14 @@ public class JpaModule implements Module {
 		return (JpaRepositoryConfig<T>) repositoryConfigurationMap.get(resourceClass);
 	}
 
+	/**
+	 * @return queue deferring the notifications of {@link JpaCacheInvalidationListener}s until the transaction of the
+	 *         current request committed.
+	 */
+	public CacheInvalidationQueue getCacheInvalidationQueue() {
+		return cacheInvalidationQueue;
+	}
+
 	public MetaLookup getJpaMetaLookup() {
 		return jpaMetaLookup;
 	}
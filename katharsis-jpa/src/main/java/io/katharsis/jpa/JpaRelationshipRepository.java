@@ -4,13 +4,21 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Root;
 
 import io.katharsis.core.internal.utils.MultivaluedMap;
+import io.katharsis.jpa.internal.IncludeFetchPlan;
 import io.katharsis.jpa.internal.JpaRepositoryBase;
 import io.katharsis.jpa.internal.JpaRepositoryUtils;
 import io.katharsis.jpa.internal.JpaRequestContext;
@@ -34,6 +42,8 @@ import io.katharsis.resource.meta.PagedMetaInformation;
 
 public class JpaRelationshipRepository<S, I extends Serializable, T, J extends Serializable> extends JpaRepositoryBase<T> implements RelationshipRepositoryV2<S, I, T, J>, BulkRelationshipRepositoryV2<S, I, T, J> {
 
+	private static final int TARGET_FETCH_SIZE = 1000;
+
 	private Class<S> sourceResourceClass;
 
 	private Class<?> sourceEntityClass;
@@ -42,6 +52,10 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 
 	private JpaMapper<?, S> sourceMapper;
 
+	private JpaRepositoryConfig<S> sourceConfig;
+
+	private MetaAttribute sourcePrimaryKeyAttr;
+
 	/**
 	 * JPA relationship directly exposed as repository
 	 * 
@@ -57,6 +71,7 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 		this.sourceResourceClass = sourceResourceClass;
 
 		JpaRepositoryConfig<S> sourceMapping = module.getRepositoryConfig(sourceResourceClass);
+		this.sourceConfig = sourceMapping;
 		if (sourceMapping != null) {
 			this.sourceEntityClass = sourceMapping.getEntityClass();
 			this.sourceMapper = sourceMapping.getMapper();
@@ -65,6 +80,7 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 			this.sourceMapper = IdentityMapper.newInstance();
 		}
 		this.entityMeta = module.getJpaMetaLookup().getMeta(sourceEntityClass, MetaEntity.class);
+		this.sourcePrimaryKeyAttr = JpaRepositoryUtils.getPrimaryKeyAttr(entityMeta);
 	}
 
 	@Override
@@ -75,8 +91,7 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 
 		Object sourceEntity = sourceMapper.unmap(source);
 
-		EntityManager em = module.getEntityManager();
-		Object target = targetId != null ? em.find(targetType, targetId) : null;
+		Object target = targetId != null ? getTargets(targetType, Arrays.asList(targetId), oppositeAttrMeta != null).get(0) : null;
 		attrMeta.setValue(sourceEntity, target);
 
 		if (target != null && oppositeAttrMeta != null) {
@@ -85,8 +100,8 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 			} else {
 				oppositeAttrMeta.setValue(target, sourceEntity);
 			}
-			em.persist(target);
 		}
+		notifyRelationModified(sourceEntity, oppositeAttrMeta, targetId != null ? Arrays.asList(targetId) : null);
 	}
 
 	@Override
@@ -97,13 +112,8 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 
 		Object sourceEntity = sourceMapper.unmap(source);
 
-		EntityManager em = module.getEntityManager();
 		Collection<Object> targets = attrMeta.getType().asCollection().newInstance();
-		for (J targetId : targetIds) {
-
-			Object target = em.find(targetType, targetId);
-			targets.add(target);
-		}
+		targets.addAll(getTargets(targetType, targetIds, oppositeAttrMeta != null));
 
 		// detach current
 		if (oppositeAttrMeta != null) {
@@ -128,10 +138,75 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 				} else {
 					oppositeAttrMeta.setValue(target, sourceEntity);
 				}
-				em.persist(target);
 			}
 		}
 		attrMeta.setValue(sourceEntity, targets);
+		notifyRelationModified(sourceEntity, oppositeAttrMeta, targetIds);
+	}
+
+	/**
+	 * Notifies the cache invalidation listeners about the modified source and, if the relationship is bi-directional,
+	 * the modified targets.
+	 */
+	private void notifyRelationModified(Object sourceEntity, MetaAttribute oppositeAttrMeta, Iterable<J> targetIds) {
+		notifyModified(sourceConfig, sourcePrimaryKeyAttr.getValue(sourceEntity));
+		if (oppositeAttrMeta != null && targetIds != null) {
+			for (J targetId : targetIds) {
+				notifyModified(repositoryConfig, targetId);
+			}
+		}
+	}
+
+	/**
+	 * Resolves the targets of a relationship. References are used if the state of the targets is not needed, avoiding
+	 * any database access. Otherwise all targets are fetched with a single query per batch rather than one query per
+	 * target.
+	 * 
+	 * @param targetType of the relationship
+	 * @param targetIds to resolve
+	 * @param loadState true if the targets are going to be modified, like the opposite side of a bi-directional
+	 *            relationship
+	 * @return targets in the order of the ids, null for targets not found if the state is loaded
+	 */
+	private List<Object> getTargets(Class<?> targetType, Iterable<J> targetIds, boolean loadState) {
+		EntityManager em = module.getEntityManager();
+		List<Object> targets = new ArrayList<>();
+		if (!loadState) {
+			for (J targetId : targetIds) {
+				targets.add(em.getReference(targetType, targetId));
+			}
+			return targets;
+		}
+
+		List<J> targetIdList = new ArrayList<>();
+		for (J targetId : targetIds) {
+			targetIdList.add(targetId);
+		}
+		MetaEntity targetMeta = module.getJpaMetaLookup().getMeta(targetType, MetaEntity.class);
+		MetaAttribute targetPrimaryKeyAttr = JpaRepositoryUtils.getPrimaryKeyAttr(targetMeta);
+		Map<Object, Object> targetMap = new HashMap<>();
+		for (int i = 0; i < targetIdList.size(); i += TARGET_FETCH_SIZE) {
+			List<J> batchIds = targetIdList.subList(i, Math.min(i + TARGET_FETCH_SIZE, targetIdList.size()));
+			for (Object target : fetchTargets(targetType, targetPrimaryKeyAttr, batchIds)) {
+				targetMap.put(targetPrimaryKeyAttr.getValue(target), target);
+			}
+		}
+		for (J targetId : targetIdList) {
+			targets.add(targetMap.get(targetId));
+		}
+		return targets;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private List<Object> fetchTargets(Class targetType, MetaAttribute targetPrimaryKeyAttr, List<J> targetIds) {
+		EntityManager em = module.getEntityManager();
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object> query = cb.createQuery(targetType);
+		Root<Object> root = query.from(targetType);
+		// bind the ids as parameter rather than rendering them as literals, like the query backends do
+		ParameterExpression<List> idsParameter = cb.parameter(List.class);
+		query.where(root.get(targetPrimaryKeyAttr.getName()).in(idsParameter));
+		return em.createQuery(query).setParameter(idsParameter, new ArrayList<Object>(targetIds)).getResultList();
 	}
 
 	private Class<?> getElementType(MetaAttribute attrMeta) {
@@ -151,8 +226,7 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 		Object sourceEntity = sourceMapper.unmap(source);
 
 		EntityManager em = module.getEntityManager();
-		for (J targetId : targetIds) {
-			Object target = em.find(targetType, targetId);
+		for (Object target : getTargets(targetType, targetIds, oppositeAttrMeta != null)) {
 			attrMeta.addValue(sourceEntity, target);
 
 			if (oppositeAttrMeta != null) {
@@ -161,10 +235,10 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 				} else {
 					oppositeAttrMeta.setValue(target, sourceEntity);
 				}
-				em.persist(target);
 			}
 		}
 		em.persist(sourceEntity);
+		notifyRelationModified(sourceEntity, oppositeAttrMeta, targetIds);
 	}
 
 	@Override
@@ -175,9 +249,7 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 
 		Object sourceEntity = sourceMapper.unmap(source);
 
-		EntityManager em = module.getEntityManager();
-		for (J targetId : targetIds) {
-			Object target = em.find(targetType, targetId);
+		for (Object target : getTargets(targetType, targetIds, oppositeAttrMeta != null)) {
 			attrMeta.removeValue(sourceEntity, target);
 
 			if (target != null && oppositeAttrMeta != null) {
@@ -188,6 +260,7 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 				}
 			}
 		}
+		notifyRelationModified(sourceEntity, oppositeAttrMeta, targetIds);
 	}
 
 	@Override
@@ -201,6 +274,11 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 			throw new UnsupportedOperationException("page limit not supported for bulk inclusions");
 		}
 
+		MultivaluedMap<I, T> fetchedTargets = getFetchedTargets(sourceIdLists, fieldName, querySpec);
+		if (fetchedTargets != null) {
+			return fetchedTargets;
+		}
+
 		QuerySpec bulkQuerySpec = querySpec.duplicate();
 
 		QuerySpec filteredQuerySpec = filterQuerySpec(bulkQuerySpec);
@@ -219,6 +297,7 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 
 		JpaQueryExecutor<?> executor = query.buildExecutor();
 		JpaRepositoryUtils.prepareExecutor(executor, filteredQuerySpec, fetchRelations(fieldName));
+		JpaRepositoryUtils.prepareCaching(executor, repositoryConfig);
 		executor = filterExecutor(filteredQuerySpec, executor);
 
 		List<Tuple> tuples = executor.getResultTuples();
@@ -242,15 +321,72 @@ public class JpaRelationshipRepository<S, I extends Serializable, T, J extends S
 		return map;
 	}
 
+	/**
+	 * Serves the targets from the source entities if the relationship has already been fetched by the source
+	 * repository, see {@link JpaRepositoryConfig#isFetchIncludedRelations()}. Relations included from the targets
+	 * are fetched for all targets at once. Requests with sparse fieldsets are not served from the fetched entities
+	 * and fall back to a query.
+	 * 
+	 * @return targets or null if they must be queried
+	 */
 	@SuppressWarnings("unchecked")
-	private MultivaluedMap<I, T> mapTuples(List<Tuple> tuples) {
-		MultivaluedMap<I, T> map = new MultivaluedMap<I, T>() {
+	private MultivaluedMap<I, T> getFetchedTargets(List<I> sourceIds, String fieldName, QuerySpec querySpec) {
+		boolean plainQuery = querySpec.getFilters().isEmpty() && querySpec.getSort().isEmpty() && querySpec.getLimit() == null
+				&& querySpec.getOffset() == 0 && querySpec.getIncludedFields().isEmpty();
+		if (sourceConfig == null || !sourceConfig.isFetchIncludedRelations() || !plainQuery || !module.getFilters().isEmpty()
+				|| repositoryConfig.getResourceClass() != repositoryConfig.getEntityClass()) {
+			return null;
+		}
+
+		EntityManager em = module.getEntityManager();
+		PersistenceUnitUtil persistenceUnitUtil = em.getEntityManagerFactory().getPersistenceUnitUtil();
+		MetaAttribute attrMeta = entityMeta.getAttribute(fieldName);
+		List<Object> sources = new ArrayList<>();
+		for (I sourceId : sourceIds) {
+			// does not hit the database, references of entities not yet loaded remain uninitialized
+			Object source = em.getReference(sourceEntityClass, sourceId);
+			if (!persistenceUnitUtil.isLoaded(source) || !persistenceUnitUtil.isLoaded(source, fieldName)) {
+				return null;
+			}
+			sources.add(source);
+		}
+
+		MultivaluedMap<I, T> map = newTargetMap();
+		List<Object> targets = new ArrayList<>();
+		for (int i = 0; i < sourceIds.size(); i++) {
+			I sourceId = sourceIds.get(i);
+			Object value = attrMeta.getValue(sources.get(i));
+			if (value instanceof Collection) {
+				for (Object target : (Collection<Object>) value) {
+					map.add(sourceId, (T) target);
+					targets.add(target);
+				}
+			}
+			else if (value != null) {
+				map.add(sourceId, (T) value);
+				targets.add(value);
+			}
+		}
+		if (!querySpec.getIncludedRelations().isEmpty() && !targets.isEmpty()) {
+			MetaEntity targetMeta = module.getJpaMetaLookup().getMeta(repositoryConfig.getEntityClass(), MetaEntity.class);
+			IncludeFetchPlan.createForLoaded(targetMeta, querySpec).applyBatchFetches(em, targets);
+		}
+		return map;
+	}
+
+	private MultivaluedMap<I, T> newTargetMap() {
+		return new MultivaluedMap<I, T>() {
 
 			@Override
 			protected List<T> newList() {
 				return repositoryConfig.newResultList();
 			}
 		};
+	}
+
+	@SuppressWarnings("unchecked")
+	private MultivaluedMap<I, T> mapTuples(List<Tuple> tuples) {
+		MultivaluedMap<I, T> map = newTargetMap();
 		for (Tuple tuple : tuples) {
 			I sourceId = (I) tuple.get(0, Object.class);
 			tuple.reduce(1);
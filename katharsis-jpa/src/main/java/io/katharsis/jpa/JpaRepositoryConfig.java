@@ -5,6 +5,9 @@ import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.persistence.CacheRetrieveMode;
+import javax.persistence.CacheStoreMode;
+
 import io.katharsis.core.internal.utils.ClassUtils;
 import io.katharsis.jpa.mapping.IdentityMapper;
 import io.katharsis.jpa.mapping.JpaMapper;
@@ -42,6 +45,22 @@ public class JpaRepositoryConfig<T> {
 
 	private Map<Class<?>, RelationshipRepositoryDecorator<T, ?, ?, ?>> relationshipRepositoriesDecorators;
 
+	private boolean queryCacheEnabled;
+
+	private String cacheRegion;
+
+	private CacheRetrieveMode cacheRetrieveMode;
+
+	private CacheStoreMode cacheStoreMode;
+
+	private JpaCacheInvalidationListener cacheInvalidationListener;
+
+	private boolean readAfterWrite;
+
+	private int writeBatchSize;
+
+	private boolean fetchIncludedRelations;
+
 	private JpaRepositoryConfig() {
 	}
 
@@ -64,6 +83,22 @@ public class JpaRepositoryConfig<T> {
 
 		private Map<Class<?>, RelationshipRepositoryDecorator<T, ?, ?, ?>> relationshipRepositoryDecorators = new HashMap<>();
 
+		private boolean queryCacheEnabled;
+
+		private String cacheRegion;
+
+		private CacheRetrieveMode cacheRetrieveMode;
+
+		private CacheStoreMode cacheStoreMode;
+
+		private JpaCacheInvalidationListener cacheInvalidationListener;
+
+		private boolean readAfterWrite = true;
+
+		private int writeBatchSize = 0;
+
+		private boolean fetchIncludedRelations;
+
 		public JpaRepositoryConfig<T> build() {
 			JpaRepositoryConfig<T> config = new JpaRepositoryConfig<>();
 			config.entityClass = entityClass;
@@ -74,6 +109,14 @@ public class JpaRepositoryConfig<T> {
 			config.listLinksClass = listLinksClass;
 			config.resourceRepositoryDecorator = resourceRepositoryDecorator;
 			config.relationshipRepositoriesDecorators = relationshipRepositoryDecorators;
+			config.queryCacheEnabled = queryCacheEnabled;
+			config.cacheRegion = cacheRegion;
+			config.cacheRetrieveMode = cacheRetrieveMode;
+			config.cacheStoreMode = cacheStoreMode;
+			config.cacheInvalidationListener = cacheInvalidationListener;
+			config.readAfterWrite = readAfterWrite;
+			config.writeBatchSize = writeBatchSize;
+			config.fetchIncludedRelations = fetchIncludedRelations;
 			return config;
 		}
 
@@ -155,6 +198,101 @@ public class JpaRepositoryConfig<T> {
 			this.relationshipRepositoryDecorators.put(targetClass, decoratorRelationshipRepository);
 			return this;
 		}
+
+		/**
+		 * Enables the query cache of the JPA implementation for all queries of this repository. Well suited for
+		 * reference data that is read often and rarely modified. The query cache must also be enabled in the
+		 * persistence unit.
+		 * 
+		 * @param queryCacheEnabled true to cache query results
+		 * @return this builder
+		 */
+		public Builder<T> setQueryCacheEnabled(boolean queryCacheEnabled) {
+			this.queryCacheEnabled = queryCacheEnabled;
+			return this;
+		}
+
+		/**
+		 * @param cacheRegion to store the cached query results in, uses the default region if not set.
+		 * @return this builder
+		 */
+		public Builder<T> setCacheRegion(String cacheRegion) {
+			this.cacheRegion = cacheRegion;
+			return this;
+		}
+
+		/**
+		 * @param cacheRetrieveMode controlling whether entities are read from the second-level cache. Only passed as
+		 *            hint to the queries, which includes findOne since it is a query by primary key as well. Whether
+		 *            the hint is honored is up to the JPA implementation.
+		 * @return this builder
+		 */
+		public Builder<T> setCacheRetrieveMode(CacheRetrieveMode cacheRetrieveMode) {
+			this.cacheRetrieveMode = cacheRetrieveMode;
+			return this;
+		}
+
+		/**
+		 * @param cacheStoreMode controlling whether fetched entities are put into the second-level cache.
+		 * @return this builder
+		 */
+		public Builder<T> setCacheStoreMode(CacheStoreMode cacheStoreMode) {
+			this.cacheStoreMode = cacheStoreMode;
+			return this;
+		}
+
+		/**
+		 * @param cacheInvalidationListener to notify when entities of this repository are modified or deleted.
+		 * @return this builder
+		 */
+		public Builder<T> setCacheInvalidationListener(JpaCacheInvalidationListener cacheInvalidationListener) {
+			this.cacheInvalidationListener = cacheInvalidationListener;
+			return this;
+		}
+
+		/**
+		 * By default created and updated resources are queried again to return computed attributes and database
+		 * defaults. If disabled, the managed entity is mapped directly, saving a query for every write. Computed
+		 * attributes are not available to the mapper in this case.
+		 * 
+		 * @param readAfterWrite true to query written resources again
+		 * @return this builder
+		 */
+		public Builder<T> setReadAfterWrite(boolean readAfterWrite) {
+			this.readAfterWrite = readAfterWrite;
+			return this;
+		}
+
+		/**
+		 * Sets the number of entities after which bulk writes flush the EntityManager and detach the entities written
+		 * so far. Should match the JDBC batch size of the JPA implementation (like hibernate.jdbc.batch_size) to let
+		 * inserts and updates be sent in batches while keeping the persistence context small. Zero disables
+		 * intermediate flushes.
+		 * 
+		 * @param writeBatchSize number of entities per flush
+		 * @return this builder
+		 */
+		public Builder<T> setWriteBatchSize(int writeBatchSize) {
+			if (writeBatchSize < 0) {
+				throw new IllegalArgumentException("writeBatchSize must not be negative");
+			}
+			this.writeBatchSize = writeBatchSize;
+			return this;
+		}
+
+		/**
+		 * Enables the fetching of included relations together with the requested entities. Single-valued relations
+		 * are join fetched, multi-valued relations are fetched with one additional query per inclusion level. The
+		 * relationship repositories then serve the inclusions from the fetched entities instead of querying them again.
+		 * Only applies to entities that are directly exposed as resources.
+		 * 
+		 * @param fetchIncludedRelations true to fetch included relations with the main query
+		 * @return this builder
+		 */
+		public Builder<T> setFetchIncludedRelations(boolean fetchIncludedRelations) {
+			this.fetchIncludedRelations = fetchIncludedRelations;
+			return this;
+		}
 	}
 
 	/**
@@ -253,4 +391,36 @@ public class JpaRepositoryConfig<T> {
 			Class<D> targetResourceType) {
 		return (RelationshipRepositoryDecorator<T, I, D, J>) relationshipRepositoriesDecorators.get(targetResourceType);
 	}
+
+	public boolean isQueryCacheEnabled() {
+		return queryCacheEnabled;
+	}
+
+	public String getCacheRegion() {
+		return cacheRegion;
+	}
+
+	public CacheRetrieveMode getCacheRetrieveMode() {
+		return cacheRetrieveMode;
+	}
+
+	public CacheStoreMode getCacheStoreMode() {
+		return cacheStoreMode;
+	}
+
+	public JpaCacheInvalidationListener getCacheInvalidationListener() {
+		return cacheInvalidationListener;
+	}
+
+	public boolean isReadAfterWrite() {
+		return readAfterWrite;
+	}
+
+	public int getWriteBatchSize() {
+		return writeBatchSize;
+	}
+
+	public boolean isFetchIncludedRelations() {
+		return fetchIncludedRelations;
+	}
 }
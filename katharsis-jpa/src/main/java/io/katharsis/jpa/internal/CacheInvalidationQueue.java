@@ -0,0 +1,110 @@
+package io.katharsis.jpa.internal;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import io.katharsis.jpa.JpaCacheInvalidationListener;
+
+/**
+ * Holds back the notifications of {@link JpaCacheInvalidationListener}s until the transaction they were raised in
+ * committed. Evicting caches before the commit would let concurrent requests fill them again with the old state.
+ * Notifications of transactions rolled back are dropped. Notifications raised outside of a transaction started with
+ * {@link #begin()} are delivered right away.
+ */
+public class CacheInvalidationQueue {
+
+	private final ThreadLocal<Set<Notification>> pending = new ThreadLocal<>();
+
+	/**
+	 * Starts collecting the notifications of the current thread, unless already doing so.
+	 *
+	 * @return true if collection started and must be ended with {@link #commit()} or {@link #discard()}
+	 */
+	public boolean begin() {
+		if (pending.get() != null) {
+			return false;
+		}
+		pending.set(new LinkedHashSet<Notification>());
+		return true;
+	}
+
+	/**
+	 * Delivers the collected notifications, once each, after the transaction committed.
+	 */
+	public void commit() {
+		Set<Notification> notifications = pending.get();
+		pending.remove();
+		if (notifications != null) {
+			for (Notification notification : notifications) {
+				notification.deliver();
+			}
+		}
+	}
+
+	/**
+	 * Drops the collected notifications, used if the transaction has been rolled back.
+	 */
+	public void discard() {
+		pending.remove();
+	}
+
+	public void modified(JpaCacheInvalidationListener listener, Class<?> entityClass, Object id) {
+		add(new Notification(listener, entityClass, id, false));
+	}
+
+	public void deleted(JpaCacheInvalidationListener listener, Class<?> entityClass, Object id) {
+		add(new Notification(listener, entityClass, id, true));
+	}
+
+	private void add(Notification notification) {
+		Set<Notification> notifications = pending.get();
+		if (notifications != null) {
+			notifications.add(notification);
+		}
+		else {
+			notification.deliver();
+		}
+	}
+
+	private static final class Notification {
+
+		private final JpaCacheInvalidationListener listener;
+
+		private final Class<?> entityClass;
+
+		private final Object id;
+
+		private final boolean deleted;
+
+		Notification(JpaCacheInvalidationListener listener, Class<?> entityClass, Object id, boolean deleted) {
+			this.listener = listener;
+			this.entityClass = entityClass;
+			this.id = id;
+			this.deleted = deleted;
+		}
+
+		void deliver() {
+			if (deleted) {
+				listener.onDeleted(entityClass, id);
+			}
+			else {
+				listener.onModified(entityClass, id);
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return (listener.hashCode() * 31 + entityClass.hashCode()) * 31 + id.hashCode() + (deleted ? 1 : 0);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Notification)) {
+				return false;
+			}
+			Notification other = (Notification) obj;
+			return listener.equals(other.listener) && entityClass.equals(other.entityClass) && id.equals(other.id)
+					&& deleted == other.deleted;
+		}
+	}
+}
@@ -0,0 +1,190 @@
+package io.katharsis.jpa.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Root;
+
+import io.katharsis.jpa.meta.MetaEntity;
+import io.katharsis.jpa.query.JpaQueryExecutor;
+import io.katharsis.meta.model.MetaAttribute;
+import io.katharsis.meta.model.MetaAttributePath;
+import io.katharsis.meta.model.MetaType;
+import io.katharsis.queryspec.IncludeSpec;
+import io.katharsis.queryspec.QuerySpec;
+
+/**
+ * Plans how to fetch the relations included by a request together with the requested entities. Leading single-valued
+ * relations of an inclusion path are join fetched with the main query since they do not multiply the number of rows
+ * and leave paging intact. Starting with the first multi-valued relation, the remainder of the path is fetched level
+ * by level with one IN query per batch of owners. The fetched relations end up in the persistence context where
+ * they are picked up by the relationship repositories without further queries.
+ */
+public class IncludeFetchPlan {
+
+	private static final int BATCH_SIZE = 1000;
+
+	private List<MetaAttributePath> joinFetchPaths = new ArrayList<>();
+
+	private List<MetaAttributePath> batchFetchPaths = new ArrayList<>();
+
+	private IncludeFetchPlan() {
+	}
+
+	/**
+	 * @param meta of the queried entity
+	 * @param querySpec holding the inclusions
+	 * @return plan to fetch the included relations
+	 */
+	public static IncludeFetchPlan create(MetaEntity meta, QuerySpec querySpec) {
+		IncludeFetchPlan plan = new IncludeFetchPlan();
+		for (IncludeSpec includeSpec : querySpec.getIncludedRelations()) {
+			MetaAttributePath path = meta.resolvePath(includeSpec.getAttributePath());
+
+			int joinLength = 0;
+			while (joinLength < path.length() && isJoinFetchable(path.getElement(joinLength))) {
+				joinLength++;
+			}
+			if (joinLength > 0) {
+				plan.joinFetchPaths.add(path.subPath(0, joinLength));
+			}
+			if (joinLength < path.length()) {
+				plan.batchFetchPaths.add(path);
+			}
+		}
+		return plan;
+	}
+
+	/**
+	 * @param meta of the entities
+	 * @param querySpec holding the inclusions
+	 * @return plan fetching all inclusions with separate queries, to be applied to entities that have already been
+	 *         loaded
+	 */
+	public static IncludeFetchPlan createForLoaded(MetaEntity meta, QuerySpec querySpec) {
+		IncludeFetchPlan plan = new IncludeFetchPlan();
+		for (IncludeSpec includeSpec : querySpec.getIncludedRelations()) {
+			plan.batchFetchPaths.add(meta.resolvePath(includeSpec.getAttributePath()));
+		}
+		return plan;
+	}
+
+	private static boolean isJoinFetchable(MetaAttribute attr) {
+		return attr.isAssociation() && !attr.getType().isCollection();
+	}
+
+	/**
+	 * @return paths of single-valued relations to join fetch with the main query.
+	 */
+	public List<MetaAttributePath> getJoinFetchPaths() {
+		return joinFetchPaths;
+	}
+
+	/**
+	 * @return paths containing multi-valued relations to fetch with separate queries.
+	 */
+	public List<MetaAttributePath> getBatchFetchPaths() {
+		return batchFetchPaths;
+	}
+
+	/**
+	 * @param executor to setup the join fetches for
+	 */
+	public void applyJoinFetches(JpaQueryExecutor<?> executor) {
+		for (MetaAttributePath path : joinFetchPaths) {
+			executor.fetch(toNames(path));
+		}
+	}
+
+	/**
+	 * Fetches the remaining relations for the given entities, which must be managed by the given EntityManager.
+	 * Relations already loaded are not fetched again.
+	 *
+	 * @param em to use
+	 * @param entities to fetch the relations for
+	 */
+	public void applyBatchFetches(EntityManager em, Collection<?> entities) {
+		for (MetaAttributePath path : batchFetchPaths) {
+			Collection<Object> owners = new LinkedHashSet<>(entities);
+			for (MetaAttribute attr : path) {
+				if (!attr.isAssociation() || owners.isEmpty()) {
+					break;
+				}
+				MetaType elementType = attr.getType().isCollection() ? attr.getType().asCollection().getElementType()
+						: attr.getType();
+				if (!(elementType instanceof MetaEntity)) {
+					break;
+				}
+				fetch(em, owners, attr);
+				owners = getValues(owners, attr);
+			}
+		}
+	}
+
+	private static void fetch(EntityManager em, Collection<Object> owners, MetaAttribute attr) {
+		Class<?> ownerClass = attr.getParent().getImplementationClass();
+		MetaAttribute primaryKeyAttr = JpaRepositoryUtils.getPrimaryKeyAttr(attr.getParent());
+		PersistenceUnitUtil persistenceUnitUtil = em.getEntityManagerFactory().getPersistenceUnitUtil();
+
+		List<Object> ids = new ArrayList<>();
+		for (Object owner : owners) {
+			if (ownerClass.isInstance(owner) && !persistenceUnitUtil.isLoaded(owner, attr.getName())) {
+				// works for uninitialized references as well
+				ids.add(persistenceUnitUtil.getIdentifier(owner));
+			}
+		}
+		for (int i = 0; i < ids.size(); i += BATCH_SIZE) {
+			List<Object> batchIds = ids.subList(i, Math.min(i + BATCH_SIZE, ids.size()));
+			fetchBatch(em, ownerClass, primaryKeyAttr, attr, batchIds);
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static void fetchBatch(EntityManager em, Class ownerClass, MetaAttribute primaryKeyAttr, MetaAttribute attr,
+			List<Object> ids) {
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object> query = cb.createQuery(ownerClass);
+		Root<Object> root = query.from(ownerClass);
+		root.fetch(attr.getName(), JoinType.LEFT);
+		query.select(root);
+		query.distinct(true);
+		ParameterExpression<List> idsParameter = cb.parameter(List.class);
+		query.where(root.get(primaryKeyAttr.getName()).in(idsParameter));
+		em.createQuery(query).setParameter(idsParameter, ids).getResultList();
+	}
+
+	private static Collection<Object> getValues(Collection<Object> owners, MetaAttribute attr) {
+		Set<Object> values = new LinkedHashSet<>();
+		Class<?> ownerClass = attr.getParent().getImplementationClass();
+		for (Object owner : owners) {
+			if (!ownerClass.isInstance(owner)) {
+				continue;
+			}
+			Object value = attr.getValue(owner);
+			if (value instanceof Collection) {
+				values.addAll((Collection<?>) value);
+			}
+			else if (value != null) {
+				values.add(value);
+			}
+		}
+		return values;
+	}
+
+	private static List<String> toNames(MetaAttributePath path) {
+		List<String> names = new ArrayList<>();
+		for (MetaAttribute attr : path) {
+			names.add(attr.getName());
+		}
+		return names;
+	}
+}
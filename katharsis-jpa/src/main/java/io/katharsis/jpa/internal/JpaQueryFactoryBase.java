@@ -2,6 +2,7 @@ package io.katharsis.jpa.internal;
 
 import javax.persistence.EntityManager;
 
+import io.katharsis.jpa.internal.query.AttributePathCache;
 import io.katharsis.jpa.internal.query.ComputedAttributeRegistryImpl;
 import io.katharsis.jpa.query.ComputedAttributeRegistry;
 import io.katharsis.jpa.query.JpaQueryFactory;
@@ -14,14 +15,17 @@ public abstract class JpaQueryFactoryBase implements JpaQueryFactory {
 
 	protected ComputedAttributeRegistryImpl computedAttrs = new ComputedAttributeRegistryImpl();
 
+	protected AttributePathCache pathCache = new AttributePathCache(computedAttrs);
+
 	protected MetaLookup metaLookup;
-	
+
 
 	@Override
 	public void initalize(JpaQueryFactoryContext context) {
 		this.em = context.getEntityManager();
 		this.metaLookup = context.getMetaLookup();
 		this.computedAttrs.init(context);
+		this.pathCache.clear();
 	}
 
 	public EntityManager getEntityManager() {
@@ -31,4 +35,11 @@ public abstract class JpaQueryFactoryBase implements JpaQueryFactory {
 	public ComputedAttributeRegistry getComputedAttributes() {
 		return computedAttrs;
 	}
+
+	/**
+	 * @return cache of resolved query paths, provides hit and miss statistics.
+	 */
+	public AttributePathCache getPathCache() {
+		return pathCache;
+	}
 }
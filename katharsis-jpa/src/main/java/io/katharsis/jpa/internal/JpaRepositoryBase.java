@@ -4,6 +4,7 @@ import java.util.List;
 
 import javax.persistence.EntityManager;
 
+import io.katharsis.jpa.JpaCacheInvalidationListener;
 import io.katharsis.jpa.JpaModule;
 import io.katharsis.jpa.JpaRepositoryConfig;
 import io.katharsis.jpa.JpaRepositoryFilter;
@@ -106,4 +107,32 @@ public abstract class JpaRepositoryBase<T> {
 		}
 		return resources;
 	}
+
+	/**
+	 * Notifies the cache invalidation listener of the given repository about a modified entity. Within a request the
+	 * notification is deferred until the transaction committed, see {@link CacheInvalidationQueue}.
+	 * 
+	 * @param config of the repository owning the entity, may be null if not exposed
+	 * @param id of the modified entity
+	 */
+	protected void notifyModified(JpaRepositoryConfig<?> config, Object id) {
+		JpaCacheInvalidationListener listener = config != null ? config.getCacheInvalidationListener() : null;
+		if (listener != null && id != null) {
+			module.getCacheInvalidationQueue().modified(listener, config.getEntityClass(), id);
+		}
+	}
+
+	/**
+	 * Notifies the cache invalidation listener of the given repository about a deleted entity. Within a request the
+	 * notification is deferred until the transaction committed, see {@link CacheInvalidationQueue}.
+	 * 
+	 * @param config of the repository owning the entity, may be null if not exposed
+	 * @param id of the deleted entity
+	 */
+	protected void notifyDeleted(JpaRepositoryConfig<?> config, Object id) {
+		JpaCacheInvalidationListener listener = config != null ? config.getCacheInvalidationListener() : null;
+		if (listener != null && id != null) {
+			module.getCacheInvalidationQueue().deleted(listener, config.getEntityClass(), id);
+		}
+	}
 }
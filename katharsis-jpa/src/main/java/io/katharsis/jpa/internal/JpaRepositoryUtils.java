@@ -4,11 +4,21 @@ import java.lang.reflect.Type;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Deque;
 import java.util.Set;
 
+import javax.persistence.CascadeType;
+import javax.persistence.EntityManager;
+import javax.persistence.ManyToMany;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.OneToOne;
+import javax.persistence.PersistenceUnitUtil;
+
 import io.katharsis.core.internal.utils.PreconditionUtil;
 import io.katharsis.core.internal.utils.PropertyUtils;
+import io.katharsis.jpa.JpaRepositoryConfig;
 import io.katharsis.jpa.annotations.JpaMergeRelations;
 import io.katharsis.jpa.meta.MetaJpaDataObject;
 import io.katharsis.jpa.query.JpaQuery;
@@ -17,6 +27,7 @@ import io.katharsis.meta.MetaLookup;
 import io.katharsis.meta.model.MetaAttribute;
 import io.katharsis.meta.model.MetaDataObject;
 import io.katharsis.meta.model.MetaKey;
+import io.katharsis.meta.model.MetaType;
 import io.katharsis.queryspec.FilterSpec;
 import io.katharsis.queryspec.IncludeSpec;
 import io.katharsis.queryspec.QuerySpec;
@@ -24,6 +35,12 @@ import io.katharsis.queryspec.SortSpec;
 
 public class JpaRepositoryUtils {
 
+	public static final String HINT_CACHE_REGION = "org.hibernate.cacheRegion";
+
+	public static final String HINT_CACHE_RETRIEVE_MODE = "javax.persistence.cache.retrieveMode";
+
+	public static final String HINT_CACHE_STORE_MODE = "javax.persistence.cache.storeMode";
+
 	private JpaRepositoryUtils() {
 	}
 
@@ -80,6 +97,27 @@ public class JpaRepositoryUtils {
 
 	}
 
+	/**
+	 * Applies the caching policy of the repository to the executor.
+	 * 
+	 * @param executor to setup
+	 * @param config of the repository
+	 */
+	public static void prepareCaching(JpaQueryExecutor<?> executor, JpaRepositoryConfig<?> config) {
+		if (config.isQueryCacheEnabled()) {
+			executor.setCached(true);
+			if (config.getCacheRegion() != null) {
+				executor.setHint(HINT_CACHE_REGION, config.getCacheRegion());
+			}
+		}
+		if (config.getCacheRetrieveMode() != null) {
+			executor.setHint(HINT_CACHE_RETRIEVE_MODE, config.getCacheRetrieveMode());
+		}
+		if (config.getCacheStoreMode() != null) {
+			executor.setHint(HINT_CACHE_STORE_MODE, config.getCacheStoreMode());
+		}
+	}
+
 	/**
 	 * related attribute that are merged into a resource should be loaded by
 	 * graph control to avoid lazy-loading or potential lack of session in
@@ -108,4 +146,68 @@ public class JpaRepositoryUtils {
 		}
 	}
 
+	/**
+	 * Collects the given entity and all the entities reachable from it through associations cascading persist
+	 * operations. Associations not yet loaded are skipped to not trigger any lazy loading.
+	 *
+	 * @param em to use
+	 * @param meta of the entity
+	 * @param entity to start with
+	 * @param entities to add the collected entities to
+	 */
+	public static void collectCascadedEntities(EntityManager em, MetaDataObject meta, Object entity,
+			Set<Object> entities) {
+		if (!entities.add(entity)) {
+			return;
+		}
+		PersistenceUnitUtil unitUtil = em.getEntityManagerFactory().getPersistenceUnitUtil();
+		for (MetaAttribute attr : meta.getAttributes()) {
+			if (!attr.isAssociation() || !isCascadePersist(attr) || !unitUtil.isLoaded(entity, attr.getName())) {
+				continue;
+			}
+			MetaType type = attr.getType();
+			MetaType elementType = type.isCollection() ? type.asCollection().getElementType() : type;
+			if (!(elementType instanceof MetaDataObject)) {
+				continue;
+			}
+			Object value = attr.getValue(entity);
+			if (value instanceof Collection) {
+				for (Object element : (Collection<?>) value) {
+					if (element != null) {
+						collectCascadedEntities(em, (MetaDataObject) elementType, element, entities);
+					}
+				}
+			}
+			else if (value != null) {
+				collectCascadedEntities(em, (MetaDataObject) elementType, value, entities);
+			}
+		}
+	}
+
+	private static boolean isCascadePersist(MetaAttribute attr) {
+		CascadeType[] cascades = new CascadeType[0];
+		OneToOne oneOneAnnotation = attr.getAnnotation(OneToOne.class);
+		OneToMany oneManyAnnotation = attr.getAnnotation(OneToMany.class);
+		ManyToOne manyOneAnnotation = attr.getAnnotation(ManyToOne.class);
+		ManyToMany manyManyAnnotation = attr.getAnnotation(ManyToMany.class);
+		if (oneOneAnnotation != null) {
+			cascades = oneOneAnnotation.cascade();
+		}
+		else if (oneManyAnnotation != null) {
+			cascades = oneManyAnnotation.cascade();
+		}
+		else if (manyOneAnnotation != null) {
+			cascades = manyOneAnnotation.cascade();
+		}
+		else if (manyManyAnnotation != null) {
+			cascades = manyManyAnnotation.cascade();
+		}
+		for (CascadeType cascade : cascades) {
+			if (cascade == CascadeType.PERSIST || cascade == CascadeType.ALL) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 }
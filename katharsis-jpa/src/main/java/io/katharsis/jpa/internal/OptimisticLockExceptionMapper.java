@@ -8,10 +8,10 @@ import javax.persistence.OptimisticLockException;
 
 import io.katharsis.errorhandling.ErrorData;
 import io.katharsis.errorhandling.ErrorResponse;
-import io.katharsis.errorhandling.mapper.ExceptionMapper;
+import io.katharsis.errorhandling.mapper.HttpStatusExceptionMapper;
 import io.katharsis.repository.response.HttpStatus;
 
-public class OptimisticLockExceptionMapper implements ExceptionMapper<OptimisticLockException> {
+public class OptimisticLockExceptionMapper implements HttpStatusExceptionMapper<OptimisticLockException> {
 
 	private static final String META_TYPE_KEY = "type";
 
@@ -35,6 +35,11 @@ public class OptimisticLockExceptionMapper implements ExceptionMapper<Optimistic
 		return new OptimisticLockException(msg);
 	}
 
+	@Override
+	public int[] getAcceptedHttpStatuses() {
+		return new int[] { HttpStatus.CONFLICT_409 };
+	}
+
 	@Override
 	public boolean accepts(ErrorResponse errorResponse) {
 		if (errorResponse.getHttpStatus() != HttpStatus.CONFLICT_409) {
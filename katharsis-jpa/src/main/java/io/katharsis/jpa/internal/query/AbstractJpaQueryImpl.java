@@ -57,15 +57,18 @@ public abstract class AbstractJpaQueryImpl<T, B extends JpaQueryBackend<?, ?, ?,
 	protected boolean parentIdSelection;
 
 	private ComputedAttributeRegistryImpl computedAttrs;
+
+	private AttributePathCache pathCache;
 	
 	private Object privateData;
 
 	protected AbstractJpaQueryImpl(MetaLookup metaLookup, EntityManager em, Class<T> clazz,
-			ComputedAttributeRegistryImpl computedAttrs) {
+			ComputedAttributeRegistryImpl computedAttrs, AttributePathCache pathCache) {
 		this.em = em;
 		this.clazz = clazz;
 		this.meta = metaLookup.getMeta(clazz, MetaJpaDataObject.class);
 		this.computedAttrs = computedAttrs;
+		this.pathCache = pathCache;
 	}
 	
 	public Object getPrivateData(){
@@ -78,9 +81,10 @@ public abstract class AbstractJpaQueryImpl<T, B extends JpaQueryBackend<?, ?, ?,
 
 	@SuppressWarnings("unchecked")
 	public AbstractJpaQueryImpl(MetaLookup metaLookup, EntityManager em, Class<?> entityClass,
-			ComputedAttributeRegistryImpl virtualAttrs, String attrName, List<?> entityIds) {
+			ComputedAttributeRegistryImpl virtualAttrs, AttributePathCache pathCache, String attrName, List<?> entityIds) {
 		this.em = em;
 		this.computedAttrs = virtualAttrs;
+		this.pathCache = pathCache;
 
 		this.parentMeta = metaLookup.getMeta(entityClass, MetaJpaDataObject.class);
 		MetaAttribute attrMeta = parentMeta.getAttribute(attrName);
@@ -189,6 +193,10 @@ public abstract class AbstractJpaQueryImpl<T, B extends JpaQueryBackend<?, ?, ?,
 		return computedAttrs;
 	}
 
+	public AttributePathCache getPathCache() {
+		return pathCache;
+	}
+
 	public MetaDataObject getMeta() {
 		return meta;
 	}
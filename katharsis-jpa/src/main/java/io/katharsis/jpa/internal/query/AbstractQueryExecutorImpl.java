@@ -3,8 +3,11 @@ package io.katharsis.jpa.internal.query;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 import javax.persistence.EntityGraph;
@@ -13,17 +16,28 @@ import javax.persistence.Query;
 import javax.persistence.Subgraph;
 
 import io.katharsis.jpa.query.JpaQueryExecutor;
+import io.katharsis.meta.model.MetaAttribute;
 import io.katharsis.meta.model.MetaAttributePath;
 import io.katharsis.meta.model.MetaDataObject;
 
 public abstract class AbstractQueryExecutorImpl<T> implements JpaQueryExecutor<T> {
 
+	private static final int DEFAULT_BATCH_SIZE = 1000;
+
+	private static final Object NO_ROW = new Object();
+
 	protected int offset = 0;
 
 	protected int limit = -1;
 
 	protected boolean cached = false;
 
+	protected int batchSize = DEFAULT_BATCH_SIZE;
+
+	protected boolean detachFetched = false;
+
+	protected Map<String, Object> hints = new LinkedHashMap<>();
+
 	protected EntityManager em;
 
 	protected int numAutoSelections;
@@ -62,6 +76,32 @@ public abstract class AbstractQueryExecutorImpl<T> implements JpaQueryExecutor<T
 		return this;
 	}
 
+	@Override
+	public JpaQueryExecutor<T> setHint(String name, Object value) {
+		if (value != null) {
+			hints.put(name, value);
+		}
+		else {
+			hints.remove(name);
+		}
+		return this;
+	}
+
+	@Override
+	public JpaQueryExecutor<T> setBatchSize(int batchSize) {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("batchSize must be positive");
+		}
+		this.batchSize = batchSize;
+		return this;
+	}
+
+	@Override
+	public JpaQueryExecutor<T> setDetachFetched(boolean detachFetched) {
+		this.detachFetched = detachFetched;
+		return this;
+	}
+
 	@Override
 	public JpaQueryExecutor<T> setOffset(int offset) {
 		this.offset = offset;
@@ -85,21 +125,69 @@ public abstract class AbstractQueryExecutorImpl<T> implements JpaQueryExecutor<T
 	@Override
 	public List<T> getResultList() {
 		List<?> list = executeQuery();
+		if (!isCompoundSelection()) {
+			return (List<T>) list;
+		}
 		// due to sorting & distinct we have a multiselect even
 		// if we are only interested in the entites.
-		List<T> resultList;
-		if (isCompoundSelection()) {
-			List<T> entityList = new ArrayList<>();
-			for (Object obj : list) {
-				Object[] values = (Object[]) obj;
-				entityList.add((T) values[0]);
+		List<T> resultList = new ArrayList<>(list.size());
+		for (Object obj : list) {
+			resultList.add(toEntity(obj));
+		}
+		return resultList;
+	}
+
+	@Override
+	public Iterator<T> getResultIterator() {
+		final Iterator<Object> rowIterator = getRowIterator();
+		return new Iterator<T>() {
+
+			@Override
+			public boolean hasNext() {
+				return rowIterator.hasNext();
+			}
+
+			@Override
+			public T next() {
+				return toEntity(rowIterator.next());
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
 			}
-			resultList = entityList;
+		};
+	}
+
+	/**
+	 * @return rows of the query fetched batch-wise, with distinct and tuple truncation applied incrementally.
+	 */
+	protected Iterator<Object> getRowIterator() {
+		if (hasCollectionFetches()) {
+			// paging would be applied in memory by the JPA provider and could split an entity across two batches
+			throw new IllegalStateException(
+					"batch-wise iteration does not support fetching multi-valued relations, use getResultList instead");
 		}
-		else {
-			resultList = (List<T>) list;
+		return new BatchRowIterator();
+	}
+
+	private boolean hasCollectionFetches() {
+		for (MetaAttributePath fetchPath : fetchPaths) {
+			for (MetaAttribute attr : fetchPath) {
+				if (attr.getType().isCollection()) {
+					return true;
+				}
+			}
 		}
-		return resultList;
+		return hasManyRootsFetches();
+	}
+
+	@SuppressWarnings("unchecked")
+	private T toEntity(Object row) {
+		if (isCompoundSelection()) {
+			return (T) ((Object[]) row)[0];
+		}
+		return (T) row;
 	}
 
 	protected abstract boolean isCompoundSelection();
@@ -117,15 +205,10 @@ public abstract class AbstractQueryExecutorImpl<T> implements JpaQueryExecutor<T
 			throw new IllegalStateException("no result found");
 	}
 
-	protected List<Object> truncateTuples(List<?> list, int numToRemove) {
-		ArrayList<Object> truncatedList = new ArrayList<>();
-		for (Object obj : list) {
-			Object[] tuple = (Object[]) obj;
-			Object[] truncatedTuple = new Object[tuple.length - numToRemove];
-			System.arraycopy(tuple, 0, truncatedTuple, 0, truncatedTuple.length);
-			truncatedList.add(truncatedTuple);
-		}
-		return truncatedList;
+	protected static Object[] truncateTuple(Object[] tuple, int numToRemove) {
+		Object[] truncatedTuple = new Object[tuple.length - numToRemove];
+		System.arraycopy(tuple, 0, truncatedTuple, 0, truncatedTuple.length);
+		return truncatedTuple;
 	}
 
 	static class TupleElement {
@@ -153,21 +236,6 @@ public abstract class AbstractQueryExecutorImpl<T> implements JpaQueryExecutor<T
 		}
 	}
 
-	protected static List<Object[]> enforceDistinct(List<?> list) {
-		HashSet<TupleElement> distinctSet = new HashSet<>();
-		ArrayList<Object[]> distinctResult = new ArrayList<>();
-		for (Object obj : list) {
-			Object[] values = (Object[]) obj;
-			TupleElement tuple = new TupleElement(values);
-			if (!distinctSet.contains(tuple)) {
-				distinctSet.add(tuple);
-				distinctResult.add(values);
-			}
-		}
-
-		return distinctResult;
-	}
-
 	@SuppressWarnings("unchecked")
 	@Override
 	public Class<T> getEntityClass() {
@@ -197,6 +265,14 @@ public abstract class AbstractQueryExecutorImpl<T> implements JpaQueryExecutor<T
 	public abstract Query getTypedQuery();
 
 	protected Query setupQuery(Query typedQuery) {
+		setupQuery(typedQuery, offset, limit);
+		return typedQuery;
+	}
+
+	/**
+	 * Applies the fetch graph and hints of this executor and restricts the query to the given window.
+	 */
+	private void setupQuery(Query typedQuery, int firstResult, int maxResults) {
 		// apply graph control
 		applyFetchPaths(typedQuery);
 
@@ -204,37 +280,150 @@ public abstract class AbstractQueryExecutorImpl<T> implements JpaQueryExecutor<T
 		if (cached) {
 			typedQuery.setHint("org.hibernate.cacheable", Boolean.TRUE);
 		}
+		for (Map.Entry<String, Object> hint : hints.entrySet()) {
+			typedQuery.setHint(hint.getKey(), hint.getValue());
+		}
 
-		if (limit > 0) {
-			typedQuery.setMaxResults(limit);
+		if (maxResults > 0) {
+			typedQuery.setMaxResults(maxResults);
 		}
-		typedQuery.setFirstResult(offset);
-		return typedQuery;
+		typedQuery.setFirstResult(firstResult);
 	}
 
-	@SuppressWarnings("rawtypes")
+	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public List<T> executeQuery() {
 		Query typedQuery = getTypedQuery();
-		
+
 		setupQuery(typedQuery);
 
 		// query execution
 		List resultList = typedQuery.getResultList();
 
-		// post processing (distinct and tuples => views)
-		if (isCompoundSelection() && isDistinct() && hasManyRootsFetchesOrJoins()) {
-			resultList = enforceDistinct(resultList);
+		// post processing (distinct and tuples => views) in a single pass
+		boolean distinct = requiresDistinct();
+		if (!distinct && numAutoSelections == 0) {
+			return resultList;
 		}
+		Set<TupleElement> distinctSet = distinct ? new HashSet<TupleElement>() : null;
+		List processedList = new ArrayList<>(resultList.size());
+		for (Object row : resultList) {
+			Object processedRow = postProcessRow(row, distinctSet);
+			if (processedRow != NO_ROW) {
+				processedList.add(processedRow);
+			}
+		}
+		return processedList;
+	}
+
+	private boolean requiresDistinct() {
+		return isCompoundSelection() && isDistinct() && hasManyRootsFetchesOrJoins();
+	}
 
+	/**
+	 * @return row with auto selections removed or NO_ROW if the row is a duplicate to be skipped.
+	 */
+	private Object postProcessRow(Object row, Set<TupleElement> distinctSet) {
+		if (distinctSet != null && !distinctSet.add(new TupleElement((Object[]) row))) {
+			return NO_ROW;
+		}
 		if (numAutoSelections > 0) {
-			resultList = truncateTuples(resultList, numAutoSelections);
+			return truncateTuple((Object[]) row, numAutoSelections);
 		}
+		return row;
+	}
 
-		return resultList;
+	/**
+	 * Fetches the rows of the query window by window with at most batchSize elements. A total order is
+	 * established by the query builder by default, making the windows stable. Every window is set up like a regular
+	 * query, with the fetch graph and hints applied.
+	 */
+	private class BatchRowIterator implements Iterator<Object> {
+
+		private final Set<TupleElement> distinctSet = requiresDistinct() ? new HashSet<TupleElement>() : null;
+
+		private int nextOffset = offset;
+
+		private int remaining = limit;
+
+		private boolean exhausted = false;
+
+		private Iterator<?> batchIterator = null;
+
+		private List<?> batch = null;
+
+		private Object next = NO_ROW;
+
+		@Override
+		public boolean hasNext() {
+			while (next == NO_ROW) {
+				if (batchIterator == null || !batchIterator.hasNext()) {
+					if (!fetchBatch()) {
+						return false;
+					}
+				}
+				else {
+					next = postProcessRow(batchIterator.next(), distinctSet);
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public Object next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Object result = next;
+			next = NO_ROW;
+			return result;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		private boolean fetchBatch() {
+			detachBatch();
+			if (exhausted || remaining == 0) {
+				return false;
+			}
+			int windowSize = remaining > 0 ? Math.min(batchSize, remaining) : batchSize;
+
+			Query typedQuery = getTypedQuery();
+			setupQuery(typedQuery, nextOffset, windowSize);
+			batch = typedQuery.getResultList();
+
+			nextOffset += batch.size();
+			if (remaining > 0) {
+				remaining -= batch.size();
+			}
+			exhausted = batch.size() < windowSize;
+			batchIterator = batch.iterator();
+			return !batch.isEmpty();
+		}
+
+		private void detachBatch() {
+			if (detachFetched && batch != null) {
+				Class<T> entityClass = getEntityClass();
+				for (Object row : batch) {
+					Object entity = row instanceof Object[] ? ((Object[]) row)[0] : row;
+					if (entityClass.isInstance(entity)) {
+						em.detach(entity);
+					}
+				}
+			}
+			batch = null;
+		}
 	}
 
 	protected abstract boolean hasManyRootsFetchesOrJoins();
 
+	/**
+	 * @return true if the query fetch joins a multi-valued relation.
+	 */
+	protected abstract boolean hasManyRootsFetches();
+
 	protected abstract boolean isDistinct();
 
 }
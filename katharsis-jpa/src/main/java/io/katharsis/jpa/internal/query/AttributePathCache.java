@@ -0,0 +1,160 @@
+package io.katharsis.jpa.internal.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.katharsis.meta.model.MetaAttribute;
+import io.katharsis.meta.model.MetaAttributeFinder;
+import io.katharsis.meta.model.MetaAttributePath;
+import io.katharsis.meta.model.MetaDataObject;
+
+/**
+ * Caches the resolution of filter, sort and selection paths of queries. Entries only depend on the structure of a
+ * query, not its values. Together with the binding of filter values as query parameters, this allows queries of the
+ * same shape to skip the path resolution and to hit the query plan cache of the JPA implementation.
+ */
+public class AttributePathCache {
+
+	private static final int DEFAULT_MAX_SIZE = 10000;
+
+	private static final MetaAttributeFinder SUBTYPE_ATTRIBUTE_FINDER = new MetaAttributeFinder() {
+
+		@Override
+		public MetaAttribute getAttribute(MetaDataObject meta, String name) {
+			return meta.findAttribute(name, true);
+		}
+	};
+
+	private final Map<CacheKey, MetaAttributePath> cache;
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	private final MetaAttributeFinder computedAttributeFinder;
+
+	public AttributePathCache(final ComputedAttributeRegistryImpl computedAttrs) {
+		this(computedAttrs, DEFAULT_MAX_SIZE);
+	}
+
+	@SuppressWarnings("serial")
+	public AttributePathCache(final ComputedAttributeRegistryImpl computedAttrs, final int maxSize) {
+		this.cache = Collections.synchronizedMap(new LinkedHashMap<CacheKey, MetaAttributePath>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CacheKey, MetaAttributePath> eldest) {
+				return size() > maxSize;
+			}
+		});
+		this.computedAttributeFinder = new MetaAttributeFinder() {
+
+			@Override
+			public MetaAttribute getAttribute(MetaDataObject meta, String name) {
+				MetaComputedAttribute attr = computedAttrs.get(meta, name);
+				if (attr != null) {
+					return attr;
+				}
+				return meta.findAttribute(name, true);
+			}
+		};
+	}
+
+	/**
+	 * @return finder that takes computed attributes and attributes of sub types into account.
+	 */
+	public MetaAttributeFinder getComputedAttributeFinder() {
+		return computedAttributeFinder;
+	}
+
+	/**
+	 * @param meta to resolve the path for
+	 * @param attrPath to resolve
+	 * @return resolved path, computed attributes and attributes of sub types taken into account
+	 */
+	public MetaAttributePath resolvePath(MetaDataObject meta, List<String> attrPath) {
+		return resolvePath(meta, attrPath, computedAttributeFinder);
+	}
+
+	/**
+	 * @param meta to resolve the path for
+	 * @param attrPath to resolve
+	 * @return resolved path, attributes of sub types taken into account
+	 */
+	public MetaAttributePath resolveSubTypePath(MetaDataObject meta, List<String> attrPath) {
+		return resolvePath(meta, attrPath, SUBTYPE_ATTRIBUTE_FINDER);
+	}
+
+	/**
+	 * @param meta to resolve the path for
+	 * @param attrPath to resolve
+	 * @param finder to lookup attributes, must be a long-living instance to be cacheable.
+	 * @return resolved path
+	 */
+	public MetaAttributePath resolvePath(MetaDataObject meta, List<String> attrPath, MetaAttributeFinder finder) {
+		CacheKey key = new CacheKey(meta, attrPath, finder);
+		MetaAttributePath path = cache.get(key);
+		if (path != null) {
+			hitCount.incrementAndGet();
+			return path;
+		}
+		missCount.incrementAndGet();
+		path = meta.resolvePath(attrPath, finder);
+		cache.put(key, path);
+		return path;
+	}
+
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	public int getSize() {
+		return cache.size();
+	}
+
+	public void clear() {
+		cache.clear();
+		hitCount.set(0);
+		missCount.set(0);
+	}
+
+	private static final class CacheKey {
+
+		private final MetaDataObject meta;
+
+		private final List<String> attrPath;
+
+		private final MetaAttributeFinder finder;
+
+		private final int hashCode;
+
+		CacheKey(MetaDataObject meta, List<String> attrPath, MetaAttributeFinder finder) {
+			this.meta = meta;
+			this.attrPath = new ArrayList<>(attrPath);
+			this.finder = finder;
+			this.hashCode = 31 * (31 * System.identityHashCode(meta) + this.attrPath.hashCode())
+					+ System.identityHashCode(finder);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			return meta == other.meta && finder == other.finder && attrPath.equals(other.attrPath);
+		}
+	}
+}
@@ -7,7 +7,6 @@ import java.util.Map;
 
 import io.katharsis.jpa.internal.query.backend.JpaQueryBackend;
 import io.katharsis.meta.model.MetaAttribute;
-import io.katharsis.meta.model.MetaAttributeFinder;
 import io.katharsis.meta.model.MetaAttributePath;
 import io.katharsis.meta.model.MetaDataObject;
 import io.katharsis.meta.model.MetaKey;
@@ -22,24 +21,12 @@ public class QueryBuilder<T, F, O, P, E> {
 
 	private AbstractJpaQueryImpl<T, ?> query;
 
-	private MetaAttributeFinder attributeFinder;
+	private AttributePathCache pathCache;
 
 	public QueryBuilder(AbstractJpaQueryImpl<T, ?> query, JpaQueryBackend<F, O, P, E> backend) {
 		this.query = query;
 		this.backend = backend;
-
-		final ComputedAttributeRegistryImpl virtualAttrs = query.getComputedAttrs();
-		this.attributeFinder = new MetaAttributeFinder() {
-
-			@Override
-			public MetaAttribute getAttribute(MetaDataObject meta, String name) {
-				MetaComputedAttribute attr = virtualAttrs.get(meta, name);
-				if (attr != null) {
-					return attr;
-				}
-				return meta.findAttribute(name, true);
-			}
-		};
+		this.pathCache = query.getPathCache();
 	}
 
 	/**
@@ -81,7 +68,7 @@ public class QueryBuilder<T, F, O, P, E> {
 		
 		List<IncludeFieldSpec> includedFields = query.getIncludedFields();
 		for (IncludeFieldSpec includedField : includedFields) {
-			MetaAttributePath path = meta.resolvePath(includedField.getAttributePath(), attributeFinder);
+			MetaAttributePath path = pathCache.resolvePath(meta, includedField.getAttributePath());
 			E attr = backend.getAttribute(path);
 			
 			backend.addSelection(attr, path.toString());
@@ -112,7 +99,7 @@ public class QueryBuilder<T, F, O, P, E> {
 	}
 
 	protected void applyFilterSpec() {
-		QueryFilterBuilder<P, F> predicateBuilder = new QueryFilterBuilder<>(query.getComputedAttrs(), backend, attributeFinder);
+		QueryFilterBuilder<P, F> predicateBuilder = new QueryFilterBuilder<>(backend, pathCache);
 
 		MetaDataObject meta = query.getMeta();
 		List<FilterSpec> filters = query.getFilterSpecs();
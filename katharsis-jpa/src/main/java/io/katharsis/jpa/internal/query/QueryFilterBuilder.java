@@ -10,7 +10,6 @@ import javax.persistence.criteria.JoinType;
 import io.katharsis.jpa.internal.query.backend.JpaQueryBackend;
 import io.katharsis.jpa.query.AnyTypeObject;
 import io.katharsis.meta.model.MetaAttribute;
-import io.katharsis.meta.model.MetaAttributeFinder;
 import io.katharsis.meta.model.MetaAttributePath;
 import io.katharsis.meta.model.MetaDataObject;
 import io.katharsis.meta.model.MetaMapType;
@@ -22,14 +21,13 @@ public final class QueryFilterBuilder<P, F> {
 
 	private static final int PARAM_LIMIT_FOR_ORACLE = 900;
 
-	private MetaAttributeFinder attributeFinder;
+	private AttributePathCache pathCache;
 
 	private JpaQueryBackend<F, ?, P, ?> backend;
 
-	protected QueryFilterBuilder(final ComputedAttributeRegistryImpl virtualAttrs, JpaQueryBackend<F, ?, P, ?> backend,
-			MetaAttributeFinder attributeFinder) {
+	protected QueryFilterBuilder(JpaQueryBackend<F, ?, P, ?> backend, AttributePathCache pathCache) {
 		this.backend = backend;
-		this.attributeFinder = attributeFinder;
+		this.pathCache = pathCache;
 	}
 
 	public List<P> filterSpecListToPredicateArray(MetaDataObject rootMeta, F root, List<FilterSpec> rowFilters) {
@@ -84,7 +82,7 @@ public final class QueryFilterBuilder<P, F> {
 			Set<?> set = (Set<?>) value;
 			value = new ArrayList<Object>(set);
 		}
-		MetaAttributePath path = rootMeta.resolvePath(fs.getAttributePath(), attributeFinder);
+		MetaAttributePath path = pathCache.resolvePath(rootMeta, fs.getAttributePath());
 		path = enhanceAttributePath(path, value);
 		return backend.buildPredicate(fs.getOperator(), path, value);
 	}
@@ -57,7 +57,7 @@ public class QuerySortBuilder<T, E, O> {
 		List<O> orders = new ArrayList<>();
 
 		// check for AnyType
-		MetaAttributePath path = query.getMeta().resolvePath(sortSpec.getAttributePath(), true);
+		MetaAttributePath path = query.getPathCache().resolveSubTypePath(query.getMeta(), sortSpec.getAttributePath());
 		MetaAttribute attr = path.getLast();
 		MetaType valueType = attr.getType();
 		if (valueType instanceof MetaMapType) {
@@ -68,6 +68,14 @@ public class QueryUtil {
     return false;
   }
 
+  public static boolean hasManyRootsFetches(CriteriaQuery<?> criteriaQuery) {
+    for (Root<?> root : criteriaQuery.getRoots()) {
+      if (containsMultiRelationFetch(root.getFetches()))
+        return true;
+    }
+    return false;
+  }
+
   private static boolean containsMultiRelationFetch(Set<?> fetches) {
     for (Object fetchObj : fetches) {
       Fetch<?, ?> fetch = (Fetch<?, ?>) fetchObj;
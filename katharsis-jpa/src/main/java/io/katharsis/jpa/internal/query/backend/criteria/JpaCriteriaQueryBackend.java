@@ -3,7 +3,9 @@ package io.katharsis.jpa.internal.query.backend.criteria;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.persistence.EntityManager;
 import javax.persistence.criteria.CriteriaBuilder;
@@ -13,6 +15,7 @@ import javax.persistence.criteria.From;
 import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.MapJoin;
 import javax.persistence.criteria.Order;
+import javax.persistence.criteria.ParameterExpression;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
@@ -34,6 +37,19 @@ import io.katharsis.queryspec.FilterOperator;
 
 public class JpaCriteriaQueryBackend<T> implements JpaQueryBackend<From<?, ?>, Order, Predicate, Expression<?>> {
 
+	private static final Map<Class<?>, Class<?>> PRIMITIVE_WRAPPERS = new HashMap<>();
+
+	static {
+		PRIMITIVE_WRAPPERS.put(boolean.class, Boolean.class);
+		PRIMITIVE_WRAPPERS.put(byte.class, Byte.class);
+		PRIMITIVE_WRAPPERS.put(char.class, Character.class);
+		PRIMITIVE_WRAPPERS.put(short.class, Short.class);
+		PRIMITIVE_WRAPPERS.put(int.class, Integer.class);
+		PRIMITIVE_WRAPPERS.put(long.class, Long.class);
+		PRIMITIVE_WRAPPERS.put(float.class, Float.class);
+		PRIMITIVE_WRAPPERS.put(double.class, Double.class);
+	}
+
 	private CriteriaQuery<T> criteriaQuery;
 
 	private JoinRegistry<From<?, ?>, Expression<?>> joinHelper;
@@ -46,6 +62,8 @@ public class JpaCriteriaQueryBackend<T> implements JpaQueryBackend<From<?, ?>, O
 
 	private JpaCriteriaQueryImpl<T> queryImpl;
 
+	private Map<ParameterExpression<?>, Object> parameterBindings = new HashMap<>();
+
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public JpaCriteriaQueryBackend(JpaCriteriaQueryImpl<T> query, EntityManager em, Class<T> clazz, MetaDataObject parentMeta,
 			MetaAttribute parentAttr, boolean parentIdSelection) {
@@ -139,7 +157,7 @@ public class JpaCriteriaQueryBackend<T> implements JpaQueryBackend<From<?, ?>, O
 	public void addParentPredicate(MetaAttribute primaryKeyAttr) {
 		List<?> parentIds = queryImpl.getParentIds();
 		Path<Object> parentIdPath = parentFrom.get(primaryKeyAttr.getName());
-		addPredicate(parentIdPath.in(new ArrayList<Object>(parentIds)));
+		addPredicate(parentIdPath.in(newParameter(List.class, new ArrayList<Object>(parentIds))));
 	}
 
 	@Override
@@ -209,16 +227,16 @@ public class JpaCriteriaQueryBackend<T> implements JpaQueryBackend<From<?, ?>, O
 			return ilike(expression, value.toString());
 		}
 		else if (operator == FilterOperator.GT) {
-			return cb.greaterThan(expression, (Comparable) value);
+			return cb.greaterThan(expression, toComparableExpression(expression, value));
 		}
 		else if (operator == FilterOperator.LT) {
-			return cb.lessThan(expression, (Comparable) value);
+			return cb.lessThan(expression, toComparableExpression(expression, value));
 		}
 		else if (operator == FilterOperator.GE) {
-			return cb.greaterThanOrEqualTo(expression, (Comparable) value);
+			return cb.greaterThanOrEqualTo(expression, toComparableExpression(expression, value));
 		}
 		else if (operator == FilterOperator.LE) {
-			return cb.lessThanOrEqualTo(expression, (Comparable) value);
+			return cb.lessThanOrEqualTo(expression, toComparableExpression(expression, value));
 		}
 		else {
 			throw new IllegalStateException("unexpected operator " + operator);
@@ -226,10 +244,46 @@ public class JpaCriteriaQueryBackend<T> implements JpaQueryBackend<From<?, ?>, O
 
 	}
 
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private Expression<? extends Comparable> toComparableExpression(Expression<?> expression, Object value) {
+		if (isParameterizable(expression, value)) {
+			return newParameter((Class) value.getClass(), value);
+		}
+		return cb.literal((Comparable) value);
+	}
+
+	/**
+	 * Values are bound as parameters rather than literals. JPA implementations may render literals inline (like
+	 * Hibernate does for numbers), resulting in a different JPQL statement and query plan for every filter value.
+	 */
+	private static boolean isParameterizable(Expression<?> expression, Object value) {
+		if (value == null) {
+			return false;
+		}
+		Class<?> javaType = expression.getJavaType();
+		if (javaType.isPrimitive()) {
+			return PRIMITIVE_WRAPPERS.get(javaType) == value.getClass();
+		}
+		return javaType.isInstance(value);
+	}
+
+	private <P> ParameterExpression<P> newParameter(Class<P> type, P value) {
+		ParameterExpression<P> parameter = cb.parameter(type);
+		parameterBindings.put(parameter, value);
+		return parameter;
+	}
+
+	/**
+	 * @return values to bind to the parameters of the query
+	 */
+	public Map<ParameterExpression<?>, Object> getParameterBindings() {
+		return parameterBindings;
+	}
+
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	private Predicate handleEquals(Expression<?> expression, FilterOperator operator, Object value) {
 		if (value instanceof List) {
-			Predicate p = expression.in(((List<?>) value).toArray());
+			Predicate p = expression.in(newParameter(List.class, (List) value));
 			return negateIfNeeded(p, operator);
 		}
 		else if (Collection.class.isAssignableFrom(expression.getJavaType())) {
@@ -243,6 +297,9 @@ public class JpaCriteriaQueryBackend<T> implements JpaQueryBackend<From<?, ?>, O
 		else if (value == null) {
 			return negateIfNeeded(cb.isNull(expression), operator);
 		}
+		else if (isParameterizable(expression, value)) {
+			return negateIfNeeded(cb.equal(expression, newParameter((Class) value.getClass(), value)), operator);
+		}
 		return negateIfNeeded(cb.equal(expression, value), operator);
 	}
 
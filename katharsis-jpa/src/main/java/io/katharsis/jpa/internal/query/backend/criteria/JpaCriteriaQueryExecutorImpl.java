@@ -1,6 +1,7 @@
 package io.katharsis.jpa.internal.query.backend.criteria;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -12,6 +13,7 @@ import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Order;
+import javax.persistence.criteria.ParameterExpression;
 import javax.persistence.criteria.Root;
 import javax.persistence.criteria.Selection;
 
@@ -25,21 +27,42 @@ public class JpaCriteriaQueryExecutorImpl<T> extends AbstractQueryExecutorImpl<T
 
 	private CriteriaQuery<T> query;
 
+	private Map<ParameterExpression<?>, Object> parameterBindings;
+
 	public JpaCriteriaQueryExecutorImpl(EntityManager em, MetaDataObject meta, CriteriaQuery<T> criteriaQuery,
-			int numAutoSelections, Map<String, Integer> selectionBindings) {
+			Map<ParameterExpression<?>, Object> parameterBindings, int numAutoSelections, Map<String, Integer> selectionBindings) {
 		super(em, meta, numAutoSelections, selectionBindings);
 
 		this.query = criteriaQuery;
+		this.parameterBindings = parameterBindings;
 	}
 
+	/**
+	 * @return criteria query. Filter values are bound as parameters, see {@link #getParameterBindings()}.
+	 */
 	public CriteriaQuery<T> getQuery() {
 		return query;
 	}
 
+	/**
+	 * @return values of the parameters used by the criteria query
+	 */
+	public Map<ParameterExpression<?>, Object> getParameterBindings() {
+		return parameterBindings;
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public TypedQuery<T> getTypedQuery() {
-		return (TypedQuery<T>) setupQuery(em.createQuery(query));
+		return (TypedQuery<T>) setupQuery(bindParameters(em.createQuery(query)));
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private <Q extends TypedQuery<?>> Q bindParameters(Q typedQuery) {
+		for (Map.Entry<ParameterExpression<?>, Object> entry : parameterBindings.entrySet()) {
+			typedQuery.setParameter((ParameterExpression) entry.getKey(), entry.getValue());
+		}
+		return typedQuery;
 	}
 
 	@Override
@@ -57,6 +80,11 @@ public class JpaCriteriaQueryExecutorImpl<T> extends AbstractQueryExecutorImpl<T
 		return QueryUtil.hasManyRootsFetchesOrJoins(query);
 	}
 
+	@Override
+	protected boolean hasManyRootsFetches() {
+		return QueryUtil.hasManyRootsFetches(query);
+	}
+
 	@Override
 	@SuppressWarnings({ "rawtypes" })
 	public long getTotalRowCount() {
@@ -79,7 +107,7 @@ public class JpaCriteriaQueryExecutorImpl<T> extends AbstractQueryExecutorImpl<T
 			countExpr = builder.count(root);
 			query.multiselect(countExpr);
 			query.orderBy(new ArrayList<Order>());
-			TypedQuery countQuery = em.createQuery(query);
+			TypedQuery countQuery = bindParameters(em.createQuery(query));
 
 			return (Long) countQuery.getSingleResult();
 		}
@@ -93,15 +121,42 @@ public class JpaCriteriaQueryExecutorImpl<T> extends AbstractQueryExecutorImpl<T
 	@Override
 	public List<Tuple> getResultTuples() {
 		List<?> results = executeQuery();
-		List<Tuple> tuples = new ArrayList<>();
+		List<Tuple> tuples = new ArrayList<>(results.size());
 		for (Object result : results) {
-			if (result instanceof Object[]) {
-				tuples.add(new CriteriaTupleImpl((Object[]) result, selectionBindings));
+			tuples.add(toTuple(result));
+		}
+		return tuples;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Iterator<Tuple> getResultTupleIterator() {
+		final Iterator<Object> rowIterator = getRowIterator();
+		return new Iterator<Tuple>() {
+
+			@Override
+			public boolean hasNext() {
+				return rowIterator.hasNext();
 			}
-			else {
-				tuples.add(new ObjectArrayTupleImpl(result));
+
+			@Override
+			public Tuple next() {
+				return toTuple(rowIterator.next());
 			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	private Tuple toTuple(Object result) {
+		if (result instanceof Object[]) {
+			return new CriteriaTupleImpl((Object[]) result, selectionBindings);
+		}
+		else {
+			return new ObjectArrayTupleImpl(result);
 		}
-		return tuples;
 	}
 }
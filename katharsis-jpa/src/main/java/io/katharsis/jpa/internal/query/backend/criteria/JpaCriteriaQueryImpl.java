@@ -7,6 +7,7 @@ import javax.persistence.EntityManager;
 import javax.persistence.criteria.CriteriaQuery;
 
 import io.katharsis.jpa.internal.query.AbstractJpaQueryImpl;
+import io.katharsis.jpa.internal.query.AttributePathCache;
 import io.katharsis.jpa.internal.query.ComputedAttributeRegistryImpl;
 import io.katharsis.jpa.query.criteria.JpaCriteriaQuery;
 import io.katharsis.meta.MetaLookup;
@@ -15,13 +16,13 @@ public class JpaCriteriaQueryImpl<T> extends AbstractJpaQueryImpl<T, JpaCriteria
 		implements JpaCriteriaQuery<T> {
 
 	public JpaCriteriaQueryImpl(MetaLookup metaLookup, EntityManager em, Class<T> clazz,
-			ComputedAttributeRegistryImpl virtualAttrs) {
-		super(metaLookup, em, clazz, virtualAttrs);
+			ComputedAttributeRegistryImpl virtualAttrs, AttributePathCache pathCache) {
+		super(metaLookup, em, clazz, virtualAttrs, pathCache);
 	}
 
 	public JpaCriteriaQueryImpl(MetaLookup metaLookup, EntityManager em, Class<?> clazz,
-			ComputedAttributeRegistryImpl virtualAttrs, String attrName, List<?> entityIds) {
-		super(metaLookup, em, clazz, virtualAttrs, attrName, entityIds);
+			ComputedAttributeRegistryImpl virtualAttrs, AttributePathCache pathCache, String attrName, List<?> entityIds) {
+		super(metaLookup, em, clazz, virtualAttrs, pathCache, attrName, entityIds);
 	}
 
 	public CriteriaQuery<T> buildQuery() {
@@ -40,6 +41,7 @@ public class JpaCriteriaQueryImpl<T> extends AbstractJpaQueryImpl<T, JpaCriteria
 
 	@Override
 	protected JpaCriteriaQueryExecutorImpl<T> newExecutor(JpaCriteriaQueryBackend<T> ctx, int numAutoSelections, Map<String, Integer> selectionBindings) {
-		return new JpaCriteriaQueryExecutorImpl<>(em, meta, ctx.getCriteriaQuery(), numAutoSelections, selectionBindings);
+		return new JpaCriteriaQueryExecutorImpl<>(em, meta, ctx.getCriteriaQuery(), ctx.getParameterBindings(),
+				numAutoSelections, selectionBindings);
 	}
 }
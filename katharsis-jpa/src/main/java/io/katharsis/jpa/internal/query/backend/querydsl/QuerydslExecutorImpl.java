@@ -1,6 +1,7 @@
 package io.katharsis.jpa.internal.query.backend.querydsl;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -58,6 +59,11 @@ public class QuerydslExecutorImpl<T> extends AbstractQueryExecutorImpl<T> implem
 		return QuerydslUtils.hasManyRootsFetchesOrJoins(query);
 	}
 
+	@Override
+	protected boolean hasManyRootsFetches() {
+		return QuerydslUtils.hasManyRootsFetches(query);
+	}
+
 	/**
 	 * Returns the row count for the query.
 	 */
@@ -70,15 +76,41 @@ public class QuerydslExecutorImpl<T> extends AbstractQueryExecutorImpl<T> implem
 	public List<QuerydslTuple> getResultTuples() {
 		List<?> results = executeQuery();
 
-		List<QuerydslTuple> tuples = new ArrayList<>();
+		List<QuerydslTuple> tuples = new ArrayList<>(results.size());
 		for (Object result : results) {
-			if (result instanceof Tuple) {
-				tuples.add(new QuerydslTupleImpl((Tuple) result, selectionBindings));
+			tuples.add(toTuple(result));
+		}
+		return tuples;
+	}
+
+	@Override
+	public Iterator<QuerydslTuple> getResultTupleIterator() {
+		final Iterator<Object> rowIterator = getRowIterator();
+		return new Iterator<QuerydslTuple>() {
+
+			@Override
+			public boolean hasNext() {
+				return rowIterator.hasNext();
+			}
+
+			@Override
+			public QuerydslTuple next() {
+				return toTuple(rowIterator.next());
 			}
-			else {
-				tuples.add(new ObjectArrayTupleImpl(result));
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
 			}
+		};
+	}
+
+	private QuerydslTuple toTuple(Object result) {
+		if (result instanceof Tuple) {
+			return new QuerydslTupleImpl((Tuple) result, selectionBindings);
+		}
+		else {
+			return new ObjectArrayTupleImpl(result);
 		}
-		return tuples;
 	}
 }
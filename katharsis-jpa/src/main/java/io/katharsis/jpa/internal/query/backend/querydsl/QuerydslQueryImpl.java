@@ -8,6 +8,7 @@ import javax.persistence.EntityManager;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 
 import io.katharsis.jpa.internal.query.AbstractJpaQueryImpl;
+import io.katharsis.jpa.internal.query.AttributePathCache;
 import io.katharsis.jpa.internal.query.ComputedAttributeRegistryImpl;
 import io.katharsis.jpa.query.querydsl.QuerydslQuery;
 import io.katharsis.jpa.query.querydsl.QuerydslTranslationInterceptor;
@@ -20,15 +21,16 @@ public class QuerydslQueryImpl<T> extends AbstractJpaQueryImpl<T, QuerydslQueryB
 	private List<QuerydslTranslationInterceptor> translationInterceptors;
 
 	public QuerydslQueryImpl(MetaLookup metaLookup, EntityManager em, Class<T> clazz, ComputedAttributeRegistryImpl computedAttrs,
-			List<QuerydslTranslationInterceptor> translationInterceptors) {
-		super(metaLookup, em, clazz, computedAttrs);
+			AttributePathCache pathCache, List<QuerydslTranslationInterceptor> translationInterceptors) {
+		super(metaLookup, em, clazz, computedAttrs, pathCache);
 		this.translationInterceptors = translationInterceptors;
 		queryFactory = new JPAQueryFactory(em);
 	}
 
 	public QuerydslQueryImpl(MetaLookup metaLookup, EntityManager em, Class<?> clazz, ComputedAttributeRegistryImpl virtualAttrs,
-			List<QuerydslTranslationInterceptor> translationInterceptors, String attrName, List<?> entityIds) {
-		super(metaLookup, em, clazz, virtualAttrs, attrName, entityIds);
+			AttributePathCache pathCache, List<QuerydslTranslationInterceptor> translationInterceptors, String attrName,
+			List<?> entityIds) {
+		super(metaLookup, em, clazz, virtualAttrs, pathCache, attrName, entityIds);
 		this.translationInterceptors = translationInterceptors;
 		queryFactory = new JPAQueryFactory(em);
 	}
@@ -9,6 +9,7 @@ import com.querydsl.core.JoinExpression;
 import com.querydsl.core.types.CollectionExpression;
 import com.querydsl.core.types.EntityPath;
 import com.querydsl.core.types.Expression;
+import com.querydsl.jpa.JPAQueryMixin;
 import com.querydsl.jpa.impl.JPAQuery;
 
 class QuerydslUtils {
@@ -68,6 +69,16 @@ class QuerydslUtils {
 		return false;
 	}
 
+	public static boolean hasManyRootsFetches(JPAQuery<?> query) {
+		List<JoinExpression> joins = query.getMetadata().getJoins();
+		for (JoinExpression join : joins) {
+			if (join.hasFlag(JPAQueryMixin.FETCH) && join.getTarget() instanceof CollectionExpression) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	public static Class<?> getQueryClass(Class<?> entityClass) {
 		String queryClassName = entityClass.getPackage().getName() + ".Q" + entityClass.getSimpleName();
 		try {
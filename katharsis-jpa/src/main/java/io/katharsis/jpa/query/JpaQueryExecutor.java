@@ -1,5 +1,6 @@
 package io.katharsis.jpa.query;
 
+import java.util.Iterator;
 import java.util.List;
 
 public interface JpaQueryExecutor<T> {
@@ -21,9 +22,48 @@ public interface JpaQueryExecutor<T> {
 
 	public JpaQueryExecutor<T> setCached(boolean cached);
 
+	/**
+	 * Sets a hint to be passed to the underlying JPA query, like a cache region or cache mode.
+	 * 
+	 * @param name of the hint
+	 * @param value of the hint
+	 * @return this executor
+	 */
+	public JpaQueryExecutor<T> setHint(String name, Object value);
+
 	public JpaQueryExecutor<T> fetch(List<String> attrPath);
 
 	public Class<T> getEntityClass();
 
 	public <U extends Tuple> List<U> getResultTuples();
+
+	/**
+	 * Sets the number of rows fetched per query by {@link #getResultIterator()} and
+	 * {@link #getResultTupleIterator()}. Each batch is a separate query restricted to a window of the result with
+	 * setFirstResult/setMaxResults, it is not the JDBC fetch size.
+	 * 
+	 * @param batchSize number of rows per batch
+	 * @return this executor
+	 */
+	public JpaQueryExecutor<T> setBatchSize(int batchSize);
+
+	/**
+	 * @param detachFetched if true, entities returned by an iterator are detached from the EntityManager once the iterator
+	 *            moves on to the next batch. Allows to iterate over large result sets with constant memory.
+	 * @return this executor
+	 */
+	public JpaQueryExecutor<T> setDetachFetched(boolean detachFetched);
+
+	/**
+	 * @return iterator over the results. Rows are fetched in batches of {@link #setBatchSize(int)} rather than being
+	 *         loaded all at once. Fetching of multi-valued relations is not supported as it cannot be combined with
+	 *         paging.
+	 * @throws IllegalStateException if a multi-valued relation is fetched
+	 */
+	public Iterator<T> getResultIterator();
+
+	/**
+	 * @return iterator over the result tuples, see {@link #getResultIterator()}.
+	 */
+	public <U extends Tuple> Iterator<U> getResultTupleIterator();
 }
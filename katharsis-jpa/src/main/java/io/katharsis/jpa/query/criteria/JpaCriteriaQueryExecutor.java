@@ -1,5 +1,6 @@
 package io.katharsis.jpa.query.criteria;
 
+import java.util.Iterator;
 import java.util.List;
 
 import javax.persistence.Tuple;
@@ -15,4 +16,11 @@ public interface JpaCriteriaQueryExecutor<T> extends JpaQueryExecutor<T> {
 	@Override
 	public List<Tuple> getResultTuples();
 
+	/**
+	 * @return tuple iterator when doing a custom selection.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public Iterator<Tuple> getResultTupleIterator();
+
 }
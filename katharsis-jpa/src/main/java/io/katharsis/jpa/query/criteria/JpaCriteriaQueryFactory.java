@@ -18,17 +18,18 @@ public class JpaCriteriaQueryFactory extends JpaQueryFactoryBase implements JpaQ
 
 	@Override
 	public <T> JpaCriteriaQuery<T> query(Class<T> entityClass) {
-		return new JpaCriteriaQueryImpl<>(metaLookup, em, entityClass, computedAttrs);
+		return new JpaCriteriaQueryImpl<>(metaLookup, em, entityClass, computedAttrs, pathCache);
 	}
 
 	@Override
 	public <T> JpaCriteriaQuery<T> query(Class<?> entityClass, String attrName, List<?> entityIds) {
-		return new JpaCriteriaQueryImpl<>(metaLookup, em, entityClass, computedAttrs, attrName, entityIds);
+		return new JpaCriteriaQueryImpl<>(metaLookup, em, entityClass, computedAttrs, pathCache, attrName, entityIds);
 	}
 
 	public void registerComputedAttribute(Class<?> targetClass, String attributeName, Type attributeType,
 			JpaCriteriaExpressionFactory<?> expressionFactory) {
 		computedAttrs.register(targetClass, attributeName, expressionFactory, attributeType);
+		pathCache.clear();
 	}
 
 }
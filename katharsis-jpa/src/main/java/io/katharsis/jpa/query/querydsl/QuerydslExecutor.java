@@ -1,5 +1,6 @@
 package io.katharsis.jpa.query.querydsl;
 
+import java.util.Iterator;
 import java.util.List;
 
 import com.querydsl.jpa.impl.JPAQuery;
@@ -11,6 +12,9 @@ public interface QuerydslExecutor<T> extends JpaQueryExecutor<T> {
 	@Override
 	public List<QuerydslTuple> getResultTuples();
 
+	@Override
+	public Iterator<QuerydslTuple> getResultTupleIterator();
+
 	public void setQuery(JPAQuery<T> query);
 
 	public JPAQuery<T> getQuery();
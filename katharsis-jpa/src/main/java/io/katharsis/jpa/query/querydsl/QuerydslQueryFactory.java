@@ -25,17 +25,18 @@ public class QuerydslQueryFactory extends JpaQueryFactoryBase implements JpaQuer
 
 	@Override
 	public <T> QuerydslQuery<T> query(Class<T> entityClass) {
-		return new QuerydslQueryImpl<>(metaLookup, em, entityClass, computedAttrs, interceptors);
+		return new QuerydslQueryImpl<>(metaLookup, em, entityClass, computedAttrs, pathCache, interceptors);
 	}
 
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	@Override
 	public <T> QuerydslQuery<T> query(Class<?> entityClass, String attrName, List<?> entityIds) {
-		return new QuerydslQueryImpl(metaLookup, em, entityClass, computedAttrs, interceptors, attrName, entityIds);
+		return new QuerydslQueryImpl(metaLookup, em, entityClass, computedAttrs, pathCache, interceptors, attrName, entityIds);
 	}
 
 	public void registerComputedAttribute(Class<?> targetClass, String attributeName, Type attributeType,
 			QuerydslExpressionFactory<?> expressionFactory) {
 		computedAttrs.register(targetClass, attributeName, expressionFactory, attributeType);
+		pathCache.clear();
 	}
 }
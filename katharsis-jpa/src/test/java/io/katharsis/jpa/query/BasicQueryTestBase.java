@@ -8,6 +8,7 @@ import static org.junit.Assert.assertTrue;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 
 import javax.persistence.criteria.JoinType;
@@ -17,6 +18,8 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.katharsis.jpa.internal.JpaQueryFactoryBase;
+import io.katharsis.jpa.internal.query.AttributePathCache;
 import io.katharsis.jpa.model.RelatedEntity;
 import io.katharsis.jpa.model.TestEntity;
 import io.katharsis.queryspec.Direction;
@@ -336,6 +339,85 @@ public abstract class BasicQueryTestBase extends AbstractJpaTest {
 		assertEquals(0, exec.setWindow(5, 2).getResultList().size());
 	}
 
+	@Test
+	public void testPathCache() {
+		AttributePathCache pathCache = ((JpaQueryFactoryBase) queryFactory).getPathCache();
+		pathCache.clear();
+
+		builder().addFilter(TestEntity.ATTR_stringValue, FilterOperator.EQ, "test1").buildExecutor().getResultList();
+		assertEquals(0, pathCache.getHitCount());
+		assertEquals(1, pathCache.getMissCount());
+
+		// same shape, different value
+		builder().addFilter(TestEntity.ATTR_stringValue, FilterOperator.EQ, "test2").buildExecutor().getResultList();
+		assertEquals(1, pathCache.getHitCount());
+		assertEquals(1, pathCache.getMissCount());
+		assertEquals(1, pathCache.getSize());
+	}
+
+	@Test
+	public void testResultStream() {
+		JpaQueryExecutor<TestEntity> exec = builder().buildExecutor().setBatchSize(2);
+		List<TestEntity> list = toList(exec.getResultIterator());
+		assertEquals(5, list.size());
+		for (int i = 0; i < list.size(); i++) {
+			assertEquals(i, list.get(i).getId().intValue());
+		}
+
+		// apply paging
+		assertEquals(3, toList(exec.setWindow(1, 3).getResultIterator()).size());
+		assertEquals(1, toList(exec.setWindow(4, 3).getResultIterator()).size());
+		assertEquals(0, toList(exec.setWindow(5, -1).getResultIterator()).size());
+	}
+
+	@Test
+	public void testResultStreamDetachesFetched() {
+		JpaQueryExecutor<TestEntity> exec = builder().buildExecutor().setBatchSize(2).setDetachFetched(true);
+		List<TestEntity> list = toList(exec.getResultIterator());
+		assertEquals(5, list.size());
+		assertFalse(em.contains(list.get(0)));
+		assertFalse(em.contains(list.get(4)));
+	}
+
+	@Test
+	public void testResultStreamAppliesFetchGraph() {
+		JpaQueryExecutor<TestEntity> exec = builder().buildExecutor().setBatchSize(2)
+				.fetch(Arrays.asList(TestEntity.ATTR_oneRelatedValue));
+		List<TestEntity> list = toList(exec.getResultIterator());
+		assertEquals(5, list.size());
+		for (TestEntity test : list) {
+			RelatedEntity relatedValue = test.getOneRelatedValue();
+			if (relatedValue != null) {
+				assertTrue(Hibernate.isInitialized(relatedValue));
+			}
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testResultStreamRejectsCollectionFetch() {
+		builder().buildExecutor().fetch(Arrays.asList(TestEntity.ATTR_manyRelatedValues)).getResultIterator();
+	}
+
+	@Test
+	public void testResultTupleStream() {
+		JpaQuery<TestEntity> query = builder();
+		query.addSelection(Arrays.asList(TestEntity.ATTR_stringValue));
+		Iterator<io.katharsis.jpa.query.Tuple> iterator = query.buildExecutor().setBatchSize(3).getResultTupleIterator();
+		List<io.katharsis.jpa.query.Tuple> tuples = toList(iterator);
+		assertEquals(5, tuples.size());
+		for (int i = 0; i < tuples.size(); i++) {
+			assertEquals("test" + i, tuples.get(i).get(TestEntity.ATTR_stringValue, String.class));
+		}
+	}
+
+	private static <T> List<T> toList(Iterator<T> iterator) {
+		List<T> list = new ArrayList<>();
+		while (iterator.hasNext()) {
+			list.add(iterator.next());
+		}
+		return list;
+	}
+
 	@Test
 	public void testFilterNull() {
 		assertEquals(5, builder().buildExecutor().getResultList().size());
@@ -13,6 +13,7 @@ import io.katharsis.jpa.model.TestEntity;
 import io.katharsis.jpa.query.BasicQueryTestBase;
 import io.katharsis.jpa.query.JpaQuery;
 import io.katharsis.jpa.query.JpaQueryFactory;
+import io.katharsis.queryspec.FilterOperator;
 
 public class BasicCriteriaTest extends BasicQueryTestBase {
 
@@ -30,4 +31,20 @@ public class BasicCriteriaTest extends BasicQueryTestBase {
 		Map<String, Object> hints = typedQuery.getHints();
 		Assert.assertTrue(hints.containsKey("org.hibernate.cacheable"));
 	}
+
+	@Test
+	public void testFilterValuesBoundAsParameters() {
+		String queryString1 = getQueryString(1L);
+		String queryString2 = getQueryString(2L);
+		Assert.assertEquals(queryString1, queryString2);
+	}
+
+	private String getQueryString(long id) {
+		JpaQuery<TestEntity> builder = queryFactory.query(TestEntity.class);
+		builder.addFilter(TestEntity.ATTR_id, FilterOperator.EQ, id);
+		builder.addFilter(TestEntity.ATTR_longValue, FilterOperator.GT, id);
+		JpaCriteriaQueryExecutorImpl<TestEntity> executor = (JpaCriteriaQueryExecutorImpl<TestEntity>) builder.buildExecutor();
+		Assert.assertEquals(2, executor.getParameterBindings().size());
+		return executor.getTypedQuery().unwrap(org.hibernate.Query.class).getQueryString();
+	}
 }
@@ -1,7 +1,12 @@
 package io.katharsis.jpa.repository;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+
+import javax.persistence.CacheRetrieveMode;
+import javax.persistence.CacheStoreMode;
 
 import org.hibernate.Hibernate;
 import org.junit.Assert;
@@ -9,12 +14,18 @@ import org.junit.Before;
 import org.junit.Test;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.katharsis.jpa.JpaCacheInvalidationListener;
 import io.katharsis.jpa.JpaEntityRepository;
 import io.katharsis.jpa.JpaRepositoryConfig;
+import io.katharsis.jpa.JpaRepositoryFilterBase;
+import io.katharsis.jpa.internal.CacheInvalidationQueue;
+import io.katharsis.jpa.internal.JpaRepositoryUtils;
+import io.katharsis.jpa.internal.query.AbstractQueryExecutorImpl;
 import io.katharsis.jpa.model.RelatedEntity;
 import io.katharsis.jpa.model.SequenceEntity;
 import io.katharsis.jpa.model.TestEntity;
 import io.katharsis.jpa.query.AbstractJpaTest;
+import io.katharsis.jpa.query.JpaQueryExecutor;
 import io.katharsis.queryspec.Direction;
 import io.katharsis.queryspec.FilterOperator;
 import io.katharsis.queryspec.FilterSpec;
@@ -301,4 +312,189 @@ public abstract class JpaEntityRepositoryTestBase extends AbstractJpaTest {
 		entity = sequenceRepo.save(entity);
 		Assert.assertEquals("someUpdatedValue", entity.getStringValue());
 	}
+
+	@Test
+	public void testCachePolicy() {
+		JpaRepositoryConfig<TestEntity> config = JpaRepositoryConfig.builder(TestEntity.class).setQueryCacheEnabled(true)
+				.setCacheRegion("testRegion").setCacheRetrieveMode(CacheRetrieveMode.USE).setCacheStoreMode(CacheStoreMode.REFRESH)
+				.build();
+		JpaEntityRepository<TestEntity, Long> cachedRepo = new JpaEntityRepository<>(module, config);
+
+		final List<JpaQueryExecutor<?>> executors = new ArrayList<>();
+		JpaRepositoryFilterBase filter = new JpaRepositoryFilterBase() {
+
+			@Override
+			public <T> JpaQueryExecutor<T> filterExecutor(Object repository, QuerySpec querySpec, JpaQueryExecutor<T> executor) {
+				executors.add(executor);
+				return executor;
+			}
+		};
+		module.addFilter(filter);
+		try {
+			TestEntity entity = cachedRepo.findOne(2L, new QuerySpec(TestEntity.class));
+			Assert.assertEquals(2L, entity.getId().longValue());
+		}
+		finally {
+			module.removeFilter(filter);
+		}
+
+		Assert.assertEquals(1, executors.size());
+		AbstractQueryExecutorImpl<?> executor = (AbstractQueryExecutorImpl<?>) executors.get(0);
+		Map<String, Object> hints = executor.getTypedQuery().getHints();
+		Assert.assertEquals(Boolean.TRUE, hints.get("org.hibernate.cacheable"));
+		Assert.assertEquals("testRegion", hints.get(JpaRepositoryUtils.HINT_CACHE_REGION));
+		Assert.assertEquals(CacheRetrieveMode.USE, hints.get(JpaRepositoryUtils.HINT_CACHE_RETRIEVE_MODE));
+		Assert.assertEquals(CacheStoreMode.REFRESH, hints.get(JpaRepositoryUtils.HINT_CACHE_STORE_MODE));
+	}
+
+	@Test
+	public void testCacheInvalidation() {
+		List<String> events = new ArrayList<>();
+		JpaEntityRepository<TestEntity, Long> listenedRepo = newListenedRepository(events);
+
+		TestEntity entity = listenedRepo.findOne(2L, new QuerySpec(TestEntity.class));
+		entity.setStringValue("updated");
+		listenedRepo.save(entity);
+		listenedRepo.delete(2L);
+		listenedRepo.delete(100L);
+
+		Assert.assertEquals(Arrays.asList("modified:TestEntity:2", "deleted:TestEntity:2"), events);
+	}
+
+	@Test
+	public void testCacheInvalidationDeferredUntilCommit() {
+		List<String> events = new ArrayList<>();
+		JpaEntityRepository<TestEntity, Long> listenedRepo = newListenedRepository(events);
+		CacheInvalidationQueue queue = module.getCacheInvalidationQueue();
+
+		Assert.assertTrue(queue.begin());
+		Assert.assertFalse(queue.begin());
+		TestEntity entity = listenedRepo.findOne(2L, new QuerySpec(TestEntity.class));
+		entity.setStringValue("updated");
+		listenedRepo.save(entity);
+		listenedRepo.save(entity);
+		Assert.assertTrue(events.isEmpty());
+		queue.commit();
+		Assert.assertEquals(Arrays.asList("modified:TestEntity:2"), events);
+
+		events.clear();
+		Assert.assertTrue(queue.begin());
+		listenedRepo.delete(3L);
+		queue.discard();
+		Assert.assertTrue(events.isEmpty());
+	}
+
+	private JpaEntityRepository<TestEntity, Long> newListenedRepository(final List<String> events) {
+		JpaCacheInvalidationListener listener = new JpaCacheInvalidationListener() {
+
+			@Override
+			public void onModified(Class<?> entityClass, Object id) {
+				events.add("modified:" + entityClass.getSimpleName() + ":" + id);
+			}
+
+			@Override
+			public void onDeleted(Class<?> entityClass, Object id) {
+				events.add("deleted:" + entityClass.getSimpleName() + ":" + id);
+			}
+		};
+		JpaRepositoryConfig<TestEntity> config = JpaRepositoryConfig.builder(TestEntity.class)
+				.setCacheInvalidationListener(listener).build();
+		return new JpaEntityRepository<>(module, config);
+	}
+
+	@Test
+	public void testSaveAllInBatches() {
+		JpaRepositoryConfig<TestEntity> config = JpaRepositoryConfig.builder(TestEntity.class).setWriteBatchSize(2).build();
+		JpaEntityRepository<TestEntity, Long> batchRepo = new JpaEntityRepository<>(module, config);
+		TestEntity managedEntity = em.find(TestEntity.class, 0L);
+
+		List<TestEntity> entities = new ArrayList<>();
+		for (long i = 0; i < 5; i++) {
+			TestEntity entity = new TestEntity();
+			entity.setId(100L + i);
+			entity.setStringValue("bulk" + i);
+			entities.add(entity);
+		}
+		RelatedEntity cascadedEntity = new RelatedEntity();
+		cascadedEntity.setId(200L);
+		entities.get(0).setOneRelatedValue(cascadedEntity);
+		List<TestEntity> created = batchRepo.createAll(entities);
+		Assert.assertEquals(5, created.size());
+		for (int i = 0; i < 5; i++) {
+			Assert.assertEquals(100L + i, created.get(i).getId().longValue());
+			Assert.assertEquals("bulk" + i, created.get(i).getStringValue());
+		}
+		Assert.assertEquals(numTestEntities + 5, repo.findAll(new QuerySpec(TestEntity.class)).size());
+		Assert.assertTrue(em.contains(managedEntity));
+		Assert.assertFalse(em.contains(entities.get(0)));
+		Assert.assertFalse(em.contains(cascadedEntity));
+	}
+
+	@Test
+	public void testSaveReadsBackWithFilters() {
+		final List<Object> filteredIds = new ArrayList<>();
+		JpaRepositoryFilterBase filter = new JpaRepositoryFilterBase() {
+
+			@Override
+			public QuerySpec filterQuerySpec(Object repository, QuerySpec querySpec) {
+				QuerySpec filteredQuerySpec = querySpec.duplicate();
+				filteredQuerySpec.addFilter(new FilterSpec(Arrays.asList("stringValue"), FilterOperator.NEQ, "hidden"));
+				return filteredQuerySpec;
+			}
+
+			@Override
+			public <T> ResourceList<T> filterResults(Object repository, QuerySpec querySpec, ResourceList<T> resources) {
+				for (T resource : resources) {
+					filteredIds.add(((TestEntity) resource).getId());
+				}
+				return resources;
+			}
+		};
+		module.addFilter(filter);
+		try {
+			TestEntity entity = new TestEntity();
+			entity.setId(100L);
+			entity.setStringValue("visible");
+			Assert.assertEquals("visible", repo.save(entity).getStringValue());
+			Assert.assertEquals(Arrays.<Object> asList(100L), filteredIds);
+
+			TestEntity hiddenEntity = new TestEntity();
+			hiddenEntity.setId(101L);
+			hiddenEntity.setStringValue("hidden");
+			Assert.assertNull(repo.create(hiddenEntity));
+
+			filteredIds.clear();
+			TestEntity bulkEntity = new TestEntity();
+			bulkEntity.setId(102L);
+			bulkEntity.setStringValue("visible");
+			List<TestEntity> saved = repo.saveAll(Arrays.asList(bulkEntity, hiddenEntity));
+			Assert.assertEquals(2, saved.size());
+			Assert.assertEquals(102L, saved.get(0).getId().longValue());
+			Assert.assertNull(saved.get(1));
+			Assert.assertEquals(Arrays.<Object> asList(102L), filteredIds);
+		}
+		finally {
+			module.removeFilter(filter);
+		}
+	}
+
+	@Test
+	public void testSaveWithoutReadAfterWrite() {
+		JpaRepositoryConfig<TestEntity> config = JpaRepositoryConfig.builder(TestEntity.class).setReadAfterWrite(false).build();
+		JpaEntityRepository<TestEntity, Long> writeRepo = new JpaEntityRepository<>(module, config);
+
+		TestEntity entity = new TestEntity();
+		entity.setId(100L);
+		entity.setStringValue("unread");
+		TestEntity created = writeRepo.create(entity);
+		Assert.assertSame(entity, created);
+
+		List<TestEntity> saved = writeRepo.saveAll(Arrays.asList(created));
+		Assert.assertEquals(1, saved.size());
+		Assert.assertSame(entity, saved.get(0));
+
+		em.flush();
+		em.clear();
+		Assert.assertEquals("unread", repo.findOne(100L, new QuerySpec(TestEntity.class)).getStringValue());
+	}
 }
@@ -0,0 +1,123 @@
+package io.katharsis.jpa.repository;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.katharsis.jpa.JpaEntityRepository;
+import io.katharsis.jpa.JpaModule;
+import io.katharsis.jpa.JpaRelationshipRepository;
+import io.katharsis.jpa.JpaRepositoryConfig;
+import io.katharsis.jpa.model.RelatedEntity;
+import io.katharsis.jpa.model.TestEntity;
+import io.katharsis.jpa.query.AbstractJpaTest;
+import io.katharsis.jpa.query.JpaQueryFactory;
+import io.katharsis.jpa.query.criteria.JpaCriteriaQueryFactory;
+import io.katharsis.queryspec.QuerySpec;
+
+@Transactional
+public class JpaIncludeFetchTest extends AbstractJpaTest {
+
+	private JpaEntityRepository<TestEntity, Long> repo;
+
+	private JpaRelationshipRepository<TestEntity, Long, RelatedEntity, Long> relationshipRepo;
+
+	@Override
+	protected void setupModule(JpaModule module) {
+		module.removeRepository(TestEntity.class);
+		module.addRepository(JpaRepositoryConfig.builder(TestEntity.class).setFetchIncludedRelations(true).build());
+	}
+
+	@Override
+	@Before
+	public void setup() {
+		super.setup();
+		repo = new JpaEntityRepository<>(module, module.getRepositoryConfig(TestEntity.class));
+		relationshipRepo = new JpaRelationshipRepository<>(module, TestEntity.class,
+				JpaRepositoryConfig.create(RelatedEntity.class));
+
+		TestEntity test = em.find(TestEntity.class, 1L);
+		for (long relatedId = 101L; relatedId <= 102L; relatedId++) {
+			em.find(RelatedEntity.class, relatedId).setTestEntity(test);
+		}
+		em.flush();
+		em.clear();
+	}
+
+	@Test
+	public void testIncludedRelationsFetched() {
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.includeRelation(Arrays.asList(TestEntity.ATTR_oneRelatedValue));
+		querySpec.includeRelation(Arrays.asList(TestEntity.ATTR_manyRelatedValues));
+		List<TestEntity> list = repo.findAll(querySpec);
+		Assert.assertEquals(numTestEntities, list.size());
+
+		PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+		for (TestEntity test : list) {
+			Assert.assertTrue(util.isLoaded(test, TestEntity.ATTR_oneRelatedValue));
+			Assert.assertTrue(util.isLoaded(test, TestEntity.ATTR_manyRelatedValues));
+		}
+
+		JpaQueryFactory queryFactory = Mockito.spy(module.getQueryFactory());
+		module.setQueryFactory(queryFactory);
+
+		RelatedEntity related = relationshipRepo.findOneTarget(1L, TestEntity.ATTR_oneRelatedValue,
+				new QuerySpec(RelatedEntity.class));
+		Assert.assertEquals(101L, related.getId().longValue());
+		List<RelatedEntity> manyRelated = relationshipRepo.findManyTargets(1L, TestEntity.ATTR_manyRelatedValues,
+				new QuerySpec(RelatedEntity.class));
+		Assert.assertEquals(2, manyRelated.size());
+
+		Mockito.verify(queryFactory, Mockito.never()).query(Mockito.any(Class.class), Mockito.anyString(),
+				Mockito.anyList());
+	}
+
+	@Test
+	public void testNestedInclusionsOfFetchedTargetsFetched() {
+		QuerySpec querySpec = new QuerySpec(TestEntity.class);
+		querySpec.includeRelation(Arrays.asList(TestEntity.ATTR_manyRelatedValues));
+		repo.findAll(querySpec);
+
+		JpaQueryFactory queryFactory = Mockito.spy(module.getQueryFactory());
+		module.setQueryFactory(queryFactory);
+
+		QuerySpec targetQuerySpec = new QuerySpec(RelatedEntity.class);
+		targetQuerySpec.includeRelation(Arrays.asList("otherEntity"));
+		List<RelatedEntity> manyRelated = relationshipRepo.findManyTargets(1L, TestEntity.ATTR_manyRelatedValues,
+				targetQuerySpec);
+		Assert.assertEquals(2, manyRelated.size());
+
+		PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+		for (RelatedEntity related : manyRelated) {
+			Assert.assertTrue(util.isLoaded(related, "otherEntity"));
+		}
+		Mockito.verify(queryFactory, Mockito.never()).query(Mockito.any(Class.class), Mockito.anyString(),
+				Mockito.anyList());
+	}
+
+	@Test
+	public void testNotFetchedRelationsQueried() {
+		JpaQueryFactory queryFactory = Mockito.spy(module.getQueryFactory());
+		module.setQueryFactory(queryFactory);
+
+		List<RelatedEntity> manyRelated = relationshipRepo.findManyTargets(1L, TestEntity.ATTR_manyRelatedValues,
+				new QuerySpec(RelatedEntity.class));
+		Assert.assertEquals(2, manyRelated.size());
+
+		Mockito.verify(queryFactory, Mockito.times(1)).query(Mockito.any(Class.class), Mockito.anyString(),
+				Mockito.anyList());
+	}
+
+	@Override
+	protected JpaQueryFactory createQueryFactory(EntityManager em) {
+		return JpaCriteriaQueryFactory.newInstance();
+	}
+}
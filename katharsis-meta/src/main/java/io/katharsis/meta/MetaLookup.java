@@ -7,12 +7,14 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.slf4j.Logger;
@@ -38,10 +40,23 @@ public class MetaLookup {
 
 	private static final String BASE_ID_PREFIX = "base.";
 
-	private MultivaluedMap<Type, MetaElement> typeElementsMap = new MultivaluedMap<>();
+	private MultivaluedMap<Type, MetaElement> typeElementsMap = new MultivaluedMap<Type, MetaElement>(
+			new ConcurrentHashMap<Type, List<MetaElement>>()) {
+
+		@Override
+		protected List<MetaElement> newList() {
+			// may be iterated by lookups not holding the lock
+			return new CopyOnWriteArrayList<>();
+		}
+	};
 
 	private ConcurrentHashMap<String, MetaElement> idElementMap = new ConcurrentHashMap<>();
 
+	/**
+	 * Secondary index of all elements by their implementation class.
+	 */
+	private ConcurrentHashMap<Class<?>, ConcurrentLinkedQueue<MetaElement>> classElementsMap = new ConcurrentHashMap<>();
+
 	private Set<Class<?>> primitiveTypes = Collections.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>());
 
 	private List<MetaProvider> providers = new CopyOnWriteArrayList<>();
@@ -54,8 +69,26 @@ public class MetaLookup {
 
 	private Map<String, String> packageIdMapping = new HashMap<>();
 
+	private Map<String, String> idPrefixCache = new ConcurrentHashMap<>();
+
+	private boolean providerIdMappingsApplied;
+
 	private boolean discovered;
 
+	/**
+	 * Set once all elements have been discovered and initialized. Lookups then no longer synchronize, only types not
+	 * known yet still get set up under the lock.
+	 */
+	private volatile boolean complete;
+
+	/**
+	 * Odd while elements get set up. Lets lookups done without the lock detect that they may have observed elements
+	 * not yet initialized and retry under the lock.
+	 */
+	private volatile int setupVersion;
+
+	private boolean lazy;
+
 	public MetaLookup() {
 		registerPrimitiveType(String.class);
 		registerPrimitiveType(Number.class);
@@ -94,10 +127,99 @@ public class MetaLookup {
 		putIdMapping("io.katharsis.meta.model.resource", "io.katharsis.meta.resource");
 	}
 
+	/**
+	 * @return all elements by their id. Triggers the discovery of all elements if not done yet.
+	 */
 	public Map<String, MetaElement> getMetaById() {
+		if (!complete) {
+			checkInitialized();
+		}
 		return Collections.unmodifiableMap(idElementMap);
 	}
 
+	/**
+	 * @param id of the element
+	 * @return element with the given id or null if not available. Triggers the discovery of all elements if the
+	 *         element has not been set up yet.
+	 */
+	public MetaElement getMetaById(String id) {
+		int version = setupVersion;
+		if (isReadable(version)) {
+			MetaElement element = idElementMap.get(id);
+			if (version == setupVersion) {
+				return element;
+			}
+		}
+		if (lazy) {
+			// elements are published before being initialized, lookup must wait for a running setup to complete
+			synchronized (this) {
+				return getMetaByIdInternal(id);
+			}
+		}
+		return getMetaByIdInternal(id);
+	}
+
+	private MetaElement getMetaByIdInternal(String id) {
+		MetaElement element = idElementMap.get(id);
+		if (element == null && !discovered) {
+			checkInitialized();
+			element = idElementMap.get(id);
+		}
+		return element;
+	}
+
+	/**
+	 * @param metaClass of the elements
+	 * @return all elements being an instance of the given class. Triggers the discovery of all elements if not done
+	 *         yet.
+	 */
+	public <T extends MetaElement> List<T> getMetaElements(Class<T> metaClass) {
+		if (!complete) {
+			checkInitialized();
+		}
+		int version = setupVersion;
+		if (isReadable(version)) {
+			List<T> elements = getMetaElementsInternal(metaClass);
+			if (version == setupVersion) {
+				return elements;
+			}
+		}
+		if (lazy) {
+			synchronized (this) {
+				return getMetaElementsInternal(metaClass);
+			}
+		}
+		return getMetaElementsInternal(metaClass);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T extends MetaElement> List<T> getMetaElementsInternal(Class<T> metaClass) {
+		List<T> elements = new ArrayList<>();
+		for (Map.Entry<Class<?>, ConcurrentLinkedQueue<MetaElement>> entry : classElementsMap.entrySet()) {
+			if (metaClass.isAssignableFrom(entry.getKey())) {
+				elements.addAll((Collection<T>) entry.getValue());
+			}
+		}
+		return elements;
+	}
+
+	/**
+	 * By default all elements are discovered and set up with {@link #initialize()}. In lazy mode
+	 * {@link #initialize()} does nothing and {@link #getMeta(Type)} only sets up the elements necessary for the
+	 * requested type. The discovery of all elements is deferred until all of them are requested, such as with
+	 * {@link #getMetaById()} or {@link #getMetaElements(Class)}. Since elements may then be set up at any time,
+	 * lookups synchronize on this instance until all elements have been discovered.
+	 *
+	 * @param lazy true to set up elements upon first access
+	 */
+	public void setLazy(boolean lazy) {
+		this.lazy = lazy;
+	}
+
+	public boolean isLazy() {
+		return lazy;
+	}
+
 	public void registerPrimitiveType(Class<?> clazz) {
 		primitiveTypes.add(clazz);
 	}
@@ -105,6 +227,7 @@ public class MetaLookup {
 	public void addProvider(MetaProvider provider) {
 		if (!providers.contains(provider)) {
 			providers.add(provider);
+			providerIdMappingsApplied = false;
 			for (MetaProvider dependency : provider.getDependencies()) {
 				addProvider(dependency);
 			}
@@ -130,29 +253,73 @@ public class MetaLookup {
 	private MetaElement getMetaInternal(Type type, Class<? extends MetaElement> elementMetaClass, boolean nullable) {
 		PreconditionUtil.assertNotNull("type must not be null", type);
 
-		checkInitialized();
+		int version = setupVersion;
+		if (isReadable(version)) {
+			MetaElement meta = getUniqueElementByType(type, elementMetaClass);
+			if (meta != null && version == setupVersion) {
+				return meta;
+			}
+		}
 
+		if (!lazy) {
+			checkInitialized();
+		}
+		// elements get set up while other threads may already look them up. Lookup and setup happen under the
+		// same lock to not hand out elements added to the maps but not yet initialized.
+		synchronized (this) {
+			return getOrAllocateMeta(type, elementMetaClass, nullable);
+		}
+	}
+
+	/**
+	 * @return true if lookups can be done without holding the lock, given the setupVersion read before the lookup.
+	 *         The version must be checked again after the lookup.
+	 */
+	private boolean isReadable(int version) {
+		return complete && (version & 1) == 0;
+	}
+
+	/**
+	 * Marks the start of a setup of elements unless one is already running. Must be called holding the lock.
+	 *
+	 * @return true if the setup must be ended with {@link #endSetup(boolean)}
+	 */
+	private boolean beginSetup() {
+		if ((setupVersion & 1) == 0) {
+			setupVersion++;
+			return true;
+		}
+		return false;
+	}
+
+	private void endSetup(boolean began) {
+		if (began) {
+			setupVersion++;
+		}
+	}
+
+	private MetaElement getOrAllocateMeta(Type type, Class<? extends MetaElement> elementMetaClass, boolean nullable) {
 		MetaElement meta = getUniqueElementByType(type, elementMetaClass);
 		if (meta == null) {
-			synchronized (this) {
-				meta = getUniqueElementByType(type, elementMetaClass);
-				if (meta == null) {
-
-					boolean wasInitializing = adding;
-					if (!wasInitializing) {
-						adding = true;
-					}
+			boolean wasInitializing = adding;
+			if (!wasInitializing) {
+				adding = true;
+			}
 
-					meta = allocateMeta(type, elementMetaClass, nullable);
-					if (meta != null) {
-						add(meta);
-					}
+			boolean began = beginSetup();
+			try {
+				meta = allocateMeta(type, elementMetaClass, nullable);
+				if (meta != null) {
+					add(meta);
+				}
 
-					if (!wasInitializing) {
-						initialize();
-					}
+				if (!wasInitializing) {
+					initializeQueue();
 				}
 			}
+			finally {
+				endSetup(began);
+			}
 		}
 		return meta;
 	}
@@ -390,6 +557,12 @@ public class MetaLookup {
 
 				typeElementsMap.add(typeElement.getImplementationType(), element);
 			}
+			ConcurrentLinkedQueue<MetaElement> classElements = classElementsMap.get(element.getClass());
+			if (classElements == null) {
+				classElementsMap.putIfAbsent(element.getClass(), new ConcurrentLinkedQueue<MetaElement>());
+				classElements = classElementsMap.get(element.getClass());
+			}
+			classElements.add(element);
 			MetaElement currentElement = idElementMap.get(element.getId());
 			PreconditionUtil.assertNull(element.getId(), currentElement);
 			idElementMap.put(element.getId(), element);
@@ -409,6 +582,16 @@ public class MetaLookup {
 		if (implPackage == null) {
 			throw new IllegalStateException(implClass.getName() + " does not belong to a package");
 		}
+		String cacheKey = toIdMappingKey(implPackage.getName(), element.getClass());
+		String idPrefix = idPrefixCache.get(cacheKey);
+		if (idPrefix == null) {
+			idPrefix = computeIdPrefixFromPackage(implPackage, element);
+			idPrefixCache.put(cacheKey, idPrefix);
+		}
+		return idPrefix;
+	}
+
+	private String computeIdPrefixFromPackage(Package implPackage, MetaElement element) {
 		String packageName = implPackage.getName();
 		StringBuilder idInfix = new StringBuilder(".");
 		while (true) {
@@ -434,15 +617,25 @@ public class MetaLookup {
 		return implPackage.getName() + ".";
 	}
 
-	private void checkInitialized() {
+	private synchronized void checkInitialized() {
 		if (!discovered && !adding) {
-			initialize();
+			discover();
+		}
+	}
+
+	/**
+	 * Discovers and sets up all elements. Does nothing in lazy mode, elements are then set up upon first access.
+	 */
+	public synchronized void initialize() {
+		if (!lazy) {
+			discover();
 		}
 	}
 
-	public void initialize() {
+	private void discover() {
 		LOGGER.debug("adding");
 		adding = true;
+		boolean began = beginSetup();
 		try {
 			if (!discovered) {
 				for (MetaProvider provider : providers) {
@@ -450,26 +643,39 @@ public class MetaLookup {
 				}
 				discovered = true;
 			}
-
-			while (!initializationQueue.isEmpty()) {
-				MetaElement element = initializationQueue.pollFirst();
-				// initialize from roots down to decendants.
-				if (element.getParent() == null) {
-					initialize(element);
-				}
-			}
+			drainInitializationQueue();
+			complete = true;
 		}
 		finally {
 			LOGGER.debug("added");
 			adding = false;
+			endSetup(began);
+		}
+	}
+
+	private void initializeQueue() {
+		adding = true;
+		try {
+			drainInitializationQueue();
+		}
+		finally {
+			adding = false;
+		}
+	}
+
+	private void drainInitializationQueue() {
+		while (!initializationQueue.isEmpty()) {
+			MetaElement element = initializationQueue.pollFirst();
+			// initialize from roots down to decendants.
+			if (element.getParent() == null) {
+				initialize(element);
+			}
 		}
 	}
 
 	private void initialize(MetaElement element) {
 		LOGGER.debug("adding {}", element.getId());
-		for (MetaProvider initializer : providers) {
-			packageIdMapping.putAll(initializer.getIdMappings());
-		}
+		applyProviderIdMappings();
 
 		for (MetaProvider initializer : providers) {
 			initializer.onInitializing(context, element);
@@ -485,16 +691,28 @@ public class MetaLookup {
 		LOGGER.debug("added {}", element.getId());
 	}
 
+	private void applyProviderIdMappings() {
+		if (!providerIdMappingsApplied) {
+			for (MetaProvider initializer : providers) {
+				packageIdMapping.putAll(initializer.getIdMappings());
+			}
+			idPrefixCache.clear();
+			providerIdMappingsApplied = true;
+		}
+	}
+
 	public List<MetaProvider> getProviders() {
 		return providers;
 	}
 
 	public void putIdMapping(String packageName, String idPrefix) {
 		packageIdMapping.put(packageName, idPrefix);
+		idPrefixCache.clear();
 	}
 
 	public void putIdMapping(String packageName, Class<? extends MetaElement> type, String idPrefix) {
 		packageIdMapping.put(toIdMappingKey(packageName, type), idPrefix);
+		idPrefixCache.clear();
 	}
 
 	private String toIdMappingKey(String packageName, Class<? extends MetaElement> type) {
@@ -48,6 +48,17 @@ public class MetaModule implements Module, InitializingModule {
 		lookup.putIdMapping(packageName, type, idPrefix);
 	}
 
+	/**
+	 * Sets up meta elements upon first access rather than during initialization. Recommended for large domain
+	 * models. See {@link MetaLookup#setLazy(boolean)}.
+	 *
+	 * @param lazy true to set up meta elements lazily
+	 */
+	public void setLazy(boolean lazy) {
+		PreconditionUtil.assertNull("module is already initialized and cannot be changed anymore", context);
+		lookup.setLazy(lazy);
+	}
+
 	public void addMetaProvider(MetaProvider provider) {
 		PreconditionUtil.assertNull("module is already initialized and cannot be changed anymore", context);
 		lookup.addProvider(provider);
@@ -26,7 +26,7 @@ public class MetaRelationshipRepository implements RelationshipRepositoryV2<Meta
 
 	@Override
 	public MetaElement findOneTarget(String sourceId, String fieldName, QuerySpec querySpec) {
-		MetaElement source = lookup.getMetaById().get(sourceId);
+		MetaElement source = lookup.getMetaById(sourceId);
 		if (source == null) {
 			throw new ResourceNotFoundException(sourceId);
 		}
@@ -40,7 +40,7 @@ public class MetaRelationshipRepository implements RelationshipRepositoryV2<Meta
 	@SuppressWarnings("unchecked")
 	@Override
 	public ResourceList<MetaElement> findManyTargets(String sourceId, String fieldName, QuerySpec querySpec) {
-		MetaElement source = lookup.getMetaById().get(sourceId);
+		MetaElement source = lookup.getMetaById(sourceId);
 		if (source == null) {
 			throw new ResourceNotFoundException(sourceId);
 		}
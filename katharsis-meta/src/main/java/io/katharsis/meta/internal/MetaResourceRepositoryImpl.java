@@ -2,16 +2,23 @@ package io.katharsis.meta.internal;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 import io.katharsis.errorhandling.exception.ResourceNotFoundException;
 import io.katharsis.meta.MetaLookup;
 import io.katharsis.meta.model.MetaElement;
+import io.katharsis.queryspec.FilterOperator;
+import io.katharsis.queryspec.FilterSpec;
 import io.katharsis.queryspec.QuerySpec;
 import io.katharsis.repository.ResourceRepositoryBase;
 import io.katharsis.resource.list.ResourceList;
 
 public class MetaResourceRepositoryImpl<T> extends ResourceRepositoryBase<T, String> {
 
+	private static final String ID_ATTRIBUTE = "id";
+
 	private MetaLookup lookup;
 
 	public MetaResourceRepositoryImpl(MetaLookup lookup, Class<T> resourceClass) {
@@ -21,7 +28,7 @@ public class MetaResourceRepositoryImpl<T> extends ResourceRepositoryBase<T, Str
 
 	@SuppressWarnings("unchecked")
 	public T findOne(String id, QuerySpec querySpec) {
-		MetaElement metaElement = lookup.getMetaById().get(id);
+		MetaElement metaElement = lookup.getMetaById(id);
 		Class<T> resourceClass = this.getResourceClass();
 		if (metaElement != null && resourceClass.isInstance(metaElement)) {
 			return (T) metaElement;
@@ -29,17 +36,48 @@ public class MetaResourceRepositoryImpl<T> extends ResourceRepositoryBase<T, Str
 		throw new ResourceNotFoundException(id);
 	}
 
+	@SuppressWarnings({ "unchecked", "rawtypes" })
 	@Override
 	public ResourceList<T> findAll(QuerySpec querySpec) {
-		Collection<T> values = filterByType(lookup.getMetaById().values());
+		Collection<T> values = findByIdFilter(querySpec);
+		if (values == null) {
+			values = lookup.getMetaElements((Class) getResourceClass());
+		}
 		return querySpec.apply(values);
 	}
 
+	/**
+	 * @return elements matching an equality filter on the id looked up by id rather than filtering all elements, null
+	 *         if no such filter is available. Null ids are ignored, elements are returned at most once.
+	 */
+	private Collection<T> findByIdFilter(QuerySpec querySpec) {
+		for (FilterSpec filterSpec : querySpec.getFilters()) {
+			List<String> path = filterSpec.getAttributePath();
+			if (path != null && path.size() == 1 && ID_ATTRIBUTE.equals(path.get(0)) && filterSpec.getOperator() == FilterOperator.EQ) {
+				Object value = filterSpec.getValue();
+				Set<String> ids = new LinkedHashSet<>();
+				if (value instanceof Collection) {
+					for (Object id : (Collection<?>) value) {
+						if (id != null) {
+							ids.add(id.toString());
+						}
+					}
+				}
+				else if (value != null) {
+					ids.add(value.toString());
+				}
+				return findByIds(ids);
+			}
+		}
+		return null;
+	}
+
 	@SuppressWarnings("unchecked")
-	private Collection<T> filterByType(Collection<MetaElement> values) {
+	private Collection<T> findByIds(Iterable<String> ids) {
 		Collection<T> results = new ArrayList<>();
 		Class<T> resourceClass = this.getResourceClass();
-		for (MetaElement element : values) {
+		for (String id : ids) {
+			MetaElement element = lookup.getMetaById(id);
 			if (resourceClass.isInstance(element)) {
 				results.add((T) element);
 			}
@@ -0,0 +1,172 @@
+package io.katharsis.meta;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import io.katharsis.meta.internal.JsonObjectMetaProvider;
+import io.katharsis.meta.internal.MetaResourceRepositoryImpl;
+import io.katharsis.meta.internal.ResourceMetaProviderImpl;
+import io.katharsis.meta.mock.model.Schedule;
+import io.katharsis.meta.model.MetaAttribute;
+import io.katharsis.meta.model.MetaElement;
+import io.katharsis.meta.model.resource.MetaResource;
+import io.katharsis.meta.model.resource.MetaResourceRepository;
+import io.katharsis.meta.provider.MetaProviderContext;
+import io.katharsis.queryspec.FilterOperator;
+import io.katharsis.queryspec.FilterSpec;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.resource.list.ResourceList;
+
+public class LazyMetaLookupTest extends AbstractMetaTest {
+
+	private MetaLookup lookup;
+
+	private ResourceMetaProviderImpl provider;
+
+	@Before
+	public void setup() {
+		super.setup();
+
+		provider = Mockito.spy(new ResourceMetaProviderImpl());
+		provider.setResourceRegistry(boot.getResourceRegistry());
+
+		lookup = new MetaLookup();
+		lookup.setLazy(true);
+		lookup.addProvider(provider);
+		lookup.addProvider(new JsonObjectMetaProvider());
+		lookup.putIdMapping("io.katharsis.meta.mock.model", "app.resources");
+		lookup.initialize();
+	}
+
+	@Test
+	public void testGetMetaDoesNotDiscover() {
+		MetaResource meta = lookup.getMeta(Schedule.class, MetaResource.class);
+		Assert.assertEquals("app.resources.Schedule", meta.getId());
+		Assert.assertNotNull(meta.getPrimaryKey());
+		Mockito.verify(provider, Mockito.never()).discoverElements(Mockito.any(MetaProviderContext.class));
+
+		Assert.assertSame(meta, lookup.getMetaById("app.resources.Schedule"));
+		Mockito.verify(provider, Mockito.never()).discoverElements(Mockito.any(MetaProviderContext.class));
+	}
+
+	@Test
+	public void testGetMetaByIdDiscovers() {
+		Assert.assertNotNull(lookup.getMetaById("app.resources.ScheduleRepository"));
+		Mockito.verify(provider, Mockito.times(1)).discoverElements(Mockito.any(MetaProviderContext.class));
+
+		Assert.assertNull(lookup.getMetaById("doesNotExist"));
+		Mockito.verify(provider, Mockito.times(1)).discoverElements(Mockito.any(MetaProviderContext.class));
+	}
+
+	@Test
+	public void testGetMetaElementsMatchesScan() {
+		List<MetaAttribute> expected = new ArrayList<>();
+		for (MetaElement element : lookup.getMetaById().values()) {
+			if (element instanceof MetaAttribute) {
+				expected.add((MetaAttribute) element);
+			}
+		}
+		List<MetaAttribute> attributes = lookup.getMetaElements(MetaAttribute.class);
+		Assert.assertFalse(attributes.isEmpty());
+		Assert.assertEquals(expected.size(), attributes.size());
+		Assert.assertTrue(attributes.containsAll(expected));
+
+		Assert.assertFalse(lookup.getMetaElements(MetaResourceRepository.class).isEmpty());
+		Assert.assertEquals(lookup.getMetaById().size(), lookup.getMetaElements(MetaElement.class).size());
+	}
+
+	@Test
+	public void testRepositoryFindAllById() {
+		MetaResourceRepositoryImpl<MetaResource> repository = new MetaResourceRepositoryImpl<>(lookup, MetaResource.class);
+
+		QuerySpec querySpec = new QuerySpec(MetaResource.class);
+		querySpec.addFilter(new FilterSpec(Arrays.asList("id"), FilterOperator.EQ,
+				Arrays.asList("app.resources.Schedule", "app.resources.ScheduleRepository")));
+		ResourceList<MetaResource> list = repository.findAll(querySpec);
+		Assert.assertEquals(1, list.size());
+		Assert.assertEquals("app.resources.Schedule", list.get(0).getId());
+
+		querySpec = new QuerySpec(MetaResource.class);
+		querySpec.addFilter(new FilterSpec(Arrays.asList("id"), FilterOperator.EQ, "app.resources.Task"));
+		list = repository.findAll(querySpec);
+		Assert.assertEquals(1, list.size());
+	}
+
+	@Test
+	public void testRepositoryFindAllByIdIgnoresNullAndDuplicates() {
+		MetaResourceRepositoryImpl<MetaResource> repository = new MetaResourceRepositoryImpl<>(lookup, MetaResource.class);
+
+		QuerySpec querySpec = new QuerySpec(MetaResource.class);
+		querySpec.addFilter(new FilterSpec(Arrays.asList("id"), FilterOperator.EQ,
+				Arrays.asList("app.resources.Schedule", null, "app.resources.Schedule")));
+		ResourceList<MetaResource> list = repository.findAll(querySpec);
+		Assert.assertEquals(1, list.size());
+		Assert.assertEquals("app.resources.Schedule", list.get(0).getId());
+
+		querySpec = new QuerySpec(MetaResource.class);
+		querySpec.addFilter(new FilterSpec(Arrays.asList("id"), FilterOperator.EQ, null));
+		Assert.assertTrue(repository.findAll(querySpec).isEmpty());
+	}
+
+	@Test
+	public void testConcurrentGetMetaReturnsInitializedElement() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<MetaResource>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				futures.add(executor.submit(new Callable<MetaResource>() {
+
+					@Override
+					public MetaResource call() {
+						return lookup.getMeta(Schedule.class, MetaResource.class);
+					}
+				}));
+			}
+			MetaResource expected = futures.get(0).get();
+			for (Future<MetaResource> future : futures) {
+				MetaResource meta = future.get();
+				Assert.assertSame(expected, meta);
+				Assert.assertNotNull(meta.getPrimaryKey());
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testLookupsDoNotLockOnceDiscovered() throws Exception {
+		final MetaResource meta = (MetaResource) lookup.getMetaById("app.resources.Schedule");
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			// lookups from another thread must complete while the lock is held
+			synchronized (lookup) {
+				Future<Boolean> future = executor.submit(new Callable<Boolean>() {
+
+					@Override
+					public Boolean call() {
+						return meta == lookup.getMetaById("app.resources.Schedule")
+								&& meta == lookup.getMeta(Schedule.class, MetaResource.class)
+								&& lookup.getMetaElements(MetaResource.class).contains(meta)
+								&& lookup.getMetaById().containsKey(meta.getId());
+					}
+				});
+				Assert.assertTrue(future.get(10, TimeUnit.SECONDS));
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,10 @@
+package io.katharsis.metrics;
+
+/**
+ * Records the distribution of values, see {@link MetricsRegistry#histogram(String, java.util.Map)}.
+ */
+public interface MetricsHistogram {
+
+	void record(long value);
+
+}
@@ -0,0 +1,78 @@
+package io.katharsis.metrics;
+
+import io.katharsis.metrics.internal.MeterCache;
+import io.katharsis.metrics.internal.MetricsRepositoryFilter;
+import io.katharsis.metrics.internal.MetricsRequestPhaseListener;
+import io.katharsis.module.Module;
+import io.katharsis.module.RequestPhase;
+import io.katharsis.module.RequestPhaseListenerRegistry;
+
+/**
+ * Records server-side metrics with the given {@link MetricsRegistry}:
+ *
+ * <ul>
+ * <li>{@value #METRIC_PHASE} timer for each {@link RequestPhase} tagged with phase, resource type and HTTP method.</li>
+ * <li>{@value #METRIC_REPOSITORY} timer for each repository call tagged with resource type and HTTP method. A
+ * single request can trigger multiple repository calls if inclusions of relations are in use.</li>
+ * <li>{@value #METRIC_INCLUDED_RESOURCES} histogram with the number of resources included per request.</li>
+ * <li>{@value #METRIC_REQUEST_LENGTH} histogram with the number of characters of the request bodies.</li>
+ * <li>{@value #METRIC_RESPONSE_SIZE} histogram with the number of bytes of the response bodies.</li>
+ * </ul>
+ *
+ * Meters are resolved once per resource type and method and then reused, making the overhead per request a few
+ * map and array lookups.
+ */
+public class MetricsModule implements Module {
+
+	public static final String METRIC_PHASE = "katharsis.phase";
+
+	public static final String METRIC_REPOSITORY = "katharsis.repository";
+
+	public static final String METRIC_INCLUDED_RESOURCES = "katharsis.included.resources";
+
+	public static final String METRIC_REQUEST_LENGTH = "katharsis.request.length";
+
+	public static final String METRIC_RESPONSE_SIZE = "katharsis.response.size";
+
+	public static final String TAG_PHASE = "phase";
+
+	public static final String TAG_RESOURCE_TYPE = "resourceType";
+
+	public static final String TAG_METHOD = "method";
+
+	/**
+	 * Tag value used for requests whose resource type is not known, such as requests to unknown paths.
+	 */
+	public static final String UNKNOWN = "unknown";
+
+	private MetricsRegistry registry;
+
+	private MetricsModule(MetricsRegistry registry) {
+		this.registry = registry;
+	}
+
+	public static MetricsModule newServerModule(MetricsRegistry registry) {
+		return new MetricsModule(registry);
+	}
+
+	@Override
+	public String getModuleName() {
+		return "metrics";
+	}
+
+	@Override
+	public void setupModule(ModuleContext context) {
+		if (context.isServer()) {
+			if (!(context instanceof RequestPhaseListenerRegistry)) {
+				throw new UnsupportedOperationException("module context does not support request phase listeners: " + context);
+			}
+			MeterCache meterCache = new MeterCache(registry);
+			((RequestPhaseListenerRegistry) context).addRequestPhaseListener(new MetricsRequestPhaseListener(meterCache));
+			context.addRepositoryFilter(new MetricsRepositoryFilter(meterCache));
+		}
+	}
+
+	public MetricsRegistry getRegistry() {
+		return registry;
+	}
+}
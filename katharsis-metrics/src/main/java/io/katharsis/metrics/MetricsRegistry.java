@@ -0,0 +1,26 @@
+package io.katharsis.metrics;
+
+import java.util.Map;
+
+/**
+ * Abstraction of the metrics library in use, such as Micrometer or Dropwizard Metrics. Meters are requested once
+ * per name and tags and then cached by the {@link MetricsModule}, implementations do not need to cache them
+ * themselves.
+ */
+public interface MetricsRegistry {
+
+	/**
+	 * @param name of the timer
+	 * @param tags of the timer
+	 * @return timer recording durations
+	 */
+	MetricsTimer timer(String name, Map<String, String> tags);
+
+	/**
+	 * @param name of the histogram
+	 * @param tags of the histogram
+	 * @return histogram recording the distribution of values like sizes
+	 */
+	MetricsHistogram histogram(String name, Map<String, String> tags);
+
+}
@@ -0,0 +1,14 @@
+package io.katharsis.metrics;
+
+/**
+ * Records durations, see {@link MetricsRegistry#timer(String, java.util.Map)}.
+ */
+public interface MetricsTimer {
+
+	/**
+	 * @param durationNanos duration in nanoseconds
+	 * @param failed whether the measured operation failed
+	 */
+	void record(long durationNanos, boolean failed);
+
+}
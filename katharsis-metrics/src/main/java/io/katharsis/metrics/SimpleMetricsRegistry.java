@@ -0,0 +1,118 @@
+package io.katharsis.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link MetricsRegistry} keeping count, total and maximum of all meters in memory. Useful for testing and for
+ * applications without a dedicated metrics library.
+ */
+public class SimpleMetricsRegistry implements MetricsRegistry {
+
+	private ConcurrentMap<String, SimpleMetric> metrics = new ConcurrentHashMap<>();
+
+	@Override
+	public MetricsTimer timer(String name, Map<String, String> tags) {
+		return getOrCreate(name, tags);
+	}
+
+	@Override
+	public MetricsHistogram histogram(String name, Map<String, String> tags) {
+		return getOrCreate(name, tags);
+	}
+
+	private SimpleMetric getOrCreate(String name, Map<String, String> tags) {
+		String id = toId(name, tags);
+		SimpleMetric metric = metrics.get(id);
+		if (metric == null) {
+			metric = new SimpleMetric();
+			SimpleMetric existing = metrics.putIfAbsent(id, metric);
+			if (existing != null) {
+				metric = existing;
+			}
+		}
+		return metric;
+	}
+
+	/**
+	 * @param name of the metric
+	 * @param tags of the metric
+	 * @return metric or null if nothing has been recorded yet
+	 */
+	public SimpleMetric getMetric(String name, Map<String, String> tags) {
+		return metrics.get(toId(name, tags));
+	}
+
+	/**
+	 * @return all metrics by their name and tags, such as <code>katharsis.phase{method=GET, phase=...}</code>
+	 */
+	public Map<String, SimpleMetric> getMetrics() {
+		return Collections.unmodifiableMap(metrics);
+	}
+
+	public void clear() {
+		metrics.clear();
+	}
+
+	private static String toId(String name, Map<String, String> tags) {
+		return name + new TreeMap<>(tags);
+	}
+
+	public static class SimpleMetric implements MetricsTimer, MetricsHistogram {
+
+		private AtomicLong count = new AtomicLong();
+
+		private AtomicLong failures = new AtomicLong();
+
+		private AtomicLong total = new AtomicLong();
+
+		private AtomicLong max = new AtomicLong();
+
+		@Override
+		public void record(long durationNanos, boolean failed) {
+			record(durationNanos);
+			if (failed) {
+				failures.incrementAndGet();
+			}
+		}
+
+		@Override
+		public void record(long value) {
+			count.incrementAndGet();
+			total.addAndGet(value);
+			long currentMax;
+			do {
+				currentMax = max.get();
+			}
+			while (value > currentMax && !max.compareAndSet(currentMax, value));
+		}
+
+		public long getCount() {
+			return count.get();
+		}
+
+		public long getFailureCount() {
+			return failures.get();
+		}
+
+		/**
+		 * @return sum of all values, in nanoseconds for timers
+		 */
+		public long getTotal() {
+			return total.get();
+		}
+
+		public long getMax() {
+			return max.get();
+		}
+
+		@Override
+		public String toString() {
+			return "count=" + getCount() + ", failures=" + getFailureCount() + ", total=" + getTotal() + ", max=" + getMax();
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package io.katharsis.metrics.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.katharsis.metrics.MetricsHistogram;
+import io.katharsis.metrics.MetricsModule;
+import io.katharsis.metrics.MetricsRegistry;
+import io.katharsis.metrics.MetricsTimer;
+import io.katharsis.module.RequestPhase;
+import io.katharsis.repository.request.HttpMethod;
+
+/**
+ * Resolves meters from the {@link MetricsRegistry} once per resource type, method and phase. Subsequent lookups
+ * neither allocate nor compute tags.
+ */
+public class MeterCache {
+
+	private static final RequestPhase[] PHASES = RequestPhase.values();
+
+	private static final HttpMethod[] METHODS = HttpMethod.values();
+
+	private static final String OTHER_METHOD = "OTHER";
+
+	private static final int NUM_METHODS = METHODS.length + 1;
+
+	private static final String[] HISTOGRAMS = { MetricsModule.METRIC_INCLUDED_RESOURCES, MetricsModule.METRIC_REQUEST_LENGTH,
+			MetricsModule.METRIC_RESPONSE_SIZE };
+
+	public static final int HISTOGRAM_INCLUDED_RESOURCES = 0;
+
+	public static final int HISTOGRAM_REQUEST_LENGTH = 1;
+
+	public static final int HISTOGRAM_RESPONSE_SIZE = 2;
+
+	private final MetricsRegistry registry;
+
+	private final ConcurrentMap<String, ResourceMeters> resourceMeters = new ConcurrentHashMap<>();
+
+	public MeterCache(MetricsRegistry registry) {
+		this.registry = registry;
+	}
+
+	public MetricsTimer getPhaseTimer(String resourceType, String method, RequestPhase phase) {
+		int methodIndex = getMethodIndex(method);
+		ResourceMeters meters = getResourceMeters(resourceType);
+		int index = phase.ordinal() * NUM_METHODS + methodIndex;
+		MetricsTimer timer = meters.phaseTimers.get(index);
+		if (timer == null) {
+			Map<String, String> tags = newTags(meters.resourceType, methodIndex);
+			tags.put(MetricsModule.TAG_PHASE, phase.name().toLowerCase());
+			timer = registry.timer(MetricsModule.METRIC_PHASE, tags);
+			meters.phaseTimers.compareAndSet(index, null, timer);
+		}
+		return timer;
+	}
+
+	public MetricsTimer getRepositoryTimer(String resourceType, HttpMethod method) {
+		int methodIndex = method.ordinal();
+		ResourceMeters meters = getResourceMeters(resourceType);
+		MetricsTimer timer = meters.repositoryTimers.get(methodIndex);
+		if (timer == null) {
+			timer = registry.timer(MetricsModule.METRIC_REPOSITORY, newTags(meters.resourceType, methodIndex));
+			meters.repositoryTimers.compareAndSet(methodIndex, null, timer);
+		}
+		return timer;
+	}
+
+	/**
+	 * @param histogram one of HISTOGRAM_INCLUDED_RESOURCES, HISTOGRAM_REQUEST_LENGTH or HISTOGRAM_RESPONSE_SIZE
+	 */
+	public MetricsHistogram getHistogram(int histogram, String resourceType, String method) {
+		int methodIndex = getMethodIndex(method);
+		ResourceMeters meters = getResourceMeters(resourceType);
+		int index = histogram * NUM_METHODS + methodIndex;
+		MetricsHistogram meter = meters.histograms.get(index);
+		if (meter == null) {
+			meter = registry.histogram(HISTOGRAMS[histogram], newTags(meters.resourceType, methodIndex));
+			meters.histograms.compareAndSet(index, null, meter);
+		}
+		return meter;
+	}
+
+	private ResourceMeters getResourceMeters(String resourceType) {
+		String key = resourceType != null ? resourceType : MetricsModule.UNKNOWN;
+		ResourceMeters meters = resourceMeters.get(key);
+		if (meters == null) {
+			meters = new ResourceMeters(key);
+			ResourceMeters existing = resourceMeters.putIfAbsent(key, meters);
+			if (existing != null) {
+				meters = existing;
+			}
+		}
+		return meters;
+	}
+
+	private static int getMethodIndex(String method) {
+		for (int i = 0; i < METHODS.length; i++) {
+			if (METHODS[i].name().equals(method)) {
+				return i;
+			}
+		}
+		return METHODS.length;
+	}
+
+	private static Map<String, String> newTags(String resourceType, int methodIndex) {
+		Map<String, String> tags = new LinkedHashMap<>();
+		tags.put(MetricsModule.TAG_RESOURCE_TYPE, resourceType);
+		tags.put(MetricsModule.TAG_METHOD, methodIndex < METHODS.length ? METHODS[methodIndex].name() : OTHER_METHOD);
+		return tags;
+	}
+
+	private static class ResourceMeters {
+
+		private final String resourceType;
+
+		private final AtomicReferenceArray<MetricsTimer> phaseTimers = new AtomicReferenceArray<>(PHASES.length * NUM_METHODS);
+
+		private final AtomicReferenceArray<MetricsTimer> repositoryTimers = new AtomicReferenceArray<>(NUM_METHODS);
+
+		private final AtomicReferenceArray<MetricsHistogram> histograms = new AtomicReferenceArray<>(
+				HISTOGRAMS.length * NUM_METHODS);
+
+		public ResourceMeters(String resourceType) {
+			this.resourceType = resourceType;
+		}
+	}
+}
@@ -0,0 +1,35 @@
+package io.katharsis.metrics.internal;
+
+import io.katharsis.repository.filter.RepositoryFilterBase;
+import io.katharsis.repository.filter.RepositoryFilterContext;
+import io.katharsis.repository.filter.RepositoryRequestFilterChain;
+import io.katharsis.repository.request.RepositoryRequestSpec;
+import io.katharsis.repository.response.JsonApiResponse;
+
+/**
+ * Records the duration of each repository call.
+ */
+public class MetricsRepositoryFilter extends RepositoryFilterBase {
+
+	private MeterCache meterCache;
+
+	public MetricsRepositoryFilter(MeterCache meterCache) {
+		this.meterCache = meterCache;
+	}
+
+	@Override
+	public JsonApiResponse filterRequest(RepositoryFilterContext context, RepositoryRequestFilterChain chain) {
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			JsonApiResponse response = chain.doFilter(context);
+			failed = response != null && response.getErrors() != null && response.getErrors().iterator().hasNext();
+			return response;
+		}
+		finally {
+			RepositoryRequestSpec request = context.getRequest();
+			String resourceType = request.getQueryAdapter().getResourceInformation().getResourceType();
+			meterCache.getRepositoryTimer(resourceType, request.getMethod()).record(System.nanoTime() - start, failed);
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package io.katharsis.metrics.internal;
+
+import io.katharsis.module.RequestPhase;
+import io.katharsis.module.RequestPhaseContext;
+import io.katharsis.module.RequestPhaseListener;
+
+/**
+ * Records the duration of each {@link RequestPhase} as well as included resources and payload sizes. The duration is
+ * measured by the caller, so no state is kept per phase.
+ */
+public class MetricsRequestPhaseListener implements RequestPhaseListener {
+
+	private MeterCache meterCache;
+
+	public MetricsRequestPhaseListener(MeterCache meterCache) {
+		this.meterCache = meterCache;
+	}
+
+	@Override
+	public Object onPhaseStarted(RequestPhaseContext context, RequestPhase phase) {
+		return null;
+	}
+
+	@Override
+	public void onPhaseFinished(RequestPhaseContext context, RequestPhase phase, Object state, long duration, long size,
+			Throwable failure) {
+		String resourceType = context.getResourceType();
+		String method = context.getMethod();
+		meterCache.getPhaseTimer(resourceType, method, phase).record(duration, failure != null);
+
+		if (size >= 0) {
+			if (phase == RequestPhase.INCLUDE_RESOLUTION) {
+				meterCache.getHistogram(MeterCache.HISTOGRAM_INCLUDED_RESOURCES, resourceType, method).record(size);
+			}
+			else if (phase == RequestPhase.DOCUMENT_DESERIALIZATION) {
+				meterCache.getHistogram(MeterCache.HISTOGRAM_REQUEST_LENGTH, resourceType, method).record(size);
+			}
+			else if (phase == RequestPhase.SERIALIZATION) {
+				meterCache.getHistogram(MeterCache.HISTOGRAM_RESPONSE_SIZE, resourceType, method).record(size);
+			}
+		}
+	}
+}
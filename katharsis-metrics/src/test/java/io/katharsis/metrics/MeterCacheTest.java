@@ -0,0 +1,58 @@
+package io.katharsis.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import io.katharsis.metrics.internal.MeterCache;
+import io.katharsis.module.RequestPhase;
+import io.katharsis.repository.request.HttpMethod;
+
+public class MeterCacheTest {
+
+	private MetricsRegistry registry;
+
+	private MeterCache cache;
+
+	@Before
+	public void setup() {
+		registry = Mockito.spy(new SimpleMetricsRegistry());
+		cache = new MeterCache(registry);
+	}
+
+	@Test
+	public void testMetersResolvedOnce() {
+		MetricsTimer timer = cache.getPhaseTimer("tasks", "GET", RequestPhase.SERIALIZATION);
+		Assert.assertSame(timer, cache.getPhaseTimer("tasks", "GET", RequestPhase.SERIALIZATION));
+		Assert.assertNotSame(timer, cache.getPhaseTimer("tasks", "POST", RequestPhase.SERIALIZATION));
+		Assert.assertNotSame(timer, cache.getPhaseTimer("projects", "GET", RequestPhase.SERIALIZATION));
+		Assert.assertNotSame(timer, cache.getPhaseTimer("tasks", "GET", RequestPhase.REQUEST));
+		Mockito.verify(registry, Mockito.times(4)).timer(Mockito.anyString(), Mockito.anyMapOf(String.class, String.class));
+
+		MetricsTimer repositoryTimer = cache.getRepositoryTimer("tasks", HttpMethod.GET);
+		Assert.assertSame(repositoryTimer, cache.getRepositoryTimer("tasks", HttpMethod.GET));
+		MetricsHistogram histogram = cache.getHistogram(MeterCache.HISTOGRAM_RESPONSE_SIZE, "tasks", "GET");
+		Assert.assertSame(histogram, cache.getHistogram(MeterCache.HISTOGRAM_RESPONSE_SIZE, "tasks", "GET"));
+		Mockito.verify(registry, Mockito.times(5)).timer(Mockito.anyString(), Mockito.anyMapOf(String.class, String.class));
+		Mockito.verify(registry, Mockito.times(1)).histogram(Mockito.anyString(), Mockito.anyMapOf(String.class, String.class));
+	}
+
+	@Test
+	public void testTags() {
+		cache.getPhaseTimer(null, "OPTIONS", RequestPhase.PATH_PARSING).record(10, true);
+
+		Map<String, String> tags = new HashMap<>();
+		tags.put(MetricsModule.TAG_RESOURCE_TYPE, MetricsModule.UNKNOWN);
+		tags.put(MetricsModule.TAG_METHOD, "OTHER");
+		tags.put(MetricsModule.TAG_PHASE, "path_parsing");
+		SimpleMetricsRegistry.SimpleMetric metric = ((SimpleMetricsRegistry) registry).getMetric(MetricsModule.METRIC_PHASE, tags);
+		Assert.assertEquals(1, metric.getCount());
+		Assert.assertEquals(1, metric.getFailureCount());
+		Assert.assertEquals(10, metric.getTotal());
+		Assert.assertEquals(10, metric.getMax());
+	}
+}
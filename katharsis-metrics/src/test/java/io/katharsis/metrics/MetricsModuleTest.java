@@ -0,0 +1,153 @@
+package io.katharsis.metrics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.ws.rs.ApplicationPath;
+import javax.ws.rs.core.Application;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.katharsis.client.KatharsisClient;
+import io.katharsis.core.properties.KatharsisProperties;
+import io.katharsis.legacy.locator.SampleJsonServiceLocator;
+import io.katharsis.legacy.queryParams.DefaultQueryParamsParser;
+import io.katharsis.legacy.queryParams.QueryParams;
+import io.katharsis.legacy.queryParams.QueryParamsBuilder;
+import io.katharsis.metrics.SimpleMetricsRegistry.SimpleMetric;
+import io.katharsis.module.RequestPhase;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.repository.ResourceRepositoryV2;
+import io.katharsis.resource.mock.models.Project;
+import io.katharsis.resource.mock.models.Task;
+import io.katharsis.resource.mock.repository.ProjectRepository;
+import io.katharsis.resource.mock.repository.TaskRepository;
+import io.katharsis.rs.KatharsisFeature;
+
+public class MetricsModuleTest extends JerseyTest {
+
+	/**
+	 * Resources and repositories shared with the katharsis-core tests. The repositories still make use of
+	 * {@link QueryParams}.
+	 */
+	static final String MOCK_PACKAGE = "io.katharsis.resource.mock";
+
+	private SimpleMetricsRegistry registry;
+
+	private ResourceRepositoryV2<Task, Long> taskRepo;
+
+	@Before
+	public void setup() {
+		KatharsisClient client = new KatharsisClient(getBaseUri().toString());
+		taskRepo = client.getQuerySpecRepository(Task.class);
+		TaskRepository.clear();
+		ProjectRepository.clear();
+		registry.clear();
+	}
+
+	@Test
+	public void testCreate() {
+		Task task = new Task();
+		task.setId(13L);
+		task.setName("myTask");
+		task.setCategory("myCategory");
+		taskRepo.create(task);
+
+		for (RequestPhase phase : Arrays.asList(RequestPhase.REQUEST, RequestPhase.PATH_PARSING,
+				RequestPhase.DOCUMENT_DESERIALIZATION, RequestPhase.QUERY_DESERIALIZATION, RequestPhase.DOCUMENT_MAPPING,
+				RequestPhase.SERIALIZATION)) {
+			SimpleMetric metric = getPhaseMetric(phase, "tasks", "POST");
+			Assert.assertEquals(phase.toString(), 1, metric.getCount());
+			Assert.assertEquals(0, metric.getFailureCount());
+		}
+
+		SimpleMetric repositoryMetric = registry.getMetric(MetricsModule.METRIC_REPOSITORY, tags("tasks", "POST"));
+		Assert.assertEquals(1, repositoryMetric.getCount());
+		Assert.assertEquals(0, repositoryMetric.getFailureCount());
+		Assert.assertTrue(registry.getMetric(MetricsModule.METRIC_REQUEST_LENGTH, tags("tasks", "POST")).getMax() > 0);
+		Assert.assertTrue(registry.getMetric(MetricsModule.METRIC_RESPONSE_SIZE, tags("tasks", "POST")).getMax() > 0);
+	}
+
+	@Test
+	public void testRepositoryFailure() {
+		try {
+			taskRepo.findOne(13L, new QuerySpec(Task.class));
+			Assert.fail();
+		}
+		catch (Exception e) {
+			// ok
+		}
+
+		SimpleMetric repositoryMetric = registry.getMetric(MetricsModule.METRIC_REPOSITORY, tags("tasks", "GET"));
+		Assert.assertEquals(1, repositoryMetric.getCount());
+		Assert.assertEquals(1, repositoryMetric.getFailureCount());
+		Assert.assertEquals(1, getPhaseMetric(RequestPhase.REQUEST, "tasks", "GET").getCount());
+	}
+
+	@Test
+	public void testIncludedResources() {
+		Project project = new Project();
+		project.setId(12L);
+		project.setName("myProject");
+		for (long id = 1; id <= 3; id++) {
+			Task task = new Task();
+			task.setId(id);
+			task.setName("task" + id);
+			task.setCategory("myCategory");
+			task.setProject(project);
+			new TaskRepository().save(task);
+		}
+
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		querySpec.includeRelation(Arrays.asList("project"));
+		Assert.assertEquals(3, taskRepo.findAll(querySpec).size());
+
+		SimpleMetric includedMetric = registry.getMetric(MetricsModule.METRIC_INCLUDED_RESOURCES, tags("tasks", "GET"));
+		Assert.assertEquals(1, includedMetric.getCount());
+		Assert.assertEquals(1, includedMetric.getTotal());
+		Assert.assertEquals(1, getPhaseMetric(RequestPhase.INCLUDE_RESOLUTION, "tasks", "GET").getCount());
+		Assert.assertNull(registry.getMetric(MetricsModule.METRIC_REQUEST_LENGTH, tags("tasks", "GET")));
+	}
+
+	private SimpleMetric getPhaseMetric(RequestPhase phase, String resourceType, String method) {
+		Map<String, String> tags = tags(resourceType, method);
+		tags.put(MetricsModule.TAG_PHASE, phase.name().toLowerCase());
+		SimpleMetric metric = registry.getMetric(MetricsModule.METRIC_PHASE, tags);
+		Assert.assertNotNull(phase.toString(), metric);
+		return metric;
+	}
+
+	private static Map<String, String> tags(String resourceType, String method) {
+		Map<String, String> tags = new HashMap<>();
+		tags.put(MetricsModule.TAG_RESOURCE_TYPE, resourceType);
+		tags.put(MetricsModule.TAG_METHOD, method);
+		return tags;
+	}
+
+	@Override
+	protected Application configure() {
+		registry = new SimpleMetricsRegistry();
+		return new TestApplication();
+	}
+
+	@ApplicationPath("/")
+	private class TestApplication extends ResourceConfig {
+
+		public TestApplication() {
+			property(KatharsisProperties.RESOURCE_SEARCH_PACKAGE, MOCK_PACKAGE);
+			property(KatharsisProperties.RESOURCE_DEFAULT_DOMAIN, "http://test.local");
+
+			KatharsisFeature feature = new KatharsisFeature(new ObjectMapper(),
+					new QueryParamsBuilder(new DefaultQueryParamsParser()), new SampleJsonServiceLocator());
+			feature.addModule(MetricsModule.newServerModule(registry));
+			register(feature);
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package io.katharsis.metrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.katharsis.core.internal.boot.KatharsisBoot;
+import io.katharsis.core.internal.boot.PropertiesProvider;
+import io.katharsis.core.internal.dispatcher.RequestPhaseMonitor;
+import io.katharsis.core.internal.dispatcher.path.JsonPath;
+import io.katharsis.core.internal.dispatcher.path.PathBuilder;
+import io.katharsis.core.properties.KatharsisProperties;
+import io.katharsis.legacy.locator.SampleJsonServiceLocator;
+import io.katharsis.legacy.queryParams.DefaultQueryParamsParser;
+import io.katharsis.legacy.queryParams.QueryParamsBuilder;
+import io.katharsis.module.RequestPhase;
+import io.katharsis.repository.mock.NewInstanceRepositoryMethodParameterProvider;
+import io.katharsis.repository.response.Response;
+import io.katharsis.resource.mock.models.Task;
+import io.katharsis.resource.mock.repository.TaskRepository;
+import io.katharsis.resource.registry.ConstantServiceUrlProvider;
+
+/**
+ * Compares the cost of a request dispatched without any {@link io.katharsis.module.RequestPhaseListener}, where all
+ * phases end up with the no-op phase, to the same request recorded by the {@link MetricsModule}.
+ */
+public class MetricsOverheadTest {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MetricsOverheadTest.class);
+
+	private static final int WARMUP_RUNS = 2000;
+
+	private static final int BENCHMARK_RUNS = 20000;
+
+	private SimpleMetricsRegistry registry;
+
+	private KatharsisBoot plainBoot;
+
+	private KatharsisBoot metricsBoot;
+
+	@Before
+	public void setup() {
+		TaskRepository.clear();
+		for (long id = 1; id <= 10; id++) {
+			Task task = new Task();
+			task.setId(id);
+			task.setName("task" + id);
+			task.setCategory("myCategory");
+			new TaskRepository().save(task);
+		}
+
+		registry = new SimpleMetricsRegistry();
+		plainBoot = boot();
+		metricsBoot = boot();
+		metricsBoot.addModule(MetricsModule.newServerModule(registry));
+		plainBoot.boot();
+		metricsBoot.boot();
+	}
+
+	@Test
+	public void testMonitorOnlyEnabledWithListener() throws IOException {
+		Assert.assertFalse(getMonitor(plainBoot).isEnabled());
+		Assert.assertTrue(getMonitor(metricsBoot).isEnabled());
+
+		Assert.assertEquals(dispatch(plainBoot), dispatch(metricsBoot));
+		Map<String, String> tags = new HashMap<>();
+		tags.put(MetricsModule.TAG_RESOURCE_TYPE, "tasks");
+		tags.put(MetricsModule.TAG_METHOD, "GET");
+		tags.put(MetricsModule.TAG_PHASE, RequestPhase.REQUEST.name().toLowerCase());
+		Assert.assertEquals(1, registry.getMetric(MetricsModule.METRIC_PHASE, tags).getCount());
+	}
+
+	/**
+	 * Dispatches the same request with and without the metrics listener. The numbers are logged rather than asserted.
+	 */
+	@Test
+	public void benchmarkListenerOverhead() throws IOException {
+		for (int i = 0; i < WARMUP_RUNS; i++) {
+			dispatch(plainBoot);
+			dispatch(metricsBoot);
+		}
+
+		long plainTime = 0;
+		long metricsTime = 0;
+		for (int i = 0; i < BENCHMARK_RUNS; i++) {
+			long start = System.nanoTime();
+			dispatch(plainBoot);
+			plainTime += System.nanoTime() - start;
+
+			start = System.nanoTime();
+			dispatch(metricsBoot);
+			metricsTime += System.nanoTime() - start;
+		}
+		LOGGER.info("request dispatch, no listener: {}ns, metrics listener: {}ns", plainTime / BENCHMARK_RUNS,
+				metricsTime / BENCHMARK_RUNS);
+	}
+
+	private static int dispatch(KatharsisBoot boot) throws IOException {
+		RequestPhaseMonitor phaseMonitor = getMonitor(boot);
+		RequestPhaseMonitor.Phase requestPhase = phaseMonitor.startRequest("GET");
+		JsonPath jsonPath = phaseMonitor.parsePath(new PathBuilder(boot.getResourceRegistry()), "/tasks", true);
+		Map<String, Set<String>> parameters = Collections.emptyMap();
+		Response response = boot.getRequestDispatcher().dispatchRequest(jsonPath, "GET", parameters,
+				new NewInstanceRepositoryMethodParameterProvider(), null);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		phaseMonitor.writeDocument(boot.getObjectMapper(), out, response.getDocument());
+		requestPhase.finish();
+		return out.size();
+	}
+
+	private static RequestPhaseMonitor getMonitor(KatharsisBoot boot) {
+		return boot.getRequestDispatcher().getRequestPhaseMonitor();
+	}
+
+	private static KatharsisBoot boot() {
+		final Properties properties = new Properties();
+		properties.put(KatharsisProperties.RESOURCE_SEARCH_PACKAGE, MetricsModuleTest.MOCK_PACKAGE);
+		KatharsisBoot boot = new KatharsisBoot();
+		boot.setServiceLocator(new SampleJsonServiceLocator());
+		boot.setQueryParamsBuilds(new QueryParamsBuilder(new DefaultQueryParamsParser()));
+		boot.setServiceUrlProvider(new ConstantServiceUrlProvider("http://localhost"));
+		boot.setPropertiesProvider(new PropertiesProvider() {
+
+			@Override
+			public String getProperty(String key) {
+				return properties.getProperty(key);
+			}
+		});
+		return boot;
+	}
+}
@@ -29,13 +29,14 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.katharsis.core.internal.dispatcher.RequestDispatcher;
+import io.katharsis.core.internal.dispatcher.RequestPhaseMonitor;
 import io.katharsis.core.internal.dispatcher.path.ActionPath;
 import io.katharsis.core.internal.dispatcher.path.JsonPath;
 import io.katharsis.core.internal.dispatcher.path.PathBuilder;
 import io.katharsis.core.internal.exception.KatharsisExceptionMapper;
-import io.katharsis.errorhandling.exception.JsonDeserializationException;
 import io.katharsis.errorhandling.exception.KatharsisMappableException;
 import io.katharsis.errorhandling.exception.KatharsisMatchingException;
+import io.katharsis.repository.response.HttpStatus;
 import io.katharsis.resource.Document;
 import io.katharsis.resource.registry.ResourceRegistry;
 import io.katharsis.resource.registry.ServiceUrlProvider;
@@ -123,6 +124,8 @@ public class KatharsisFilter implements ContainerRequestFilter {
         io.katharsis.repository.response.Response katharsisResponse = null;
         boolean passToMethodMatcher = false;
         ServiceUrlProvider serviceUrlProvider = resourceRegistry.getServiceUrlProvider();
+        RequestPhaseMonitor phaseMonitor = requestDispatcher.getRequestPhaseMonitor();
+        RequestPhaseMonitor.Phase requestPhase = phaseMonitor.startRequest(requestContext.getMethod());
         try {
             String path = buildPath(uriInfo);
             
@@ -133,7 +136,7 @@ public class KatharsisFilter implements ContainerRequestFilter {
             	((UriInfoServiceUrlProvider)serviceUrlProvider).onRequestStarted(uriInfo);
             }
 
-            JsonPath jsonPath = new PathBuilder(resourceRegistry).build(path);
+            JsonPath jsonPath = phaseMonitor.parsePath(new PathBuilder(resourceRegistry), path, false);
             Map<String, Set<String>> parameters = getParameters(uriInfo);
             String method = requestContext.getMethod();
             
@@ -161,8 +164,12 @@ public class KatharsisFilter implements ContainerRequestFilter {
         	LOGGER.warn("failed to process request", e);
             passToMethodMatcher = true;
         } finally {
-            if (!passToMethodMatcher) {
-                abortWithResponse(requestContext, katharsisResponse);
+            try {
+                if (!passToMethodMatcher) {
+                    abortWithResponse(requestContext, katharsisResponse, phaseMonitor);
+                }
+            } finally {
+                requestPhase.finish();
             }
 
             if(serviceUrlProvider instanceof UriInfoServiceUrlProvider){
@@ -190,12 +197,12 @@ public class KatharsisFilter implements ContainerRequestFilter {
         }
     }
 
-    private void abortWithResponse(ContainerRequestContext requestContext, io.katharsis.repository.response.Response katharsisResponse)
-        throws IOException {
+    private void abortWithResponse(ContainerRequestContext requestContext, io.katharsis.repository.response.Response katharsisResponse,
+        RequestPhaseMonitor phaseMonitor) throws IOException {
         Response response;
-        if (katharsisResponse != null) {
+        if (katharsisResponse != null && katharsisResponse.getHttpStatus() != HttpStatus.NO_CONTENT_204) {
             ByteArrayOutputStream os = new ByteArrayOutputStream();
-            objectMapper.writeValue(os, katharsisResponse.getDocument());
+            phaseMonitor.writeDocument(objectMapper, os, katharsisResponse.getDocument());
             response = Response
                 .status(katharsisResponse.getHttpStatus())
                 .entity(new ByteArrayInputStream(os.toByteArray()))
@@ -218,10 +225,6 @@ public class KatharsisFilter implements ContainerRequestFilter {
         if (requestBody == null || requestBody.isEmpty()) {
             return null;
         }
-        try {
-            return objectMapper.readValue(requestBody, Document.class);
-        } catch (IOException e) {
-            throw new JsonDeserializationException(e.getMessage());
-        }
+        return requestDispatcher.getRequestPhaseMonitor().readDocument(objectMapper, requestBody);
     }
 }
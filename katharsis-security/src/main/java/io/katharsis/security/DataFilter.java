@@ -0,0 +1,16 @@
+package io.katharsis.security;
+
+import io.katharsis.queryspec.FilterSpec;
+
+/**
+ * Restricts the resources visible to the current user, such as to the resources of the user's tenant or the
+ * resources owned by the user. The returned filter is added to the {@link io.katharsis.queryspec.QuerySpec} before
+ * the repository is invoked, letting the repository apply it natively, such as the JPA module with a database query.
+ */
+public interface DataFilter {
+
+	/**
+	 * @return filter for the current user or null if the user is not restricted
+	 */
+	FilterSpec getFilter();
+}
@@ -0,0 +1,57 @@
+package io.katharsis.security;
+
+/**
+ * Specifies a {@link DataFilter} to be applied to the resources of a type. The filter is added to the
+ * {@link io.katharsis.queryspec.QuerySpec} of the request. Repositories ignoring the filters of the QuerySpec, for
+ * example in <code>findOne</code> or relationship lookups, do not get any row-level protection from it.
+ */
+public class DataRule {
+
+	private Class<?> resourceClass;
+
+	private String resourceType;
+
+	private String role;
+
+	private DataFilter filter;
+
+	public DataRule(Class<?> resourceClass, String role, DataFilter filter) {
+		this.resourceClass = resourceClass;
+		this.role = role;
+		this.filter = filter;
+	}
+
+	public DataRule(String resourceType, String role, DataFilter filter) {
+		this.resourceType = resourceType;
+		this.role = role;
+		this.filter = filter;
+	}
+
+	/**
+	 * @return type of the resource this rule applies to. It might be specified as String or Class. See {@link #getResourceClass()}.
+	 */
+	public String getResourceType() {
+		return resourceType;
+	}
+
+	/**
+	 * @return type of the resource this rule applies to. It might be specified as String or Class. See {@link #getResourceType()}.
+	 */
+	public Class<?> getResourceClass() {
+		return resourceClass;
+	}
+
+	/**
+	 * @return name of the role this rule applies to or null if it applies to all users.
+	 */
+	public String getRole() {
+		return role;
+	}
+
+	/**
+	 * @return filter applied by this rule.
+	 */
+	public DataFilter getFilter() {
+		return filter;
+	}
+}
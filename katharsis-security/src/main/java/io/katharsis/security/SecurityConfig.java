@@ -5,20 +5,25 @@ import java.util.Collections;
 import java.util.List;
 
 /**
- * Holder of {@link SecurityRule} that specify how access control is performed.
+ * Holder of {@link SecurityRule} and {@link DataRule} that specify how access control is performed.
  */
 public class SecurityConfig {
 
 	private List<SecurityRule> rules = new ArrayList<>();
 
-	private SecurityConfig(List<SecurityRule> rules) {
+	private List<DataRule> dataRules = new ArrayList<>();
+
+	private SecurityConfig(List<SecurityRule> rules, List<DataRule> dataRules) {
 		this.rules = Collections.unmodifiableList(rules);
+		this.dataRules = Collections.unmodifiableList(dataRules);
 	}
 
 	public static class Builder {
 
 		private List<SecurityRule> rules = new ArrayList<>();
 
+		private List<DataRule> dataRules = new ArrayList<>();
+
 		private Builder() {
 		}
 
@@ -46,8 +51,31 @@ public class SecurityConfig {
 			rules.add(new SecurityRule(resourceType, role, permission));
 		}
 
+		/**
+		 * Restricts the resources of the given type visible to any user.
+		 */
+		public <T> void restrictAll(Class<T> resourceClass, DataFilter filter) {
+			restrictRole(SecurityModule.ALL_ROLE, resourceClass, filter);
+		}
+
+		public void restrictAll(String resourceType, DataFilter filter) {
+			restrictRole(SecurityModule.ALL_ROLE, resourceType, filter);
+		}
+
+		/**
+		 * Restricts the resources of the given type visible to users in the given role. Filters of multiple
+		 * matching rules are combined with AND.
+		 */
+		public <T> void restrictRole(String role, Class<T> resourceClass, DataFilter filter) {
+			dataRules.add(new DataRule(resourceClass, role, filter));
+		}
+
+		public void restrictRole(String role, String resourceType, DataFilter filter) {
+			dataRules.add(new DataRule(resourceType, role, filter));
+		}
+
 		public SecurityConfig build() {
-			return new SecurityConfig(new ArrayList<SecurityRule>(rules));
+			return new SecurityConfig(new ArrayList<SecurityRule>(rules), new ArrayList<DataRule>(dataRules));
 		}
 	}
 
@@ -59,4 +87,8 @@ public class SecurityConfig {
 		return rules;
 	}
 
+	public List<DataRule> getDataRules() {
+		return dataRules;
+	}
+
 }
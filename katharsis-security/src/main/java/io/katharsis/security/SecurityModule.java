@@ -1,19 +1,28 @@
 package io.katharsis.security;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.katharsis.core.internal.registry.ResourceRegistryImpl;
 import io.katharsis.module.InitializingModule;
+import io.katharsis.queryspec.FilterSpec;
+import io.katharsis.queryspec.QuerySpec;
 import io.katharsis.resource.information.ResourceInformation;
 import io.katharsis.resource.registry.RegistryEntry;
 import io.katharsis.resource.registry.ResourceRegistry;
 import io.katharsis.security.SecurityProvider;
+import io.katharsis.security.internal.PermissionMatrix;
+import io.katharsis.security.internal.RoleMembership;
+import io.katharsis.security.internal.RoleMembershipScope;
 import io.katharsis.security.internal.SecurityFilter;
+import io.katharsis.security.internal.SecurityRequestFilter;
 import io.katharsis.utils.Supplier;
 
 public class SecurityModule implements InitializingModule {
@@ -22,7 +31,11 @@ public class SecurityModule implements InitializingModule {
 
 	protected static final String ALL_ROLE = null;
 
-	private Map<String, Map<String, ResourcePermission>> permissions;
+	private volatile PermissionMatrix permissionMatrix;
+
+	private RoleMembershipScope roleMembershipScope = new RoleMembershipScope();
+
+	private volatile Map<String, List<DataRule>> dataRules = Collections.emptyMap();
 
 	private ModuleContext context;
 
@@ -106,9 +119,7 @@ public class SecurityModule implements InitializingModule {
 			}
 
 			if (resourceType == null) {
-				Collection<RegistryEntry> entries = context.getResourceRegistry().getResources();
-				for (RegistryEntry entry : entries) {
-					String entryResourceType = entry.getResourceInformation().getResourceType();
+				for (String entryResourceType : getResourceTypes()) {
 					configureRule(newPermissions, entryResourceType, rule.getRole(), rule.getPermission());
 				}
 			}
@@ -116,7 +127,34 @@ public class SecurityModule implements InitializingModule {
 				configureRule(newPermissions, resourceType, rule.getRole(), rule.getPermission());
 			}
 		}
-		this.permissions = newPermissions;
+		this.permissionMatrix = new PermissionMatrix(newPermissions);
+
+		Map<String, List<DataRule>> newDataRules = new HashMap<>();
+		for (DataRule rule : config.getDataRules()) {
+			String resourceType = rule.getResourceType();
+			if (resourceType == null && rule.getResourceClass() != null) {
+				resourceType = toType(rule.getResourceClass());
+			}
+			if (resourceType == null) {
+				for (String entryResourceType : getResourceTypes()) {
+					configureDataRule(newDataRules, entryResourceType, rule);
+				}
+			}
+			else {
+				configureDataRule(newDataRules, resourceType, rule);
+			}
+		}
+		this.dataRules = newDataRules;
+	}
+
+	private static void configureDataRule(Map<String, List<DataRule>> newDataRules, String resourceType, DataRule rule) {
+		List<DataRule> list = newDataRules.get(resourceType);
+		if (list == null) {
+			list = new ArrayList<>();
+			newDataRules.put(resourceType, list);
+		}
+		list.add(rule);
+		LOGGER.debug("configure data rule for resourceType={} role={}", resourceType, rule.getRole());
 	}
 
 	private static void configureRule(Map<String, Map<String, ResourcePermission>> newPermissions, String resourceType,
@@ -143,7 +181,8 @@ public class SecurityModule implements InitializingModule {
 	@Override
 	public void setupModule(ModuleContext context) {
 		this.context = context;
-		context.addRepositoryFilter(new SecurityFilter(this));
+		context.addRepositoryFilter(new SecurityFilter(this, context));
+		context.addFilter(new SecurityRequestFilter(roleMembershipScope));
 	}
 
 	/**
@@ -165,32 +204,20 @@ public class SecurityModule implements InitializingModule {
 		if (!isEnabled()) {
 			return true;
 		}
-		Map<String, ResourcePermission> map = permissions.get(resourceType);
-		ResourcePermission missingPermission = permission;
-		if (map == null) {
-			LOGGER.warn("no permissions declared for ", resourceType);
-			return missingPermission.isEmpty();
-		}
-		for (Entry<String, ResourcePermission> entry : map.entrySet()) {
-			String role = entry.getKey();
-			ResourcePermission intersection = entry.getValue().and(permission);
-			boolean hasMorePermissions = !intersection.isEmpty();
-			if (hasMorePermissions && isUserInRole(role)) {
-				missingPermission = updateMissingPermissions(missingPermission, intersection);
-				if (missingPermission.isEmpty()) {
-					break;
-				}
-			}
+		PermissionMatrix matrix = permissionMatrix;
+		if (!matrix.containsType(resourceType)) {
+			LOGGER.warn("no permissions declared for {}", resourceType);
+			return permission.isEmpty();
 		}
+		ResourcePermission missingPermission = matrix.getMissingPermission(resourceType, permission, getRoleMembership(matrix));
 
 		boolean allowed = missingPermission.isEmpty();
 		LOGGER.debug("isAllowed returns {} for permission {} due to missing {}", allowed, permission, missingPermission);
 		return allowed;
 	}
 
-	private static ResourcePermission updateMissingPermissions(ResourcePermission missingPermission,
-			ResourcePermission grantedPermissions) {
-		return missingPermission.and(missingPermission.xor(grantedPermissions));
+	private RoleMembership getRoleMembership(PermissionMatrix matrix) {
+		return roleMembershipScope.get(this, matrix);
 	}
 
 	/**
@@ -210,18 +237,66 @@ public class SecurityModule implements InitializingModule {
 		if (!isEnabled()) {
 			return ResourcePermission.ALL;
 		}
-		Map<String, ResourcePermission> map = permissions.get(resourceType);
-		ResourcePermission result = ResourcePermission.EMPTY;
-		if (map == null) {
-			return result;
+		PermissionMatrix matrix = permissionMatrix;
+		return matrix.getPermission(resourceType, getRoleMembership(matrix));
+	}
+
+	/**
+	 * @return true if data rules are configured that may restrict the resources visible to a user
+	 */
+	public boolean hasDataRules() {
+		return isEnabled() && !dataRules.isEmpty();
+	}
+
+	/**
+	 * @param resourceClass the querySpec is targeted at
+	 * @param querySpec to restrict
+	 * @return querySpec restricted by the data rules applying to the current user. A copy is returned if
+	 *         restrictions are added.
+	 */
+	public QuerySpec filterQuerySpec(Class<?> resourceClass, QuerySpec querySpec) {
+		return filterQuerySpec(toType(resourceClass), querySpec);
+	}
+
+	/**
+	 * Restricts the querySpec with the data rules applying to the current user. Applied automatically to all
+	 * requests reading resources. Can also be used to restrict queries issued directly against a repository, such as
+	 * from a <code>JpaRepositoryFilter.filterQuerySpec</code>. The roles of the user are resolved once per request
+	 * together with the permission checks.
+	 *
+	 * <p>
+	 * The restriction only takes effect if the repository applies the filters of the querySpec. Repositories ignoring
+	 * them, for example in <code>findOne</code> or when looking up relationships, are not protected by the data
+	 * rules.
+	 * </p>
+	 *
+	 * @param resourceType the querySpec is targeted at
+	 * @param querySpec to restrict
+	 * @return querySpec restricted by the data rules applying to the current user. A copy is returned if
+	 *         restrictions are added.
+	 */
+	public QuerySpec filterQuerySpec(String resourceType, QuerySpec querySpec) {
+		if (!isEnabled()) {
+			return querySpec;
+		}
+		List<DataRule> rules = dataRules.get(resourceType);
+		if (rules == null) {
+			return querySpec;
 		}
-		for (Entry<String, ResourcePermission> entry : map.entrySet()) {
-			String role = entry.getKey();
-			if (isUserInRole(role)) {
-				result = result.or(entry.getValue());
+		QuerySpec filteredQuerySpec = querySpec;
+		RoleMembership membership = getRoleMembership(permissionMatrix);
+		for (DataRule rule : rules) {
+			if (membership.contains(rule.getRole())) {
+				FilterSpec filter = rule.getFilter().getFilter();
+				if (filter != null) {
+					if (filteredQuerySpec == querySpec) {
+						filteredQuerySpec = querySpec.duplicate();
+					}
+					filteredQuerySpec.addFilter(filter);
+				}
 			}
 		}
-		return result;
+		return filteredQuerySpec;
 	}
 
 	/**
@@ -239,6 +314,21 @@ public class SecurityModule implements InitializingModule {
 		return contained;
 	}
 
+	/**
+	 * @return types of all resources, avoids setting up lazily registered resources
+	 */
+	private Collection<String> getResourceTypes() {
+		ResourceRegistry resourceRegistry = context.getResourceRegistry();
+		if (resourceRegistry instanceof ResourceRegistryImpl) {
+			return ((ResourceRegistryImpl) resourceRegistry).getResourceTypes();
+		}
+		List<String> resourceTypes = new ArrayList<>();
+		for (RegistryEntry entry : resourceRegistry.getResources()) {
+			resourceTypes.add(entry.getResourceInformation().getResourceType());
+		}
+		return resourceTypes;
+	}
+
 	private <T> String toType(Class<T> resourceClass) {
 		ResourceRegistry resourceRegistry = context.getResourceRegistry();
 		RegistryEntry entry = resourceRegistry.getEntryForClass(resourceClass);
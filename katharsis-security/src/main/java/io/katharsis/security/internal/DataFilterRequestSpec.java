@@ -0,0 +1,72 @@
+package io.katharsis.security.internal;
+
+import java.io.Serializable;
+
+import io.katharsis.legacy.queryParams.QueryParams;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.repository.request.HttpMethod;
+import io.katharsis.repository.request.QueryAdapter;
+import io.katharsis.repository.request.RepositoryRequestSpec;
+import io.katharsis.resource.information.ResourceField;
+import io.katharsis.resource.information.ResourceInformation;
+import io.katharsis.security.SecurityModule;
+
+/**
+ * Restricts the {@link QuerySpec} of a request with the data rules of the {@link SecurityModule}. Only repositories
+ * working with {@link QuerySpec} are restricted.
+ */
+public class DataFilterRequestSpec implements RepositoryRequestSpec {
+
+	private RepositoryRequestSpec request;
+
+	private SecurityModule module;
+
+	public DataFilterRequestSpec(RepositoryRequestSpec request, SecurityModule module) {
+		this.request = request;
+		this.module = module;
+	}
+
+	@Override
+	public QuerySpec getQuerySpec(ResourceInformation resourceInformation) {
+		QuerySpec querySpec = request.getQuerySpec(resourceInformation);
+		if (querySpec == null) {
+			return null;
+		}
+		return module.filterQuerySpec(resourceInformation.getResourceType(), querySpec);
+	}
+
+	@Override
+	public HttpMethod getMethod() {
+		return request.getMethod();
+	}
+
+	@Override
+	public QueryAdapter getQueryAdapter() {
+		return request.getQueryAdapter();
+	}
+
+	@Override
+	public QueryParams getQueryParams() {
+		return request.getQueryParams();
+	}
+
+	@Override
+	public ResourceField getRelationshipField() {
+		return request.getRelationshipField();
+	}
+
+	@Override
+	public Object getEntity() {
+		return request.getEntity();
+	}
+
+	@Override
+	public Serializable getId() {
+		return request.getId();
+	}
+
+	@Override
+	public <T> Iterable<T> getIds() {
+		return request.getIds();
+	}
+}
@@ -0,0 +1,135 @@
+package io.katharsis.security.internal;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.katharsis.security.ResourcePermission;
+
+/**
+ * Compiled form of the security rules. For every resource type and permission it holds the set of roles granting that
+ * permission as bitset indexed by role. A permission check then only intersects those bitsets with the roles of the
+ * current user as tracked by {@link RoleMembership}.
+ */
+public class PermissionMatrix {
+
+	private static final int POST = 1;
+
+	private static final int GET = 1 << 1;
+
+	private static final int PATCH = 1 << 2;
+
+	private static final int DELETE = 1 << 3;
+
+	private static final int[] PERMISSION_BITS = { POST, GET, PATCH, DELETE };
+
+	private final List<String> roles = new ArrayList<>();
+
+	private final Map<String, Integer> roleIndices = new HashMap<>();
+
+	private final Map<String, BitSet[]> typeRoles = new HashMap<>();
+
+	/**
+	 * @param permissions granted permissions by resource type and role
+	 */
+	public PermissionMatrix(Map<String, Map<String, ResourcePermission>> permissions) {
+		for (Map.Entry<String, Map<String, ResourcePermission>> typeEntry : permissions.entrySet()) {
+			BitSet[] grantingRoles = new BitSet[PERMISSION_BITS.length];
+			for (int i = 0; i < grantingRoles.length; i++) {
+				grantingRoles[i] = new BitSet();
+			}
+			for (Map.Entry<String, ResourcePermission> roleEntry : typeEntry.getValue().entrySet()) {
+				String role = roleEntry.getKey();
+				Integer roleIndex = roleIndices.get(role);
+				if (roleIndex == null) {
+					roleIndex = roles.size();
+					roleIndices.put(role, roleIndex);
+					roles.add(role);
+				}
+				int bits = toBits(roleEntry.getValue());
+				for (int i = 0; i < PERMISSION_BITS.length; i++) {
+					if ((bits & PERMISSION_BITS[i]) != 0) {
+						grantingRoles[i].set(roleIndex);
+					}
+				}
+			}
+			typeRoles.put(typeEntry.getKey(), grantingRoles);
+		}
+	}
+
+	/**
+	 * @return roles in the order of their index
+	 */
+	public List<String> getRoles() {
+		return Collections.unmodifiableList(roles);
+	}
+
+	public String getRole(int roleIndex) {
+		return roles.get(roleIndex);
+	}
+
+	/**
+	 * @return index of the given role or -1 if no permission has been declared for it
+	 */
+	public int getRoleIndex(String role) {
+		Integer roleIndex = roleIndices.get(role);
+		return roleIndex != null ? roleIndex : -1;
+	}
+
+	/**
+	 * @return true if permissions have been declared for the given resource type
+	 */
+	public boolean containsType(String resourceType) {
+		return typeRoles.containsKey(resourceType);
+	}
+
+	/**
+	 * @return permissions for the given resourceType granted to a member of the given roles
+	 */
+	public ResourcePermission getPermission(String resourceType, RoleMembership membership) {
+		BitSet[] grantingRoles = typeRoles.get(resourceType);
+		if (grantingRoles == null) {
+			return ResourcePermission.EMPTY;
+		}
+		int granted = 0;
+		for (int i = 0; i < PERMISSION_BITS.length; i++) {
+			if (membership.containsAny(grantingRoles[i])) {
+				granted |= PERMISSION_BITS[i];
+			}
+		}
+		return fromBits(granted);
+	}
+
+	/**
+	 * @return the subset of the requested permissions not granted to a member of the given roles
+	 */
+	public ResourcePermission getMissingPermission(String resourceType, ResourcePermission permission,
+			RoleMembership membership) {
+		int missing = toBits(permission);
+		BitSet[] grantingRoles = typeRoles.get(resourceType);
+		if (grantingRoles != null) {
+			for (int i = 0; i < PERMISSION_BITS.length; i++) {
+				if ((missing & PERMISSION_BITS[i]) != 0 && membership.containsAny(grantingRoles[i])) {
+					missing &= ~PERMISSION_BITS[i];
+				}
+			}
+		}
+		return fromBits(missing);
+	}
+
+	private static int toBits(ResourcePermission permission) {
+		int bits = 0;
+		bits |= permission.isPostAllowed() ? POST : 0;
+		bits |= permission.isGetAllowed() ? GET : 0;
+		bits |= permission.isPatchAllowed() ? PATCH : 0;
+		bits |= permission.isDeleteAllowed() ? DELETE : 0;
+		return bits;
+	}
+
+	private static ResourcePermission fromBits(int bits) {
+		return ResourcePermission.create((bits & POST) != 0, (bits & GET) != 0, (bits & PATCH) != 0, (bits & DELETE) != 0);
+	}
+}
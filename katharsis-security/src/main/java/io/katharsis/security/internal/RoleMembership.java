@@ -0,0 +1,80 @@
+package io.katharsis.security.internal;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.katharsis.security.SecurityModule;
+
+/**
+ * Roles of the current user with respect to a {@link PermissionMatrix}. Membership is resolved with
+ * {@link SecurityModule#isUserInRole(String)} upon first use of a role and remembered afterwards. Roles only used by
+ * data rules are remembered by name. Not thread-safe, an instance is meant to be used for a single request.
+ */
+public class RoleMembership {
+
+	private final SecurityModule module;
+
+	private final PermissionMatrix matrix;
+
+	private final BitSet resolved = new BitSet();
+
+	private final BitSet member = new BitSet();
+
+	private Map<String, Boolean> otherRoles;
+
+	public RoleMembership(SecurityModule module, PermissionMatrix matrix) {
+		this.module = module;
+		this.matrix = matrix;
+	}
+
+	public PermissionMatrix getMatrix() {
+		return matrix;
+	}
+
+	/**
+	 * @param roles indices of the roles to check
+	 * @return true if the user is member of at least one of the given roles
+	 */
+	public boolean containsAny(BitSet roles) {
+		if (roles.intersects(member)) {
+			return true;
+		}
+		for (int roleIndex = roles.nextSetBit(0); roleIndex >= 0; roleIndex = roles.nextSetBit(roleIndex + 1)) {
+			if (!resolved.get(roleIndex)) {
+				resolved.set(roleIndex);
+				if (module.isUserInRole(matrix.getRole(roleIndex))) {
+					member.set(roleIndex);
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param role to check
+	 * @return true if the user is member of the given role
+	 */
+	public boolean contains(String role) {
+		int roleIndex = matrix.getRoleIndex(role);
+		if (roleIndex >= 0) {
+			if (!resolved.get(roleIndex)) {
+				resolved.set(roleIndex);
+				if (module.isUserInRole(role)) {
+					member.set(roleIndex);
+				}
+			}
+			return member.get(roleIndex);
+		}
+		if (otherRoles == null) {
+			otherRoles = new HashMap<>();
+		}
+		Boolean contained = otherRoles.get(role);
+		if (contained == null) {
+			contained = module.isUserInRole(role);
+			otherRoles.put(role, contained);
+		}
+		return contained;
+	}
+}
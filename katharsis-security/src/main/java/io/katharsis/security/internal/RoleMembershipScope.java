@@ -0,0 +1,45 @@
+package io.katharsis.security.internal;
+
+import io.katharsis.security.SecurityModule;
+
+/**
+ * Keeps the {@link RoleMembership} of the current user for the duration of a request, so that the roles are resolved
+ * at most once per request, no matter how many repositories are called to serve it. Outside of a request every
+ * permission check resolves the roles anew.
+ */
+public class RoleMembershipScope {
+
+	private final ThreadLocal<RoleMembership[]> current = new ThreadLocal<>();
+
+	/**
+	 * Opens a new scope for the current thread unless one is already open.
+	 *
+	 * @return true if a new scope was opened and must be closed with {@link #close()}.
+	 */
+	public boolean open() {
+		if (current.get() != null) {
+			return false;
+		}
+		current.set(new RoleMembership[1]);
+		return true;
+	}
+
+	public void close() {
+		current.remove();
+	}
+
+	/**
+	 * @return membership of the current request or a new one if no scope is open
+	 */
+	public RoleMembership get(SecurityModule module, PermissionMatrix matrix) {
+		RoleMembership[] holder = current.get();
+		if (holder == null) {
+			return new RoleMembership(module, matrix);
+		}
+		if (holder[0] == null || holder[0].getMatrix() != matrix) {
+			// the matrix changes upon reconfiguration
+			holder[0] = new RoleMembership(module, matrix);
+		}
+		return holder[0];
+	}
+}
@@ -1,9 +1,18 @@
 package io.katharsis.security.internal;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.katharsis.errorhandling.exception.ForbiddenException;
+import io.katharsis.errorhandling.exception.ResourceNotFoundException;
+import io.katharsis.module.Module.ModuleContext;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.repository.ResourceRepositoryV2;
 import io.katharsis.repository.filter.RepositoryFilterBase;
 import io.katharsis.repository.filter.RepositoryFilterContext;
 import io.katharsis.repository.filter.RepositoryMetaFilterChain;
@@ -12,19 +21,29 @@ import io.katharsis.repository.request.HttpMethod;
 import io.katharsis.repository.request.QueryAdapter;
 import io.katharsis.repository.request.RepositoryRequestSpec;
 import io.katharsis.repository.response.JsonApiResponse;
+import io.katharsis.resource.information.ResourceField;
+import io.katharsis.resource.information.ResourceInformation;
 import io.katharsis.resource.meta.MetaInformation;
 import io.katharsis.security.ResourcePermission;
 import io.katharsis.security.ResourcePermissionInformation;
 import io.katharsis.security.SecurityModule;
 
+/**
+ * Checks the permissions of the current user and applies the data rules of the {@link SecurityModule}. Reading
+ * requests get the data rules added to their {@link QuerySpec}. Relationships can only be read from and modifications
+ * of existing resources and relationships are only allowed for resources visible to the user.
+ */
 public class SecurityFilter extends RepositoryFilterBase {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(SecurityFilter.class);
 
 	private SecurityModule module;
 
-	public SecurityFilter(SecurityModule module) {
+	private ModuleContext moduleContext;
+
+	public SecurityFilter(SecurityModule module, ModuleContext context) {
 		this.module = module;
+		this.moduleContext = context;
 	}
 
 	@Override
@@ -43,10 +62,90 @@ public class SecurityFilter extends RepositoryFilterBase {
 		}
 		else {
 			LOGGER.debug("user allowed to access {}", resourceClass.getSimpleName());
+			if (method == HttpMethod.GET && module.hasDataRules()) {
+				if (request.getRelationshipField() != null) {
+					// related data of a hidden resource must not be accessible
+					ResourceInformation sourceInformation = request.getRelationshipField().getParentResourceInformation();
+					verifyVisible(sourceInformation, request.getIds());
+				}
+				final RepositoryRequestSpec filteredRequest = new DataFilterRequestSpec(request, module);
+				return chain.doFilter(new RepositoryFilterContext() {
+
+					@Override
+					public RepositoryRequestSpec getRequest() {
+						return filteredRequest;
+					}
+				});
+			}
+			if (method != HttpMethod.GET && module.hasDataRules()) {
+				verifyVisible(request);
+			}
 			return chain.doFilter(context);
 		}
 	}
 
+	/**
+	 * Makes sure the resources modified by the request are visible to the user. New resources are not checked.
+	 */
+	private void verifyVisible(RepositoryRequestSpec request) {
+		HttpMethod method = request.getMethod();
+		ResourceField relationshipField = request.getRelationshipField();
+		if (relationshipField != null) {
+			ResourceInformation sourceInformation = relationshipField.getParentResourceInformation();
+			if (request.getEntity() != null) {
+				verifyVisible(sourceInformation, Collections.singleton(sourceInformation.getId(request.getEntity())));
+			}
+			ResourceInformation targetInformation = moduleContext.getResourceRegistry()
+					.getEntry(relationshipField.getOppositeResourceType()).getResourceInformation();
+			verifyVisible(targetInformation, request.getIds());
+		}
+		else if (method == HttpMethod.DELETE) {
+			verifyVisible(request.getQueryAdapter().getResourceInformation(), request.getIds());
+		}
+		else if (method == HttpMethod.PATCH) {
+			ResourceInformation resourceInformation = request.getQueryAdapter().getResourceInformation();
+			verifyVisible(resourceInformation, Collections.singleton(resourceInformation.getId(request.getEntity())));
+		}
+	}
+
+	/**
+	 * Loads the resources with the data rules of the user applied. Only repositories working with {@link QuerySpec}
+	 * are checked, like data rules are only applied to those when reading.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void verifyVisible(ResourceInformation resourceInformation, Iterable<?> ids) {
+		Set<Object> remainingIds = new HashSet<>();
+		if (ids != null) {
+			for (Object id : ids) {
+				if (id != null) {
+					remainingIds.add(id);
+				}
+			}
+		}
+		if (remainingIds.isEmpty()) {
+			return;
+		}
+		QuerySpec querySpec = new QuerySpec(resourceInformation.getResourceClass());
+		QuerySpec filteredQuerySpec = module.filterQuerySpec(resourceInformation.getResourceType(), querySpec);
+		if (filteredQuerySpec == querySpec) {
+			return; // no data rule applies to the user
+		}
+		Object repository = moduleContext.getResourceRegistry().getEntry(resourceInformation.getResourceType())
+				.getResourceRepository(null).getResourceRepository();
+		if (!(repository instanceof ResourceRepositoryV2)) {
+			return;
+		}
+
+		Iterable<?> visibleResources = ((ResourceRepositoryV2) repository).findAll(new ArrayList<>(remainingIds),
+				filteredQuerySpec);
+		for (Object visibleResource : visibleResources) {
+			remainingIds.remove(resourceInformation.getId(visibleResource));
+		}
+		if (!remainingIds.isEmpty()) {
+			throw new ResourceNotFoundException(resourceInformation.getResourceType() + " " + remainingIds + " not found");
+		}
+	}
+
 	@Override
 	public <T> MetaInformation filterMeta(RepositoryFilterContext context, Iterable<T> resources,
 			RepositoryMetaFilterChain chain) {
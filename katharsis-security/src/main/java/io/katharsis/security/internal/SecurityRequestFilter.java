@@ -0,0 +1,31 @@
+package io.katharsis.security.internal;
+
+import io.katharsis.repository.filter.DocumentFilter;
+import io.katharsis.repository.filter.DocumentFilterChain;
+import io.katharsis.repository.filter.DocumentFilterContext;
+import io.katharsis.repository.response.Response;
+
+/**
+ * Opens a {@link RoleMembershipScope} for every request, covering all repository calls including inclusions.
+ */
+public class SecurityRequestFilter implements DocumentFilter {
+
+	private RoleMembershipScope scope;
+
+	public SecurityRequestFilter(RoleMembershipScope scope) {
+		this.scope = scope;
+	}
+
+	@Override
+	public Response filter(DocumentFilterContext filterRequestContext, DocumentFilterChain chain) {
+		boolean opened = scope.open();
+		try {
+			return chain.doFilter(filterRequestContext);
+		}
+		finally {
+			if (opened) {
+				scope.close();
+			}
+		}
+	}
+}
@@ -3,6 +3,7 @@ package io.katharsis.security;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.net.URI;
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 
 import javax.ws.rs.ApplicationPath;
@@ -27,7 +28,10 @@ import io.katharsis.client.http.okhttp.OkHttpAdapter;
 import io.katharsis.client.http.okhttp.OkHttpAdapterListenerBase;
 import io.katharsis.core.properties.KatharsisProperties;
 import io.katharsis.errorhandling.exception.ForbiddenException;
+import io.katharsis.errorhandling.exception.ResourceNotFoundException;
 import io.katharsis.errorhandling.exception.UnauthorizedException;
+import io.katharsis.queryspec.FilterOperator;
+import io.katharsis.queryspec.FilterSpec;
 import io.katharsis.queryspec.QuerySpec;
 import io.katharsis.repository.RelationshipRepositoryV2;
 import io.katharsis.repository.ResourceRepositoryV2;
@@ -279,6 +283,132 @@ public class SecurityModuleIntTest extends JerseyTest {
 		taskRepo.create(task);
 	}
 
+	@Test
+	public void dataRuleRestrictsFindAll() {
+		identityManager.addUser("doe", "doePass", "allRole", "restrictedRole");
+
+		for (String name : Arrays.asList("visible", "hidden")) {
+			Task task = new Task();
+			task.setId((long) name.length());
+			task.setName(name);
+			taskRepo.create(task);
+		}
+
+		ResourceList<Task> tasks = taskRepo.findAll(new QuerySpec(Task.class));
+		Assert.assertEquals(1, tasks.size());
+		Assert.assertEquals("visible", tasks.get(0).getName());
+	}
+
+	@Test
+	public void dataRuleIgnoredForOtherRoles() {
+		identityManager.addUser("doe", "doePass", "allRole");
+
+		for (String name : Arrays.asList("visible", "hidden")) {
+			Task task = new Task();
+			task.setId((long) name.length());
+			task.setName(name);
+			taskRepo.create(task);
+		}
+
+		Assert.assertEquals(2, taskRepo.findAll(new QuerySpec(Task.class)).size());
+	}
+
+	@Test
+	public void dataRulePreventsPatchOfHiddenResource() {
+		Task hiddenTask = createVisibleAndHiddenTasks();
+		hiddenTask.setName("visible");
+		try {
+			taskRepo.save(hiddenTask);
+			Assert.fail();
+		}
+		catch (ResourceNotFoundException e) {
+			// ok
+		}
+		Assert.assertEquals(1, taskRepo.findAll(new QuerySpec(Task.class)).size());
+	}
+
+	@Test
+	public void dataRulePreventsDeleteOfHiddenResource() {
+		Task hiddenTask = createVisibleAndHiddenTasks();
+		try {
+			taskRepo.delete(hiddenTask.getId());
+			Assert.fail();
+		}
+		catch (ResourceNotFoundException e) {
+			// ok
+		}
+
+		identityManager.clear();
+		identityManager.addUser("doe", "doePass", "allRole");
+		Assert.assertEquals(2, taskRepo.findAll(new QuerySpec(Task.class)).size());
+	}
+
+	@Test
+	public void dataRulePreventsRelationshipChangeOfHiddenResource() {
+		Task hiddenTask = createVisibleAndHiddenTasks();
+		Project project = new Project();
+		project.setId(3L);
+		project.setName("project");
+		projectRepo.create(project);
+		try {
+			relRepo.setRelation(hiddenTask, project.getId(), "project");
+			Assert.fail();
+		}
+		catch (ResourceNotFoundException e) {
+			// ok
+		}
+	}
+
+	@Test
+	public void dataRulePreventsRelationshipAccessOfHiddenResource() {
+		Task hiddenTask = createVisibleAndHiddenTasks();
+		identityManager.clear();
+		identityManager.addUser("doe", "doePass", "allRole");
+		Project project = new Project();
+		project.setId(3L);
+		project.setName("project");
+		projectRepo.create(project);
+		relRepo.setRelation(hiddenTask, project.getId(), "project");
+
+		identityManager.clear();
+		identityManager.addUser("doe", "doePass", "allRole", "restrictedRole");
+		try {
+			relRepo.findOneTarget(hiddenTask.getId(), "project", new QuerySpec(Project.class));
+			Assert.fail();
+		}
+		catch (ResourceNotFoundException e) {
+			// ok
+		}
+	}
+
+	@Test
+	public void dataRuleAllowsRelationshipAccessOfVisibleResource() {
+		createVisibleAndHiddenTasks();
+		Assert.assertNull(relRepo.findOneTarget((long) "visible".length(), "project", new QuerySpec(Project.class)));
+	}
+
+	@Test
+	public void dataRuleAllowsDeleteOfVisibleResource() {
+		createVisibleAndHiddenTasks();
+		taskRepo.delete((long) "visible".length());
+	}
+
+	/**
+	 * @return the task hidden from the restricted user
+	 */
+	private Task createVisibleAndHiddenTasks() {
+		identityManager.addUser("doe", "doePass", "allRole", "restrictedRole");
+		Task hiddenTask = null;
+		for (String name : Arrays.asList("visible", "hidden")) {
+			Task task = new Task();
+			task.setId((long) name.length());
+			task.setName(name);
+			taskRepo.create(task);
+			hiddenTask = task;
+		}
+		return hiddenTask;
+	}
+
 	@ApplicationPath("/")
 	private class TestApplication extends ResourceConfig {
 
@@ -296,6 +426,13 @@ public class SecurityModuleIntTest extends JerseyTest {
 			builder.permitRole("projectRole", Project.class, ResourcePermission.ALL);
 			builder.permitAll(ResourcePermission.GET);
 			builder.permitAll(Project.class, ResourcePermission.POST);
+			builder.restrictRole("restrictedRole", Task.class, new DataFilter() {
+
+				@Override
+				public FilterSpec getFilter() {
+					return new FilterSpec(Arrays.asList("name"), FilterOperator.EQ, "visible");
+				}
+			});
 			module = SecurityModule.newServerModule(builder.build());
 
 			KatharsisFeature feature = new KatharsisFeature();
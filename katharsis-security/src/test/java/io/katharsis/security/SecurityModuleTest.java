@@ -1,8 +1,11 @@
 package io.katharsis.security;
 
+import java.util.Arrays;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -10,11 +13,19 @@ import io.katharsis.core.internal.registry.ResourceRegistryImpl;
 import io.katharsis.module.CoreModule;
 import io.katharsis.module.ModuleRegistry;
 import io.katharsis.module.SimpleModule;
+import io.katharsis.queryspec.FilterOperator;
+import io.katharsis.queryspec.FilterSpec;
+import io.katharsis.queryspec.QuerySpec;
+import io.katharsis.repository.filter.DocumentFilter;
+import io.katharsis.repository.filter.DocumentFilterChain;
+import io.katharsis.repository.filter.DocumentFilterContext;
+import io.katharsis.repository.response.Response;
 import io.katharsis.resource.information.ResourceFieldNameTransformer;
 import io.katharsis.security.ResourcePermission;
 import io.katharsis.security.SecurityConfig;
 import io.katharsis.security.SecurityModule;
 import io.katharsis.security.SecurityConfig.Builder;
+import io.katharsis.security.internal.SecurityRequestFilter;
 import io.katharsis.security.model.Project;
 import io.katharsis.security.model.ProjectRepository;
 import io.katharsis.security.model.Task;
@@ -26,6 +37,10 @@ public class SecurityModuleTest {
 
 	private String allowedRule;
 
+	private int roleChecks;
+
+	private ModuleRegistry moduleRegistry;
+
 	@Before
 	public void setup() {
 		// TODO simplify ones simple module is fixed
@@ -39,6 +54,7 @@ public class SecurityModuleTest {
 
 					@Override
 					public boolean isUserInRole(String role) {
+						roleChecks++;
 						return role.equals(allowedRule);
 					}
 				});
@@ -53,7 +69,7 @@ public class SecurityModuleTest {
 		builder.permitRole("projectRole", "projects", ResourcePermission.POST);
 		securityModule = SecurityModule.newServerModule(builder.build());
 
-		ModuleRegistry moduleRegistry = new ModuleRegistry();
+		moduleRegistry = new ModuleRegistry();
 		moduleRegistry.setResourceRegistry(new ResourceRegistryImpl(moduleRegistry, null));
 		moduleRegistry.addModule(securityModule);
 		moduleRegistry.addModule(appModule);
@@ -88,4 +104,129 @@ public class SecurityModuleTest {
 		Assert.assertFalse(securityModule.isAllowed(Project.class, ResourcePermission.GET));
 		Assert.assertTrue(securityModule.isAllowed(Project.class, ResourcePermission.DELETE));
 	}
+
+	@Test
+	public void testRolesResolvedOncePerRequest() {
+		DocumentFilter requestFilter = null;
+		for (DocumentFilter filter : moduleRegistry.getFilters()) {
+			if (filter instanceof SecurityRequestFilter) {
+				requestFilter = filter;
+			}
+		}
+		Assert.assertNotNull(requestFilter);
+
+		allowedRule = "taskRole";
+		requestFilter.filter(Mockito.mock(DocumentFilterContext.class), new DocumentFilterChain() {
+
+			@Override
+			public Response doFilter(DocumentFilterContext context) {
+				for (int i = 0; i < 10; i++) {
+					Assert.assertTrue(securityModule.isAllowed(Task.class, ResourcePermission.ALL));
+					Assert.assertFalse(securityModule.isAllowed(Project.class, ResourcePermission.POST));
+					Assert.assertEquals(ResourcePermission.ALL, securityModule.getResourcePermission(Task.class));
+				}
+				return null;
+			}
+		});
+		Assert.assertEquals(2, roleChecks);
+
+		// roles are resolved anew outside of a request
+		roleChecks = 0;
+		allowedRule = "projectRole";
+		Assert.assertTrue(securityModule.isAllowed(Project.class, ResourcePermission.POST));
+		Assert.assertTrue(securityModule.isAllowed(Project.class, ResourcePermission.POST));
+		Assert.assertEquals(2, roleChecks);
+	}
+
+	@Test
+	public void testFilterQuerySpec() {
+		final FilterSpec taskFilter = new FilterSpec(Arrays.asList("name"), FilterOperator.EQ, "test");
+		final FilterSpec projectFilter = new FilterSpec(Arrays.asList("id"), FilterOperator.EQ, 1L);
+
+		Builder builder = SecurityConfig.builder();
+		builder.permitAll(ResourcePermission.ALL);
+		builder.restrictRole("taskRole", Task.class, new DataFilter() {
+
+			@Override
+			public FilterSpec getFilter() {
+				return taskFilter;
+			}
+		});
+		builder.restrictAll("projects", new DataFilter() {
+
+			@Override
+			public FilterSpec getFilter() {
+				return projectFilter;
+			}
+		});
+		securityModule.reconfigure(builder.build());
+		Assert.assertTrue(securityModule.hasDataRules());
+
+		allowedRule = "taskRole";
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		QuerySpec filteredQuerySpec = securityModule.filterQuerySpec(Task.class, querySpec);
+		Assert.assertNotSame(querySpec, filteredQuerySpec);
+		Assert.assertTrue(querySpec.getFilters().isEmpty());
+		Assert.assertEquals(Arrays.asList(taskFilter), filteredQuerySpec.getFilters());
+
+		allowedRule = "otherRole";
+		Assert.assertSame(querySpec, securityModule.filterQuerySpec(Task.class, querySpec));
+
+		querySpec = new QuerySpec(Project.class);
+		filteredQuerySpec = securityModule.filterQuerySpec("projects", querySpec);
+		Assert.assertEquals(Arrays.asList(projectFilter), filteredQuerySpec.getFilters());
+	}
+
+	@Test
+	public void testDataRuleRolesResolvedOncePerRequest() {
+		final FilterSpec taskFilter = new FilterSpec(Arrays.asList("name"), FilterOperator.EQ, "test");
+		final FilterSpec otherFilter = new FilterSpec(Arrays.asList("id"), FilterOperator.EQ, 1L);
+
+		Builder builder = SecurityConfig.builder();
+		builder.permitRole("taskRole", Task.class, ResourcePermission.ALL);
+		builder.restrictRole("taskRole", Task.class, new DataFilter() {
+
+			@Override
+			public FilterSpec getFilter() {
+				return taskFilter;
+			}
+		});
+		builder.restrictRole("dataRole", Task.class, new DataFilter() {
+
+			@Override
+			public FilterSpec getFilter() {
+				return otherFilter;
+			}
+		});
+		securityModule.reconfigure(builder.build());
+
+		DocumentFilter requestFilter = null;
+		for (DocumentFilter filter : moduleRegistry.getFilters()) {
+			if (filter instanceof SecurityRequestFilter) {
+				requestFilter = filter;
+			}
+		}
+
+		allowedRule = "taskRole";
+		requestFilter.filter(Mockito.mock(DocumentFilterContext.class), new DocumentFilterChain() {
+
+			@Override
+			public Response doFilter(DocumentFilterContext context) {
+				for (int i = 0; i < 10; i++) {
+					Assert.assertTrue(securityModule.isAllowed(Task.class, ResourcePermission.ALL));
+					QuerySpec filteredQuerySpec = securityModule.filterQuerySpec(Task.class, new QuerySpec(Task.class));
+					Assert.assertEquals(Arrays.asList(taskFilter), filteredQuerySpec.getFilters());
+				}
+				return null;
+			}
+		});
+		Assert.assertEquals(2, roleChecks);
+	}
+
+	@Test
+	public void testNoDataRules() {
+		Assert.assertFalse(securityModule.hasDataRules());
+		QuerySpec querySpec = new QuerySpec(Task.class);
+		Assert.assertSame(querySpec, securityModule.filterQuerySpec(Task.class, querySpec));
+	}
 }
@@ -33,10 +33,10 @@ import com.google.common.net.MediaType;
 import io.katharsis.core.internal.boot.KatharsisBoot;
 import io.katharsis.core.internal.boot.PropertiesProvider;
 import io.katharsis.core.internal.dispatcher.RequestDispatcher;
+import io.katharsis.core.internal.dispatcher.RequestPhaseMonitor;
 import io.katharsis.core.internal.dispatcher.path.JsonPath;
 import io.katharsis.core.internal.dispatcher.path.PathBuilder;
 import io.katharsis.core.internal.exception.KatharsisExceptionMapper;
-import io.katharsis.errorhandling.exception.JsonDeserializationException;
 import io.katharsis.errorhandling.exception.KatharsisMappableException;
 import io.katharsis.errorhandling.exception.KatharsisMatchingException;
 import io.katharsis.legacy.internal.RepositoryMethodParameterProvider;
@@ -101,9 +101,13 @@ public class KatharsisInvokerV2 {
 
 	public void invoke(KatharsisInvokerContext invokerContext) throws KatharsisInvokerException {
 		if (isAcceptableMediaType(invokerContext)) {
+			RequestPhaseMonitor phaseMonitor = boot.getRequestDispatcher().getRequestPhaseMonitor();
+			RequestPhaseMonitor.Phase requestPhase = phaseMonitor.startRequest(invokerContext.getRequestMethod());
 			try {
-				dispatchRequest(invokerContext);
+				dispatchRequest(invokerContext, phaseMonitor);
+				requestPhase.finish();
 			} catch (Exception e) {
+				requestPhase.fail(e);
 				throw new KatharsisInvokerException(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e);
 			}
 		} else {
@@ -111,7 +115,7 @@ public class KatharsisInvokerV2 {
 		}
 	}
 
-	private void dispatchRequest(KatharsisInvokerContext invokerContext) throws Exception {
+	private void dispatchRequest(KatharsisInvokerContext invokerContext, RequestPhaseMonitor phaseMonitor) throws Exception {
 		Response katharsisResponse = null;
 
 		boolean passToMethodMatcher = false;
@@ -121,12 +125,12 @@ public class KatharsisInvokerV2 {
 		try {
 			ResourceRegistry resourceRegistry = boot.getResourceRegistry();
 			RequestDispatcher requestDispatcher = boot.getRequestDispatcher();
-			JsonPath jsonPath = new PathBuilder(resourceRegistry).buildPath(invokerContext.getRequestPath());
+			JsonPath jsonPath = phaseMonitor.parsePath(new PathBuilder(resourceRegistry), invokerContext.getRequestPath(), true);
 
 			Map<String, Set<String>> parameters = getParameters(invokerContext);
 
 			in = invokerContext.getRequestEntityStream();
-			Document requestBody = inputStreamToBody(in);
+			Document requestBody = inputStreamToBody(phaseMonitor, in);
 
 			String method = invokerContext.getRequestMethod();
 			RepositoryMethodParameterProvider parameterProvider = invokerContext.getParameterProvider();
@@ -151,7 +155,7 @@ public class KatharsisInvokerV2 {
 					// fail while writing.
 					baos = new ByteArrayOutputStream(BUFFER_SIZE);
 					ObjectMapper objectMapper = boot.getObjectMapper();
-					objectMapper.writeValue(baos, katharsisResponse.getDocument());
+					phaseMonitor.writeDocument(objectMapper, baos, katharsisResponse.getDocument());
 
 					out = invokerContext.getResponseOutputStream();
 					out.write(baos.toByteArray());
@@ -191,7 +195,7 @@ public class KatharsisInvokerV2 {
 		return QueryStringUtils.parseQueryStringAsSingleValueMap(invokerContext);
 	}
 
-	private Document inputStreamToBody(InputStream is) throws IOException {
+	private Document inputStreamToBody(RequestPhaseMonitor phaseMonitor, InputStream is) throws IOException {
 		if (is == null) {
 			return null;
 		}
@@ -203,12 +207,7 @@ public class KatharsisInvokerV2 {
 			return null;
 		}
 
-		try {
-			ObjectMapper objectMapper = boot.getObjectMapper();
-			return objectMapper.readValue(requestBody, Document.class);
-		} catch (IOException e) {
-			throw new JsonDeserializationException(e.getMessage());
-		}
+		return phaseMonitor.readDocument(boot.getObjectMapper(), requestBody);
 	}
 
 	private void closeQuietly(Closeable closeable) {
@@ -32,10 +32,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.net.MediaType;
 
 import io.katharsis.core.internal.dispatcher.RequestDispatcher;
+import io.katharsis.core.internal.dispatcher.RequestPhaseMonitor;
 import io.katharsis.core.internal.dispatcher.path.JsonPath;
 import io.katharsis.core.internal.dispatcher.path.PathBuilder;
 import io.katharsis.core.internal.exception.KatharsisExceptionMapper;
-import io.katharsis.errorhandling.exception.JsonDeserializationException;
 import io.katharsis.errorhandling.exception.KatharsisMappableException;
 import io.katharsis.errorhandling.exception.KatharsisMatchingException;
 import io.katharsis.invoker.internal.JsonApiMediaType;
@@ -101,9 +101,14 @@ public class KatharsisFilterV2 implements Filter, BeanFactoryAware {
             return true;
         }
         if (isAcceptableMediaType(request)) {
+            RequestPhaseMonitor phaseMonitor = requestDispatcher.getRequestPhaseMonitor();
+            RequestPhaseMonitor.Phase requestPhase = phaseMonitor.startRequest(request.getMethod());
             try {
-                return dispatchRequest(request, response);
+                boolean passToFilters = dispatchRequest(request, response, phaseMonitor);
+                requestPhase.finish();
+                return passToFilters;
             } catch (Exception e) {
+                requestPhase.fail(e);
                 throw new KatharsisInvokerException(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e);
             }
         } else {
@@ -111,7 +116,8 @@ public class KatharsisFilterV2 implements Filter, BeanFactoryAware {
         }
     }
 
-    private boolean dispatchRequest(HttpServletRequest request, HttpServletResponse response) throws Exception {
+    private boolean dispatchRequest(HttpServletRequest request, HttpServletResponse response, RequestPhaseMonitor phaseMonitor)
+            throws Exception {
         Response katharsisResponse = null;
 
         boolean passToFilters = false;
@@ -119,12 +125,12 @@ public class KatharsisFilterV2 implements Filter, BeanFactoryAware {
         InputStream in = null;
 
         try {
-            JsonPath jsonPath = new PathBuilder(resourceRegistry).buildPath(getRequestPath(request));
+            JsonPath jsonPath = phaseMonitor.parsePath(new PathBuilder(resourceRegistry), getRequestPath(request), true);
 
             Map<String, Set<String>> parameters = getParameters(request);
 
             in = request.getInputStream();
-            Document requestBody = inputStreamToBody(in);
+            Document requestBody = inputStreamToBody(phaseMonitor, in);
 
             String method = request.getMethod();
             RepositoryMethodParameterProvider parameterProvider = new SpringParameterProvider(beanFactory, request);
@@ -149,7 +155,7 @@ public class KatharsisFilterV2 implements Filter, BeanFactoryAware {
                     try {
                         // first write to a buffer first because objectMapper may fail while writing.
                         baos = new ByteArrayOutputStream(BUFFER_SIZE);
-                        objectMapper.writeValue(baos, katharsisResponse.getDocument());
+                        phaseMonitor.writeDocument(objectMapper, baos, katharsisResponse.getDocument());
 
                         out = response.getOutputStream();
                         out.write(baos.toByteArray());
@@ -227,7 +233,7 @@ public class KatharsisFilterV2 implements Filter, BeanFactoryAware {
         return queryParameters;
     }
 
-    private Document inputStreamToBody(InputStream is) {
+    private Document inputStreamToBody(RequestPhaseMonitor phaseMonitor, InputStream is) {
         if (is == null) {
             return null;
         }
@@ -239,11 +245,7 @@ public class KatharsisFilterV2 implements Filter, BeanFactoryAware {
             return null;
         }
 
-        try {
-            return objectMapper.readValue(requestBody, Document.class);
-        } catch (IOException e) {
-            throw new JsonDeserializationException(e.getMessage());
-        }
+        return phaseMonitor.readDocument(objectMapper, requestBody);
     }
 
     private void closeQuietly(Closeable closeable) {
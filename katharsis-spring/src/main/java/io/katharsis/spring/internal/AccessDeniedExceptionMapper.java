@@ -4,13 +4,13 @@ import javax.ws.rs.core.Response;
 
 import io.katharsis.errorhandling.ErrorResponse;
 import io.katharsis.errorhandling.ExceptionMapperHelper;
-import io.katharsis.errorhandling.mapper.ExceptionMapper;
+import io.katharsis.errorhandling.mapper.HttpStatusExceptionMapper;
 import org.springframework.security.access.AccessDeniedException;
 
 /**
  * Mapper class for Spring AccessDeniedExceptions.
  */
-public class AccessDeniedExceptionMapper implements ExceptionMapper<AccessDeniedException> {
+public class AccessDeniedExceptionMapper implements HttpStatusExceptionMapper<AccessDeniedException> {
 
 	private static final String META_TYPE_VALUE = "AccessDeniedException";
 	private static final int ACCESS_DENIED = Response.Status.FORBIDDEN.getStatusCode();
@@ -25,6 +25,11 @@ public class AccessDeniedExceptionMapper implements ExceptionMapper<AccessDenied
 		return new AccessDeniedException(ExceptionMapperHelper.createErrorMessage(errorResponse));
 	}
 
+	@Override
+	public int[] getAcceptedHttpStatuses() {
+		return new int[] { ACCESS_DENIED };
+	}
+
 	@Override
 	public boolean accepts(ErrorResponse errorResponse) {
 		return ExceptionMapperHelper.accepts(errorResponse, ACCESS_DENIED, META_TYPE_VALUE);
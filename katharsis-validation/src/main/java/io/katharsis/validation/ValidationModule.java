@@ -1,10 +1,26 @@
 package io.katharsis.validation;
 
+import java.io.Closeable;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+
 import io.katharsis.module.Module;
 import io.katharsis.validation.internal.ConstraintViolationExceptionMapper;
 import io.katharsis.validation.internal.ValidationExceptionMapper;
+import io.katharsis.validation.internal.ValidationFilter;
+
+public class ValidationModule implements Module, Closeable {
+
+	private boolean validateResources = false;
+
+	private Validator validator;
 
-public class ValidationModule implements Module {
+	/**
+	 * Factory of the default validator, only set if created by this module.
+	 */
+	private ValidatorFactory validatorFactory;
 
 	@Deprecated
 	public ValidationModule() {
@@ -23,5 +39,60 @@ public class ValidationModule implements Module {
 	public void setupModule(ModuleContext context) {
 		context.addExceptionMapper(new ConstraintViolationExceptionMapper(context));
 		context.addExceptionMapper(new ValidationExceptionMapper());
+
+		if (validateResources) {
+			ValidationFilter filter = new ValidationFilter(getValidator());
+			context.addFilter(filter);
+			context.addRepositoryFilter(filter);
+		}
+	}
+
+	/**
+	 * @return whether resources of POST and PATCH requests are validated before they reach the repositories.
+	 */
+	public boolean isValidateResources() {
+		return validateResources;
+	}
+
+	/**
+	 * @param validateResources whether resources of POST and PATCH requests are validated before they reach the
+	 * repositories. PATCH requests only validate the attributes and relationships present in the request body. Disabled
+	 * by default.
+	 */
+	public void setValidateResources(boolean validateResources) {
+		this.validateResources = validateResources;
+	}
+
+	/**
+	 * @return validator used to validate resources, the default validator is obtained once and reused. Its factory is
+	 *         released by {@link #close()}.
+	 */
+	public synchronized Validator getValidator() {
+		if (validator == null) {
+			validatorFactory = Validation.buildDefaultValidatorFactory();
+			validator = validatorFactory.getValidator();
+		}
+		return validator;
+	}
+
+	/**
+	 * @param validator to use instead of the default validator. Its lifecycle remains with the caller.
+	 */
+	public synchronized void setValidator(Validator validator) {
+		close();
+		this.validator = validator;
+	}
+
+	/**
+	 * Closes the factory of the default validator if it has been created by this module. An injected validator is
+	 * left untouched.
+	 */
+	@Override
+	public synchronized void close() {
+		if (validatorFactory != null) {
+			validatorFactory.close();
+			validatorFactory = null;
+			validator = null;
+		}
 	}
 }
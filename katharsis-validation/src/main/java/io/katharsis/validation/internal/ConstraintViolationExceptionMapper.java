@@ -9,6 +9,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
@@ -23,14 +24,14 @@ import io.katharsis.core.internal.utils.PropertyUtils;
 import io.katharsis.errorhandling.ErrorData;
 import io.katharsis.errorhandling.ErrorDataBuilder;
 import io.katharsis.errorhandling.ErrorResponse;
-import io.katharsis.errorhandling.mapper.ExceptionMapper;
+import io.katharsis.errorhandling.mapper.HttpStatusExceptionMapper;
 import io.katharsis.module.Module.ModuleContext;
 import io.katharsis.resource.information.ResourceField;
 import io.katharsis.resource.information.ResourceInformation;
 import io.katharsis.resource.registry.RegistryEntry;
 import io.katharsis.resource.registry.ResourceRegistry;
 
-public class ConstraintViolationExceptionMapper implements ExceptionMapper<ConstraintViolationException> {
+public class ConstraintViolationExceptionMapper implements HttpStatusExceptionMapper<ConstraintViolationException> {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(ConstraintViolationExceptionMapper.class);
 
@@ -50,6 +51,8 @@ public class ConstraintViolationExceptionMapper implements ExceptionMapper<Const
 
 	private ModuleContext context;
 
+	private final ConcurrentHashMap<Class<?>, ConcurrentHashMap<String, String>> sourcePointers = new ConcurrentHashMap<>();
+
 	static final int UNPROCESSABLE_ENTITY_422 = 422;
 
 	private static final String DEFAULT_PRIMARY_KEY_NAME = "id";
@@ -126,6 +129,11 @@ public class ConstraintViolationExceptionMapper implements ExceptionMapper<Const
 		return new ConstraintViolationException(null, violations);
 	}
 
+	@Override
+	public int[] getAcceptedHttpStatuses() {
+		return new int[] { UNPROCESSABLE_ENTITY_422 };
+	}
+
 	@Override
 	public boolean accepts(ErrorResponse errorResponse) {
 		return ExceptionMapperHelper.accepts(errorResponse, UNPROCESSABLE_ENTITY_422, META_TYPE_VALUE);
@@ -263,19 +271,7 @@ public class ConstraintViolationExceptionMapper implements ExceptionMapper<Const
 
 			if (node.getName() != null) {
 				appendSeparator();
-				if (!isResource(nodeObject.getClass()) || isPrimaryKey(nodeObject.getClass(), node.getName())) {
-					// continue along attributes path or primary key on root
-					appendSourcePointer(node.getName());
-				}
-				else if (isAssociation(nodeObject.getClass(), node.getName())) {
-					appendSourcePointer("data/relationships/");
-					appendSourcePointer(node.getName());
-				}
-				else {
-
-					appendSourcePointer("data/attributes/");
-					appendSourcePointer(node.getName());
-				}
+				appendSourcePointer(getSourcePointer(nodeObject.getClass(), node.getName()));
 			}
 			return next;
 		}
@@ -331,6 +327,32 @@ public class ConstraintViolationExceptionMapper implements ExceptionMapper<Const
 			}
 		}
 
+		/**
+		 * @return source pointer segment of the given property, resolved once per class and property.
+		 */
+		private String getSourcePointer(Class<?> clazz, String name) {
+			ConcurrentHashMap<String, String> pointers = sourcePointers.get(clazz);
+			if (pointers == null) {
+				sourcePointers.putIfAbsent(clazz, new ConcurrentHashMap<String, String>());
+				pointers = sourcePointers.get(clazz);
+			}
+			String pointer = pointers.get(name);
+			if (pointer == null) {
+				if (!isResource(clazz) || isPrimaryKey(clazz, name)) {
+					// continue along attributes path or primary key on root
+					pointer = name;
+				}
+				else if (isAssociation(clazz, name)) {
+					pointer = "data/relationships/" + name;
+				}
+				else {
+					pointer = "data/attributes/" + name;
+				}
+				pointers.put(name, pointer);
+			}
+			return pointer;
+		}
+
 		private boolean isPrimaryKey(Class<? extends Object> clazz, String name) {
 			ResourceRegistry resourceRegistry = context.getResourceRegistry();
 			RegistryEntry entry = resourceRegistry.findEntry(clazz);
@@ -0,0 +1,89 @@
+package io.katharsis.validation.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Path.Node;
+import javax.validation.Validator;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+
+import io.katharsis.resource.information.ResourceField;
+import io.katharsis.resource.information.ResourceInformation;
+
+/**
+ * Constraint metadata of a resource resolved once and reused for every request. Maps the json names of attributes and
+ * relationships to the constrained bean properties.
+ */
+class ResourceValidation {
+
+	private final boolean classConstraints;
+
+	private final Map<String, String> constrainedProperties = new HashMap<>();
+
+	private final Set<String> cascadedProperties = new HashSet<>();
+
+	public ResourceValidation(ResourceInformation resourceInformation, BeanDescriptor beanDescriptor) {
+		classConstraints = beanDescriptor.hasConstraints();
+
+		List<ResourceField> fields = new ArrayList<>();
+		fields.addAll(resourceInformation.getAttributeFields().getFields());
+		fields.addAll(resourceInformation.getRelationshipFields());
+		for (ResourceField field : fields) {
+			PropertyDescriptor property = beanDescriptor.getConstraintsForProperty(field.getUnderlyingName());
+			if (property != null) {
+				constrainedProperties.put(field.getJsonName(), property.getPropertyName());
+				if (property.isCascaded()) {
+					cascadedProperties.add(property.getPropertyName());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Validates the given fields of the resource. Unconstrained fields are skipped. Single properties are validated
+	 * directly unless class-level constraints or cascaded properties require a validation of the entire resource, in
+	 * which case only violations of the given fields and of the resource itself are kept.
+	 *
+	 * @param validator to use
+	 * @param resource to validate
+	 * @param jsonNames of the attributes and relationships to validate
+	 * @return violations found
+	 */
+	public Set<ConstraintViolation<Object>> validateFields(Validator validator, Object resource, Set<String> jsonNames) {
+		Set<String> propertyNames = new HashSet<>();
+		boolean cascaded = false;
+		for (String jsonName : jsonNames) {
+			String propertyName = constrainedProperties.get(jsonName);
+			if (propertyName != null) {
+				propertyNames.add(propertyName);
+				cascaded = cascaded || cascadedProperties.contains(propertyName);
+			}
+		}
+
+		if (classConstraints || cascaded) {
+			Set<ConstraintViolation<Object>> violations = validator.validate(resource);
+			Iterator<ConstraintViolation<Object>> iterator = violations.iterator();
+			while (iterator.hasNext()) {
+				Iterator<Node> pathIterator = iterator.next().getPropertyPath().iterator();
+				String rootName = pathIterator.hasNext() ? pathIterator.next().getName() : null;
+				if (rootName != null && !propertyNames.contains(rootName)) {
+					iterator.remove();
+				}
+			}
+			return violations;
+		}
+
+		Set<ConstraintViolation<Object>> violations = new HashSet<>();
+		for (String propertyName : propertyNames) {
+			violations.addAll(validator.validateProperty(resource, propertyName));
+		}
+		return violations;
+	}
+}
@@ -4,11 +4,11 @@ import javax.validation.ValidationException;
 
 import io.katharsis.errorhandling.ErrorResponse;
 import io.katharsis.errorhandling.ExceptionMapperHelper;
-import io.katharsis.errorhandling.mapper.ExceptionMapper;
+import io.katharsis.errorhandling.mapper.HttpStatusExceptionMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class ValidationExceptionMapper implements ExceptionMapper<ValidationException> {
+public class ValidationExceptionMapper implements HttpStatusExceptionMapper<ValidationException> {
 	
 	private static final Logger logger = LoggerFactory.getLogger(ValidationExceptionMapper.class);
 
@@ -27,6 +27,11 @@ public class ValidationExceptionMapper implements ExceptionMapper<ValidationExce
 		return new ValidationException(ExceptionMapperHelper.createErrorMessage(errorResponse));
 	}
 
+	@Override
+	public int[] getAcceptedHttpStatuses() {
+		return new int[] { ConstraintViolationExceptionMapper.UNPROCESSABLE_ENTITY_422 };
+	}
+
 	@Override
 	public boolean accepts(ErrorResponse errorResponse) {
 		return ExceptionMapperHelper.accepts(errorResponse, ConstraintViolationExceptionMapper.UNPROCESSABLE_ENTITY_422,
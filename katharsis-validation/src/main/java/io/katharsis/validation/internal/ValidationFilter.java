@@ -0,0 +1,125 @@
+package io.katharsis.validation.internal;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+
+import io.katharsis.repository.filter.DocumentFilter;
+import io.katharsis.repository.filter.DocumentFilterChain;
+import io.katharsis.repository.filter.DocumentFilterContext;
+import io.katharsis.repository.filter.RepositoryFilterBase;
+import io.katharsis.repository.filter.RepositoryFilterContext;
+import io.katharsis.repository.filter.RepositoryRequestFilterChain;
+import io.katharsis.repository.request.HttpMethod;
+import io.katharsis.repository.request.RepositoryRequestSpec;
+import io.katharsis.repository.response.JsonApiResponse;
+import io.katharsis.repository.response.Response;
+import io.katharsis.resource.Document;
+import io.katharsis.resource.Resource;
+import io.katharsis.resource.information.ResourceInformation;
+
+/**
+ * Validates resources of POST and PATCH requests before they are passed to the repositories. All violations of a
+ * resource are reported together with a single {@link ConstraintViolationException}. PATCH requests only validate the
+ * attributes and relationships present in the request body.
+ */
+public class ValidationFilter extends RepositoryFilterBase implements DocumentFilter {
+
+	private final Validator validator;
+
+	private final ThreadLocal<PatchedResource> patchedResource = new ThreadLocal<>();
+
+	private final ConcurrentHashMap<Class<?>, ResourceValidation> validations = new ConcurrentHashMap<>();
+
+	public ValidationFilter(Validator validator) {
+		this.validator = validator;
+	}
+
+	@Override
+	public Response filter(DocumentFilterContext filterRequestContext, DocumentFilterChain chain) {
+		PatchedResource patched = getPatchedResource(filterRequestContext);
+		if (patched == null) {
+			return chain.doFilter(filterRequestContext);
+		}
+		PatchedResource previous = patchedResource.get();
+		patchedResource.set(patched);
+		try {
+			return chain.doFilter(filterRequestContext);
+		}
+		finally {
+			if (previous == null) {
+				patchedResource.remove();
+			}
+			else {
+				patchedResource.set(previous);
+			}
+		}
+	}
+
+	private static PatchedResource getPatchedResource(DocumentFilterContext filterRequestContext) {
+		Document requestBody = filterRequestContext.getRequestBody();
+		if (!HttpMethod.PATCH.toString().equals(filterRequestContext.getMethod()) || requestBody == null
+				|| requestBody.getData() == null || !requestBody.getData().isPresent()
+				|| !(requestBody.getData().get() instanceof Resource)) {
+			return null;
+		}
+		Resource resource = (Resource) requestBody.getData().get();
+		Set<String> fieldNames = new HashSet<>();
+		fieldNames.addAll(resource.getAttributes().keySet());
+		fieldNames.addAll(resource.getRelationships().keySet());
+		return new PatchedResource(resource.getType(), fieldNames);
+	}
+
+	@Override
+	public JsonApiResponse filterRequest(RepositoryFilterContext context, RepositoryRequestFilterChain chain) {
+		RepositoryRequestSpec request = context.getRequest();
+		HttpMethod method = request.getMethod();
+		Object entity = request.getEntity();
+		if ((method == HttpMethod.POST || method == HttpMethod.PATCH) && entity != null
+				&& request.getRelationshipField() == null) {
+			validate(method, request.getQueryAdapter().getResourceInformation(), entity);
+		}
+		return chain.doFilter(context);
+	}
+
+	private void validate(HttpMethod method, ResourceInformation resourceInformation, Object entity) {
+		Set<ConstraintViolation<Object>> violations;
+		PatchedResource patched = patchedResource.get();
+		if (method == HttpMethod.PATCH && patched != null
+				&& patched.resourceType.equals(resourceInformation.getResourceType())) {
+			violations = getValidation(resourceInformation).validateFields(validator, entity, patched.fieldNames);
+		}
+		else {
+			violations = validator.validate(entity);
+		}
+		if (!violations.isEmpty()) {
+			throw new ConstraintViolationException(violations);
+		}
+	}
+
+	private ResourceValidation getValidation(ResourceInformation resourceInformation) {
+		Class<?> resourceClass = resourceInformation.getResourceClass();
+		ResourceValidation validation = validations.get(resourceClass);
+		if (validation == null) {
+			validation = new ResourceValidation(resourceInformation, validator.getConstraintsForClass(resourceClass));
+			validations.putIfAbsent(resourceClass, validation);
+		}
+		return validation;
+	}
+
+	private static class PatchedResource {
+
+		private final String resourceType;
+
+		private final Set<String> fieldNames;
+
+		public PatchedResource(String resourceType, Set<String> fieldNames) {
+			this.resourceType = resourceType;
+			this.fieldNames = fieldNames;
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package io.katharsis.validation;
+
+import java.util.Set;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.ws.rs.ApplicationPath;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.HttpUrlConnectorProvider;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.katharsis.client.KatharsisClient;
+import io.katharsis.client.ResourceRepositoryStub;
+import io.katharsis.core.properties.KatharsisProperties;
+import io.katharsis.rs.KatharsisFeature;
+import io.katharsis.validation.internal.ConstraintViolationImpl;
+import io.katharsis.validation.mock.ComplexValidator;
+import io.katharsis.validation.mock.models.Task;
+import io.katharsis.validation.mock.repository.TaskRepository;
+
+public class ValidationFilterTest extends JerseyTest {
+
+	private static final String JSON_API = "application/vnd.api+json";
+
+	private ResourceRepositoryStub<Task, Long> taskRepo;
+
+	@Before
+	public void setup() {
+		KatharsisClient client = new KatharsisClient(getBaseUri().toString());
+		client.addModule(ValidationModule.newInstance());
+		taskRepo = client.getQueryParamsRepository(Task.class);
+		TaskRepository.map.clear();
+	}
+
+	@Test
+	public void testCreateValidatesResource() {
+		Task task = new Task();
+		task.setId(1L);
+		try {
+			taskRepo.create(task);
+			Assert.fail();
+		}
+		catch (ConstraintViolationException e) {
+			Set<ConstraintViolation<?>> violations = e.getConstraintViolations();
+			Assert.assertEquals(1, violations.size());
+			ConstraintViolationImpl violation = (ConstraintViolationImpl) violations.iterator().next();
+			Assert.assertEquals("{javax.validation.constraints.NotNull.message}", violation.getMessageTemplate());
+			Assert.assertEquals("data/attributes/name", violation.getErrorData().getSourcePointer());
+		}
+		Assert.assertTrue(TaskRepository.map.isEmpty());
+	}
+
+	@Test
+	public void testPatchSkipsAbsentAttributes() {
+		Task task = new Task();
+		task.setId(1L);
+		TaskRepository.map.put(1L, task);
+
+		Response response = patch("{\"data\":{\"type\":\"tasks\",\"id\":\"1\",\"attributes\":{}}}");
+		Assert.assertEquals(200, response.getStatus());
+	}
+
+	@Test
+	public void testPatchValidatesPresentAttributes() {
+		Task task = new Task();
+		task.setId(1L);
+		task.setName("test");
+		TaskRepository.map.put(1L, task);
+
+		Response response = patch("{\"data\":{\"type\":\"tasks\",\"id\":\"1\",\"attributes\":{\"name\":null}}}");
+		Assert.assertEquals(422, response.getStatus());
+		Assert.assertTrue(response.readEntity(String.class).contains("data/attributes/name"));
+	}
+
+	@Test
+	public void testPatchValidatesResourceConstraints() {
+		Task task = new Task();
+		task.setId(1L);
+		task.setName("test");
+		TaskRepository.map.put(1L, task);
+
+		Response response = patch("{\"data\":{\"type\":\"tasks\",\"id\":\"1\",\"attributes\":{\"name\":\""
+				+ ComplexValidator.INVALID_NAME + "\"}}}");
+		Assert.assertEquals(422, response.getStatus());
+		Assert.assertTrue(response.readEntity(String.class).contains("{complex.message}"));
+	}
+
+	private Response patch(String body) {
+		return target("tasks/1").request(JSON_API).property(HttpUrlConnectorProvider.SET_METHOD_WORKAROUND, true)
+				.method("PATCH", Entity.entity(body, JSON_API));
+	}
+
+	@Override
+	protected Application configure() {
+		return new TestApplication();
+	}
+
+	@ApplicationPath("/")
+	private static class TestApplication extends ResourceConfig {
+
+		public TestApplication() {
+			property(KatharsisProperties.RESOURCE_SEARCH_PACKAGE, getClass().getPackage().getName());
+			property(KatharsisProperties.RESOURCE_DEFAULT_DOMAIN, "http://test.local");
+
+			ValidationModule module = ValidationModule.newInstance();
+			module.setValidateResources(true);
+			KatharsisFeature feature = new KatharsisFeature();
+			feature.addModule(module);
+			register(feature);
+		}
+	}
+}
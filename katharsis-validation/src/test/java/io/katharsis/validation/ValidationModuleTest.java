@@ -0,0 +1,31 @@
+package io.katharsis.validation;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ValidationModuleTest {
+
+	@Test
+	public void testCloseReleasesDefaultValidator() {
+		ValidationModule module = ValidationModule.newInstance();
+		Validator validator = module.getValidator();
+		Assert.assertSame(validator, module.getValidator());
+
+		module.close();
+		Assert.assertNotSame(validator, module.getValidator());
+		module.close();
+	}
+
+	@Test
+	public void testCloseKeepsInjectedValidator() {
+		Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+		ValidationModule module = ValidationModule.newInstance();
+		module.setValidator(validator);
+
+		module.close();
+		Assert.assertSame(validator, module.getValidator());
+	}
+}